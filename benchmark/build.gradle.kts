@@ -0,0 +1,44 @@
+import net.ltgt.gradle.errorprone.errorprone
+import org.spongepowered.configurate.build.core
+import org.spongepowered.configurate.build.format
+
+plugins {
+    id("org.spongepowered.configurate.build.component")
+    application
+}
+
+description = "JMH benchmarks for Configurate"
+
+dependencies {
+    val jmhVersion: String by project
+    implementation(core())
+    implementation(format("cbor"))
+    implementation(format("gson"))
+    implementation(format("jackson"))
+    implementation(format("msgpack"))
+    implementation(format("smile"))
+    implementation(format("xml"))
+    implementation(format("yaml"))
+    implementation("org.openjdk.jmh:jmh-core:$jmhVersion")
+    annotationProcessor("org.openjdk.jmh:jmh-generator-annprocess:$jmhVersion")
+}
+
+application {
+    // Run with ./gradlew :benchmark:run --args="<benchmark regex>"
+    mainClass.set("org.openjdk.jmh.Main")
+}
+
+tasks.compileJava {
+    // JMH-generated sources are not ours to lint
+    options.errorprone.excludedPaths.set(".*[\\\\/]jmh_generated[\\\\/].*")
+}
+
+tasks.withType<AbstractPublishToMaven>().configureEach {
+    onlyIf { false } // don't publish
+}
+
+tasks.withType<Javadoc>().configureEach {
+    (options as? StandardJavadocDocletOptions)?.apply {
+        addBooleanOption("Xdoclint:-missing", true)
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.configurate.loader.AtomicFiles;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Save throughput of atomic file writes, compared to the previous approach
+ * of copying the existing file before writing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AtomicFilesBenchmark {
+
+    @Param({"1", "1024", "16384"})
+    public int sizeKib;
+
+    @Param({"8192", "65536"})
+    public int bufferSize;
+
+    @Param({"false", "true"})
+    public boolean sync;
+
+    private Path directory;
+    private Path target;
+    private char[] contents;
+    private AtomicFiles.WriteOptions options;
+
+    @Setup
+    public void setup() throws IOException {
+        this.directory = Files.createTempDirectory("configurate-bench");
+        this.target = this.directory.resolve("config.conf");
+        this.contents = new char[this.sizeKib * 1024];
+        Arrays.fill(this.contents, 'a');
+        for (int i = 63; i < this.contents.length; i += 64) {
+            this.contents[i] = '\n';
+        }
+        this.options = AtomicFiles.WriteOptions.defaults()
+            .bufferSize(this.bufferSize)
+            .sync(this.sync);
+
+        // Start with an existing file, as for a typical re-save
+        try (BufferedWriter writer = AtomicFiles.atomicBufferedWriter(this.target, StandardCharsets.UTF_8)) {
+            writer.write(this.contents);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(this.directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void atomicSave() throws IOException {
+        try (BufferedWriter writer = AtomicFiles.atomicBufferedWriter(this.target, StandardCharsets.UTF_8, this.options)) {
+            writer.write(this.contents);
+        }
+    }
+
+    /**
+     * The save strategy used before write options were introduced, where the
+     * existing file was copied to the temporary file before being truncated.
+     *
+     * @throws IOException if unable to write
+     */
+    @Benchmark
+    public void copyThenSave() throws IOException {
+        final Path temporary = this.directory.resolve(System.nanoTime() + ".tmp");
+        Files.copy(this.target, temporary, StandardCopyOption.COPY_ATTRIBUTES, StandardCopyOption.REPLACE_EXISTING);
+        try (BufferedWriter writer = new BufferedWriter(Files.newBufferedWriter(temporary, StandardCharsets.UTF_8), this.bufferSize)) {
+            writer.write(this.contents);
+        }
+        Files.move(temporary, this.target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.benchmark;
+
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.ConfigurationNode;
+
+/**
+ * Documents shared between benchmarks that compare formats.
+ */
+final class BenchmarkDocuments {
+
+    private BenchmarkDocuments() {
+    }
+
+    /**
+     * Create a document with a list of records under the key
+     * {@code entries}.
+     *
+     * <p>Each record holds an int, a long, a double, a string and
+     * a boolean, so every scalar type a format encodes is covered.</p>
+     *
+     * @param count the number of records
+     * @return a new document
+     */
+    static BasicConfigurationNode entries(final int count) {
+        return BasicConfigurationNode.root(root -> {
+            for (int i = 0; i < count; ++i) {
+                final ConfigurationNode entry = root.node("entries").appendListNode();
+                entry.node("id").raw(i);
+                entry.node("created").raw(1_600_000_000_000L + i);
+                entry.node("weight").raw(i / 7.0);
+                entry.node("name").raw("entry-" + i);
+                entry.node("enabled").raw(i % 2 == 0);
+            }
+        });
+    }
+
+}
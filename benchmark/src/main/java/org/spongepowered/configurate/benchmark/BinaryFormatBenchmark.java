@@ -0,0 +1,123 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.cbor.CborConfigurationLoader;
+import org.spongepowered.configurate.jackson.JacksonConfigurationLoader;
+import org.spongepowered.configurate.loader.ConfigurationLoader;
+import org.spongepowered.configurate.smile.SmileConfigurationLoader;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading and saving the same document as text JSON and as the binary
+ * CBOR and Smile formats.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinaryFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"100", "10000"})
+    public int entries;
+
+    private byte[] encoded;
+    private ConfigurationLoader<BasicConfigurationNode> loader;
+    private ConfigurationNode node;
+
+    @Setup
+    public void setup() throws ConfigurateException {
+        this.node = BenchmarkDocuments.entries(this.entries);
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        this.loader(() -> new ByteArrayInputStream(new byte[0]), out).save(this.node);
+        this.encoded = out.toByteArray();
+
+        this.loader = this.loader(() -> new ByteArrayInputStream(this.encoded), new ByteArrayOutputStream());
+    }
+
+    private ConfigurationLoader<BasicConfigurationNode> loader(final Callable<InputStream> source, final ByteArrayOutputStream sink) {
+        switch (this.format) {
+            case "json":
+                return JacksonConfigurationLoader.builder()
+                    .source(() -> new BufferedReader(new InputStreamReader(source.call(), StandardCharsets.UTF_8)))
+                    .sink(() -> {
+                        sink.reset();
+                        return new BufferedWriter(new OutputStreamWriter(sink, StandardCharsets.UTF_8));
+                    })
+                    .build();
+            case "cbor":
+                return CborConfigurationLoader.builder()
+                    .source(source)
+                    .sink(() -> {
+                        sink.reset();
+                        return sink;
+                    })
+                    .build();
+            case "smile":
+                return SmileConfigurationLoader.builder()
+                    .source(source)
+                    .sink(() -> {
+                        sink.reset();
+                        return sink;
+                    })
+                    .build();
+            default:
+                throw new IllegalArgumentException("Unknown format " + this.format);
+        }
+    }
+
+    @Benchmark
+    public ConfigurationNode load() throws ConfigurateException {
+        return this.loader.load();
+    }
+
+    @Benchmark
+    public void save() throws ConfigurateException {
+        this.loader.save(this.node);
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.ConfigurationOptions;
+import org.spongepowered.configurate.objectmapping.ObjectMapper;
+import org.spongepowered.configurate.serialize.SerializationException;
+import org.spongepowered.configurate.serialize.TypeSerializerCollection;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading a 20-field object when each field's serializer is cached, compared
+ * to alternating between two serializer collections so every field has to
+ * be resolved again on each load.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FieldSerializerBenchmark {
+
+    @Param({"cached", "alternating"})
+    public String serializers;
+
+    private ObjectMapper<ObjectMapperBenchmark.Settings> mapper;
+    private BasicConfigurationNode first;
+    private BasicConfigurationNode second;
+    private boolean flip;
+
+    @Setup
+    public void setup() throws SerializationException {
+        this.mapper = ObjectMapper.factory().get(ObjectMapperBenchmark.Settings.class);
+        final ConfigurationOptions options = ConfigurationOptions.defaults();
+        final ConfigurationOptions other = this.serializers.equals("alternating")
+            ? options.serializers(TypeSerializerCollection.defaults().childBuilder().build())
+            : options;
+
+        this.first = BasicConfigurationNode.root(options);
+        this.second = BasicConfigurationNode.root(other);
+        this.mapper.save(new ObjectMapperBenchmark.Settings(), this.first);
+        this.mapper.save(new ObjectMapperBenchmark.Settings(), this.second);
+    }
+
+    @Benchmark
+    public ObjectMapperBenchmark.Settings load() throws SerializationException {
+        this.flip = !this.flip;
+        return this.mapper.load(this.flip ? this.first : this.second);
+    }
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.benchmark;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.gson.GsonConfigurationLoader;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading and saving number-heavy JSON with the Gson loader, compared to
+ * reading every number through a string.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GsonNumberBenchmark {
+
+    @Param({"100", "10000"})
+    public int entries;
+
+    private String json;
+    private GsonConfigurationLoader loader;
+    private BasicConfigurationNode node;
+
+    @Setup
+    public void setup() throws ConfigurateException {
+        final StringBuilder builder = new StringBuilder();
+        builder.append("{\"entries\": [");
+        for (int i = 0; i < this.entries; ++i) {
+            if (i != 0) {
+                builder.append(',');
+            }
+            builder.append("{\"id\": ").append(i)
+                .append(", \"slot\": ").append(i % 64)
+                .append(", \"created\": ").append(1_600_000_000_000L + i)
+                .append(", \"weight\": ").append(i / 7.0)
+                .append(", \"scale\": 2.5e-3")
+                .append(", \"coords\": [").append(i % 300).append(", ").append(-i % 50).append(", ").append(i * 3).append(']')
+                .append('}');
+        }
+        this.json = builder.append("]}").toString();
+        this.loader = GsonConfigurationLoader.builder()
+            .source(() -> new BufferedReader(new StringReader(this.json)))
+            .sink(() -> new BufferedWriter(new StringWriter()))
+            .build();
+        this.node = this.loader.load();
+    }
+
+    @Benchmark
+    public ConfigurationNode load() throws ConfigurateException {
+        return this.loader.load();
+    }
+
+    @Benchmark
+    public ConfigurationNode loadThroughStrings() throws IOException {
+        final BasicConfigurationNode node = BasicConfigurationNode.root();
+        try (JsonReader reader = new JsonReader(new StringReader(this.json))) {
+            reader.setLenient(true);
+            stringValue(reader, node);
+        }
+        return node;
+    }
+
+    @Benchmark
+    public void save() throws ConfigurateException {
+        this.loader.save(this.node);
+    }
+
+    // The previous implementation of the loader's number parsing, which created a string for every number
+
+    private static void stringValue(final JsonReader reader, final ConfigurationNode node) throws IOException {
+        final JsonToken token = reader.peek();
+        switch (token) {
+            case BEGIN_OBJECT:
+                reader.beginObject();
+                while (reader.peek() != JsonToken.END_OBJECT) {
+                    stringValue(reader, node.node(reader.nextName()));
+                }
+                reader.endObject();
+                break;
+            case BEGIN_ARRAY:
+                reader.beginArray();
+                while (reader.peek() != JsonToken.END_ARRAY) {
+                    stringValue(reader, node.appendListNode());
+                }
+                reader.endArray();
+                break;
+            case NUMBER:
+                final String number = reader.nextString();
+                if (number.contains(".")) {
+                    node.raw(Double.parseDouble(number));
+                } else {
+                    final long nextLong = Long.parseLong(number);
+                    final int nextInt = (int) nextLong;
+                    node.raw(nextInt == nextLong ? (Object) nextInt : (Object) nextLong);
+                }
+                break;
+            default:
+                reader.skipValue();
+        }
+    }
+
+}
@@ -0,0 +1,172 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.jackson.JacksonConfigurationLoader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading number-heavy JSON with the Jackson loader, compared to the
+ * generic token handling it previously used.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JacksonLoadBenchmark {
+
+    @Param({"100", "10000"})
+    public int entries;
+
+    private String json;
+    private JacksonConfigurationLoader loader;
+    private JsonFactory factory;
+
+    @Setup
+    public void setup() {
+        final StringBuilder builder = new StringBuilder();
+        builder.append("{\"entries\": [");
+        for (int i = 0; i < this.entries; ++i) {
+            if (i != 0) {
+                builder.append(',');
+            }
+            builder.append("{\"id\": ").append(i)
+                .append(", \"created\": ").append(1_600_000_000_000L + i)
+                .append(", \"weight\": ").append(i / 7.0)
+                .append(", \"ratio\": 0.5")
+                .append(", \"name\": \"entry-").append(i).append("\"")
+                .append(", \"enabled\": ").append(i % 2 == 0)
+                .append('}');
+        }
+        this.json = builder.append("]}").toString();
+        this.loader = JacksonConfigurationLoader.builder()
+            .source(() -> new BufferedReader(new StringReader(this.json)))
+            .build();
+        this.factory = new JsonFactory();
+    }
+
+    @Benchmark
+    public ConfigurationNode loader() throws ConfigurateException {
+        return this.loader.load();
+    }
+
+    @Benchmark
+    public ConfigurationNode genericTokenPath() throws IOException {
+        final BasicConfigurationNode node = BasicConfigurationNode.root();
+        try (JsonParser parser = this.factory.createParser(this.json)) {
+            parser.nextToken();
+            genericValue(parser, node);
+        }
+        return node;
+    }
+
+    // The previous implementation of the loader's parsing
+
+    private static void genericValue(final JsonParser parser, final ConfigurationNode node) throws IOException {
+        final JsonToken token = parser.getCurrentToken();
+        switch (token) {
+            case START_OBJECT:
+                genericObject(parser, node);
+                break;
+            case START_ARRAY:
+                genericArray(parser, node);
+                break;
+            case VALUE_NUMBER_FLOAT:
+                final double doubleVal = parser.getDoubleValue();
+                if ((float) doubleVal != doubleVal) {
+                    node.raw(parser.getDoubleValue());
+                } else {
+                    node.raw(parser.getFloatValue());
+                }
+                break;
+            case VALUE_NUMBER_INT:
+                final long longVal = parser.getLongValue();
+                if ((int) longVal != longVal) {
+                    node.raw(parser.getLongValue());
+                } else {
+                    node.raw(parser.getIntValue());
+                }
+                break;
+            case VALUE_STRING:
+                node.raw(parser.getText());
+                break;
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+                node.raw(parser.getBooleanValue());
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static void genericArray(final JsonParser parser, final ConfigurationNode node) throws IOException {
+        boolean written = false;
+        JsonToken token;
+        while ((token = parser.nextToken()) != null) {
+            if (token == JsonToken.END_ARRAY) {
+                if (!written) {
+                    node.raw(Collections.emptyList());
+                }
+                return;
+            } else {
+                genericValue(parser, node.appendListNode());
+                written = true;
+            }
+        }
+    }
+
+    private static void genericObject(final JsonParser parser, final ConfigurationNode node) throws IOException {
+        boolean written = false;
+        JsonToken token;
+        while ((token = parser.nextToken()) != null) {
+            if (token == JsonToken.END_OBJECT) {
+                if (!written) {
+                    node.raw(Collections.emptyMap());
+                }
+                return;
+            } else {
+                genericValue(parser, node.node(parser.getCurrentName()));
+                written = true;
+            }
+        }
+    }
+
+}
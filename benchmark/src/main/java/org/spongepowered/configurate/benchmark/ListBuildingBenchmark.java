@@ -0,0 +1,96 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.gson.GsonConfigurationLoader;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building and reading large lists, both directly and by loading a JSON
+ * array.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListBuildingBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    private String json;
+    private GsonConfigurationLoader loader;
+    private BasicConfigurationNode built;
+
+    @Setup
+    public void setup() {
+        final StringBuilder builder = new StringBuilder(this.size * 8);
+        builder.append('[');
+        for (int i = 0; i < this.size; ++i) {
+            if (i != 0) {
+                builder.append(',');
+            }
+            builder.append(i);
+        }
+        this.json = builder.append(']').toString();
+        this.loader = GsonConfigurationLoader.builder()
+            .source(() -> new BufferedReader(new StringReader(this.json)))
+            .build();
+        this.built = this.appendElements();
+    }
+
+    @Benchmark
+    public BasicConfigurationNode appendElements() {
+        final BasicConfigurationNode node = BasicConfigurationNode.root();
+        for (int i = 0; i < this.size; ++i) {
+            node.appendListNode().raw(i);
+        }
+        return node;
+    }
+
+    @Benchmark
+    public BasicConfigurationNode loadJsonArray() throws ConfigurateException {
+        return this.loader.load();
+    }
+
+    @Benchmark
+    public void indexedLookup(final Blackhole hole) {
+        for (int i = 0; i < this.size; ++i) {
+            hole.consume(this.built.node(i).raw());
+        }
+    }
+
+}
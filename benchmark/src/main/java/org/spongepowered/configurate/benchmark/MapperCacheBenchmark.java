@@ -0,0 +1,84 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.configurate.objectmapping.ConfigSerializable;
+import org.spongepowered.configurate.objectmapping.ObjectMapper;
+import org.spongepowered.configurate.serialize.SerializationException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looking up cached mappers from several threads at once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class MapperCacheBenchmark {
+
+    @Param({"unbounded", "bounded"})
+    public String cache;
+
+    private ObjectMapper.Factory factory;
+
+    @Setup
+    public void setup() throws SerializationException {
+        this.factory = this.cache.equals("bounded")
+            ? ObjectMapper.factoryBuilder().maximumCachedMappers(64).build()
+            : ObjectMapper.factoryBuilder().build();
+        this.factory.get(First.class);
+        this.factory.get(Second.class);
+    }
+
+    @Benchmark
+    public ObjectMapper<?> lookup() throws SerializationException {
+        return this.factory.get(First.class);
+    }
+
+    @Benchmark
+    public ObjectMapper<?> alternating() throws SerializationException {
+        this.factory.get(First.class);
+        return this.factory.get(Second.class);
+    }
+
+    @ConfigSerializable
+    static class First {
+        String value;
+    }
+
+    @ConfigSerializable
+    static class Second {
+        int value;
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.gson.GsonConfigurationLoader;
+import org.spongepowered.configurate.loader.ConfigurationLoader;
+import org.spongepowered.configurate.msgpack.MessagePackConfigurationLoader;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading and saving the same document with the MessagePack and
+ * Gson loaders.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessagePackBenchmark {
+
+    @Param({"gson", "msgpack"})
+    public String format;
+
+    @Param({"100", "10000"})
+    public int entries;
+
+    private byte[] encoded;
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    private ConfigurationLoader<BasicConfigurationNode> loader;
+    private ConfigurationNode node;
+
+    @Setup
+    public void setup() throws ConfigurateException {
+        this.node = BenchmarkDocuments.entries(this.entries);
+
+        switch (this.format) {
+            case "gson":
+                this.loader = GsonConfigurationLoader.builder()
+                    .source(() -> new BufferedReader(new InputStreamReader(new ByteArrayInputStream(this.encoded), StandardCharsets.UTF_8)))
+                    .sink(() -> {
+                        this.output.reset();
+                        return new BufferedWriter(new OutputStreamWriter(this.output, StandardCharsets.UTF_8));
+                    })
+                    .build();
+                break;
+            case "msgpack":
+                this.loader = MessagePackConfigurationLoader.builder()
+                    .source(() -> Channels.newChannel(new ByteArrayInputStream(this.encoded)))
+                    .sink(() -> {
+                        this.output.reset();
+                        return Channels.newChannel(this.output);
+                    })
+                    .build();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown format " + this.format);
+        }
+
+        this.loader.save(this.node);
+        this.encoded = this.output.toByteArray();
+    }
+
+    @Benchmark
+    public ConfigurationNode load() throws ConfigurateException {
+        return this.loader.load();
+    }
+
+    @Benchmark
+    public void save() throws ConfigurateException {
+        this.loader.save(this.node);
+    }
+
+}
@@ -0,0 +1,195 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.benchmark;
+
+import static io.leangen.geantyref.GenericTypeReflector.erase;
+import static io.leangen.geantyref.GenericTypeReflector.getFieldType;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.objectmapping.ConfigSerializable;
+import org.spongepowered.configurate.objectmapping.FieldDiscoverer;
+import org.spongepowered.configurate.objectmapping.ObjectMapper;
+import org.spongepowered.configurate.serialize.SerializationException;
+import org.spongepowered.configurate.util.Types;
+
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Loading and saving a 20-field object, compared to the previous reflective
+ * field discoverer that staged values in a map.
+ *
+ * <p>The {@code reflection} parameter is the baseline. Compare it against
+ * {@code handles} with
+ * {@code ./gradlew :benchmark:run --args="ObjectMapperBenchmark"}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ObjectMapperBenchmark {
+
+    @Param({"handles", "reflection"})
+    public String access;
+
+    private ObjectMapper<Settings> mapper;
+    private BasicConfigurationNode node;
+    private Settings settings;
+
+    @Setup
+    public void setup() throws SerializationException {
+        final ObjectMapper.Factory factory = this.access.equals("reflection")
+            ? ObjectMapper.factoryBuilder().addDiscoverer(new ReflectiveDiscoverer()).build()
+            : ObjectMapper.factory();
+        this.mapper = factory.get(Settings.class);
+        this.settings = new Settings();
+        this.node = BasicConfigurationNode.root();
+        this.mapper.save(this.settings, this.node);
+    }
+
+    @Benchmark
+    public Settings load() throws SerializationException {
+        return this.mapper.load(this.node);
+    }
+
+    @Benchmark
+    public BasicConfigurationNode save() throws SerializationException {
+        final BasicConfigurationNode target = BasicConfigurationNode.root();
+        this.mapper.save(this.settings, target);
+        return target;
+    }
+
+    @ConfigSerializable
+    static class Settings {
+        String name = "server";
+        String motd = "Welcome!";
+        String host = "0.0.0.0";
+        int port = 25565;
+        int maxPlayers = 100;
+        int viewDistance = 10;
+        int simulationDistance = 8;
+        int spawnProtection = 16;
+        long seed = 8_675_309L;
+        long autosaveTicks = 6000L;
+        double difficultyScale = 1.5;
+        double mobCap = 0.75;
+        boolean whitelist;
+        boolean pvp = true;
+        boolean hardcore;
+        boolean allowFlight;
+        boolean onlineMode = true;
+        String levelName = "world";
+        String resourcePack = "";
+        List<String> operators = Arrays.asList("alice", "bob");
+    }
+
+    // The previous implementation of the object field discoverer
+
+    static final class ReflectiveDiscoverer implements FieldDiscoverer<Map<Field, Object>> {
+
+        @Override
+        public <V> @Nullable InstanceFactory<Map<Field, Object>> discover(final AnnotatedType target,
+                final FieldCollector<Map<Field, Object>, V> collector) throws SerializationException {
+            final Class<?> clazz = erase(target.getType());
+            for (Field field : clazz.getDeclaredFields()) {
+                if ((field.getModifiers() & (Modifier.STATIC | Modifier.TRANSIENT)) != 0) {
+                    continue;
+                }
+                field.setAccessible(true);
+                final AnnotatedType fieldType = getFieldType(field, target);
+                collector.accept(field.getName(), fieldType, Types.combinedAnnotations(fieldType, field),
+                    (intermediate, val, implicitProvider) -> {
+                        if (val != null) {
+                            intermediate.put(field, val);
+                        } else {
+                            intermediate.put(field, new ImplicitProvider(implicitProvider));
+                        }
+                    }, field::get);
+            }
+
+            return new MutableInstanceFactory<Map<Field, Object>>() {
+                @Override
+                public Map<Field, Object> begin() {
+                    return new HashMap<>();
+                }
+
+                @Override
+                public void complete(final Object instance, final Map<Field, Object> intermediate) throws SerializationException {
+                    for (Map.Entry<Field, Object> entry : intermediate.entrySet()) {
+                        try {
+                            if (entry.getValue() instanceof ImplicitProvider) {
+                                final @Nullable Object implicit = ((ImplicitProvider) entry.getValue()).provider.get();
+                                if (implicit != null && entry.getKey().get(instance) == null) {
+                                    entry.getKey().set(instance, implicit);
+                                }
+                            } else {
+                                entry.getKey().set(instance, entry.getValue());
+                            }
+                        } catch (final IllegalAccessException e) {
+                            throw new SerializationException(target.getType(), e);
+                        }
+                    }
+                }
+
+                @Override
+                public Object complete(final Map<Field, Object> intermediate) throws SerializationException {
+                    final Object instance = new Settings();
+                    this.complete(instance, intermediate);
+                    return instance;
+                }
+
+                @Override
+                public boolean canCreateInstances() {
+                    return true;
+                }
+            };
+        }
+
+    }
+
+    static final class ImplicitProvider {
+
+        final Supplier<Object> provider;
+
+        ImplicitProvider(final Supplier<Object> provider) {
+            this.provider = provider;
+        }
+
+    }
+
+}
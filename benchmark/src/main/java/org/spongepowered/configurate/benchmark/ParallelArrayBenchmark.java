@@ -0,0 +1,98 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.gson.GsonConfigurationLoader;
+import org.spongepowered.configurate.jackson.JacksonConfigurationLoader;
+import org.spongepowered.configurate.loader.ConfigurationLoader;
+import org.spongepowered.configurate.loader.ParallelArrays;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading a large top-level JSON array sequentially and in parallel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelArrayBenchmark {
+
+    @Param({"gson", "jackson"})
+    public String loader;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    @Param({"10000", "200000"})
+    public int entries;
+
+    private String json;
+    private ConfigurationLoader<?> configLoader;
+
+    @Setup
+    public void setup() {
+        final StringBuilder builder = new StringBuilder("[\n");
+        for (int i = 0; i < this.entries; ++i) {
+            if (i != 0) {
+                builder.append(",\n");
+            }
+            builder.append("  {\"id\": ").append(i)
+                .append(", \"name\": \"entry-").append(i).append('"')
+                .append(", \"weight\": ").append(i / 7.0)
+                .append(", \"tags\": [\"a\", \"b\", \"c\"]")
+                .append(", \"owner\": {\"name\": \"owner-").append(i % 97).append("\", \"enabled\": ").append(i % 2 == 0).append("}}");
+        }
+        this.json = builder.append("\n]\n").toString();
+
+        final ParallelArrays settings = this.parallel ? ParallelArrays.root().threshold(0) : null;
+        if (this.loader.equals("gson")) {
+            this.configLoader = GsonConfigurationLoader.builder()
+                .source(() -> new BufferedReader(new StringReader(this.json)))
+                .parallelArrays(settings)
+                .build();
+        } else {
+            this.configLoader = JacksonConfigurationLoader.builder()
+                .source(() -> new BufferedReader(new StringReader(this.json)))
+                .parallelArrays(settings)
+                .build();
+        }
+    }
+
+    @Benchmark
+    public ConfigurationNode load() throws ConfigurateException {
+        return this.configLoader.load();
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.gson.GsonConfigurationLoader;
+import org.spongepowered.configurate.jackson.JacksonConfigurationLoader;
+import org.spongepowered.configurate.loader.AbstractConfigurationLoader;
+import org.spongepowered.configurate.xml.XmlConfigurationLoader;
+import org.spongepowered.configurate.yaml.YamlConfigurationLoader;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading and saving many tiny documents, such as per-user configurations,
+ * where the cost of setting up parsers and emitters dominates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class SmallDocumentBenchmark {
+
+    @Param({"gson", "jackson", "xml", "yaml"})
+    public String format;
+
+    private AbstractConfigurationLoader<?> loader;
+    private ConfigurationNode node;
+
+    @Setup
+    public void setup() throws ConfigurateException {
+        final String document;
+        final AbstractConfigurationLoader.Builder<?, ?> builder;
+        switch (this.format) {
+            case "gson":
+                document = "{\"name\": \"user\", \"level\": 12, \"flags\": [\"a\", \"b\"]}";
+                builder = GsonConfigurationLoader.builder();
+                break;
+            case "jackson":
+                document = "{\"name\": \"user\", \"level\": 12, \"flags\": [\"a\", \"b\"]}";
+                builder = JacksonConfigurationLoader.builder();
+                break;
+            case "xml":
+                document = "<user><name>user</name><level>12</level><flags><flag>a</flag><flag>b</flag></flags></user>";
+                builder = XmlConfigurationLoader.builder();
+                break;
+            case "yaml":
+                document = "name: user\nlevel: 12\nflags: [a, b]\n";
+                builder = YamlConfigurationLoader.builder();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown format " + this.format);
+        }
+
+        this.loader = builder
+            .source(() -> new BufferedReader(new StringReader(document)))
+            .sink(() -> new BufferedWriter(new StringWriter()))
+            .build();
+        this.node = this.loader.load();
+    }
+
+    @Benchmark
+    public ConfigurationNode load() throws ConfigurateException {
+        return this.loader.load();
+    }
+
+    @Benchmark
+    public void save() throws ConfigurateException {
+        this.loader.save(this.node);
+    }
+
+}
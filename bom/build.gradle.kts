@@ -15,15 +15,20 @@ indra {
 dependencies {
     constraints {
         api(core())
+        api(project(":processor"))
         api(project(":extra:extra-kotlin"))
         api(project(":extra:extra-guice"))
         api(project(":extra:extra-dfu2"))
         api(project(":extra:extra-dfu3"))
         api(project(":extra:extra-dfu4"))
         api(project(":tool"))
+        api(format("cbor"))
         api(format("gson"))
         api(format("hocon"))
         api(format("jackson"))
+        api(format("msgpack"))
+        api(format("properties"))
+        api(format("smile"))
         api(format("xml"))
         api(format("yaml"))
     }
@@ -49,7 +49,7 @@ tasks.aggregateJavadoc.configure {
     applyCommonAttributes()
     title = "Configurate $version (all modules)"
 
-    val excludedProjects = listOf("examples").map {
+    val excludedProjects = listOf("examples", "benchmark").map {
         project(":$it").tasks.named("javadoc", Javadoc::class).get().classpath
     }
     classpath = classpath.minus(files(excludedProjects))
@@ -28,6 +28,7 @@ import org.spongepowered.configurate.util.UnmodifiableCollections;
 
 import java.lang.reflect.Type;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -37,6 +38,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
 /**
  * Simple implementation of {@link ConfigurationNode}.
@@ -44,6 +46,10 @@ import java.util.concurrent.ConcurrentHashMap;
 abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A extends AbstractConfigurationNode<N, A>>
         implements ScopedConfigurationNode<N> {
 
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<AbstractConfigurationNode> MODIFICATIONS =
+        AtomicLongFieldUpdater.newUpdater(AbstractConfigurationNode.class, "modifications");
+
     /**
      * The options determining the behaviour of this node.
      */
@@ -77,6 +83,12 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
      */
     final Map<RepresentationHint<?>, Object> hints;
 
+    /**
+     * The number of changes made to the value of this node and
+     * its descendants.
+     */
+    private volatile long modifications;
+
     protected AbstractConfigurationNode(final @Nullable Object key, final @Nullable A parent, final ConfigurationOptions options) {
         requireNonNull(options, "options");
         if ((key == null) != (parent == null)) {
@@ -196,14 +208,17 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
             final ListConfigValue<N, A> newList = new ListConfigValue<>(implSelf());
             synchronized (that) {
                 final List<? extends ConfigurationNode> children = that.childrenList();
+                final List<A> newChildren = new ArrayList<>(children.size());
                 for (int i = 0; i < children.size(); i++) {
                     final A node = createNode(i);
                     node.attached = true;
                     node.from(children.get(i));
-                    newList.putChild(i, node);
+                    newChildren.add(node);
                 }
+                newList.setChildren(newChildren);
             }
             this.value = newList;
+            this.modified();
         } else if (that.isMap()) {
             // handle map
             attachIfNecessary();
@@ -217,6 +232,7 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
                 }
             }
             this.value = newMap;
+            this.modified();
         } else {
             // handle scalar/null
             this.raw(that.raw());
@@ -264,6 +280,7 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
             // insert the data into the config value
             value.set(newValue);
             this.value = value;
+            this.modified();
         }
     }
 
@@ -305,6 +322,7 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
                     }
                 }
                 this.value = newValue;
+                this.modified();
             }
         } else if (other.isList()) {
             if (virtual()) {
@@ -458,7 +476,11 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
 
     @Override
     public final boolean removeChild(final Object key) {
-        return detachIfNonNull(this.value.putChild(key, null)) != null;
+        if (detachIfNonNull(this.value.putChild(key, null)) != null) {
+            this.modified();
+            return true;
+        }
+        return false;
     }
 
     private static <N extends ScopedConfigurationNode<N>, T extends AbstractConfigurationNode<N, T>>
@@ -606,6 +628,7 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
                 detachIfNonNull(newValue.putChild(childKey, child));
             }
             this.value = newValue;
+            this.modified();
         }
 
         if (newValue != oldValue) {
@@ -620,6 +643,24 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
             final ConfigValue<N, A> oldValue = this.value;
             this.value = NullConfigValue.instance();
             oldValue.clear();
+            this.modified();
+        }
+    }
+
+    @Override
+    public final long modificationStamp() {
+        return this.modifications;
+    }
+
+    /**
+     * Record a change to the value of this node, which is also a change to
+     * the value of each of its parents.
+     */
+    private void modified() {
+        @Nullable AbstractConfigurationNode<N, A> node = this;
+        while (node != null) {
+            MODIFICATIONS.incrementAndGet(node);
+            node = node.parent;
         }
     }
 
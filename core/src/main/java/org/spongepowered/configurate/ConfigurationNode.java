@@ -242,6 +242,21 @@ public interface ConfigurationNode {
      */
     boolean empty();
 
+    /**
+     * Get a stamp that changes whenever the value of this node, or of any
+     * node below it, is changed.
+     *
+     * <p>Stamps can be compared to cheaply find out whether anything
+     * derived from this node may be out of date. Equal stamps from the same
+     * node mean its value has not changed in between. Stamps from
+     * different nodes cannot be compared. Representation hints and comments
+     * are not part of the value.</p>
+     *
+     * @return the current modification stamp
+     * @since 4.0.0
+     */
+    long modificationStamp();
+
     /**
      * Gets the "list children" attached to this node, if it has any.
      *
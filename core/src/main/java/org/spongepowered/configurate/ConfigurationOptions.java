@@ -51,7 +51,7 @@ public abstract class ConfigurationOptions {
         // avoid initialization cycles
 
         static final ConfigurationOptions DEFAULTS = new AutoValue_ConfigurationOptions(MapFactories.insertionOrdered(), null,
-                TypeSerializerCollection.defaults(), null, false, false);
+                TypeSerializerCollection.defaults(), null, false, false, 0);
 
     }
 
@@ -93,7 +93,7 @@ public abstract class ConfigurationOptions {
             return this;
         }
         return new AutoValue_ConfigurationOptions(mapFactory, header(), serializers(), nativeTypes(),
-                shouldCopyDefaults(), implicitInitialization());
+                shouldCopyDefaults(), implicitInitialization(), parallelDeserializationThreshold());
     }
 
     /**
@@ -118,7 +118,7 @@ public abstract class ConfigurationOptions {
             return this;
         }
         return new AutoValue_ConfigurationOptions(mapFactory(), header, serializers(), nativeTypes(),
-                shouldCopyDefaults(), implicitInitialization());
+                shouldCopyDefaults(), implicitInitialization(), parallelDeserializationThreshold());
     }
 
     /**
@@ -143,7 +143,7 @@ public abstract class ConfigurationOptions {
             return this;
         }
         return new AutoValue_ConfigurationOptions(mapFactory(), header(), serializers, nativeTypes(),
-                shouldCopyDefaults(), implicitInitialization());
+                shouldCopyDefaults(), implicitInitialization(), parallelDeserializationThreshold());
     }
 
     /**
@@ -186,7 +186,8 @@ public abstract class ConfigurationOptions {
             return this;
         }
         return new AutoValue_ConfigurationOptions(mapFactory(), header(), serializers(),
-                nativeTypes == null ? null : UnmodifiableCollections.copyOf(nativeTypes), shouldCopyDefaults(), implicitInitialization());
+                nativeTypes == null ? null : UnmodifiableCollections.copyOf(nativeTypes), shouldCopyDefaults(), implicitInitialization(),
+                parallelDeserializationThreshold());
     }
 
     /**
@@ -253,7 +254,7 @@ public abstract class ConfigurationOptions {
         }
 
         return new AutoValue_ConfigurationOptions(mapFactory(), header(), serializers(), nativeTypes(),
-                shouldCopyDefaults, implicitInitialization());
+                shouldCopyDefaults, implicitInitialization(), parallelDeserializationThreshold());
     }
 
     /**
@@ -285,7 +286,54 @@ public abstract class ConfigurationOptions {
         }
 
         return new AutoValue_ConfigurationOptions(mapFactory(), header(), serializers(), nativeTypes(),
-                shouldCopyDefaults(), implicitInitialization);
+                shouldCopyDefaults(), implicitInitialization, parallelDeserializationThreshold());
+    }
+
+    /**
+     * Get the number of elements a collection must have before its elements
+     * are deserialized in parallel.
+     *
+     * <p>When enabled, lists, sets, arrays, and maps with at least this many
+     * elements will deserialize their elements on the common
+     * {@link java.util.concurrent.ForkJoinPool}. Element order is preserved,
+     * and if any elements fail to deserialize, the failure of the first
+     * element is thrown with all other failures attached as
+     * suppressed exceptions.</p>
+     *
+     * <p>Element serializers must be safe to call from several threads at
+     * once. Each element is only read by one thread, but an element's
+     * serializer may write to that element's node.</p>
+     *
+     * <p>This option is disabled by default, which is indicated by
+     * a threshold of {@code 0}.</p>
+     *
+     * @return the minimum size for parallel deserialization, or {@code 0}
+     *     if disabled
+     * @since 4.0.0
+     */
+    public abstract int parallelDeserializationThreshold();
+
+    /**
+     * Create a new {@link ConfigurationOptions} instance with the specified
+     * parallel deserialization threshold.
+     *
+     * @param threshold the minimum number of elements for a collection to be
+     *     deserialized in parallel, or {@code 0} to disable
+     * @return a new options object
+     * @throws IllegalArgumentException if the threshold is negative
+     * @see #parallelDeserializationThreshold() for more details
+     * @since 4.0.0
+     */
+    public ConfigurationOptions parallelDeserializationThreshold(final int threshold) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Threshold must not be negative, but was " + threshold);
+        }
+        if (this.parallelDeserializationThreshold() == threshold) {
+            return this;
+        }
+
+        return new AutoValue_ConfigurationOptions(mapFactory(), header(), serializers(), nativeTypes(),
+                shouldCopyDefaults(), implicitInitialization(), threshold);
     }
 
 }
@@ -110,7 +110,7 @@ final class ListConfigValue<N extends ScopedConfigurationNode<N>, T extends Abst
             }
 
             final T child = this.holder.createNode(count);
-            newValue.add(count, child);
+            newValue.add(child);
             child.attached = true;
             child.raw(o);
             ++count;
@@ -118,6 +118,16 @@ final class ListConfigValue<N extends ScopedConfigurationNode<N>, T extends Abst
         detachNodes(this.values.getAndSet(newValue));
     }
 
+    /**
+     * Replace the contents of this list with already-attached nodes, whose
+     * keys match their index in {@code children}.
+     *
+     * @param children the new children
+     */
+    void setChildren(final List<T> children) {
+        detachNodes(this.values.getAndSet(children));
+    }
+
     @Override
     @Nullable T putChild(final Object key, final @Nullable T value) {
         return putChildInternal(key, value, false);
@@ -135,8 +145,10 @@ final class ListConfigValue<N extends ScopedConfigurationNode<N>, T extends Abst
                 do {
                     // Allocate an index for the newly added node
                     values = this.values.get();
-                    values.add(value);
-                    value.key = values.lastIndexOf(value);
+                    synchronized (values) {
+                        value.key = values.size();
+                        values.add(value);
+                    }
                 } while (!this.values.compareAndSet(values, values));
             }
             return null;
@@ -158,7 +170,7 @@ final class ListConfigValue<N extends ScopedConfigurationNode<N>, T extends Abst
                         ret = values.remove(index);
                         // update indexes for subsequent elements
                         for (int i = index; i < values.size(); ++i) {
-                            values.get(i).key = index;
+                            values.get(i).key = i;
                         }
                     }
                 } else {
@@ -180,17 +192,27 @@ final class ListConfigValue<N extends ScopedConfigurationNode<N>, T extends Abst
 
     @Override
     public @Nullable T child(final @Nullable Object key) {
-        final @Nullable Integer value = Scalars.INTEGER.tryDeserialize(key);
-        if (value == null || value < 0) {
+        final int index;
+        if (key instanceof Integer) {
+            index = (Integer) key;
+        } else {
+            final @Nullable Integer value = Scalars.INTEGER.tryDeserialize(key);
+            if (value == null) {
+                return null;
+            }
+            index = value;
+        }
+
+        if (index < 0) {
             return null;
         }
 
         final List<T> values = this.values.get();
         synchronized (values) {
-            if (value >= values.size()) {
+            if (index >= values.size()) {
                 return null;
             }
-            return values.get(value);
+            return values.get(index);
         }
     }
 
@@ -39,9 +39,14 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.UnaryOperator;
 import java.util.regex.Pattern;
 
@@ -105,6 +110,33 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
      */
     private final ConfigurationOptions defaultOptions;
 
+    /**
+     * The file both read from and written to by this loader, if any.
+     */
+    private final @Nullable Path path;
+
+    /**
+     * Whether to skip saves that would not change the file contents.
+     */
+    private final boolean skipUnchangedSaves;
+
+    /**
+     * Whether to save by patching changed values into the existing file,
+     * when possible.
+     */
+    private final boolean incrementalSaves;
+
+    /**
+     * The number of saves skipped because the file contents were unchanged.
+     */
+    private final LongAdder skippedSaves = new LongAdder();
+
+    /**
+     * The contents of {@link #path} as of the last load or save, when
+     * skipping unchanged saves or saving incrementally.
+     */
+    private volatile @Nullable KnownContents knownContents;
+
     /**
      * Create a loader instance from a builder.
      *
@@ -119,6 +151,10 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
         this.headerMode = builder.headerMode();
         this.commentHandlers = UnmodifiableCollections.toList(commentHandlers);
         this.defaultOptions = builder.defaultOptions();
+        final @Nullable Path atomicPath = builder.atomicPath;
+        this.path = atomicPath != null && atomicPath.equals(builder.sourcePath) ? atomicPath : null;
+        this.skipUnchangedSaves = builder.skipUnchangedSaves();
+        this.incrementalSaves = builder.incrementalSaves();
     }
 
     /**
@@ -141,15 +177,34 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
         if (this.source == null) {
             throw new ParsingException(UNKNOWN_POS, UNKNOWN_POS, "", "No source present to read from!", null);
         }
-        try (BufferedReader reader = this.source.call()) {
+        final @Nullable Path path = this.skipUnchangedSaves || this.incrementalSaves ? this.path : null;
+        this.knownContents = null;
+        try (BufferedReader sourceReader = this.source.call()) {
+            final ContentHasher.@Nullable HashingReader hashing = path != null && this.skipUnchangedSaves
+                ? new ContentHasher.HashingReader(sourceReader) : null;
+            final BufferedReader buffered = hashing == null ? sourceReader : new BufferedReader(hashing);
+            final @Nullable PositionTrackingReader tracking = path != null && this.incrementalSaves ? new PositionTrackingReader(buffered) : null;
+            final BufferedReader reader = tracking == null ? buffered : tracking;
+            @Nullable String header = null;
             if (this.headerMode == HeaderMode.PRESERVE || this.headerMode == HeaderMode.NONE) {
                 final @Nullable String comment = CommentHandlers.extractComment(reader, this.commentHandlers);
                 if (comment != null && comment.length() > 0) {
                     options = options.header(comment);
+                    header = comment;
                 }
             }
             final N node = createNode(options);
-            loadInternal(node, reader);
+            @Nullable SourceSpans spans = null;
+            if (tracking != null) {
+                spans = new SourceSpans(tracking.position());
+                loadInternal(node, reader, spans);
+            } else {
+                loadInternal(node, reader);
+            }
+            if (path != null) {
+                this.knownContents = KnownContents.of(path, hashing == null ? null : hashing.drainAndHash(),
+                    spans != null && spans.valid() ? spans : null, header);
+            }
             return node;
         } catch (final ParsingException ex) {
             throw ex;
@@ -175,25 +230,48 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
      */
     protected abstract void loadInternal(N node, BufferedReader reader) throws ParsingException;
 
+    /**
+     * Using a created node, attempt to read a configuration file while
+     * recording the location of each value in the file.
+     *
+     * <p>This is called instead of {@link #loadInternal(ScopedConfigurationNode, BufferedReader)}
+     * when {@link Builder#incrementalSaves(boolean) incremental saves} are
+     * enabled. Loaders that support incremental saves should override this
+     * method, and {@link #renderScalar(ConfigurationNode)}. By default, the
+     * file is loaded without recording any locations, so every save will
+     * render the entire node.</p>
+     *
+     * @param node node to load into
+     * @param reader reader to load from
+     * @param spans the collector for value locations
+     * @throws ParsingException if an error occurs at any stage of loading
+     * @since 4.0.0
+     */
+    protected void loadInternal(final N node, final BufferedReader reader, final SourceSpans spans) throws ParsingException {
+        spans.invalidate();
+        this.loadInternal(node, reader);
+    }
+
     @Override
     public void save(final ConfigurationNode node) throws ConfigurateException {
         if (this.sink == null) {
             throw new ConfigurateException(node, "No sink present to write to!");
         }
-        try (Writer writer = this.sink.call()) {
-            writeHeaderInternal(writer);
-            if (this.headerMode != HeaderMode.NONE) {
-                final @Nullable String header = node.options().header();
-                if (header != null && !header.isEmpty()) {
-                    final Iterator<String> lines = defaultCommentHandler().toComment(CONFIGURATE_LINE_PATTERN.splitAsStream(header)).iterator();
-                    while (lines.hasNext()) {
-                        writer.write(lines.next());
-                        writer.write(SYSTEM_LINE_SEPARATOR);
-                    }
-                    writer.write(SYSTEM_LINE_SEPARATOR);
+        try {
+            final BufferedWriter sink = this.sink.call();
+            final @Nullable Path path = this.path;
+            if ((this.skipUnchangedSaves || this.incrementalSaves) && path != null && AtomicFiles.isAtomic(sink)) {
+                this.saveTracked(node, sink, path);
+            } else {
+                try {
+                    this.writeNode(node, sink);
+                } catch (final Exception ex) {
+                    // a partially written file must never replace the original
+                    discard(sink, ex);
+                    throw ex;
                 }
+                sink.close();
             }
-            saveInternal(node, writer);
         } catch (final ConfigurateException ex) {
             throw ex;
         } catch (final Exception ex) {
@@ -201,6 +279,113 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
         }
     }
 
+    /**
+     * Close a sink after a failed write, without replacing its target file.
+     *
+     * @param sink the sink to discard
+     * @param failure the exception that caused the write to fail
+     */
+    private static void discard(final Writer sink, final Exception failure) {
+        try {
+            AtomicFiles.discard(sink);
+        } catch (final IOException closeEx) {
+            failure.addSuppressed(closeEx);
+        }
+    }
+
+    /**
+     * Save to a file whose contents are tracked between loads and saves.
+     *
+     * @param node the node to save
+     * @param sink an atomic writer for the file at {@code path}
+     * @param path the file path
+     * @throws Exception if unable to write
+     */
+    private void saveTracked(final ConfigurationNode node, final BufferedWriter sink, final Path path) throws Exception {
+        final @Nullable KnownContents known = this.knownContents;
+        final ContentHasher.@Nullable HashingWriter hashing = this.skipUnchangedSaves ? new ContentHasher.HashingWriter(sink) : null;
+        final Writer writer = hashing == null ? sink : hashing;
+        final @Nullable SourceSpans previous = this.incrementalSaves && known != null ? known.spans : null;
+        final @Nullable List<SourceSpans.Patch> patches = known == null || previous == null
+            ? null : this.incrementalPatches(node, path, known, previous);
+        @Nullable SourceSpans spans = null;
+        try {
+            if (patches != null) {
+                try (BufferedReader original = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                    spans = previous.write(original, writer, patches);
+                }
+            } else {
+                this.writeNode(node, writer);
+            }
+        } catch (final Exception ex) {
+            // a partially written or patched file must never replace the original
+            discard(sink, ex);
+            throw ex;
+        }
+
+        final byte @Nullable [] hash = hashing == null ? null : hashing.hash();
+        if (hash != null && known != null && known.matches(path, hash)) {
+            AtomicFiles.discard(sink);
+            this.skippedSaves.increment();
+        } else {
+            this.knownContents = null;
+            sink.close();
+            this.knownContents = KnownContents.of(path, hash, spans, node.options().header());
+        }
+    }
+
+    /**
+     * Find the changes needed to save the node by replacing values in the
+     * existing file.
+     *
+     * @param node the node to save
+     * @param path the file to patch
+     * @param known the state of the file when it was last loaded or saved
+     * @param spans the locations of values in the file
+     * @return the patches to apply, or {@code null} if the entire node
+     *      must be rendered
+     */
+    private @Nullable List<SourceSpans.Patch> incrementalPatches(final ConfigurationNode node, final Path path,
+            final KnownContents known, final SourceSpans spans) {
+        if (this.headerMode != HeaderMode.PRESERVE
+            || !Objects.equals(node.options().header(), known.header)
+            || !known.unmodified(path)) {
+            return null;
+        }
+        return spans.patches(node, this::renderScalar);
+    }
+
+    private void writeNode(final ConfigurationNode node, final Writer writer) throws IOException, ConfigurateException {
+        writeHeaderInternal(writer);
+        if (this.headerMode != HeaderMode.NONE) {
+            final @Nullable String header = node.options().header();
+            if (header != null && !header.isEmpty()) {
+                final Iterator<String> lines = defaultCommentHandler().toComment(CONFIGURATE_LINE_PATTERN.splitAsStream(header)).iterator();
+                while (lines.hasNext()) {
+                    writer.write(lines.next());
+                    writer.write(SYSTEM_LINE_SEPARATOR);
+                }
+                writer.write(SYSTEM_LINE_SEPARATOR);
+            }
+        }
+        saveInternal(node, writer);
+    }
+
+    /**
+     * Get the number of saves that have been skipped because the rendered
+     * output was identical to the existing file.
+     *
+     * <p>This will always be zero unless
+     * {@link Builder#skipUnchangedSaves(boolean) skipping unchanged saves}
+     * is enabled.</p>
+     *
+     * @return the number of skipped saves
+     * @since 4.0.0
+     */
+    public long skippedSaves() {
+        return this.skippedSaves.sum();
+    }
+
     /**
      * Write out any implementation-specific file header.
      *
@@ -210,6 +395,24 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
      */
     protected void writeHeaderInternal(final Writer writer) throws IOException {}
 
+    /**
+     * Render the value of a scalar node on its own, as it would appear
+     * when saving the entire node.
+     *
+     * <p>This is used to replace the values of changed scalars when
+     * performing an {@link Builder#incrementalSaves(boolean) incremental}
+     * save. The rendered text must be valid in any position a value of the
+     * same type could appear in the document.</p>
+     *
+     * @param node the node to render
+     * @return the rendered value, or {@code null} if the value cannot be
+     *      rendered in isolation, so the entire node must be saved
+     * @since 4.0.0
+     */
+    protected @Nullable String renderScalar(final ConfigurationNode node) {
+        return null;
+    }
+
     /**
      * Perform a save of the node to the provided writer.
      *
@@ -235,6 +438,71 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
         return this.sink != null;
     }
 
+    /**
+     * The known state of a file on disk.
+     */
+    private static final class KnownContents {
+
+        final byte @Nullable [] hash;
+        final @Nullable SourceSpans spans;
+        final @Nullable String header;
+        private final FileTime modified;
+        private final long size;
+
+        static @Nullable KnownContents of(final Path path, final byte @Nullable [] hash, final @Nullable SourceSpans spans,
+                final @Nullable String header) {
+            if (hash == null && spans == null) {
+                return null;
+            }
+
+            try {
+                final BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                return new KnownContents(hash, spans, header, attributes.lastModifiedTime(), attributes.size());
+            } catch (final IOException ex) {
+                return null;
+            }
+        }
+
+        private KnownContents(final byte @Nullable [] hash, final @Nullable SourceSpans spans, final @Nullable String header,
+                final FileTime modified, final long size) {
+            this.hash = hash;
+            this.spans = spans;
+            this.header = header;
+            this.modified = modified;
+            this.size = size;
+        }
+
+        /**
+         * Test whether the file at {@code path} is unmodified since these
+         * contents were recorded.
+         *
+         * @param path the file path
+         * @return whether the file is unmodified
+         */
+        boolean unmodified(final Path path) {
+            try {
+                final BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                return this.modified.equals(attributes.lastModifiedTime())
+                    && this.size == attributes.size();
+            } catch (final IOException ex) {
+                return false;
+            }
+        }
+
+        /**
+         * Test whether the file at {@code path} is unmodified since these
+         * contents were recorded, and matches the provided hash.
+         *
+         * @param path the file path
+         * @param hash the hash of new contents
+         * @return whether the file already has the new contents
+         */
+        boolean matches(final Path path, final byte[] hash) {
+            return this.hash != null && Arrays.equals(this.hash, hash) && this.unmodified(path);
+        }
+
+    }
+
     /**
      * An abstract builder implementation for {@link AbstractConfigurationLoader}s.
      *
@@ -246,6 +514,11 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
         protected @Nullable Callable<BufferedReader> source;
         protected @Nullable Callable<BufferedWriter> sink;
         protected ConfigurationOptions defaultOptions = ConfigurationOptions.defaults();
+        protected AtomicFiles.WriteOptions atomicWriteOptions = AtomicFiles.WriteOptions.defaults();
+        protected boolean skipUnchangedSaves;
+        protected boolean incrementalSaves;
+        private @Nullable Path atomicPath;
+        private @Nullable Path sourcePath;
 
         /**
          * Create a new builder.
@@ -285,7 +558,8 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
          * {@link Files#newBufferedReader(Path)} with UTF-8 encoding.</p>
          *
          * <p>The {@link #sink() sink} is defined using {@link AtomicFiles} with UTF-8
-         * encoding.</p>
+         * encoding, and the {@link #atomicWriteOptions() atomic write options}
+         * of this builder.</p>
          *
          * @param path the path of the configuration file
          * @return this builder (for chaining)
@@ -294,7 +568,9 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
         public T path(final Path path) {
             final Path absPath = requireNonNull(path, "path").toAbsolutePath();
             this.source = () -> Files.newBufferedReader(absPath, StandardCharsets.UTF_8);
-            this.sink = AtomicFiles.atomicWriterFactory(absPath, StandardCharsets.UTF_8);
+            this.sink = AtomicFiles.atomicWriterFactory(absPath, StandardCharsets.UTF_8, this.atomicWriteOptions);
+            this.atomicPath = absPath;
+            this.sourcePath = absPath;
             return self();
         }
 
@@ -308,6 +584,7 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
         public T url(final URL url) {
             requireNonNull(url, "url");
             this.source = () -> new BufferedReader(new InputStreamReader(url.openConnection().getInputStream(), StandardCharsets.UTF_8));
+            this.sourcePath = null;
             return self();
         }
 
@@ -322,6 +599,7 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
          */
         public T source(final @Nullable Callable<BufferedReader> source) {
             this.source = source;
+            this.sourcePath = null;
             return self();
         }
 
@@ -346,6 +624,7 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
          */
         public T sink(final @Nullable Callable<BufferedWriter> sink) {
             this.sink = sink;
+            this.atomicPath = null;
             return self();
         }
 
@@ -359,6 +638,110 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
             return this.sink;
         }
 
+        /**
+         * Sets the options used when saving to a file set with
+         * {@link #path(Path)} or {@link #file(File)}.
+         *
+         * <p>These options can be used to configure write buffering, and
+         * whether saved files should be synced to disk for durability.</p>
+         *
+         * @param options the atomic write options
+         * @return this builder (for chaining)
+         * @since 4.0.0
+         */
+        public T atomicWriteOptions(final AtomicFiles.WriteOptions options) {
+            this.atomicWriteOptions = requireNonNull(options, "options");
+            final @Nullable Path atomicPath = this.atomicPath;
+            if (atomicPath != null) {
+                this.sink = AtomicFiles.atomicWriterFactory(atomicPath, StandardCharsets.UTF_8, options);
+            }
+            return self();
+        }
+
+        /**
+         * Gets the options used when saving to a file.
+         *
+         * @return the atomic write options
+         * @since 4.0.0
+         */
+        public AtomicFiles.WriteOptions atomicWriteOptions() {
+            return this.atomicWriteOptions;
+        }
+
+        /**
+         * Sets whether the resultant loader should avoid replacing its file
+         * when a save would not change the file's contents.
+         *
+         * <p>When enabled, output is hashed as it is written. If the hash
+         * matches the contents of the file as last loaded or saved by the
+         * loader, and the file has not been modified since, the newly written
+         * file is discarded rather than moved into place. This avoids
+         * triggering file watchers for saves that change nothing.</p>
+         *
+         * <p>This only has an effect when the loader reads from and writes to
+         * a file set with {@link #path(Path)} or {@link #file(File)}.</p>
+         *
+         * @param skipUnchangedSaves whether to skip unchanged saves
+         * @return this builder (for chaining)
+         * @see AbstractConfigurationLoader#skippedSaves()
+         * @since 4.0.0
+         */
+        public T skipUnchangedSaves(final boolean skipUnchangedSaves) {
+            this.skipUnchangedSaves = skipUnchangedSaves;
+            return self();
+        }
+
+        /**
+         * Gets whether the resultant loader will skip saves that would not
+         * change its file.
+         *
+         * @return whether to skip unchanged saves
+         * @since 4.0.0
+         */
+        public boolean skipUnchangedSaves() {
+            return this.skipUnchangedSaves;
+        }
+
+        /**
+         * Sets whether the resultant loader should save by replacing only
+         * the values that have changed in its file, when possible.
+         *
+         * <p>When enabled, loaders that support it record where each scalar
+         * value was read from. If the only changes to a node when it is next
+         * saved are to the values of existing scalars, the file's previous
+         * contents are copied with only the text of those values replaced.
+         * Formatting and any other content of the file that would not be
+         * preserved by the loader is kept intact.</p>
+         *
+         * <p>If any other change has been made, such as adding or removing
+         * values, or the file has been modified since it was loaded, the
+         * entire node is saved as normal. After a full save, the entire node
+         * will continue to be saved until the file is loaded again.</p>
+         *
+         * <p>This only has an effect when the loader reads from and writes to
+         * a file set with {@link #path(Path)} or {@link #file(File)}, with
+         * the {@link HeaderMode#PRESERVE} header mode.</p>
+         *
+         * @param incrementalSaves whether to save incrementally
+         * @return this builder (for chaining)
+         * @since 4.0.0
+         */
+        public T incrementalSaves(final boolean incrementalSaves) {
+            this.incrementalSaves = incrementalSaves;
+            return self();
+        }
+
+        /**
+         * Gets whether the resultant loader will save by replacing changed
+         * values in its file.
+         *
+         * @return whether to save incrementally
+         * @since 4.0.0
+         */
+        public boolean incrementalSaves() {
+            return this.incrementalSaves;
+        }
+
         /**
          * Sets the header mode of the resultant loader.
          *
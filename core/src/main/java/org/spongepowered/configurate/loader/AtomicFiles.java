@@ -18,23 +18,39 @@ package org.spongepowered.configurate.loader;
 
 import static java.util.Objects.requireNonNull;
 
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.BufferedOutputStream;
 import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
 import java.io.FilterWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.DosFileAttributeView;
+import java.nio.file.attribute.DosFileAttributes;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * A utility for creating "atomic" file writers.
  *
- * <p>An atomic writer copies any existing file at the given path to a temporary
- * location, then writes to the same temporary location, before moving the file
- * back to the desired output path once the write is fully complete.</p>
+ * <p>An atomic writer writes to a temporary file alongside the destination
+ * path, then moves the temporary file over the desired output path once the
+ * write is fully complete. The permissions (and owner, where possible) of any
+ * existing file are applied to the new file before it is moved into
+ * place.</p>
  *
  * @since 4.0.0
  */
@@ -51,8 +67,36 @@ public final class AtomicFiles {
      * @since 4.0.0
      */
     public static Callable<BufferedWriter> atomicWriterFactory(final Path path, final Charset charset) {
+        return atomicWriterFactory(path, charset, WriteOptions.defaults());
+    }
+
+    /**
+     * Creates and returns an "atomic" writer factory for the given path.
+     *
+     * @param path path the complete file should be written to
+     * @param charset the charset to be used by the writer
+     * @param options options to control the written file
+     * @return a new writer factory
+     * @since 4.0.0
+     */
+    public static Callable<BufferedWriter> atomicWriterFactory(final Path path, final Charset charset, final WriteOptions options) {
         requireNonNull(path, "path");
-        return () -> atomicBufferedWriter(path, charset);
+        requireNonNull(charset, "charset");
+        requireNonNull(options, "options");
+        return () -> atomicBufferedWriter(path, charset, options);
+    }
+
+    /**
+     * Creates and returns an "atomic" writer for the given path.
+     *
+     * @param path the path
+     * @param charset the charset to be used by the writer
+     * @return a new writer factory
+     * @throws IOException for any underlying filesystem errors
+     * @since 4.0.0
+     */
+    public static BufferedWriter atomicBufferedWriter(final Path path, final Charset charset) throws IOException {
+        return atomicBufferedWriter(path, charset, WriteOptions.defaults());
     }
 
     /**
@@ -60,11 +104,58 @@ public final class AtomicFiles {
      *
      * @param path the path
      * @param charset the charset to be used by the writer
+     * @param options options to control the written file
      * @return a new writer factory
      * @throws IOException for any underlying filesystem errors
      * @since 4.0.0
      */
-    public static BufferedWriter atomicBufferedWriter(Path path, final Charset charset) throws IOException {
+    public static BufferedWriter atomicBufferedWriter(final Path path, final Charset charset, final WriteOptions options) throws IOException {
+        final Path target = resolveTarget(path);
+        final Path writePath = temporaryPath(target.getParent(), target.getFileName().toString());
+        Files.createDirectories(writePath.getParent());
+
+        final FileChannel channel = FileChannel.open(writePath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        final Writer output = new OutputStreamWriter(Channels.newOutputStream(channel), charset.newEncoder());
+        return new AtomicBufferedWriter(new AtomicFileWriter(writePath, target, channel, output, options.sync()), options.bufferSize());
+    }
+
+    /**
+     * Creates and returns an "atomic" output stream factory for the given
+     * path, for formats that are not stored as text.
+     *
+     * @param path path the complete file should be written to
+     * @param options options to control the written file
+     * @return a new output stream factory
+     * @since 4.0.0
+     */
+    public static Callable<OutputStream> atomicOutputStreamFactory(final Path path, final WriteOptions options) {
+        requireNonNull(path, "path");
+        requireNonNull(options, "options");
+        return () -> atomicBufferedOutputStream(path, options);
+    }
+
+    /**
+     * Creates and returns an "atomic" output stream for the given path.
+     *
+     * <p>The stream is buffered, with a buffer of
+     * {@link WriteOptions#bufferSize()} bytes.</p>
+     *
+     * @param path the path
+     * @param options options to control the written file
+     * @return a new output stream
+     * @throws IOException for any underlying filesystem errors
+     * @since 4.0.0
+     */
+    public static OutputStream atomicBufferedOutputStream(final Path path, final WriteOptions options) throws IOException {
+        final Path target = resolveTarget(path);
+        final Path writePath = temporaryPath(target.getParent(), target.getFileName().toString());
+        Files.createDirectories(writePath.getParent());
+
+        final FileChannel channel = FileChannel.open(writePath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        return new AtomicBufferedOutputStream(new AtomicFileOutputStream(writePath, target, channel, options.sync()), options.bufferSize());
+    }
+
+    private static Path resolveTarget(Path path) {
         // absolute
         path = path.toAbsolutePath();
 
@@ -76,15 +167,63 @@ public final class AtomicFiles {
         } catch (final UnsupportedOperationException | IOException ex) {
             // ignore
         }
+        return path;
+    }
 
-        final Path writePath = temporaryPath(path.getParent(), path.getFileName().toString());
-        if (Files.exists(path)) {
-            Files.copy(path, writePath, StandardCopyOption.COPY_ATTRIBUTES, StandardCopyOption.REPLACE_EXISTING);
+    /**
+     * Close a writer created by this class without replacing the target file.
+     *
+     * <p>If the writer was not created by this class, it will just be
+     * closed, and this method will return false.</p>
+     *
+     * @param writer the writer to discard
+     * @return whether the written contents were discarded
+     * @throws IOException if unable to close the writer
+     * @since 4.0.0
+     */
+    public static boolean discard(final Writer writer) throws IOException {
+        if (writer instanceof AtomicBufferedWriter) {
+            ((AtomicBufferedWriter) writer).file.discard = true;
+            writer.close();
+            return true;
+        } else {
+            writer.close();
+            return false;
         }
+    }
 
-        Files.createDirectories(writePath.getParent());
-        final BufferedWriter output = Files.newBufferedWriter(writePath, charset);
-        return new BufferedWriter(new AtomicFileWriter(writePath, path, output));
+    /**
+     * Close an output stream created by this class without replacing the
+     * target file.
+     *
+     * <p>If the stream was not created by this class, it will just be
+     * closed, and this method will return false.</p>
+     *
+     * @param stream the stream to discard
+     * @return whether the written contents were discarded
+     * @throws IOException if unable to close the stream
+     * @since 4.0.0
+     */
+    public static boolean discard(final OutputStream stream) throws IOException {
+        if (stream instanceof AtomicBufferedOutputStream) {
+            ((AtomicBufferedOutputStream) stream).file.discard = true;
+            stream.close();
+            return true;
+        } else {
+            stream.close();
+            return false;
+        }
+    }
+
+    /**
+     * Get whether the provided writer will replace its destination file
+     * when closed.
+     *
+     * @param writer the writer to test
+     * @return whether the writer is atomic
+     */
+    static boolean isAtomic(final Writer writer) {
+        return writer instanceof AtomicBufferedWriter;
     }
 
     private static Path temporaryPath(final Path parent, final String key) {
@@ -93,23 +232,328 @@ public final class AtomicFiles {
         return parent.resolve(fileName);
     }
 
+    /**
+     * Apply the permissions and ownership of an existing file to a newly
+     * written file, if the existing file is present.
+     *
+     * <p>Unlike {@link StandardCopyOption#COPY_ATTRIBUTES}, this does not
+     * require copying any of the file's contents.</p>
+     *
+     * @param source the existing file
+     * @param target the file to update
+     * @throws IOException if unable to apply attributes to the target
+     */
+    static void copyPermissions(final Path source, final Path target) throws IOException {
+        final @Nullable PosixFileAttributeView sourcePosix = Files.getFileAttributeView(source, PosixFileAttributeView.class);
+        final @Nullable PosixFileAttributeView targetPosix = Files.getFileAttributeView(target, PosixFileAttributeView.class);
+        if (sourcePosix != null && targetPosix != null) {
+            final PosixFileAttributes attributes;
+            try {
+                attributes = sourcePosix.readAttributes();
+            } catch (final NoSuchFileException ex) {
+                return; // nothing to copy from
+            }
+
+            try {
+                targetPosix.setOwner(attributes.owner());
+                targetPosix.setGroup(attributes.group());
+            } catch (final IOException ignore) {
+                // changing ownership usually requires elevated privileges
+            }
+            targetPosix.setPermissions(attributes.permissions());
+            return;
+        }
+
+        final @Nullable DosFileAttributeView sourceDos = Files.getFileAttributeView(source, DosFileAttributeView.class);
+        final @Nullable DosFileAttributeView targetDos = Files.getFileAttributeView(target, DosFileAttributeView.class);
+        if (sourceDos != null && targetDos != null) {
+            final DosFileAttributes attributes;
+            try {
+                attributes = sourceDos.readAttributes();
+            } catch (final NoSuchFileException ex) {
+                return;
+            }
+
+            targetDos.setArchive(attributes.isArchive());
+            targetDos.setHidden(attributes.isHidden());
+            targetDos.setSystem(attributes.isSystem());
+            targetDos.setReadOnly(attributes.isReadOnly());
+        }
+    }
+
+    /**
+     * Attempt to flush changes to a directory's entries to disk.
+     *
+     * <p>Not all platforms support opening directories, so any failures
+     * are ignored.</p>
+     *
+     * @param directory the directory to sync
+     */
+    static void syncDirectory(final @Nullable Path directory) {
+        if (directory == null) {
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (final IOException ignore) {
+            // not supported on this platform
+        }
+    }
+
+    /**
+     * Options controlling how atomic writes are performed.
+     *
+     * <p>This class is immutable.</p>
+     *
+     * @since 4.0.0
+     */
+    public static final class WriteOptions {
+
+        private static final int DEFAULT_BUFFER_SIZE = 8192;
+        private static final WriteOptions DEFAULTS = new WriteOptions(DEFAULT_BUFFER_SIZE, false);
+
+        private final int bufferSize;
+        private final boolean sync;
+
+        /**
+         * Get the default write options.
+         *
+         * <p>By default, an 8 KiB buffer is used and files are not
+         * explicitly synced to disk.</p>
+         *
+         * @return default options
+         * @since 4.0.0
+         */
+        public static WriteOptions defaults() {
+            return DEFAULTS;
+        }
+
+        private WriteOptions(final int bufferSize, final boolean sync) {
+            this.bufferSize = bufferSize;
+            this.sync = sync;
+        }
+
+        /**
+         * Get the size of the buffer used for writers and output streams.
+         *
+         * @return the buffer size, in characters or bytes
+         * @since 4.0.0
+         */
+        public int bufferSize() {
+            return this.bufferSize;
+        }
+
+        /**
+         * Create a new options object with the provided buffer size.
+         *
+         * @param bufferSize the buffer size, in characters or bytes
+         * @return new options object
+         * @since 4.0.0
+         */
+        public WriteOptions bufferSize(final int bufferSize) {
+            if (bufferSize <= 0) {
+                throw new IllegalArgumentException("Buffer size must be positive, but was " + bufferSize);
+            }
+            if (this.bufferSize == bufferSize) {
+                return this;
+            }
+            return new WriteOptions(bufferSize, this.sync);
+        }
+
+        /**
+         * Get whether written data will be synced to the storage device
+         * before the file is moved into place.
+         *
+         * <p>When enabled, both the written file and its parent directory
+         * are synced, so a completed write will survive a system crash.
+         * This comes at a significant cost to write throughput.</p>
+         *
+         * @return whether to sync writes
+         * @since 4.0.0
+         */
+        public boolean sync() {
+            return this.sync;
+        }
+
+        /**
+         * Create a new options object with the provided sync behaviour.
+         *
+         * @param sync whether to sync writes
+         * @return new options object
+         * @see #sync() for details on sync behaviour
+         * @since 4.0.0
+         */
+        public WriteOptions sync(final boolean sync) {
+            if (this.sync == sync) {
+                return this;
+            }
+            return new WriteOptions(this.bufferSize, sync);
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof WriteOptions)) {
+                return false;
+            }
+            final WriteOptions that = (WriteOptions) other;
+            return this.bufferSize == that.bufferSize
+                && this.sync == that.sync;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.bufferSize + Boolean.hashCode(this.sync);
+        }
+
+        @Override
+        public String toString() {
+            return "WriteOptions{bufferSize=" + this.bufferSize + ", sync=" + this.sync + '}';
+        }
+
+    }
+
+    private static final class AtomicBufferedWriter extends BufferedWriter {
+
+        final AtomicFileWriter file;
+
+        AtomicBufferedWriter(final AtomicFileWriter file, final int bufferSize) {
+            super(file, bufferSize);
+            this.file = file;
+        }
+
+    }
+
+    private static final class AtomicBufferedOutputStream extends BufferedOutputStream {
+
+        final AtomicFileOutputStream file;
+
+        AtomicBufferedOutputStream(final AtomicFileOutputStream file, final int bufferSize) {
+            super(file, bufferSize);
+            this.file = file;
+        }
+
+    }
+
     private static class AtomicFileWriter extends FilterWriter {
 
         private final Path targetPath;
         private final Path writePath;
+        private final FileChannel channel;
+        private final boolean sync;
+        volatile boolean discard;
 
-        protected AtomicFileWriter(final Path writePath, final Path targetPath, final Writer wrapping) {
+        protected AtomicFileWriter(final Path writePath, final Path targetPath, final FileChannel channel, final Writer wrapping,
+                final boolean sync) {
             super(wrapping);
             this.writePath = writePath;
             this.targetPath = targetPath;
+            this.channel = channel;
+            this.sync = sync;
         }
 
         @Override
         public void close() throws IOException {
-            super.close();
-            Files.move(this.writePath, this.targetPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            if (this.discard) {
+                try {
+                    super.close();
+                } finally {
+                    Files.deleteIfExists(this.writePath);
+                }
+                return;
+            }
+
+            try {
+                try {
+                    this.out.flush();
+                    if (this.sync) {
+                        this.channel.force(true);
+                    }
+                } finally {
+                    super.close();
+                }
+            } catch (final IOException ex) {
+                Files.deleteIfExists(this.writePath);
+                throw ex;
+            }
+            moveIntoPlace(this.writePath, this.targetPath, this.sync);
         }
 
     }
 
+    private static final class AtomicFileOutputStream extends FilterOutputStream {
+
+        private final Path targetPath;
+        private final Path writePath;
+        private final FileChannel channel;
+        private final boolean sync;
+        volatile boolean discard;
+
+        AtomicFileOutputStream(final Path writePath, final Path targetPath, final FileChannel channel, final boolean sync) {
+            super(Channels.newOutputStream(channel));
+            this.writePath = writePath;
+            this.targetPath = targetPath;
+            this.channel = channel;
+            this.sync = sync;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            this.out.write(b, off, len); // FilterOutputStream writes one byte at a time
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (this.discard) {
+                try {
+                    this.out.close();
+                } finally {
+                    Files.deleteIfExists(this.writePath);
+                }
+                return;
+            }
+
+            try {
+                try {
+                    this.out.flush();
+                    if (this.sync) {
+                        this.channel.force(true);
+                    }
+                } finally {
+                    this.out.close();
+                }
+            } catch (final IOException ex) {
+                Files.deleteIfExists(this.writePath);
+                throw ex;
+            }
+            moveIntoPlace(this.writePath, this.targetPath, this.sync);
+        }
+
+    }
+
+    /**
+     * Replace the target file with a completely written temporary file.
+     *
+     * @param writePath the written file
+     * @param targetPath the file to replace
+     * @param sync whether to sync the target directory
+     * @throws IOException if unable to move the file
+     */
+    static void moveIntoPlace(final Path writePath, final Path targetPath, final boolean sync) throws IOException {
+        try {
+            copyPermissions(targetPath, writePath);
+        } catch (final IOException ex) {
+            Files.deleteIfExists(writePath);
+            throw ex;
+        }
+
+        Files.move(writePath, targetPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        if (sync) {
+            syncDirectory(targetPath.getParent());
+        }
+    }
+
 }
@@ -0,0 +1,218 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.loader;
+
+import org.spongepowered.configurate.util.ObjectPool;
+
+import java.io.FilterReader;
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Computes a digest of the characters passing through a reader or writer.
+ *
+ * <p>Characters are hashed as UTF-16 code units, so a hash computed while
+ * reading a document can be compared to one computed while writing.</p>
+ */
+final class ContentHasher {
+
+    private static final String ALGORITHM = "SHA-256";
+    private static final ObjectPool<ContentHasher> POOL = ObjectPool.create(ContentHasher::new);
+
+    private final MessageDigest digest;
+    private final byte[] scratch = new byte[2048];
+    private final char[] stringChars = new char[1024];
+
+    /**
+     * Get a hasher from the shared pool.
+     *
+     * @return a hasher, which will be returned to the pool once finished
+     */
+    static ContentHasher acquire() {
+        return POOL.acquire();
+    }
+
+    private ContentHasher() {
+        try {
+            this.digest = MessageDigest.getInstance(ALGORITHM);
+        } catch (final NoSuchAlgorithmException ex) {
+            // every JVM is required to support SHA-256
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    void update(final int character) {
+        this.digest.update((byte) (character >>> 8));
+        this.digest.update((byte) character);
+    }
+
+    void update(final char[] characters, int offset, int length) {
+        final byte[] scratch = this.scratch;
+        while (length > 0) {
+            final int count = Math.min(length, scratch.length / 2);
+            for (int i = 0; i < count; ++i) {
+                final char c = characters[offset + i];
+                scratch[2 * i] = (byte) (c >>> 8);
+                scratch[2 * i + 1] = (byte) c;
+            }
+            this.digest.update(scratch, 0, count * 2);
+            offset += count;
+            length -= count;
+        }
+    }
+
+    void update(final String characters, int offset, int length) {
+        final char[] chars = this.stringChars;
+        while (length > 0) {
+            final int count = Math.min(length, chars.length);
+            characters.getChars(offset, offset + count, chars, 0);
+            this.update(chars, 0, count);
+            offset += count;
+            length -= count;
+        }
+    }
+
+    /**
+     * Complete the hash, resetting this hasher and returning it to the pool.
+     *
+     * <p>The hasher must not be used after calling this method.</p>
+     *
+     * @return the hash of all characters seen
+     */
+    byte[] finish() {
+        final byte[] hash = this.digest.digest();
+        POOL.release(this);
+        return hash;
+    }
+
+    /**
+     * A writer that hashes everything written to it.
+     */
+    static final class HashingWriter extends FilterWriter {
+
+        private final ContentHasher hasher = ContentHasher.acquire();
+
+        HashingWriter(final Writer out) {
+            super(out);
+        }
+
+        @Override
+        public void write(final int c) throws IOException {
+            this.out.write(c);
+            this.hasher.update(c);
+        }
+
+        @Override
+        public void write(final char[] cbuf, final int off, final int len) throws IOException {
+            this.out.write(cbuf, off, len);
+            this.hasher.update(cbuf, off, len);
+        }
+
+        @Override
+        public void write(final String str, final int off, final int len) throws IOException {
+            this.out.write(str, off, len);
+            this.hasher.update(str, off, len);
+        }
+
+        byte[] hash() {
+            return this.hasher.finish();
+        }
+
+    }
+
+    /**
+     * A reader that hashes everything read from it.
+     *
+     * <p>Mark and reset are not supported, since characters that have
+     * already been hashed cannot be un-hashed.</p>
+     */
+    static final class HashingReader extends FilterReader {
+
+        private final ContentHasher hasher = ContentHasher.acquire();
+
+        HashingReader(final Reader in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int read = this.in.read();
+            if (read != -1) {
+                this.hasher.update(read);
+            }
+            return read;
+        }
+
+        @Override
+        public int read(final char[] cbuf, final int off, final int len) throws IOException {
+            final int read = this.in.read(cbuf, off, len);
+            if (read > 0) {
+                this.hasher.update(cbuf, off, read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            final char[] buffer = new char[(int) Math.min(n, 1024)];
+            long remaining = n;
+            while (remaining > 0) {
+                final int read = this.read(buffer, 0, (int) Math.min(remaining, buffer.length));
+                if (read == -1) {
+                    break;
+                }
+                remaining -= read;
+            }
+            return n - remaining;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public void mark(final int readAheadLimit) throws IOException {
+            throw new IOException("mark() not supported");
+        }
+
+        @Override
+        public void reset() throws IOException {
+            throw new IOException("reset() not supported");
+        }
+
+        /**
+         * Read any remaining characters, then return the complete hash.
+         *
+         * @return the hash of the full contents of the underlying reader
+         * @throws IOException if unable to read
+         */
+        byte[] drainAndHash() throws IOException {
+            final char[] buffer = new char[1024];
+            while (this.read(buffer, 0, buffer.length) != -1) {
+                // consume
+            }
+            return this.hasher.finish();
+        }
+
+    }
+
+}
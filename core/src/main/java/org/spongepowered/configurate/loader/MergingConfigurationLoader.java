@@ -0,0 +1,426 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.loader;
+
+import static java.util.Objects.requireNonNull;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.ConfigurationOptions;
+import org.spongepowered.configurate.ScopedConfigurationNode;
+import org.spongepowered.configurate.reference.ConfigurationReference;
+import org.spongepowered.configurate.util.UnmodifiableCollections;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A loader that combines the contents of several other loaders into
+ * one node.
+ *
+ * <p>Every source is loaded concurrently on the configured {@link Executor}.
+ * The resulting nodes are then combined pairwise with
+ * {@link ConfigurationNode#mergeFrom(ConfigurationNode)}, as a tree reduction,
+ * so merges of neighbouring sources can proceed while other sources are
+ * still being parsed.</p>
+ *
+ * <p>Sources are ordered by precedence. When more than one source provides a
+ * value at the same path, the value from the source that was added first
+ * will be used. This gives the same result as loading each source in turn
+ * and merging it into the result of the previous sources.</p>
+ *
+ * <p>Merged configurations are read-only, and cannot be saved.</p>
+ *
+ * @param <N> the {@link ConfigurationNode} type produced by the loader
+ * @since 4.0.0
+ */
+public final class MergingConfigurationLoader<N extends ScopedConfigurationNode<N>> implements ConfigurationLoader<N> {
+
+    private final List<ConfigurationLoader<? extends N>> sources;
+    private final Executor executor;
+    private final ConfigurationOptions defaultOptions;
+
+    /**
+     * Create a new builder for a merging loader.
+     *
+     * @param <N> node type
+     * @return a new builder
+     * @since 4.0.0
+     */
+    public static <N extends ScopedConfigurationNode<N>> Builder<N> builder() {
+        return new Builder<>();
+    }
+
+    MergingConfigurationLoader(final Builder<N> builder) {
+        this.sources = UnmodifiableCollections.copyOf(builder.sources);
+        this.executor = builder.executor;
+        final @Nullable ConfigurationOptions defaultOptions = builder.defaultOptions;
+        this.defaultOptions = defaultOptions == null ? this.sources.get(0).defaultOptions() : defaultOptions;
+    }
+
+    /**
+     * Get the loaders this loader will read from, in order of precedence.
+     *
+     * @return the source loaders
+     * @since 4.0.0
+     */
+    public List<ConfigurationLoader<? extends N>> sources() {
+        return this.sources;
+    }
+
+    @Override
+    public N load(final ConfigurationOptions options) throws ConfigurateException {
+        return this.loadWithTimings(options).node();
+    }
+
+    /**
+     * Load and merge every source with the {@link #defaultOptions()}, and
+     * record the time taken by each source.
+     *
+     * @return the merged node and timing information
+     * @throws ConfigurateException if any source fails to load
+     * @since 4.0.0
+     */
+    public Result<N> loadWithTimings() throws ConfigurateException {
+        return this.loadWithTimings(this.defaultOptions());
+    }
+
+    /**
+     * Load and merge every source, and record the time taken by each source.
+     *
+     * <p>If any source fails to load, the failure of the source with the
+     * highest precedence will be thrown, with failures from any other
+     * sources attached as suppressed exceptions.</p>
+     *
+     * @param options the options to load each source with
+     * @return the merged node and timing information
+     * @throws ConfigurateException if any source fails to load
+     * @since 4.0.0
+     */
+    public Result<N> loadWithTimings(final ConfigurationOptions options) throws ConfigurateException {
+        requireNonNull(options, "options");
+        final long start = System.nanoTime();
+        final int count = this.sources.size();
+        final long[] durations = new long[count];
+
+        // Load every source
+        final List<CompletableFuture<N>> loads = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            final int idx = i;
+            final ConfigurationLoader<? extends N> source = this.sources.get(i);
+            loads.add(CompletableFuture.supplyAsync(() -> {
+                final long sourceStart = System.nanoTime();
+                try {
+                    return source.load(options);
+                } catch (final ConfigurateException ex) {
+                    throw new CompletionException(ex);
+                } finally {
+                    durations[idx] = System.nanoTime() - sourceStart;
+                }
+            }, this.executor));
+        }
+
+        // Then merge neighbouring results as soon as both are available
+        List<CompletableFuture<N>> level = loads;
+        while (level.size() > 1) {
+            final List<CompletableFuture<N>> next = new ArrayList<>((level.size() + 1) / 2);
+            for (int i = 0; i < level.size(); i += 2) {
+                if (i + 1 < level.size()) {
+                    next.add(level.get(i).thenCombineAsync(level.get(i + 1), ScopedConfigurationNode::mergeFrom, this.executor));
+                } else {
+                    next.add(level.get(i));
+                }
+            }
+            level = next;
+        }
+
+        final N merged;
+        try {
+            merged = level.get(0).join();
+        } catch (final CompletionException ex) {
+            throw collectFailures(loads, ex);
+        }
+
+        final List<SourceTiming> timings = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            timings.add(new SourceTiming(i, this.sources.get(i), Duration.ofNanos(durations[i])));
+        }
+        return new Result<>(merged, UnmodifiableCollections.copyOf(timings), Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private static ConfigurateException collectFailures(final List<? extends CompletableFuture<?>> loads, final CompletionException merge) {
+        @Nullable ConfigurateException result = null;
+        for (CompletableFuture<?> load : loads) {
+            try {
+                load.join();
+            } catch (final CompletionException ex) {
+                final Throwable cause = ex.getCause() == null ? ex : ex.getCause();
+                if (result == null) {
+                    result = cause instanceof ConfigurateException ? (ConfigurateException) cause : new ConfigurateException(cause);
+                } else {
+                    result.addSuppressed(cause);
+                }
+            }
+        }
+
+        if (result == null) { // a merge failed, rather than any individual load
+            final Throwable cause = merge.getCause() == null ? merge : merge.getCause();
+            result = new ConfigurateException("Failed to merge loaded configurations", cause);
+        }
+        return result;
+    }
+
+    /**
+     * Merged configurations can not be saved.
+     *
+     * @param node the node to save
+     * @throws ConfigurateException always
+     */
+    @Override
+    public void save(final ConfigurationNode node) throws ConfigurateException {
+        throw new ConfigurateException(node, "Merged configurations cannot be saved");
+    }
+
+    @Override
+    public boolean canSave() {
+        return false;
+    }
+
+    @Override
+    public ConfigurationReference<N> loadToReference() throws ConfigurateException {
+        return ConfigurationReference.fixed(this);
+    }
+
+    @Override
+    public ConfigurationOptions defaultOptions() {
+        return this.defaultOptions;
+    }
+
+    /**
+     * Create a node using the loader with the highest precedence.
+     *
+     * @param options node options
+     * @return a new node
+     */
+    @Override
+    public N createNode(final ConfigurationOptions options) {
+        return this.sources.get(0).createNode(options);
+    }
+
+    /**
+     * The result of loading a merged configuration.
+     *
+     * @param <N> node type
+     * @since 4.0.0
+     */
+    public static final class Result<N extends ConfigurationNode> {
+
+        private final N node;
+        private final List<SourceTiming> timings;
+        private final Duration total;
+
+        Result(final N node, final List<SourceTiming> timings, final Duration total) {
+            this.node = node;
+            this.timings = timings;
+            this.total = total;
+        }
+
+        /**
+         * The merged node.
+         *
+         * @return merged node
+         * @since 4.0.0
+         */
+        public N node() {
+            return this.node;
+        }
+
+        /**
+         * Time spent loading each source, in order of precedence.
+         *
+         * @return source timings
+         * @since 4.0.0
+         */
+        public List<SourceTiming> timings() {
+            return this.timings;
+        }
+
+        /**
+         * The total time spent loading and merging all sources.
+         *
+         * @return total duration
+         * @since 4.0.0
+         */
+        public Duration total() {
+            return this.total;
+        }
+
+        @Override
+        public String toString() {
+            return "Result{timings=" + this.timings + ", total=" + this.total + '}';
+        }
+
+    }
+
+    /**
+     * Time taken to load a single source.
+     *
+     * @since 4.0.0
+     */
+    public static final class SourceTiming {
+
+        private final int index;
+        private final ConfigurationLoader<?> source;
+        private final Duration duration;
+
+        SourceTiming(final int index, final ConfigurationLoader<?> source, final Duration duration) {
+            this.index = index;
+            this.source = source;
+            this.duration = duration;
+        }
+
+        /**
+         * The position of the source in the loader's list of sources.
+         *
+         * @return source index
+         * @since 4.0.0
+         */
+        public int index() {
+            return this.index;
+        }
+
+        /**
+         * The loader that was timed.
+         *
+         * @return source loader
+         * @since 4.0.0
+         */
+        public ConfigurationLoader<?> source() {
+            return this.source;
+        }
+
+        /**
+         * Time spent reading and parsing this source.
+         *
+         * @return load duration
+         * @since 4.0.0
+         */
+        public Duration duration() {
+            return this.duration;
+        }
+
+        @Override
+        public String toString() {
+            return "SourceTiming{index=" + this.index + ", duration=" + this.duration + '}';
+        }
+
+    }
+
+    /**
+     * A builder for merging loaders.
+     *
+     * @param <N> node type
+     * @since 4.0.0
+     */
+    public static final class Builder<N extends ScopedConfigurationNode<N>> {
+
+        private final List<ConfigurationLoader<? extends N>> sources = new ArrayList<>();
+        private Executor executor = ForkJoinPool.commonPool();
+        private @Nullable ConfigurationOptions defaultOptions;
+
+        Builder() {
+        }
+
+        /**
+         * Add a source with lower precedence than any existing sources.
+         *
+         * @param source source loader
+         * @return this builder
+         * @since 4.0.0
+         */
+        public Builder<N> source(final ConfigurationLoader<? extends N> source) {
+            this.sources.add(requireNonNull(source, "source"));
+            return this;
+        }
+
+        /**
+         * Add several sources, in descending order of precedence.
+         *
+         * @param sources source loaders
+         * @return this builder
+         * @since 4.0.0
+         */
+        public Builder<N> sources(final Iterable<? extends ConfigurationLoader<? extends N>> sources) {
+            for (ConfigurationLoader<? extends N> source : sources) {
+                this.source(source);
+            }
+            return this;
+        }
+
+        /**
+         * Set the executor that sources will be loaded and merged on.
+         *
+         * <p>By default, the {@link ForkJoinPool#commonPool() common pool}
+         * is used.</p>
+         *
+         * @param executor the executor to use
+         * @return this builder
+         * @since 4.0.0
+         */
+        public Builder<N> executor(final Executor executor) {
+            this.executor = requireNonNull(executor, "executor");
+            return this;
+        }
+
+        /**
+         * Set the default options for the merged loader.
+         *
+         * <p>If unset, the default options of the source with the highest
+         * precedence will be used.</p>
+         *
+         * @param defaultOptions the default options
+         * @return this builder
+         * @since 4.0.0
+         */
+        public Builder<N> defaultOptions(final ConfigurationOptions defaultOptions) {
+            this.defaultOptions = requireNonNull(defaultOptions, "defaultOptions");
+            return this;
+        }
+
+        /**
+         * Create a new loader.
+         *
+         * @return the merging loader
+         * @throws IllegalStateException if no sources have been provided
+         * @since 4.0.0
+         */
+        public MergingConfigurationLoader<N> build() {
+            if (this.sources.isEmpty()) {
+                throw new IllegalStateException("At least one source must be provided");
+            }
+            return new MergingConfigurationLoader<>(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,636 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.loader;
+
+import static java.util.Objects.requireNonNull;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.AttributedConfigurationNode;
+import org.spongepowered.configurate.CommentedConfigurationNodeIntermediary;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.ConfigurationNodeFactory;
+import org.spongepowered.configurate.ConfigurationOptions;
+import org.spongepowered.configurate.RepresentationHint;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A compact binary serialization of entire node trees.
+ *
+ * <p>Snapshots preserve everything a loader can produce: the structure and
+ * raw values of the tree, the configuration header, comments on
+ * {@link CommentedConfigurationNodeIntermediary commented nodes}, tag names
+ * and attributes of {@link AttributedConfigurationNode attributed nodes},
+ * and any representation hints set directly on a node. Reading a snapshot
+ * is much cheaper than parsing a text format, so snapshots are suitable for
+ * caching the result of loading a configuration. See
+ * {@link SnapshotCachingLoader}.</p>
+ *
+ * <p>A snapshot begins with a magic number and a format version, followed
+ * by the length of the body. The body starts with a table of the strings
+ * used as keys, tag names, attribute names, and hint identifiers, so each
+ * is stored only once, followed by the header and the root node.</p>
+ *
+ * <p>Scalar values may be strings, booleans, any of the primitive number
+ * wrappers, {@link BigInteger}, {@link BigDecimal}, {@code byte[]}, or
+ * enum constants. Trees containing any other values cannot be written as a
+ * snapshot. Enum types and the value types of representation hints are
+ * stored by name, and are resolved with a class loader when the snapshot is
+ * read. Snapshots are not intended for long-term storage, and readers
+ * will reject snapshots written by any other format version.</p>
+ *
+ * @since 4.0.0
+ */
+public final class NodeSnapshots {
+
+    private static final int MAGIC = 0x43464e53; // CFNS
+    private static final int VERSION = 1;
+
+    // node kinds
+    private static final int KIND_EMPTY = 0;
+    private static final int KIND_SCALAR = 1;
+    private static final int KIND_LIST = 2;
+    private static final int KIND_MAP = 3;
+
+    // node flags
+    private static final int FLAG_COMMENT = 1;
+    private static final int FLAG_ATTRIBUTES = 1 << 1;
+    private static final int FLAG_HINTS = 1 << 2;
+
+    // value types
+    private static final int TYPE_NULL = 0;
+    private static final int TYPE_STRING = 1;
+    private static final int TYPE_TABLE_STRING = 2;
+    private static final int TYPE_TRUE = 3;
+    private static final int TYPE_FALSE = 4;
+    private static final int TYPE_INT = 5;
+    private static final int TYPE_LONG = 6;
+    private static final int TYPE_FLOAT = 7;
+    private static final int TYPE_DOUBLE = 8;
+    private static final int TYPE_SHORT = 9;
+    private static final int TYPE_BYTE = 10;
+    private static final int TYPE_CHAR = 11;
+    private static final int TYPE_BIG_INTEGER = 12;
+    private static final int TYPE_BIG_DECIMAL = 13;
+    private static final int TYPE_BYTES = 14;
+    private static final int TYPE_ENUM = 15;
+
+    private NodeSnapshots() {
+    }
+
+    static ClassLoader defaultClassLoader() {
+        final @Nullable ClassLoader loader = NodeSnapshots.class.getClassLoader();
+        return loader == null ? ClassLoader.getSystemClassLoader() : loader;
+    }
+
+    /**
+     * Write a snapshot of a node and all of its children.
+     *
+     * <p>The header of the node's {@link ConfigurationNode#options() options}
+     * is included in the snapshot.</p>
+     *
+     * @param node the node to write
+     * @param output the stream to write to
+     * @throws ConfigurateException if the node contains values that cannot
+     *      be stored in a snapshot
+     * @throws IOException if unable to write to the stream
+     * @since 4.0.0
+     */
+    public static void write(final ConfigurationNode node, final OutputStream output) throws IOException {
+        write(node, output, defaultClassLoader());
+    }
+
+    /**
+     * Write a snapshot of a node and all of its children, which can be read
+     * using the provided class loader.
+     *
+     * <p>Enum values and representation hint value types are stored by
+     * class name. If any of those classes cannot be found through
+     * {@code classLoader}, the node is rejected, since the snapshot could
+     * never be read back.</p>
+     *
+     * @param node the node to write
+     * @param output the stream to write to
+     * @param classLoader the class loader the snapshot will be read with
+     * @throws ConfigurateException if the node contains values that cannot
+     *      be stored in a snapshot
+     * @throws IOException if unable to write to the stream
+     * @since 4.0.0
+     */
+    public static void write(final ConfigurationNode node, final OutputStream output, final ClassLoader classLoader) throws IOException {
+        final Encoder encoder = new Encoder(requireNonNull(classLoader, "classLoader"));
+        encoder.writeOptionalString(node.options().header());
+        encoder.writeNode(node);
+
+        final ByteArrayOutputStream body = new ByteArrayOutputStream(encoder.nodes.size() + 256);
+        final DataOutputStream bodyOut = new DataOutputStream(body);
+        writeVarInt(bodyOut, encoder.strings.size());
+        for (String string : encoder.strings.keySet()) {
+            writeString(bodyOut, string);
+        }
+        encoder.nodes.writeTo(bodyOut);
+
+        final DataOutputStream out = new DataOutputStream(output);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeInt(body.size());
+        body.writeTo(out);
+        out.flush();
+    }
+
+    /**
+     * Read a snapshot into a new node.
+     *
+     * <p>If the snapshot contains a header, it will replace the header of
+     * the provided options.</p>
+     *
+     * @param input the stream to read from
+     * @param factory the factory to create the root node with
+     * @param options the options for the created node
+     * @param <N> the node type
+     * @return a new node containing the snapshot's contents
+     * @throws ConfigurateException if the data is not a valid snapshot
+     * @throws IOException if unable to read from the stream
+     * @since 4.0.0
+     */
+    public static <N extends ConfigurationNode> N read(final InputStream input, final ConfigurationNodeFactory<N> factory,
+            final ConfigurationOptions options) throws IOException {
+        return read(input, factory, options, defaultClassLoader());
+    }
+
+    /**
+     * Read a snapshot into a new node, resolving enum and representation
+     * hint types with the provided class loader.
+     *
+     * <p>If the snapshot contains a header, it will replace the header of
+     * the provided options.</p>
+     *
+     * @param input the stream to read from
+     * @param factory the factory to create the root node with
+     * @param options the options for the created node
+     * @param classLoader the class loader to resolve stored types with
+     * @param <N> the node type
+     * @return a new node containing the snapshot's contents
+     * @throws ConfigurateException if the data is not a valid snapshot
+     * @throws IOException if unable to read from the stream
+     * @since 4.0.0
+     */
+    public static <N extends ConfigurationNode> N read(final InputStream input, final ConfigurationNodeFactory<N> factory,
+            final ConfigurationOptions options, final ClassLoader classLoader) throws IOException {
+        requireNonNull(classLoader, "classLoader");
+        final DataInputStream in = new DataInputStream(input);
+        if (in.readInt() != MAGIC) {
+            throw new ConfigurateException("Data is not a configuration snapshot");
+        }
+        final int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new ConfigurateException("Unsupported snapshot version " + version + " (expected " + VERSION + ")");
+        }
+        final int length = in.readInt();
+        if (length < 0) {
+            throw new ConfigurateException("Invalid snapshot length " + length);
+        }
+        final byte[] body = new byte[length];
+        in.readFully(body);
+
+        try {
+            final Decoder decoder = new Decoder(body, classLoader);
+            final @Nullable String header = decoder.readOptionalString();
+            final N node = factory.createNode(header == null ? options : options.header(header));
+            decoder.readNode(node);
+            if (!decoder.in.atEnd()) {
+                throw new ConfigurateException("Unexpected trailing data in snapshot");
+            }
+            return node;
+        } catch (final IndexOutOfBoundsException | IllegalArgumentException ex) {
+            throw new ConfigurateException("Snapshot data is corrupt", ex);
+        }
+    }
+
+    /**
+     * Writes node records, collecting strings into a table as they
+     * are encountered.
+     */
+    static final class Encoder {
+
+        final Map<String, Integer> strings = new LinkedHashMap<>();
+        final ByteArrayOutputStream nodes = new ByteArrayOutputStream(1024);
+        private final DataOutputStream out = new DataOutputStream(this.nodes);
+        private final ClassLoader classLoader;
+        private final Set<Class<?>> resolvable = new HashSet<>();
+
+        Encoder(final ClassLoader classLoader) {
+            this.classLoader = classLoader;
+        }
+
+        void writeOptionalString(final @Nullable String value) throws IOException {
+            this.out.writeBoolean(value != null);
+            if (value != null) {
+                writeString(this.out, value);
+            }
+        }
+
+        void writeNode(final ConfigurationNode node) throws IOException {
+            final int kind;
+            if (node.isMap()) {
+                kind = KIND_MAP;
+            } else if (node.isList()) {
+                kind = KIND_LIST;
+            } else if (node.rawScalar() != null) {
+                kind = KIND_SCALAR;
+            } else {
+                kind = KIND_EMPTY;
+            }
+
+            final @Nullable String comment = node instanceof CommentedConfigurationNodeIntermediary<?>
+                ? ((CommentedConfigurationNodeIntermediary<?>) node).comment() : null;
+            final Map<RepresentationHint<?>, ?> hints = node.ownHints();
+            int flags = 0;
+            if (comment != null) {
+                flags |= FLAG_COMMENT;
+            }
+            if (node instanceof AttributedConfigurationNode) {
+                flags |= FLAG_ATTRIBUTES;
+            }
+            if (!hints.isEmpty()) {
+                flags |= FLAG_HINTS;
+            }
+
+            this.out.writeByte(kind);
+            this.out.writeByte(flags);
+            if (comment != null) {
+                writeString(this.out, comment);
+            }
+            if (node instanceof AttributedConfigurationNode) {
+                final AttributedConfigurationNode attributed = (AttributedConfigurationNode) node;
+                writeVarInt(this.out, this.tableIndex(attributed.tagName()));
+                final Map<String, String> attributes = attributed.attributes();
+                writeVarInt(this.out, attributes.size());
+                for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+                    writeVarInt(this.out, this.tableIndex(attribute.getKey()));
+                    writeString(this.out, attribute.getValue());
+                }
+            }
+            if (!hints.isEmpty()) {
+                writeVarInt(this.out, hints.size());
+                for (Map.Entry<RepresentationHint<?>, ?> entry : hints.entrySet()) {
+                    this.writeHint(node, entry.getKey(), entry.getValue());
+                }
+            }
+
+            switch (kind) {
+                case KIND_SCALAR:
+                    this.writeValue(node, node.rawScalar(), false);
+                    break;
+                case KIND_LIST:
+                    final List<? extends ConfigurationNode> children = node.childrenList();
+                    writeVarInt(this.out, children.size());
+                    for (ConfigurationNode child : children) {
+                        this.writeNode(child);
+                    }
+                    break;
+                case KIND_MAP:
+                    final Map<Object, ? extends ConfigurationNode> map = node.childrenMap();
+                    writeVarInt(this.out, map.size());
+                    for (Map.Entry<Object, ? extends ConfigurationNode> child : map.entrySet()) {
+                        this.writeValue(node, child.getKey(), true);
+                        this.writeNode(child.getValue());
+                    }
+                    break;
+                default: // empty
+            }
+        }
+
+        private void writeHint(final ConfigurationNode node, final RepresentationHint<?> hint, final @Nullable Object value) throws IOException {
+            final Type type = hint.valueType().getType();
+            if (!(type instanceof Class<?>)) {
+                throw new ConfigurateException(node, "Representation hint " + hint.identifier() + " has a generic value type " + type
+                    + ", which cannot be stored in a snapshot");
+            }
+            writeVarInt(this.out, this.tableIndex(hint.identifier()));
+            this.writeClass(node, (Class<?>) type);
+            this.out.writeBoolean(hint.inheritable());
+            this.writeValue(node, hint.defaultValue(), false);
+            this.writeValue(node, value, false);
+        }
+
+        private void writeValue(final ConfigurationNode node, final @Nullable Object value, final boolean intern) throws IOException {
+            final DataOutputStream out = this.out;
+            if (value == null) {
+                out.writeByte(TYPE_NULL);
+            } else if (value instanceof String) {
+                if (intern) {
+                    out.writeByte(TYPE_TABLE_STRING);
+                    writeVarInt(out, this.tableIndex((String) value));
+                } else {
+                    out.writeByte(TYPE_STRING);
+                    writeString(out, (String) value);
+                }
+            } else if (value instanceof Boolean) {
+                out.writeByte((Boolean) value ? TYPE_TRUE : TYPE_FALSE);
+            } else if (value instanceof Integer) {
+                out.writeByte(TYPE_INT);
+                writeVarLong(out, zigzag((Integer) value));
+            } else if (value instanceof Long) {
+                out.writeByte(TYPE_LONG);
+                writeVarLong(out, zigzag((Long) value));
+            } else if (value instanceof Float) {
+                out.writeByte(TYPE_FLOAT);
+                out.writeFloat((Float) value);
+            } else if (value instanceof Double) {
+                out.writeByte(TYPE_DOUBLE);
+                out.writeDouble((Double) value);
+            } else if (value instanceof Short) {
+                out.writeByte(TYPE_SHORT);
+                out.writeShort((Short) value);
+            } else if (value instanceof Byte) {
+                out.writeByte(TYPE_BYTE);
+                out.writeByte((Byte) value);
+            } else if (value instanceof Character) {
+                out.writeByte(TYPE_CHAR);
+                out.writeChar((Character) value);
+            } else if (value instanceof BigInteger) {
+                out.writeByte(TYPE_BIG_INTEGER);
+                writeBytes(out, ((BigInteger) value).toByteArray());
+            } else if (value instanceof BigDecimal) {
+                out.writeByte(TYPE_BIG_DECIMAL);
+                writeBytes(out, ((BigDecimal) value).unscaledValue().toByteArray());
+                writeVarLong(out, zigzag(((BigDecimal) value).scale()));
+            } else if (value instanceof byte[]) {
+                out.writeByte(TYPE_BYTES);
+                writeBytes(out, (byte[]) value);
+            } else if (value instanceof Enum<?>) {
+                out.writeByte(TYPE_ENUM);
+                this.writeClass(node, ((Enum<?>) value).getDeclaringClass());
+                writeString(out, ((Enum<?>) value).name());
+            } else {
+                throw new ConfigurateException(node, "Values of type " + value.getClass().getName() + " cannot be stored in a snapshot");
+            }
+        }
+
+        private void writeClass(final ConfigurationNode node, final Class<?> clazz) throws IOException {
+            if (!this.resolvable.contains(clazz)) {
+                try {
+                    if (Class.forName(clazz.getName(), false, this.classLoader) != clazz) {
+                        throw new ConfigurateException(node, "Class " + clazz.getName() + " is resolved to a different class when reading"
+                            + " the snapshot, so it cannot be stored in a snapshot");
+                    }
+                } catch (final ClassNotFoundException ex) {
+                    throw new ConfigurateException(node, "Class " + clazz.getName() + " is not visible when reading the snapshot,"
+                        + " so it cannot be stored in a snapshot", ex);
+                }
+                this.resolvable.add(clazz);
+            }
+            writeString(this.out, clazz.getName());
+        }
+
+        private int tableIndex(final String value) {
+            return this.strings.computeIfAbsent(value, k -> this.strings.size());
+        }
+
+    }
+
+    /**
+     * Reads node records from a complete snapshot body.
+     */
+    static final class Decoder {
+
+        final SnapshotReader in;
+        private final ClassLoader classLoader;
+        private final String[] strings;
+        private final Map<String, Class<?>> classes = new HashMap<>();
+
+        Decoder(final byte[] data, final ClassLoader classLoader) throws IOException {
+            this.in = new SnapshotReader(data);
+            this.classLoader = classLoader;
+            final int count = this.in.readVarInt();
+            this.strings = new String[count];
+            for (int i = 0; i < count; ++i) {
+                this.strings[i] = this.in.readString();
+            }
+        }
+
+        @Nullable String readOptionalString() throws IOException {
+            return this.in.readBoolean() ? this.in.readString() : null;
+        }
+
+        void readNode(final ConfigurationNode node) throws IOException {
+            final int kind = this.in.readUnsignedByte();
+            final int flags = this.in.readUnsignedByte();
+
+            final @Nullable String comment = (flags & FLAG_COMMENT) != 0 ? this.in.readString() : null;
+            @Nullable String tagName = null;
+            Map<String, String> attributes = Collections.emptyMap();
+            if ((flags & FLAG_ATTRIBUTES) != 0) {
+                tagName = this.strings[this.in.readVarInt()];
+                final int count = this.in.readVarInt();
+                if (count > 0) {
+                    attributes = new LinkedHashMap<>();
+                    for (int i = 0; i < count; ++i) {
+                        attributes.put(this.strings[this.in.readVarInt()], this.in.readString());
+                    }
+                }
+            }
+            final List<Object> hints;
+            if ((flags & FLAG_HINTS) != 0) {
+                final int count = this.in.readVarInt();
+                hints = new ArrayList<>(count * 2);
+                for (int i = 0; i < count; ++i) {
+                    this.readHint(hints);
+                }
+            } else {
+                hints = Collections.emptyList();
+            }
+
+            switch (kind) {
+                case KIND_EMPTY:
+                    break;
+                case KIND_SCALAR:
+                    node.raw(this.readValue());
+                    break;
+                case KIND_LIST:
+                    final int size = this.in.readVarInt();
+                    if (size == 0) {
+                        node.raw(Collections.emptyList());
+                    }
+                    for (int i = 0; i < size; ++i) {
+                        this.readNode(node.appendListNode());
+                    }
+                    break;
+                case KIND_MAP:
+                    final int entries = this.in.readVarInt();
+                    if (entries == 0) {
+                        node.raw(Collections.emptyMap());
+                    }
+                    for (int i = 0; i < entries; ++i) {
+                        final @Nullable Object key = this.readValue();
+                        if (key == null) {
+                            throw new ConfigurateException(node, "Snapshot contains a null map key");
+                        }
+                        this.readNode(node.node(key));
+                    }
+                    break;
+                default:
+                    throw new ConfigurateException(node, "Unknown node kind " + kind);
+            }
+
+            // applied once the node has a value, so nothing is lost when it is attached to its parent
+            if (comment != null && node instanceof CommentedConfigurationNodeIntermediary<?>) {
+                ((CommentedConfigurationNodeIntermediary<?>) node).comment(comment);
+            }
+            if (tagName != null && node instanceof AttributedConfigurationNode) {
+                ((AttributedConfigurationNode) node).tagName(tagName).attributes(attributes);
+            }
+            for (int i = 0; i < hints.size(); i += 2) {
+                applyHint(node, (RepresentationHint<?>) hints.get(i), hints.get(i + 1));
+            }
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private void readHint(final List<Object> hints) throws IOException {
+            final String identifier = this.strings[this.in.readVarInt()];
+            final Class<?> valueType = this.resolveClass(this.in.readString());
+            final boolean inheritable = this.in.readBoolean();
+            final @Nullable Object defaultValue = this.readValue();
+            final @Nullable Object value = this.readValue();
+            hints.add(RepresentationHint.builder()
+                .identifier(identifier)
+                .valueType((Class) valueType)
+                .defaultValue(defaultValue)
+                .inheritable(inheritable)
+                .build());
+            hints.add(value);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <V> void applyHint(final ConfigurationNode node, final RepresentationHint<V> hint, final @Nullable Object value) {
+            node.hint(hint, (V) value);
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private @Nullable Object readValue() throws IOException {
+            final int type = this.in.readUnsignedByte();
+            switch (type) {
+                case TYPE_NULL:
+                    return null;
+                case TYPE_STRING:
+                    return this.in.readString();
+                case TYPE_TABLE_STRING:
+                    return this.strings[this.in.readVarInt()];
+                case TYPE_TRUE:
+                    return Boolean.TRUE;
+                case TYPE_FALSE:
+                    return Boolean.FALSE;
+                case TYPE_INT:
+                    return (int) unzigzag(this.in.readVarLong());
+                case TYPE_LONG:
+                    return unzigzag(this.in.readVarLong());
+                case TYPE_FLOAT:
+                    return this.in.readFloat();
+                case TYPE_DOUBLE:
+                    return this.in.readDouble();
+                case TYPE_SHORT:
+                    return this.in.readShort();
+                case TYPE_BYTE:
+                    return this.in.readByte();
+                case TYPE_CHAR:
+                    return this.in.readChar();
+                case TYPE_BIG_INTEGER:
+                    return new BigInteger(this.in.readBytes());
+                case TYPE_BIG_DECIMAL:
+                    final BigInteger unscaled = new BigInteger(this.in.readBytes());
+                    return new BigDecimal(unscaled, (int) unzigzag(this.in.readVarLong()));
+                case TYPE_BYTES:
+                    return this.in.readBytes();
+                case TYPE_ENUM:
+                    final Class<?> enumClass = this.resolveClass(this.in.readString());
+                    if (!enumClass.isEnum()) {
+                        throw new ConfigurateException(enumClass + " is not an enum type");
+                    }
+                    return Enum.valueOf((Class) enumClass, this.in.readString());
+                default:
+                    throw new ConfigurateException("Unknown value type " + type + " in snapshot");
+            }
+        }
+
+        private Class<?> resolveClass(final String name) throws ConfigurateException {
+            final @Nullable Class<?> existing = this.classes.get(name);
+            if (existing != null) {
+                return existing;
+            }
+            try {
+                final Class<?> clazz = Class.forName(name, false, this.classLoader);
+                this.classes.put(name, clazz);
+                return clazz;
+            } catch (final ClassNotFoundException ex) {
+                throw new ConfigurateException("Snapshot refers to unknown class " + name, ex);
+            }
+        }
+
+    }
+
+    // primitive encodings
+
+    private static void writeVarInt(final DataOutput out, final int value) throws IOException {
+        writeVarLong(out, value & 0xffffffffL);
+    }
+
+    private static void writeVarLong(final DataOutput out, long value) throws IOException {
+        while ((value & ~0x7fL) != 0) {
+            out.writeByte((int) (value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long zigzag(final long value) {
+        return value << 1 ^ value >> 63;
+    }
+
+    private static long unzigzag(final long value) {
+        return value >>> 1 ^ -(value & 1);
+    }
+
+    private static void writeBytes(final DataOutput out, final byte[] bytes) throws IOException {
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeString(final DataOutput out, final String value) throws IOException {
+        writeBytes(out, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
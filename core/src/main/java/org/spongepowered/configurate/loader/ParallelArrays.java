@@ -0,0 +1,737 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.loader;
+
+import static java.util.Objects.requireNonNull;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.ScopedConfigurationNode;
+import org.spongepowered.configurate.transformation.NodePath;
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Settings for parsing a large array in a JSON document in parallel.
+ *
+ * <p>When a document is at least {@link #threshold()} characters long, it is
+ * read into memory and scanned for the boundaries of each element in the
+ * array at {@link #path()}. The rest of the document is parsed as usual,
+ * then the array elements are split into chunks that are parsed
+ * concurrently on the {@link #executor()}, each into its own pre-allocated
+ * list element. The structural scan only has to track strings, comments
+ * and bracket depth, so it is much cheaper than a full parse.</p>
+ *
+ * <p>The result is the same as a sequential parse: elements keep their
+ * order, {@code null} elements are dropped, and parse errors report line
+ * and column numbers relative to the whole document. If the document is
+ * too small, or the scan cannot find an array at the path, the whole
+ * document is parsed sequentially instead.</p>
+ *
+ * @since 4.0.0
+ */
+public final class ParallelArrays {
+
+    /**
+     * The default minimum document size, in characters, for parallel
+     * parsing to be attempted.
+     *
+     * @since 4.0.0
+     */
+    public static final int DEFAULT_THRESHOLD = 1 << 20;
+
+    private static final int MIN_CHUNK_LENGTH = 16 * 1024;
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final NodePath path;
+    private final int threshold;
+    private final Executor executor;
+
+    /**
+     * Parse the array at the root of the document in parallel.
+     *
+     * @return new settings
+     * @since 4.0.0
+     */
+    public static ParallelArrays root() {
+        return at(NodePath.path());
+    }
+
+    /**
+     * Parse the array at the given path in parallel.
+     *
+     * <p>Path elements may be strings, to select an object field, or
+     * integers, to select an array element.</p>
+     *
+     * @param path the path to the array
+     * @return new settings
+     * @since 4.0.0
+     */
+    public static ParallelArrays at(final NodePath path) {
+        return new ParallelArrays(requireNonNull(path, "path"), DEFAULT_THRESHOLD, ForkJoinPool.commonPool());
+    }
+
+    private ParallelArrays(final NodePath path, final int threshold, final Executor executor) {
+        this.path = path;
+        this.threshold = threshold;
+        this.executor = executor;
+    }
+
+    /**
+     * Get the path to the array that will be parsed in parallel.
+     *
+     * @return the array path
+     * @since 4.0.0
+     */
+    public NodePath path() {
+        return this.path;
+    }
+
+    /**
+     * Get the minimum document size, in characters, for parallel parsing.
+     *
+     * @return the threshold
+     * @since 4.0.0
+     */
+    public int threshold() {
+        return this.threshold;
+    }
+
+    /**
+     * Create new settings with a different minimum document size.
+     *
+     * @param threshold the threshold, in characters
+     * @return new settings
+     * @since 4.0.0
+     */
+    public ParallelArrays threshold(final int threshold) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Threshold must not be negative");
+        }
+        return new ParallelArrays(this.path, threshold, this.executor);
+    }
+
+    /**
+     * Get the executor that chunks will be parsed on.
+     *
+     * <p>By default, this is the {@link ForkJoinPool#commonPool()}.</p>
+     *
+     * @return the executor
+     * @since 4.0.0
+     */
+    public Executor executor() {
+        return this.executor;
+    }
+
+    /**
+     * Create new settings with a different executor.
+     *
+     * @param executor the executor to parse chunks on
+     * @return new settings
+     * @since 4.0.0
+     */
+    public ParallelArrays executor(final Executor executor) {
+        return new ParallelArrays(this.path, this.threshold, requireNonNull(executor, "executor"));
+    }
+
+    /**
+     * Read a document into a node, parsing the configured array
+     * in parallel where possible.
+     *
+     * @param node the node to read into
+     * @param reader the document source
+     * @param document a parser for a whole document
+     * @param chunks a parser for a chunk of array elements
+     * @param <N> the node type
+     * @throws ParsingException if the document could not be parsed
+     * @since 4.0.0
+     */
+    public <N extends ScopedConfigurationNode<N>> void load(final N node, final Reader reader, final DocumentParser<N> document,
+            final ChunkParser<N> chunks) throws ParsingException {
+        final char[] text;
+        final int length;
+        try {
+            char[] buffer = new char[8192];
+            int read = 0;
+            int count;
+            while ((count = reader.read(buffer, read, buffer.length - read)) != -1) {
+                read += count;
+                if (read == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+            }
+            text = buffer;
+            length = read;
+        } catch (final IOException ex) {
+            throw ParsingException.wrap(node, ex);
+        }
+
+        final @Nullable Layout layout = length < this.threshold ? null : Scanner.scan(text, length, this.path);
+        if (layout == null) {
+            document.parse(new CharArrayReader(text, 0, length), node);
+            return;
+        }
+
+        // Parse everything apart from the array body
+        document.parse(layout.shell(), node);
+        final N target = node.node(this.path);
+        if (!target.isList() || !target.empty()) { // the parser disagreed with our scan
+            node.raw(null);
+            document.parse(new CharArrayReader(text, 0, length), node);
+            return;
+        }
+
+        // Then allocate every element in order, so chunks can fill them in independently
+        final List<@Nullable N> elements = new ArrayList<>(layout.count);
+        for (int i = 0; i < layout.count; ++i) {
+            if (layout.nulls[i]) {
+                elements.add(null);
+            } else {
+                final N element = target.appendListNode();
+                element.raw(Collections.emptyMap());
+                elements.add(element);
+            }
+        }
+
+        final List<CompletableFuture<?>> futures = new ArrayList<>();
+        final int chunkLength = Math.max(MIN_CHUNK_LENGTH, (layout.close - layout.open) / (parallelism(this.executor) * CHUNKS_PER_THREAD));
+        int first = 0;
+        while (first < layout.count) {
+            int last = first;
+            while (last + 1 < layout.count && layout.ends[last + 1] - layout.starts[first] <= chunkLength) {
+                last++;
+            }
+            final int from = first;
+            final int to = last + 1;
+            futures.add(CompletableFuture.runAsync(() -> {
+                try {
+                    chunks.parse(new ChunkReader(text, layout.starts[from], layout.ends[to - 1]), elements.subList(from, to));
+                } catch (final IOException ex) {
+                    throw new CompletionException(layout.relocate(from, ParsingException.wrap(target, ex)));
+                }
+            }, this.executor));
+            first = to;
+        }
+
+        @Nullable ParsingException failure = null;
+        for (CompletableFuture<?> future : futures) {
+            try {
+                future.join();
+            } catch (final CompletionException ex) {
+                final Throwable cause = ex.getCause() == null ? ex : ex.getCause();
+                if (failure == null) {
+                    failure = cause instanceof ParsingException ? (ParsingException) cause : ParsingException.wrap(target, new IOException(cause));
+                } else {
+                    failure.addSuppressed(cause);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static int parallelism(final Executor executor) {
+        if (executor instanceof ForkJoinPool) {
+            return ((ForkJoinPool) executor).getParallelism();
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    @Override
+    public String toString() {
+        return "ParallelArrays{path=" + this.path + ", threshold=" + this.threshold + '}';
+    }
+
+    /**
+     * A parser that reads a whole document into a node.
+     *
+     * @param <N> the node type
+     * @since 4.0.0
+     */
+    @FunctionalInterface
+    public interface DocumentParser<N> {
+
+        /**
+         * Parse a document.
+         *
+         * @param document the document source
+         * @param node the node to read into
+         * @throws ParsingException if the document is invalid
+         * @since 4.0.0
+         */
+        void parse(Reader document, N node) throws ParsingException;
+
+    }
+
+    /**
+     * A parser that reads a chunk of array elements.
+     *
+     * @param <N> the node type
+     * @since 4.0.0
+     */
+    @FunctionalInterface
+    public interface ChunkParser<N> {
+
+        /**
+         * Parse a chunk of array elements.
+         *
+         * <p>The chunk is presented as a JSON array, and contains exactly
+         * one element for each entry in {@code elements}. Elements that are
+         * {@code null} in the source have a {@code null} entry, and should be
+         * skipped. Every other element should be read into its node.</p>
+         *
+         * @param chunk the chunk source
+         * @param elements the nodes to read each element into
+         * @throws IOException if the chunk is invalid
+         * @since 4.0.0
+         */
+        void parse(Reader chunk, List<@Nullable N> elements) throws IOException;
+
+    }
+
+    /**
+     * The location of every element in an array, found by a structural scan.
+     */
+    static final class Layout {
+
+        final char[] text;
+        final int length;
+        final int open;
+        int close;
+        int count;
+        int[] starts = new int[64];
+        int[] ends = new int[64];
+        int[] lines = new int[64];
+        boolean[] nulls = new boolean[64];
+
+        Layout(final char[] text, final int length, final int open) {
+            this.text = text;
+            this.length = length;
+            this.open = open;
+        }
+
+        void add(final int start, final int end, final int line, final boolean isNull) {
+            if (this.count == this.starts.length) {
+                final int size = this.count * 2;
+                this.starts = Arrays.copyOf(this.starts, size);
+                this.ends = Arrays.copyOf(this.ends, size);
+                this.lines = Arrays.copyOf(this.lines, size);
+                this.nulls = Arrays.copyOf(this.nulls, size);
+            }
+            this.starts[this.count] = start;
+            this.ends[this.count] = end;
+            this.lines[this.count] = line;
+            this.nulls[this.count] = isNull;
+            this.count++;
+        }
+
+        /**
+         * Get the document with the body of the array removed.
+         *
+         * <p>The body is replaced by whitespace that keeps the closing
+         * bracket, and everything after it, at its original line
+         * and column.</p>
+         *
+         * @return the document without the array body
+         */
+        Reader shell() {
+            final StringBuilder result = new StringBuilder(this.length - (this.close - this.open) + 64);
+            result.append(this.text, 0, this.open + 1);
+            int lastLine = this.open;
+            for (int i = this.open + 1; i < this.close; ++i) {
+                if (this.text[i] == '\n') {
+                    result.append('\n');
+                    lastLine = i;
+                }
+            }
+            for (int i = lastLine + 1; i < this.close; ++i) {
+                result.append(' ');
+            }
+            result.append(this.text, this.close, this.length - this.close);
+            return new CharArrayReader(result.toString().toCharArray());
+        }
+
+        /**
+         * Translate the position of an error in a chunk to its position in
+         * the whole document.
+         *
+         * @param first the index of the first element in the chunk
+         * @param ex the original exception
+         * @return an exception with the document position
+         */
+        ParsingException relocate(final int first, final ParsingException ex) {
+            if (ex.line() == ParsingException.UNKNOWN_POS || ex.column() == ParsingException.UNKNOWN_POS) {
+                return ex;
+            }
+            final int start = this.starts[first];
+            final int line;
+            final int column;
+            if (ex.line() == 1) {
+                int lineStart = start;
+                while (lineStart > 0 && this.text[lineStart - 1] != '\n') {
+                    lineStart--;
+                }
+                line = this.lines[first];
+                column = start - lineStart + ex.column() - 1; // the chunk's opening bracket takes up one column
+            } else {
+                line = this.lines[first] + ex.line() - 1;
+                column = ex.column();
+            }
+            final ParsingException relocated = new ParsingException(line, column, ex.context(), ex.rawMessage(), ex.getCause());
+            relocated.initPath(ex::path);
+            return relocated;
+        }
+
+    }
+
+    /**
+     * A reader over a range of elements, wrapped in brackets.
+     */
+    static final class ChunkReader extends Reader {
+
+        private final char[] text;
+        private final int end;
+        private int pos;
+        private boolean opened;
+        private boolean closed;
+
+        ChunkReader(final char[] text, final int start, final int end) {
+            this.text = text;
+            this.pos = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read(final char[] buffer, final int offset, final int length) {
+            if (length == 0) {
+                return 0;
+            }
+            int written = 0;
+            if (!this.opened) {
+                buffer[offset] = '[';
+                this.opened = true;
+                written++;
+            }
+            final int count = Math.min(length - written, this.end - this.pos);
+            System.arraycopy(this.text, this.pos, buffer, offset + written, count);
+            this.pos += count;
+            written += count;
+            if (written < length && this.pos == this.end && !this.closed) {
+                buffer[offset + written] = ']';
+                this.closed = true;
+                written++;
+            }
+            return written == 0 ? -1 : written;
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+
+    /**
+     * A structural scanner for JSON, including the comments, single-quoted
+     * strings and unquoted values accepted by lenient parsers.
+     */
+    static final class Scanner {
+
+        private final char[] text;
+        private final int length;
+        private int pos;
+        private int line = 1;
+
+        private Scanner(final char[] text, final int length) {
+            this.text = text;
+            this.length = length;
+        }
+
+        /**
+         * Find the elements of the array at {@code path}.
+         *
+         * @param text document text
+         * @param length document length
+         * @param path array path
+         * @return the array layout, or {@code null} if no array could be found
+         */
+        static @Nullable Layout scan(final char[] text, final int length, final NodePath path) {
+            final Scanner scanner = new Scanner(text, length);
+            if (length > 0 && text[0] == '\uFEFF') {
+                scanner.pos++;
+            }
+            return scanner.find(path);
+        }
+
+        private @Nullable Layout find(final NodePath path) {
+            for (int i = 0; i < path.size(); ++i) {
+                if (!this.skipWhitespace()) {
+                    return null;
+                }
+                final Object key = path.get(i);
+                final boolean found;
+                if (this.text[this.pos] == '{') {
+                    found = this.seekField(String.valueOf(key));
+                } else if (this.text[this.pos] == '[' && key instanceof Integer) {
+                    found = this.seekElement((Integer) key);
+                } else {
+                    found = false;
+                }
+                if (!found) {
+                    return null;
+                }
+            }
+
+            if (!this.skipWhitespace() || this.text[this.pos] != '[') {
+                return null;
+            }
+            return this.elements();
+        }
+
+        private boolean seekField(final String name) {
+            this.pos++; // {
+            while (this.skipWhitespace()) {
+                if (this.text[this.pos] == '}') {
+                    return false;
+                }
+                final @Nullable String key = this.readKey();
+                if (key == null || !this.skipWhitespace() || this.text[this.pos] != ':') {
+                    return false;
+                }
+                this.pos++;
+                if (key.equals(name)) {
+                    return true;
+                }
+                if (!this.skipWhitespace() || !this.skipValue() || !this.skipSeparator('}')) {
+                    return false;
+                }
+            }
+            return false;
+        }
+
+        private boolean seekElement(final int index) {
+            this.pos++; // [
+            for (int i = 0; i < index; ++i) {
+                if (!this.skipWhitespace() || this.text[this.pos] == ']' || !this.skipValue() || !this.skipSeparator(']')) {
+                    return false;
+                }
+            }
+            return this.skipWhitespace() && this.text[this.pos] != ']';
+        }
+
+        private @Nullable Layout elements() {
+            final Layout result = new Layout(this.text, this.length, this.pos++);
+            if (!this.skipWhitespace()) {
+                return null;
+            }
+            if (this.text[this.pos] != ']') {
+                while (true) {
+                    if (!this.skipWhitespace()) {
+                        return null;
+                    }
+                    final int start = this.pos;
+                    final int startLine = this.line;
+                    if (!this.skipValue()) {
+                        return null;
+                    }
+                    result.add(start, this.pos, startLine, this.isNull(start, this.pos));
+                    if (!this.skipWhitespace()) {
+                        return null;
+                    }
+                    final char next = this.text[this.pos];
+                    if (next == ']') {
+                        break;
+                    } else if (next != ',') {
+                        return null;
+                    }
+                    this.pos++;
+                }
+            }
+            result.close = this.pos;
+            return result;
+        }
+
+        private boolean isNull(final int start, final int end) {
+            return end - start == 4
+                && this.text[start] == 'n' && this.text[start + 1] == 'u' && this.text[start + 2] == 'l' && this.text[start + 3] == 'l';
+        }
+
+        private boolean skipSeparator(final char close) {
+            if (!this.skipWhitespace()) {
+                return false;
+            }
+            final char next = this.text[this.pos];
+            if (next == ',') {
+                this.pos++;
+                return true;
+            }
+            return next == close;
+        }
+
+        private @Nullable String readKey() {
+            final char first = this.text[this.pos];
+            if (first == '"' || first == '\'') {
+                final int start = this.pos + 1;
+                if (!this.skipString()) {
+                    return null;
+                }
+                final String raw = new String(this.text, start, this.pos - start - 1);
+                return raw.indexOf('\\') == -1 ? raw : null; // escaped keys are rare, so let the real parser handle them
+            }
+
+            final int start = this.pos;
+            while (this.pos < this.length) {
+                final char c = this.text[this.pos];
+                if (c == ':' || Character.isWhitespace(c)) {
+                    break;
+                }
+                this.pos++;
+            }
+            return this.pos == start ? null : new String(this.text, start, this.pos - start);
+        }
+
+        /**
+         * Skip a single value, leaving the position just after its end.
+         *
+         * @return whether the value was well-formed
+         */
+        private boolean skipValue() {
+            final char first = this.text[this.pos];
+            if (first == '"' || first == '\'') {
+                return this.skipString();
+            } else if (first == '{' || first == '[') {
+                int depth = 0;
+                while (this.pos < this.length) {
+                    final char c = this.text[this.pos];
+                    switch (c) {
+                        case '{':
+                        case '[':
+                            depth++;
+                            this.pos++;
+                            break;
+                        case '}':
+                        case ']':
+                            this.pos++;
+                            if (--depth == 0) {
+                                return true;
+                            }
+                            break;
+                        case '"':
+                        case '\'':
+                            if (!this.skipString()) {
+                                return false;
+                            }
+                            break;
+                        case '/':
+                        case '#':
+                            if (!this.skipComment()) {
+                                this.pos++;
+                            }
+                            break;
+                        case '\n':
+                            this.line++;
+                            this.pos++;
+                            break;
+                        default:
+                            this.pos++;
+                    }
+                }
+                return false;
+            } else {
+                final int start = this.pos;
+                while (this.pos < this.length) {
+                    final char c = this.text[this.pos];
+                    if (c == ',' || c == ']' || c == '}' || c == ':' || c == '/' || c == '#' || Character.isWhitespace(c)) {
+                        break;
+                    }
+                    this.pos++;
+                }
+                return this.pos > start;
+            }
+        }
+
+        private boolean skipString() {
+            final char quote = this.text[this.pos++];
+            while (this.pos < this.length) {
+                final char c = this.text[this.pos++];
+                if (c == quote) {
+                    return true;
+                } else if (c == '\\') {
+                    this.pos++;
+                } else if (c == '\n') {
+                    this.line++;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Skip whitespace and comments.
+         *
+         * @return whether there is any text left
+         */
+        private boolean skipWhitespace() {
+            while (this.pos < this.length) {
+                final char c = this.text[this.pos];
+                if (c == '\n') {
+                    this.line++;
+                    this.pos++;
+                } else if (c == ' ' || c == '\t' || c == '\r') {
+                    this.pos++;
+                } else if ((c == '/' || c == '#') && this.skipComment()) {
+                    continue;
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean skipComment() {
+            final char c = this.text[this.pos];
+            final char next = this.pos + 1 < this.length ? this.text[this.pos + 1] : 0;
+            if (c == '#' || next == '/') {
+                while (this.pos < this.length && this.text[this.pos] != '\n') {
+                    this.pos++;
+                }
+                return true;
+            } else if (next == '*') {
+                this.pos += 2;
+                while (this.pos + 1 < this.length && !(this.text[this.pos] == '*' && this.text[this.pos + 1] == '/')) {
+                    if (this.text[this.pos] == '\n') {
+                        this.line++;
+                    }
+                    this.pos++;
+                }
+                this.pos += 2;
+                return true;
+            }
+            return false;
+        }
+
+    }
+
+}
@@ -0,0 +1,201 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.loader;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * A buffered reader that knows how many characters have been consumed from
+ * it.
+ *
+ * <p>The standard {@link BufferedReader} reads ahead of its consumer, and does
+ * not expose how far into its buffer the consumer has read, so this class
+ * performs its own buffering. Every method of the superclass that reads
+ * characters is overridden.</p>
+ */
+final class PositionTrackingReader extends BufferedReader {
+
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final Reader in;
+    private char[] buffer = new char[DEFAULT_BUFFER_SIZE];
+    private int pos;
+    private int limit;
+    private long bufferStart;
+    private int markPos = -1;
+    private int markLimit;
+
+    PositionTrackingReader(final Reader in) {
+        super(in, 1);
+        this.in = in;
+    }
+
+    /**
+     * Get the number of characters that have been read, accounting for
+     * any resets.
+     *
+     * @return the current position
+     */
+    long position() {
+        return this.bufferStart + this.pos;
+    }
+
+    /**
+     * Make at least one more character available in the buffer.
+     *
+     * @return whether any characters could be read
+     * @throws IOException if the underlying reader fails
+     */
+    private boolean fill() throws IOException {
+        if (this.markPos >= 0 && this.pos - this.markPos >= this.markLimit) {
+            this.markPos = -1;
+        }
+
+        // discard characters that can no longer be returned to
+        final int keepFrom = this.markPos >= 0 ? this.markPos : this.pos;
+        if (keepFrom > 0) {
+            System.arraycopy(this.buffer, keepFrom, this.buffer, 0, this.limit - keepFrom);
+            this.bufferStart += keepFrom;
+            this.limit -= keepFrom;
+            this.pos -= keepFrom;
+            if (this.markPos >= 0) {
+                this.markPos -= keepFrom;
+            }
+        }
+
+        if (this.limit == this.buffer.length) {
+            this.buffer = Arrays.copyOf(this.buffer, this.buffer.length * 2);
+        }
+
+        int read;
+        do {
+            read = this.in.read(this.buffer, this.limit, this.buffer.length - this.limit);
+        } while (read == 0);
+
+        if (read < 0) {
+            return false;
+        }
+        this.limit += read;
+        return true;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (this.pos >= this.limit && !this.fill()) {
+            return -1;
+        }
+        return this.buffer[this.pos++];
+    }
+
+    @Override
+    public int read(final char[] cbuf, final int off, final int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (this.pos >= this.limit && !this.fill()) {
+            return -1;
+        }
+        final int count = Math.min(len, this.limit - this.pos);
+        System.arraycopy(this.buffer, this.pos, cbuf, off, count);
+        this.pos += count;
+        return count;
+    }
+
+    @Override
+    public @Nullable String readLine() throws IOException {
+        @Nullable StringBuilder line = null;
+        while (true) {
+            if (this.pos >= this.limit && !this.fill()) {
+                return line == null ? null : line.toString();
+            }
+
+            int end = this.pos;
+            while (end < this.limit && this.buffer[end] != '\n' && this.buffer[end] != '\r') {
+                end++;
+            }
+
+            if (line == null) {
+                line = new StringBuilder(end - this.pos);
+            }
+            line.append(this.buffer, this.pos, end - this.pos);
+            this.pos = end;
+
+            if (end < this.limit) {
+                final char terminator = this.buffer[this.pos++];
+                if (terminator == '\r' && (this.pos < this.limit || this.fill()) && this.buffer[this.pos] == '\n') {
+                    this.pos++;
+                }
+                return line.toString();
+            }
+        }
+    }
+
+    @Override
+    public long skip(final long n) throws IOException {
+        if (n < 0) {
+            throw new IllegalArgumentException("skip value is negative");
+        }
+        long remaining = n;
+        while (remaining > 0) {
+            if (this.pos >= this.limit && !this.fill()) {
+                break;
+            }
+            final int count = (int) Math.min(remaining, this.limit - this.pos);
+            this.pos += count;
+            remaining -= count;
+        }
+        return n - remaining;
+    }
+
+    @Override
+    public boolean ready() throws IOException {
+        return this.pos < this.limit || this.in.ready();
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    @Override
+    public void mark(final int readAheadLimit) {
+        if (readAheadLimit < 0) {
+            throw new IllegalArgumentException("Read-ahead limit < 0");
+        }
+        this.markPos = this.pos;
+        this.markLimit = readAheadLimit;
+    }
+
+    @Override
+    public void reset() throws IOException {
+        if (this.markPos < 0) {
+            throw new IOException("Stream not marked, or mark invalidated");
+        }
+        this.pos = this.markPos;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.in.close();
+    }
+
+}
@@ -0,0 +1,422 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.loader;
+
+import static java.util.Objects.requireNonNull;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.ConfigurationOptions;
+import org.spongepowered.configurate.ScopedConfigurationNode;
+import org.spongepowered.configurate.reference.ConfigurationReference;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A loader that keeps a {@link NodeSnapshots snapshot} of another loader's
+ * result next to its source file, and loads from the snapshot instead of
+ * parsing the source again while the source is unchanged.
+ *
+ * <p>Each snapshot records the size, modification time, and SHA-256 hash
+ * of the source file it was created from. A snapshot is used if the size and
+ * modification time of the source still match, or if they differ but the
+ * source's contents still have the same hash. Otherwise, the source is
+ * loaded by the wrapped loader and a new snapshot is written.</p>
+ *
+ * <p>The snapshot is only a cache. Any failure to read or write it is
+ * ignored, and configurations with values that cannot be stored in a
+ * snapshot will always be loaded from their source.</p>
+ *
+ * <p>Saves are passed through to the wrapped loader, and remove the
+ * existing snapshot.</p>
+ *
+ * @param <N> the {@link ConfigurationNode} type produced by the loader
+ * @since 4.0.0
+ */
+public final class SnapshotCachingLoader<N extends ScopedConfigurationNode<N>> implements ConfigurationLoader<N> {
+
+    private static final int MAGIC = 0x43464e43; // CFNC
+    private static final int VERSION = 1;
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    private final ConfigurationLoader<N> loader;
+    private final Path source;
+    private final Path snapshot;
+    private final ClassLoader classLoader;
+    private final LongAdder snapshotLoads = new LongAdder();
+
+    /**
+     * Create a new builder for a caching loader.
+     *
+     * @param <N> node type
+     * @return a new builder
+     * @since 4.0.0
+     */
+    public static <N extends ScopedConfigurationNode<N>> Builder<N> builder() {
+        return new Builder<>();
+    }
+
+    SnapshotCachingLoader(final Builder<N> builder) {
+        this.loader = requireNonNull(builder.loader, "loader");
+        this.source = requireNonNull(builder.source, "source").toAbsolutePath();
+        final @Nullable Path snapshot = builder.snapshot;
+        this.snapshot = snapshot == null
+            ? this.source.resolveSibling(this.source.getFileName() + ".snapshot") : snapshot.toAbsolutePath();
+        final @Nullable ClassLoader classLoader = builder.classLoader == null ? this.loader.getClass().getClassLoader() : builder.classLoader;
+        this.classLoader = classLoader == null ? NodeSnapshots.defaultClassLoader() : classLoader;
+    }
+
+    /**
+     * Get the loader used when no valid snapshot is available.
+     *
+     * @return the wrapped loader
+     * @since 4.0.0
+     */
+    public ConfigurationLoader<N> loader() {
+        return this.loader;
+    }
+
+    /**
+     * Get the path that snapshots are stored at.
+     *
+     * @return the snapshot path
+     * @since 4.0.0
+     */
+    public Path snapshot() {
+        return this.snapshot;
+    }
+
+    /**
+     * Get the number of loads that were served from a snapshot, rather
+     * than by parsing the source.
+     *
+     * @return the number of snapshot loads
+     * @since 4.0.0
+     */
+    public long snapshotLoads() {
+        return this.snapshotLoads.sum();
+    }
+
+    @Override
+    public N load(final ConfigurationOptions options) throws ConfigurateException {
+        final @Nullable SourceState current;
+        try {
+            current = SourceState.read(this.source, false);
+            if (current == null) { // no source, so nothing to cache
+                Files.deleteIfExists(this.snapshot);
+                return this.loader.load(options);
+            }
+        } catch (final IOException ex) {
+            return this.loader.load(options);
+        }
+
+        final @Nullable N cached = this.loadSnapshot(current, options);
+        if (cached != null) {
+            this.snapshotLoads.increment();
+            return cached;
+        }
+
+        // hash before loading, so the snapshot can never be associated with newer contents
+        @Nullable SourceState hashed;
+        try {
+            hashed = SourceState.read(this.source, true);
+        } catch (final IOException ex) {
+            hashed = null;
+        }
+        final N node = this.loader.load(options);
+        if (hashed != null) {
+            this.writeSnapshot(hashed, node);
+        }
+        return node;
+    }
+
+    private @Nullable N loadSnapshot(final SourceState current, final ConfigurationOptions options) {
+        final byte[] data;
+        try {
+            data = Files.readAllBytes(this.snapshot);
+        } catch (final IOException ex) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            if (in.readInt() != MAGIC || in.readUnsignedByte() != VERSION) {
+                return null;
+            }
+            final SourceState stored = SourceState.readFrom(in);
+            if (!current.sameFile(stored)) {
+                if (current.size != stored.size) {
+                    return null;
+                }
+                // the file may have been touched or copied without changing
+                final @Nullable SourceState hashed = SourceState.read(this.source, true);
+                if (hashed == null || !Arrays.equals(hashed.hash, stored.hash)) {
+                    return null;
+                }
+            }
+            return NodeSnapshots.read(in, this.loader, options, this.classLoader);
+        } catch (final IOException | RuntimeException ex) {
+            return null;
+        }
+    }
+
+    private void writeSnapshot(final SourceState state, final ConfigurationNode node) {
+        final ByteArrayOutputStream contents = new ByteArrayOutputStream();
+        try {
+            NodeSnapshots.write(node, contents, this.classLoader);
+        } catch (final IOException | RuntimeException ex) {
+            // this node can't be cached, so don't leave an older snapshot to be checked on every load
+            try {
+                Files.deleteIfExists(this.snapshot);
+            } catch (final IOException ignore) {
+                // a stale snapshot will not match the source
+            }
+            return;
+        }
+
+        try {
+            // only store the snapshot if the source was not modified while it was being loaded
+            if (!state.sameFile(SourceState.read(this.source, false))) {
+                return;
+            }
+            try (OutputStream stream = AtomicFiles.atomicBufferedOutputStream(this.snapshot, AtomicFiles.WriteOptions.defaults())) {
+                final DataOutputStream out = new DataOutputStream(stream);
+                out.writeInt(MAGIC);
+                out.writeByte(VERSION);
+                state.writeTo(out);
+                contents.writeTo(out);
+            }
+        } catch (final IOException | RuntimeException ignore) {
+            // the snapshot is only a cache, and the source will just be parsed next time
+        }
+    }
+
+    @Override
+    public void save(final ConfigurationNode node) throws ConfigurateException {
+        this.loader.save(node);
+        try {
+            Files.deleteIfExists(this.snapshot);
+        } catch (final IOException ignore) {
+            // a stale snapshot will not match the new contents
+        }
+    }
+
+    @Override
+    public boolean canLoad() {
+        return this.loader.canLoad();
+    }
+
+    @Override
+    public boolean canSave() {
+        return this.loader.canSave();
+    }
+
+    @Override
+    public ConfigurationReference<N> loadToReference() throws ConfigurateException {
+        return ConfigurationReference.fixed(this);
+    }
+
+    @Override
+    public ConfigurationOptions defaultOptions() {
+        return this.loader.defaultOptions();
+    }
+
+    @Override
+    public N createNode(final ConfigurationOptions options) {
+        return this.loader.createNode(options);
+    }
+
+    /**
+     * The size, modification time, and (optionally) hash of a source file.
+     */
+    static final class SourceState {
+
+        final long size;
+        final long modified;
+        final byte @Nullable [] hash;
+
+        /**
+         * Read the state of a source file.
+         *
+         * @param path the source path
+         * @param hash whether to hash the contents of the file
+         * @return the state, or null if the file does not exist
+         * @throws IOException if unable to read the file
+         */
+        static @Nullable SourceState read(final Path path, final boolean hash) throws IOException {
+            final BasicFileAttributes attributes;
+            try {
+                attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            } catch (final NoSuchFileException ex) {
+                return null;
+            }
+
+            byte @Nullable [] digest = null;
+            if (hash) {
+                final MessageDigest md;
+                try {
+                    md = MessageDigest.getInstance(HASH_ALGORITHM);
+                } catch (final NoSuchAlgorithmException ex) {
+                    // every JVM is required to support SHA-256
+                    throw new IllegalStateException(ex);
+                }
+                try (InputStream in = Files.newInputStream(path)) {
+                    final byte[] buffer = new byte[8192];
+                    int read;
+                    while ((read = in.read(buffer)) != -1) {
+                        md.update(buffer, 0, read);
+                    }
+                }
+                digest = md.digest();
+            }
+            return new SourceState(attributes.size(), attributes.lastModifiedTime().toMillis(), digest);
+        }
+
+        static SourceState readFrom(final DataInputStream in) throws IOException {
+            final long size = in.readLong();
+            final long modified = in.readLong();
+            final byte[] hash = new byte[in.readUnsignedByte()];
+            in.readFully(hash);
+            return new SourceState(size, modified, hash);
+        }
+
+        SourceState(final long size, final long modified, final byte @Nullable [] hash) {
+            this.size = size;
+            this.modified = modified;
+            this.hash = hash;
+        }
+
+        boolean sameFile(final @Nullable SourceState other) {
+            return other != null && this.size == other.size && this.modified == other.modified;
+        }
+
+        void writeTo(final DataOutputStream out) throws IOException {
+            final byte @Nullable [] hash = this.hash;
+            if (hash == null) {
+                throw new IllegalStateException("No hash has been computed");
+            }
+            out.writeLong(this.size);
+            out.writeLong(this.modified);
+            out.writeByte(hash.length);
+            out.write(hash);
+        }
+
+    }
+
+    /**
+     * A builder for snapshot caching loaders.
+     *
+     * @param <N> node type
+     * @since 4.0.0
+     */
+    public static final class Builder<N extends ScopedConfigurationNode<N>> {
+
+        private @Nullable ConfigurationLoader<N> loader;
+        private @Nullable Path source;
+        private @Nullable Path snapshot;
+        private @Nullable ClassLoader classLoader;
+
+        Builder() {
+        }
+
+        /**
+         * Set the loader that reads the source file.
+         *
+         * @param loader the wrapped loader
+         * @return this builder
+         * @since 4.0.0
+         */
+        public Builder<N> loader(final ConfigurationLoader<N> loader) {
+            this.loader = requireNonNull(loader, "loader");
+            return this;
+        }
+
+        /**
+         * Set the file that the wrapped loader reads from.
+         *
+         * <p>This file is never read by this loader except to check whether
+         * its contents have changed.</p>
+         *
+         * @param source the source file
+         * @return this builder
+         * @since 4.0.0
+         */
+        public Builder<N> source(final Path source) {
+            this.source = requireNonNull(source, "source");
+            return this;
+        }
+
+        /**
+         * Set the path to store the snapshot at.
+         *
+         * <p>By default, snapshots are stored next to the source, with the
+         * file name of the source followed by {@code .snapshot}.</p>
+         *
+         * @param snapshot the snapshot path
+         * @return this builder
+         * @since 4.0.0
+         */
+        public Builder<N> snapshot(final Path snapshot) {
+            this.snapshot = requireNonNull(snapshot, "snapshot");
+            return this;
+        }
+
+        /**
+         * Set the class loader used to resolve enum types and representation
+         * hint value types stored in snapshots.
+         *
+         * <p>Configurations containing types that are not visible from this
+         * class loader will not be cached. By default, the class loader of
+         * the wrapped loader is used.</p>
+         *
+         * @param classLoader the class loader
+         * @return this builder
+         * @since 4.0.0
+         */
+        public Builder<N> classLoader(final ClassLoader classLoader) {
+            this.classLoader = requireNonNull(classLoader, "classLoader");
+            return this;
+        }
+
+        /**
+         * Create a new loader.
+         *
+         * @return the caching loader
+         * @throws NullPointerException if no loader or source has been set
+         * @since 4.0.0
+         */
+        public SnapshotCachingLoader<N> build() {
+            return new SnapshotCachingLoader<>(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.loader;
+
+import org.spongepowered.configurate.ConfigurateException;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the primitive encodings used by {@link NodeSnapshots} from a
+ * complete snapshot body.
+ *
+ * <p>Reading past the end of the body throws an
+ * {@link IndexOutOfBoundsException}.</p>
+ */
+final class SnapshotReader {
+
+    private final byte[] data;
+    private int position;
+
+    SnapshotReader(final byte[] data) {
+        this.data = data;
+    }
+
+    boolean atEnd() {
+        return this.position == this.data.length;
+    }
+
+    private int advance(final int count) {
+        final int start = this.position;
+        if (count < 0 || start + count > this.data.length) {
+            throw new IndexOutOfBoundsException("Snapshot ends unexpectedly at " + start);
+        }
+        this.position = start + count;
+        return start;
+    }
+
+    boolean readBoolean() {
+        return this.readByte() != 0;
+    }
+
+    byte readByte() {
+        return this.data[this.advance(1)];
+    }
+
+    int readUnsignedByte() {
+        return this.readByte() & 0xff;
+    }
+
+    short readShort() {
+        return (short) this.readChar();
+    }
+
+    char readChar() {
+        final int idx = this.advance(2);
+        return (char) ((this.data[idx] & 0xff) << 8 | this.data[idx + 1] & 0xff);
+    }
+
+    int readInt() {
+        final int idx = this.advance(4);
+        return (this.data[idx] & 0xff) << 24
+            | (this.data[idx + 1] & 0xff) << 16
+            | (this.data[idx + 2] & 0xff) << 8
+            | this.data[idx + 3] & 0xff;
+    }
+
+    long readLong() {
+        return (long) this.readInt() << 32 | this.readInt() & 0xffffffffL;
+    }
+
+    float readFloat() {
+        return Float.intBitsToFloat(this.readInt());
+    }
+
+    double readDouble() {
+        return Double.longBitsToDouble(this.readLong());
+    }
+
+    int readVarInt() throws ConfigurateException {
+        final long value = this.readVarLong();
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new ConfigurateException("Invalid length " + value + " in snapshot");
+        }
+        return (int) value;
+    }
+
+    long readVarLong() throws ConfigurateException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            final int b = this.readUnsignedByte();
+            value |= (long) (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new ConfigurateException("Malformed variable-length number in snapshot");
+    }
+
+    /**
+     * Read a length-prefixed byte array.
+     *
+     * @return a copy of the bytes
+     * @throws ConfigurateException if the length is invalid
+     */
+    byte[] readBytes() throws ConfigurateException {
+        final int length = this.readVarInt();
+        final byte[] bytes = new byte[length];
+        System.arraycopy(this.data, this.advance(length), bytes, 0, length);
+        return bytes;
+    }
+
+    /**
+     * Read a length-prefixed UTF-8 string.
+     *
+     * @return the string
+     * @throws ConfigurateException if the length is invalid
+     */
+    String readString() throws ConfigurateException {
+        final int length = this.readVarInt();
+        return new String(this.data, this.advance(length), length, StandardCharsets.UTF_8);
+    }
+
+}
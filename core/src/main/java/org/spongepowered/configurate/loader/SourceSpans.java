@@ -0,0 +1,362 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.loader;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.ScopedConfigurationNode;
+import org.spongepowered.configurate.transformation.NodePath;
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * The locations that values were read from in a loaded document.
+ *
+ * <p>Loaders that support {@link AbstractConfigurationLoader.Builder#incrementalSaves(boolean)
+ * incremental saves} record the span of text each scalar value was read from
+ * while loading. When a later save only changes the values of existing
+ * scalars, the previous file can be copied with only the text of the changed
+ * values replaced, rather than rendering the entire node.</p>
+ *
+ * <p>Offsets are relative to the start of the reader passed to
+ * {@link AbstractConfigurationLoader#loadInternal(ScopedConfigurationNode, BufferedReader, SourceSpans)},
+ * and by default count UTF-16 {@code char}s. Spans must be recorded in the
+ * order they appear in the document, and must not overlap.</p>
+ *
+ * @since 4.0.0
+ */
+public final class SourceSpans {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final long base;
+    private final List<Span> spans;
+    private boolean codePoints;
+    private boolean valid = true;
+    private long lastEnd;
+
+    SourceSpans(final long base) {
+        this.base = base;
+        this.spans = new ArrayList<>();
+    }
+
+    private SourceSpans(final SourceSpans original, final List<Span> spans) {
+        this.base = original.base;
+        this.codePoints = original.codePoints;
+        this.spans = spans;
+    }
+
+    /**
+     * Record the location of a scalar value.
+     *
+     * <p>This must be called after the value has been set on
+     * the node.</p>
+     *
+     * @param node the node holding the value
+     * @param start offset of the first character of the value's text
+     * @param end offset after the last character of the value's text
+     * @since 4.0.0
+     */
+    public void scalar(final ConfigurationNode node, final long start, final long end) {
+        if (!this.valid) {
+            return;
+        }
+
+        final @Nullable Object value = node.rawScalar();
+        if (value == null || start < this.lastEnd || end < start) {
+            this.invalidate();
+            return;
+        }
+        this.spans.add(new Span(node.path(), start, end, value));
+        this.lastEnd = end;
+    }
+
+    /**
+     * Record a value that is present in the document, but whose text cannot
+     * be replaced.
+     *
+     * <p>This should be used for empty lists and maps, and for scalars
+     * written in a style that a replacement value could not be
+     * substituted into. If the value of the node has changed when the
+     * document is next saved, the entire document will be rendered.</p>
+     *
+     * @param node the node holding the value
+     * @since 4.0.0
+     */
+    public void fixed(final ConfigurationNode node) {
+        if (!this.valid) {
+            return;
+        }
+
+        final @Nullable Object value = node.raw();
+        if (value == null) {
+            this.invalidate();
+            return;
+        }
+        this.spans.add(new Span(node.path(), Span.UNKNOWN_POS, Span.UNKNOWN_POS, value));
+    }
+
+    /**
+     * Declare that the locations of values in this document cannot be known,
+     * so the next save must render the entire document.
+     *
+     * @since 4.0.0
+     */
+    public void invalidate() {
+        this.valid = false;
+        this.spans.clear();
+    }
+
+    /**
+     * Declare that offsets count Unicode code points, rather than UTF-16
+     * {@code char}s.
+     *
+     * <p>This must be called before any spans have been recorded.</p>
+     *
+     * @since 4.0.0
+     */
+    public void offsetsInCodePoints() {
+        if (!this.spans.isEmpty()) {
+            throw new IllegalStateException("Offset units must be declared before recording any spans");
+        }
+        this.codePoints = true;
+    }
+
+    boolean valid() {
+        return this.valid;
+    }
+
+    /**
+     * Find the replacements required to make the document contain the
+     * values of {@code root}.
+     *
+     * @param root the node being saved
+     * @param renderer a function producing the text for the value of a
+     *      scalar node, or null if it cannot be rendered in isolation
+     * @return the replacements to make, or {@code null} if the node cannot
+     *      be written by replacing scalar values alone
+     */
+    @Nullable List<Patch> patches(final ConfigurationNode root, final Function<ConfigurationNode, @Nullable String> renderer) {
+        if (!this.valid || countValues(root) != this.spans.size()) {
+            return null;
+        }
+
+        // Each span has a distinct path, so if every span matches a value of
+        // the same kind, and the counts are equal, no values have been added
+        final List<Patch> patches = new ArrayList<>();
+        for (int i = 0; i < this.spans.size(); ++i) {
+            final Span span = this.spans.get(i);
+            final ConfigurationNode node = root.node(span.path);
+            if (node.virtual()) {
+                return null;
+            }
+
+            final @Nullable Object current;
+            if (span.replaceable()) {
+                current = node.isMap() || node.isList() ? null : node.rawScalar();
+            } else {
+                current = node.raw();
+            }
+
+            if (current == null) {
+                return null;
+            } else if (Objects.deepEquals(current, span.value)) {
+                continue;
+            } else if (!span.replaceable()) {
+                return null;
+            }
+
+            final @Nullable String text = renderer.apply(node);
+            if (text == null) {
+                return null;
+            }
+            patches.add(new Patch(i, text, current));
+        }
+        return patches;
+    }
+
+    /**
+     * Count the values a document must have spans for.
+     *
+     * @param node the node to count in
+     * @return the number of scalars and empty containers
+     */
+    private static int countValues(final ConfigurationNode node) {
+        final Collection<? extends ConfigurationNode> children;
+        if (node.isMap()) {
+            children = node.childrenMap().values();
+        } else if (node.isList()) {
+            children = node.childrenList();
+        } else {
+            return node.rawScalar() == null ? 0 : 1;
+        }
+
+        if (children.isEmpty()) {
+            return 1;
+        }
+        int count = 0;
+        for (ConfigurationNode child : children) {
+            count += countValues(child);
+        }
+        return count;
+    }
+
+    /**
+     * Copy the original document to {@code out}, applying patches.
+     *
+     * @param original a reader over the document these spans were
+     *      recorded from
+     * @param out the destination
+     * @param patches patches produced by {@link #patches(ConfigurationNode, Function)}
+     * @return spans describing the new document
+     * @throws IOException if unable to read or write, or if the original
+     *      document is shorter than expected
+     */
+    SourceSpans write(final Reader original, final Writer out, final List<Patch> patches) throws IOException {
+        final char[] buffer = new char[BUFFER_SIZE];
+        transfer(original, out, this.base, buffer);
+
+        final Reader source = this.codePoints ? new PushbackReader(original, 1) : original;
+        final List<Span> updated = new ArrayList<>(this.spans.size());
+        long position = 0;
+        long shift = 0;
+        int nextPatch = 0;
+        for (int i = 0; i < this.spans.size(); ++i) {
+            final Span span = this.spans.get(i);
+            if (nextPatch < patches.size() && patches.get(nextPatch).index == i) {
+                final Patch patch = patches.get(nextPatch++);
+                this.transferUnits(source, out, span.start - position, buffer);
+                this.transferUnits(source, null, span.end - span.start, buffer);
+                out.write(patch.text);
+                position = span.end;
+
+                final int length = this.codePoints ? patch.text.codePointCount(0, patch.text.length()) : patch.text.length();
+                updated.add(new Span(span.path, span.start + shift, span.start + shift + length, patch.value));
+                shift += length - (span.end - span.start);
+            } else if (span.replaceable()) {
+                updated.add(new Span(span.path, span.start + shift, span.end + shift, span.value));
+            } else {
+                updated.add(span);
+            }
+        }
+
+        // and the remainder
+        int read;
+        while ((read = source.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return new SourceSpans(this, updated);
+    }
+
+    private void transferUnits(final Reader in, final @Nullable Writer out, final long count, final char[] buffer) throws IOException {
+        if (this.codePoints) {
+            transferCodePoints((PushbackReader) in, out, count);
+        } else {
+            transfer(in, out, count, buffer);
+        }
+    }
+
+    private static void transfer(final Reader in, final @Nullable Writer out, final long count, final char[] buffer) throws IOException {
+        long remaining = count;
+        while (remaining > 0) {
+            final int read = in.read(buffer, 0, (int) Math.min(remaining, buffer.length));
+            if (read == -1) {
+                throw new EOFException("Document ended before expected position");
+            }
+            if (out != null) {
+                out.write(buffer, 0, read);
+            }
+            remaining -= read;
+        }
+    }
+
+    private static void transferCodePoints(final PushbackReader in, final @Nullable Writer out, final long count) throws IOException {
+        for (long i = 0; i < count; ++i) {
+            final int high = in.read();
+            if (high == -1) {
+                throw new EOFException("Document ended before expected position");
+            }
+            if (out != null) {
+                out.write(high);
+            }
+
+            if (Character.isHighSurrogate((char) high)) {
+                final int low = in.read();
+                if (low != -1 && Character.isLowSurrogate((char) low)) {
+                    if (out != null) {
+                        out.write(low);
+                    }
+                } else if (low != -1) {
+                    in.unread(low);
+                }
+            }
+        }
+    }
+
+    /**
+     * The location of one value.
+     */
+    static final class Span {
+
+        static final long UNKNOWN_POS = -1;
+
+        final NodePath path;
+        final long start;
+        final long end;
+        final Object value;
+
+        Span(final NodePath path, final long start, final long end, final Object value) {
+            this.path = path;
+            this.start = start;
+            this.end = end;
+            this.value = value;
+        }
+
+        boolean replaceable() {
+            return this.start != UNKNOWN_POS;
+        }
+
+    }
+
+    /**
+     * A replacement for the text of one span.
+     */
+    static final class Patch {
+
+        final int index;
+        final String text;
+        final Object value;
+
+        Patch(final int index, final String text, final Object value) {
+            this.index = index;
+            this.text = text;
+            this.value = value;
+        }
+
+    }
+
+}
@@ -0,0 +1,287 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.objectmapping;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.objectmapping.meta.Comment;
+import org.spongepowered.configurate.objectmapping.meta.Matches;
+import org.spongepowered.configurate.objectmapping.meta.NodeKey;
+import org.spongepowered.configurate.objectmapping.meta.Required;
+import org.spongepowered.configurate.objectmapping.meta.Setting;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Instances of Configurate's own annotations, for use by mappers that were
+ * generated at compile time and so do not read annotations reflectively.
+ *
+ * <p>Each instance follows the {@link Annotation} contract for
+ * {@code equals}, {@code hashCode} and {@code toString}.</p>
+ */
+final class AnnotationLiterals {
+
+    private static final Annotation[] EMPTY = new Annotation[0];
+
+    private AnnotationLiterals() {
+    }
+
+    static Setting setting(final String value, final boolean nodeFromParent) {
+        return new SettingLiteral(value, nodeFromParent);
+    }
+
+    static Comment comment(final String value, final boolean override) {
+        return new CommentLiteral(value, override);
+    }
+
+    static Required required() {
+        return RequiredLiteral.INSTANCE;
+    }
+
+    static Matches matches(final String value, final String failureMessage) {
+        return new MatchesLiteral(value, failureMessage);
+    }
+
+    static NodeKey nodeKey() {
+        return NodeKeyLiteral.INSTANCE;
+    }
+
+    /**
+     * An element declaring exactly the provided annotations.
+     *
+     * @param annotations declared annotations
+     * @return a new element
+     */
+    static AnnotatedElement element(final Annotation... annotations) {
+        return new Element(annotations.length == 0 ? EMPTY : annotations.clone());
+    }
+
+    /**
+     * Base for annotation instances, with members stored in declaration order.
+     */
+    abstract static class Literal implements Annotation {
+
+        private final Class<? extends Annotation> type;
+        private final String[] names;
+        private final Object[] values;
+
+        Literal(final Class<? extends Annotation> type, final String[] names, final Object[] values) {
+            this.type = type;
+            this.names = names;
+            this.values = values;
+        }
+
+        @Override
+        public final Class<? extends Annotation> annotationType() {
+            return this.type;
+        }
+
+        @Override
+        public final boolean equals(final @Nullable Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!this.type.isInstance(other)) {
+                return false;
+            }
+            if (other instanceof Literal) {
+                return Arrays.equals(this.values, ((Literal) other).values);
+            }
+
+            // an instance provided by the JVM
+            try {
+                for (int i = 0; i < this.names.length; ++i) {
+                    final Method member = this.type.getMethod(this.names[i]);
+                    if (!this.values[i].equals(member.invoke(other))) {
+                        return false;
+                    }
+                }
+                return true;
+            } catch (final ReflectiveOperationException ex) {
+                return false;
+            }
+        }
+
+        @Override
+        public final int hashCode() {
+            int hash = 0;
+            for (int i = 0; i < this.names.length; ++i) {
+                hash += (127 * this.names[i].hashCode()) ^ this.values[i].hashCode();
+            }
+            return hash;
+        }
+
+        @Override
+        public final String toString() {
+            final StringBuilder builder = new StringBuilder("@").append(this.type.getName()).append('(');
+            for (int i = 0; i < this.names.length; ++i) {
+                if (i > 0) {
+                    builder.append(", ");
+                }
+                builder.append(this.names[i]).append('=');
+                if (this.values[i] instanceof String) {
+                    builder.append('"').append(this.values[i]).append('"');
+                } else {
+                    builder.append(this.values[i]);
+                }
+            }
+            return builder.append(')').toString();
+        }
+
+    }
+
+    static final class SettingLiteral extends Literal implements Setting {
+
+        private final String value;
+        private final boolean nodeFromParent;
+
+        SettingLiteral(final String value, final boolean nodeFromParent) {
+            super(Setting.class, new String[] {"value", "nodeFromParent"}, new Object[] {value, nodeFromParent});
+            this.value = value;
+            this.nodeFromParent = nodeFromParent;
+        }
+
+        @Override
+        public String value() {
+            return this.value;
+        }
+
+        @Override
+        public boolean nodeFromParent() {
+            return this.nodeFromParent;
+        }
+
+    }
+
+    static final class CommentLiteral extends Literal implements Comment {
+
+        private final String value;
+        private final boolean override;
+
+        CommentLiteral(final String value, final boolean override) {
+            super(Comment.class, new String[] {"value", "override"}, new Object[] {value, override});
+            this.value = value;
+            this.override = override;
+        }
+
+        @Override
+        public String value() {
+            return this.value;
+        }
+
+        @Override
+        public boolean override() {
+            return this.override;
+        }
+
+    }
+
+    static final class RequiredLiteral extends Literal implements Required {
+
+        static final RequiredLiteral INSTANCE = new RequiredLiteral();
+
+        private RequiredLiteral() {
+            super(Required.class, new String[0], new Object[0]);
+        }
+
+    }
+
+    static final class MatchesLiteral extends Literal implements Matches {
+
+        private final String value;
+        private final String failureMessage;
+
+        MatchesLiteral(final String value, final String failureMessage) {
+            super(Matches.class, new String[] {"value", "failureMessage"}, new Object[] {value, failureMessage});
+            this.value = value;
+            this.failureMessage = failureMessage;
+        }
+
+        @Override
+        public String value() {
+            return this.value;
+        }
+
+        @Override
+        public String failureMessage() {
+            return this.failureMessage;
+        }
+
+    }
+
+    static final class NodeKeyLiteral extends Literal implements NodeKey {
+
+        static final NodeKeyLiteral INSTANCE = new NodeKeyLiteral();
+
+        private NodeKeyLiteral() {
+            super(NodeKey.class, new String[0], new Object[0]);
+        }
+
+    }
+
+    /**
+     * An element with a fixed set of declared annotations.
+     */
+    static final class Element implements AnnotatedElement {
+
+        private final Annotation[] annotations;
+
+        Element(final Annotation[] annotations) {
+            this.annotations = annotations;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T extends Annotation> @Nullable T getAnnotation(final Class<T> annotationClass) {
+            for (Annotation annotation : this.annotations) {
+                if (annotation.annotationType().equals(annotationClass)) {
+                    return (T) annotation;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public Annotation[] getAnnotations() {
+            return this.annotations.length == 0 ? EMPTY : this.annotations.clone();
+        }
+
+        @Override
+        public Annotation[] getDeclaredAnnotations() {
+            return this.getAnnotations();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T extends Annotation> T[] getAnnotationsByType(final Class<T> annotationClass) {
+            final List<T> matching = new ArrayList<>(1);
+            for (Annotation annotation : this.annotations) {
+                if (annotation.annotationType().equals(annotationClass)) {
+                    matching.add((T) annotation);
+                }
+            }
+            return matching.toArray((T[]) Array.newInstance(annotationClass, matching.size()));
+        }
+
+    }
+
+}
@@ -27,10 +27,12 @@ import org.spongepowered.configurate.objectmapping.meta.NodeResolver;
 import org.spongepowered.configurate.objectmapping.meta.Processor;
 import org.spongepowered.configurate.serialize.SerializationException;
 import org.spongepowered.configurate.serialize.TypeSerializer;
+import org.spongepowered.configurate.serialize.TypeSerializerCollection;
 import org.spongepowered.configurate.util.CheckedFunction;
 import org.spongepowered.configurate.util.UnmodifiableCollections;
 
 import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.Type;
 import java.util.List;
 import java.util.function.Supplier;
 
@@ -66,6 +68,11 @@ public abstract class FieldData<I, O> {
                 deserializer, serializer, resolver);
     }
 
+    // The most recently resolved serializer, with the collection it came from
+    private volatile @Nullable ResolvedSerializer resolvedSerializer;
+    // Type check and constraints, combined on first use
+    private volatile @Nullable Constraint<Object> validator;
+
     FieldData() {
     }
 
@@ -121,22 +128,74 @@ public abstract class FieldData<I, O> {
      * @throws SerializationException if validation fails
      * @since 4.0.0
      */
-    @SuppressWarnings("unchecked")
     public void validate(final @Nullable Object instance) throws SerializationException {
-        if (instance != null && !erase(box(resolvedType().getType())).isInstance(instance)) {
-            throw new SerializationException("Object " + instance + " is not of expected type " + resolvedType().getType());
+        @Nullable Constraint<Object> validator = this.validator;
+        if (validator == null) {
+            this.validator = validator = this.compileValidator();
         }
+        validator.validate(instance);
+    }
 
-        for (Constraint<?> constraint : constraints()) {
-            ((Constraint<Object>) constraint).validate(instance);
+    /**
+     * Combine the type check and every constraint on this field into
+     * a single validator.
+     *
+     * @return the field validator
+     */
+    @SuppressWarnings("unchecked")
+    private Constraint<Object> compileValidator() {
+        final Type type = this.resolvedType().getType();
+        final Class<?> erased = erase(box(type));
+        final Constraint<Object>[] constraints = this.constraints().toArray(new Constraint[0]);
+        switch (constraints.length) {
+            case 0:
+                return instance -> checkType(erased, type, instance);
+            case 1:
+                final Constraint<Object> single = constraints[0];
+                return instance -> {
+                    checkType(erased, type, instance);
+                    single.validate(instance);
+                };
+            default:
+                return instance -> {
+                    checkType(erased, type, instance);
+                    for (Constraint<Object> constraint : constraints) {
+                        constraint.validate(instance);
+                    }
+                };
         }
     }
 
+    private static void checkType(final Class<?> erased, final Type type, final @Nullable Object instance) throws SerializationException {
+        if (instance != null && !erased.isInstance(instance)) {
+            throw new SerializationException("Object " + instance + " is not of expected type " + type);
+        }
+    }
+
+    /**
+     * Get the serializer for this field from the node's options.
+     *
+     * <p>Serializer collections are immutable, so the result is cached until
+     * a node with a different collection is provided. Mappers are usually
+     * used with a single set of options, so this avoids a type lookup for
+     * every field on every load and save.</p>
+     *
+     * @param node the node being loaded or saved
+     * @return serializer for the field's type
+     * @throws SerializationException if no serializer is available
+     */
     TypeSerializer<?> serializerFrom(final ConfigurationNode node) throws SerializationException {
-        final @Nullable TypeSerializer<?> serial = node.options().serializers().get(resolvedType().getType());
+        final TypeSerializerCollection serializers = node.options().serializers();
+        final @Nullable ResolvedSerializer cached = this.resolvedSerializer;
+        if (cached != null && cached.collection == serializers) {
+            return cached.serializer;
+        }
+
+        final @Nullable TypeSerializer<?> serial = serializers.get(resolvedType().getType());
         if (serial == null) {
             throw new SerializationException("No TypeSerializer found for field " + name() + " of type " + resolvedType().getType());
         }
+        this.resolvedSerializer = new ResolvedSerializer(serializers, serial);
         return serial;
     }
 
@@ -172,4 +231,16 @@ public abstract class FieldData<I, O> {
         void accept(I intermediate, @Nullable Object newValue, Supplier<@Nullable Object> implicitInitializer);
     }
 
+    static final class ResolvedSerializer {
+
+        final TypeSerializerCollection collection;
+        final TypeSerializer<?> serializer;
+
+        ResolvedSerializer(final TypeSerializerCollection collection, final TypeSerializer<?> serializer) {
+            this.collection = collection;
+            this.serializer = serializer;
+        }
+
+    }
+
 }
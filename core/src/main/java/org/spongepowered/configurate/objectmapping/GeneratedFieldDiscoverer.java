@@ -0,0 +1,402 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.objectmapping;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.objectmapping.meta.Comment;
+import org.spongepowered.configurate.objectmapping.meta.Matches;
+import org.spongepowered.configurate.objectmapping.meta.NodeKey;
+import org.spongepowered.configurate.objectmapping.meta.Required;
+import org.spongepowered.configurate.objectmapping.meta.Setting;
+import org.spongepowered.configurate.serialize.SerializationException;
+import org.spongepowered.configurate.util.Types;
+
+import java.lang.annotation.Annotation;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.AnnotatedType;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+
+/**
+ * A field discoverer for a single type, generated at compile time.
+ *
+ * <p>Configurate's annotation processor writes a discoverer for each
+ * {@link ConfigSerializable} type that it is able to access without
+ * reflection, and registers it as a service. When creating a mapper for a
+ * type, object mapper factories will look for a generated discoverer with a
+ * {@link ServiceLoader} using the class loader of that type, before trying
+ * any other discoverers.</p>
+ *
+ * <p>Generated discoverers read and write fields directly, and describe
+ * field annotations with instances created at compile time, so discovering
+ * a type does not require any reflection. Each discoverer only handles the
+ * exact type it was generated for.</p>
+ *
+ * <p>This class is a base for generated code, and is not designed to be
+ * extended by hand.</p>
+ *
+ * @since 4.0.0
+ */
+public abstract class GeneratedFieldDiscoverer implements FieldDiscoverer<@Nullable Object[]> {
+
+    // Discoverers are shared between all types from one class loader, but
+    // only held strongly by those types, so unloading is not prevented.
+    private static final Map<ClassLoader, WeakReference<Map<Class<?>, GeneratedFieldDiscoverer>>> BY_LOADER = new WeakHashMap<>();
+    private static final ClassValue<Map<Class<?>, GeneratedFieldDiscoverer>> BY_TYPE = new ClassValue<Map<Class<?>, GeneratedFieldDiscoverer>>() {
+        @Override
+        protected Map<Class<?>, GeneratedFieldDiscoverer> computeValue(final Class<?> type) {
+            final @Nullable ClassLoader loader = type.getClassLoader();
+            if (loader == null) {
+                return Collections.emptyMap();
+            }
+
+            synchronized (BY_LOADER) {
+                final @Nullable WeakReference<Map<Class<?>, GeneratedFieldDiscoverer>> existing = BY_LOADER.get(loader);
+                @Nullable Map<Class<?>, GeneratedFieldDiscoverer> discoverers = existing == null ? null : existing.get();
+                if (discoverers == null) {
+                    discoverers = loadAll(loader);
+                    BY_LOADER.put(loader, new WeakReference<>(discoverers));
+                }
+                return discoverers;
+            }
+        }
+    };
+
+    private final Class<?> mappedType;
+
+    /**
+     * Create a new discoverer.
+     *
+     * @param mappedType the exact type handled by this discoverer
+     * @since 4.0.0
+     */
+    protected GeneratedFieldDiscoverer(final Class<?> mappedType) {
+        this.mappedType = mappedType;
+    }
+
+    /**
+     * Get the generated discoverer registered for a type, if any.
+     *
+     * @param type mapped type
+     * @return the discoverer, or {@code null} if none has been generated
+     */
+    static @Nullable GeneratedFieldDiscoverer forType(final Class<?> type) {
+        return BY_TYPE.get(type).get(type);
+    }
+
+    private static Map<Class<?>, GeneratedFieldDiscoverer> loadAll(final ClassLoader loader) {
+        final Map<Class<?>, GeneratedFieldDiscoverer> discoverers = new HashMap<>();
+        final Iterator<GeneratedFieldDiscoverer> it = ServiceLoader.load(GeneratedFieldDiscoverer.class, loader).iterator();
+        while (true) {
+            try {
+                if (!it.hasNext()) {
+                    break;
+                }
+                final GeneratedFieldDiscoverer discoverer = it.next();
+                discoverers.putIfAbsent(discoverer.mappedType(), discoverer);
+            } catch (final ServiceConfigurationError ignore) {
+                // a stale or inaccessible registration, that type will be discovered reflectively
+            }
+        }
+        return discoverers.isEmpty() ? Collections.emptyMap() : discoverers;
+    }
+
+    /**
+     * Get the type this discoverer was generated for.
+     *
+     * @return the mapped type
+     * @since 4.0.0
+     */
+    public final Class<?> mappedType() {
+        return this.mappedType;
+    }
+
+    @Override
+    public final <V> @Nullable InstanceFactory<@Nullable Object[]> discover(final AnnotatedType target,
+            final FieldCollector<@Nullable Object[], V> collector) throws SerializationException {
+        if (!this.mappedType.equals(target.getType())) {
+            return null;
+        }
+        return this.collect(collector);
+    }
+
+    /**
+     * Submit every field of the mapped type to the collector.
+     *
+     * @param collector the field collector
+     * @param <V> mapped type
+     * @return an instance factory for the mapped type
+     * @since 4.0.0
+     */
+    protected abstract <V> InstanceFactory<@Nullable Object[]> collect(FieldCollector<@Nullable Object[], V> collector);
+
+    /**
+     * Combine the annotations on a field type with those declared on the
+     * field itself.
+     *
+     * @param type the field type
+     * @param declared annotations declared on the field
+     * @return an element providing all annotations
+     * @since 4.0.0
+     */
+    protected static AnnotatedElement annotations(final AnnotatedType type, final Annotation... declared) {
+        return Types.combinedAnnotations(type, AnnotationLiterals.element(declared));
+    }
+
+    /**
+     * Create a {@link Setting} annotation.
+     *
+     * @param value the node key
+     * @param nodeFromParent whether to use the parent node
+     * @return an annotation instance
+     * @since 4.0.0
+     */
+    protected static Setting setting(final String value, final boolean nodeFromParent) {
+        return AnnotationLiterals.setting(value, nodeFromParent);
+    }
+
+    /**
+     * Create a {@link Comment} annotation.
+     *
+     * @param value the comment
+     * @param override whether to replace existing comments
+     * @return an annotation instance
+     * @since 4.0.0
+     */
+    protected static Comment comment(final String value, final boolean override) {
+        return AnnotationLiterals.comment(value, override);
+    }
+
+    /**
+     * Get a {@link Required} annotation.
+     *
+     * @return an annotation instance
+     * @since 4.0.0
+     */
+    protected static Required required() {
+        return AnnotationLiterals.required();
+    }
+
+    /**
+     * Create a {@link Matches} annotation.
+     *
+     * @param value the pattern
+     * @param failureMessage message for values that do not match
+     * @return an annotation instance
+     * @since 4.0.0
+     */
+    protected static Matches matches(final String value, final String failureMessage) {
+        return AnnotationLiterals.matches(value, failureMessage);
+    }
+
+    /**
+     * Get a {@link NodeKey} annotation.
+     *
+     * @return an annotation instance
+     * @since 4.0.0
+     */
+    protected static NodeKey nodeKey() {
+        return AnnotationLiterals.nodeKey();
+    }
+
+    /**
+     * Create a deserializer that stages values for an {@link ObjectFactory}.
+     *
+     * @param index the field index
+     * @return a deserializer
+     * @since 4.0.0
+     */
+    protected static FieldData.Deserializer<@Nullable Object[]> field(final int index) {
+        return (intermediate, value, implicitInitializer) -> {
+            if (value != null) {
+                intermediate[index] = value;
+            } else {
+                intermediate[index + (intermediate.length >> 1)] = implicitInitializer;
+            }
+        };
+    }
+
+    /**
+     * Create a deserializer that stages values for a {@link RecordFactory}.
+     *
+     * @param index the component index
+     * @return a deserializer
+     * @since 4.0.0
+     */
+    protected static FieldData.Deserializer<@Nullable Object[]> component(final int index) {
+        return (intermediate, value, implicitInitializer) -> {
+            intermediate[index] = value != null ? value : implicitInitializer.get();
+        };
+    }
+
+    /**
+     * An instance factory for ordinary classes, which populates fields after
+     * the object has been created.
+     *
+     * @since 4.0.0
+     */
+    protected abstract static class ObjectFactory implements MutableInstanceFactory<@Nullable Object[]> {
+
+        private final Class<?> type;
+        private final int count;
+
+        /**
+         * Create a new factory.
+         *
+         * @param type the created type
+         * @param count the number of fields
+         * @since 4.0.0
+         */
+        protected ObjectFactory(final Class<?> type, final int count) {
+            this.type = type;
+            this.count = count;
+        }
+
+        /**
+         * Create a new instance with default field values.
+         *
+         * @return new instance
+         * @since 4.0.0
+         */
+        protected abstract Object create();
+
+        /**
+         * Read the value of a field.
+         *
+         * @param instance the instance
+         * @param index the field index
+         * @return the field value
+         * @since 4.0.0
+         */
+        protected abstract @Nullable Object get(Object instance, int index);
+
+        /**
+         * Write the value of a field.
+         *
+         * @param instance the instance
+         * @param index the field index
+         * @param value the new value
+         * @since 4.0.0
+         */
+        protected abstract void set(Object instance, int index, Object value);
+
+        @Override
+        public final @Nullable Object[] begin() {
+            return new Object[this.count * 2];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public final void complete(final Object instance, final @Nullable Object[] intermediate) throws SerializationException {
+            try {
+                for (int i = 0; i < this.count; ++i) {
+                    final @Nullable Object value = intermediate[i];
+                    if (value != null) {
+                        this.set(instance, i, value);
+                    } else if (intermediate[this.count + i] != null) {
+                        // Only initialize fields that were not given a value by the object itself
+                        final @Nullable Object implicit = ((Supplier<@Nullable Object>) intermediate[this.count + i]).get();
+                        if (implicit != null && this.get(instance, i) == null) {
+                            this.set(instance, i, implicit);
+                        }
+                    }
+                }
+            } catch (final RuntimeException ex) {
+                throw new SerializationException(this.type, ex);
+            }
+        }
+
+        @Override
+        public final Object complete(final @Nullable Object[] intermediate) throws SerializationException {
+            final Object instance;
+            try {
+                instance = this.create();
+            } catch (final RuntimeException ex) {
+                throw new SerializationException(this.type, ex);
+            }
+            this.complete(instance, intermediate);
+            return instance;
+        }
+
+        @Override
+        public final boolean canCreateInstances() {
+            return true;
+        }
+
+    }
+
+    /**
+     * An instance factory for records, which passes every component to the
+     * canonical constructor.
+     *
+     * @since 4.0.0
+     */
+    protected abstract static class RecordFactory implements InstanceFactory<@Nullable Object[]> {
+
+        private final Class<?> type;
+        private final int count;
+
+        /**
+         * Create a new factory.
+         *
+         * @param type the created type
+         * @param count the number of components
+         * @since 4.0.0
+         */
+        protected RecordFactory(final Class<?> type, final int count) {
+            this.type = type;
+            this.count = count;
+        }
+
+        /**
+         * Create a new instance.
+         *
+         * @param components component values, in declaration order
+         * @return new instance
+         * @since 4.0.0
+         */
+        protected abstract Object create(@Nullable Object[] components);
+
+        @Override
+        public final @Nullable Object[] begin() {
+            return new Object[this.count];
+        }
+
+        @Override
+        public final Object complete(final @Nullable Object[] intermediate) throws SerializationException {
+            try {
+                return this.create(intermediate);
+            } catch (final RuntimeException ex) {
+                throw new SerializationException(this.type, ex);
+            }
+        }
+
+        @Override
+        public final boolean canCreateInstances() {
+            return true;
+        }
+
+    }
+
+}
@@ -0,0 +1,340 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.objectmapping;
+
+import static io.leangen.geantyref.GenericTypeReflector.annotate;
+import static io.leangen.geantyref.GenericTypeReflector.erase;
+import static io.leangen.geantyref.GenericTypeReflector.getReturnType;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.serialize.SerializationException;
+import org.spongepowered.configurate.serialize.TypeSerializer;
+import org.spongepowered.configurate.util.Types;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A mapper for interfaces that creates proxy instances, rather than
+ * deserializing every value up front.
+ *
+ * <p>Every abstract method of the interface must be a getter, taking no
+ * parameters. Each getter is a setting, named after the method. A getter
+ * deserializes its node the first time it is called, and caches the value
+ * until the node is replaced or its {@link ConfigurationNode#modificationStamp()
+ * value changes}. A proxy always reads from the node it was loaded from, so
+ * after a configuration reference is reloaded, a new proxy must be loaded
+ * from the new node.</p>
+ *
+ * @param <V> mapped interface type
+ */
+final class LazyInterfaceMapper<V> extends ObjectMapperImpl<Object, V> {
+
+    private static final FieldData.Deserializer<Object> NO_DESERIALIZER = (intermediate, value, implicit) -> {
+    };
+
+    // MethodHandles.privateLookupIn, only available on Java 9+
+    private static final @Nullable MethodHandle PRIVATE_LOOKUP_IN;
+
+    static {
+        @Nullable MethodHandle privateLookupIn = null;
+        try {
+            privateLookupIn = MethodHandles.lookup().unreflect(
+                MethodHandles.class.getMethod("privateLookupIn", Class.class, MethodHandles.Lookup.class));
+        } catch (final NoSuchMethodException | IllegalAccessException ignore) {
+            // Java 8, default methods cannot be called
+        }
+        PRIVATE_LOOKUP_IN = privateLookupIn;
+    }
+
+    private final Class<?> erasedType;
+    // getter name -> index in fields
+    private final Map<String, Integer> indices;
+    private final Map<Method, MethodHandle> defaultMethods = new ConcurrentHashMap<>();
+
+    private LazyInterfaceMapper(final Type type, final List<FieldData<Object, V>> fields) {
+        super(type, fields, new ProxyOnlyInstanceFactory());
+        this.erasedType = erase(type);
+        final Map<String, Integer> indices = new HashMap<>();
+        for (int i = 0; i < fields.size(); ++i) {
+            indices.put(fields.get(i).name(), i);
+        }
+        this.indices = indices;
+    }
+
+    /**
+     * Get whether a type can be mapped by this mapper.
+     *
+     * @param type type to test
+     * @return if the type is an interface
+     */
+    static boolean canMap(final Type type) {
+        return erase(type).isInterface();
+    }
+
+    /**
+     * Create a mapper for an interface, passing each getter to
+     * the collector.
+     *
+     * @param type the interface type
+     * @param collector collector to create field data
+     * @param fields list the collector adds field data to
+     * @param <V> interface type
+     * @return a new mapper
+     * @throws SerializationException if the interface declares any
+     *     methods that are not getters
+     */
+    static <V> LazyInterfaceMapper<V> create(final Type type, final FieldDiscoverer.FieldCollector<Object, V> collector,
+            final List<FieldData<Object, V>> fields) throws SerializationException {
+        final AnnotatedType target = annotate(type);
+        for (Method getter : getters(erase(type))) {
+            final AnnotatedType fieldType = getReturnType(getter, target);
+            collector.accept(getter.getName(), fieldType, Types.combinedAnnotations(fieldType, getter), NO_DESERIALIZER,
+                instance -> invoke(getter, instance));
+        }
+        return new LazyInterfaceMapper<>(type, fields);
+    }
+
+    private static List<Method> getters(final Class<?> iface) throws SerializationException {
+        // Declared methods of subinterfaces come before those of their parents
+        final Map<String, Method> getters = new LinkedHashMap<>();
+        final List<Class<?>> toVisit = new ArrayList<>();
+        toVisit.add(iface);
+        for (int i = 0; i < toVisit.size(); ++i) {
+            final Class<?> current = toVisit.get(i);
+            for (Method method : current.getDeclaredMethods()) {
+                if (!Modifier.isAbstract(method.getModifiers()) || method.isSynthetic() || isObjectMethod(method)) {
+                    continue;
+                }
+                if (method.getParameterCount() != 0 || method.getReturnType() == void.class) {
+                    throw new SerializationException(iface, "Method " + method + " is not a getter, so it cannot be lazily mapped");
+                }
+                getters.putIfAbsent(method.getName(), method);
+            }
+            for (Class<?> parent : current.getInterfaces()) {
+                if (!toVisit.contains(parent)) {
+                    toVisit.add(parent);
+                }
+            }
+        }
+        return new ArrayList<>(getters.values());
+    }
+
+    private static boolean isObjectMethod(final Method method) {
+        try {
+            Object.class.getMethod(method.getName(), method.getParameterTypes());
+            return true;
+        } catch (final NoSuchMethodException ex) {
+            return false;
+        }
+    }
+
+    private static @Nullable Object invoke(final Method getter, final Object instance) throws Exception {
+        try {
+            return getter.invoke(instance);
+        } catch (final InvocationTargetException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Get whether an object is a proxy created by a lazy mapper.
+     *
+     * @param instance object to test
+     * @return if the object is a lazy proxy
+     */
+    static boolean isProxy(final Object instance) {
+        return Proxy.isProxyClass(instance.getClass()) && Proxy.getInvocationHandler(instance) instanceof LazyInterfaceMapper<?>.Handler;
+    }
+
+    /**
+     * Create a proxy reading from {@code source}.
+     *
+     * <p>No values are deserialized until their getter is called. Any
+     * errors are thrown from the getter. If the getter does not declare
+     * {@link SerializationException}, the error will be wrapped in an
+     * {@link java.lang.reflect.UndeclaredThrowableException}.</p>
+     *
+     * @param source the node to read values from
+     * @return a new proxy instance
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V load(final ConfigurationNode source) {
+        return (V) Proxy.newProxyInstance(this.erasedType.getClassLoader(), new Class<?>[] {this.erasedType}, new Handler(source));
+    }
+
+    @Override
+    public boolean canCreateInstances() {
+        return true;
+    }
+
+    private MethodHandle defaultMethod(final Method method) {
+        return this.defaultMethods.computeIfAbsent(method, m -> {
+            if (PRIVATE_LOOKUP_IN == null) {
+                throw new UnsupportedOperationException("Default methods of lazily mapped interfaces can only be called on Java 9 or newer");
+            }
+            try {
+                final MethodHandles.Lookup lookup = (MethodHandles.Lookup) PRIVATE_LOOKUP_IN.invoke(m.getDeclaringClass(), MethodHandles.lookup());
+                return lookup.unreflectSpecial(m, m.getDeclaringClass());
+            } catch (final RuntimeException | Error ex) {
+                throw ex;
+            } catch (final Throwable ex) {
+                throw new IllegalStateException("Unable to access default method " + m, ex);
+            }
+        });
+    }
+
+    /**
+     * A value loaded by a getter, along with the node it was loaded from and
+     * that node's modification stamp at the time.
+     */
+    static final class CachedValue {
+
+        final ConfigurationNode node;
+        final long stamp;
+        final @Nullable Object value;
+
+        CachedValue(final ConfigurationNode node, final long stamp, final @Nullable Object value) {
+            this.node = node;
+            this.stamp = stamp;
+            this.value = value;
+        }
+
+        boolean current(final ConfigurationNode node) {
+            return this.node == node && this.stamp == node.modificationStamp();
+        }
+
+    }
+
+    final class Handler implements InvocationHandler {
+
+        private final ConfigurationNode source;
+        private final AtomicReferenceArray<@Nullable CachedValue> values;
+
+        Handler(final ConfigurationNode source) {
+            this.source = source;
+            this.values = new AtomicReferenceArray<>(LazyInterfaceMapper.this.fields().size());
+        }
+
+        @Override
+        public @Nullable Object invoke(final Object proxy, final Method method, final @Nullable Object @Nullable [] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return args != null && proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return LazyInterfaceMapper.this.erasedType.getSimpleName() + "{source=" + this.source.path() + '}';
+                    default:
+                        throw new UnsupportedOperationException("Unknown method " + method);
+                }
+            }
+
+            if (method.isDefault()) {
+                return LazyInterfaceMapper.this.defaultMethod(method).bindTo(proxy).invokeWithArguments(args == null ? new Object[0] : args);
+            }
+
+            final @Nullable Integer index = LazyInterfaceMapper.this.indices.get(method.getName());
+            final @Nullable Object value = index == null ? null : this.value(index);
+            if (value == null && method.getReturnType().isPrimitive()) {
+                return Array.get(Array.newInstance(method.getReturnType(), 1), 0);
+            }
+            return value;
+        }
+
+        private @Nullable Object value(final int index) throws SerializationException {
+            final FieldData<Object, V> field = LazyInterfaceMapper.this.fields().get(index);
+            final @Nullable ConfigurationNode node = field.resolveNode(this.source);
+            if (node == null) {
+                return null;
+            }
+
+            final @Nullable CachedValue cached = this.values.get(index);
+            if (cached != null && cached.current(node)) {
+                return cached.value;
+            }
+
+            // read before deserializing, so a concurrent change is never missed
+            final long stamp = node.modificationStamp();
+            final Type type = field.resolvedType().getType();
+            try {
+                final TypeSerializer<?> serial = field.serializerFrom(node);
+                @Nullable Object value = node.virtual() ? null : serial.deserialize(type, node);
+                field.validate(value);
+                if (value == null && node.options().implicitInitialization()) {
+                    value = serial.emptyValue(type, node.options());
+                }
+
+                this.values.set(index, new CachedValue(node, stamp, value));
+                return value;
+            } catch (final SerializationException ex) {
+                ex.initPath(node::path);
+                ex.initType(type);
+                throw ex;
+            }
+        }
+
+    }
+
+    /**
+     * A placeholder factory, since proxies are created by the mapper
+     * itself rather than built from field values.
+     */
+    static final class ProxyOnlyInstanceFactory implements FieldDiscoverer.InstanceFactory<Object> {
+
+        @Override
+        public Object begin() {
+            throw new UnsupportedOperationException("Lazy mappers do not build instances from fields");
+        }
+
+        @Override
+        public Object complete(final Object intermediate) {
+            throw new UnsupportedOperationException("Lazy mappers do not build instances from fields");
+        }
+
+        @Override
+        public boolean canCreateInstances() {
+            return false;
+        }
+
+    }
+
+}
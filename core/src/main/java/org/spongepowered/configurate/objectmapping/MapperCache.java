@@ -0,0 +1,145 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.objectmapping;
+
+import static io.leangen.geantyref.GenericTypeReflector.erase;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.serialize.SerializationException;
+import org.spongepowered.configurate.util.CheckedFunction;
+
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A cache of object mappers, which does not lock when a mapper is present.
+ *
+ * <p>Without a maximum size, mappers are stored alongside the erased
+ * {@link Class} of their type with a {@link ClassValue}, so they will not
+ * prevent that class from being unloaded. With a maximum size, the least
+ * recently used mappers are evicted once the cache grows past that
+ * size.</p>
+ *
+ * <p>When several threads request a missing mapper at once, each may build
+ * one, but only the first to finish will be stored.</p>
+ */
+final class MapperCache {
+
+    static final int UNBOUNDED = -1;
+
+    private final int maximumSize;
+    private final @Nullable ConcurrentMap<Type, Entry> bounded;
+    private final @Nullable ClassValue<ConcurrentMap<Type, Entry>> byClass;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder buildNanos = new LongAdder();
+
+    MapperCache(final int maximumSize) {
+        this.maximumSize = maximumSize;
+        if (maximumSize == UNBOUNDED) {
+            this.bounded = null;
+            this.byClass = new ClassValue<ConcurrentMap<Type, Entry>>() {
+                @Override
+                protected ConcurrentMap<Type, Entry> computeValue(final Class<?> type) {
+                    return new ConcurrentHashMap<>(2);
+                }
+            };
+        } else {
+            this.bounded = new ConcurrentHashMap<>();
+            this.byClass = null;
+        }
+    }
+
+    ObjectMapper<?> get(final Type type, final CheckedFunction<Type, ObjectMapper<?>, SerializationException> builder)
+            throws SerializationException {
+        final ConcurrentMap<Type, Entry> entries = this.entries(type);
+        final @Nullable Entry existing = entries.get(type);
+        if (existing != null) {
+            this.hits.increment();
+            if (this.bounded != null) {
+                existing.lastUsed = System.nanoTime();
+            }
+            return existing.mapper;
+        }
+
+        this.misses.increment();
+        final long start = System.nanoTime();
+        final ObjectMapper<?> created;
+        try {
+            created = builder.apply(type);
+        } finally {
+            this.buildNanos.add(System.nanoTime() - start);
+        }
+
+        final @Nullable Entry raced = entries.putIfAbsent(type, new Entry(created, System.nanoTime()));
+        if (raced != null) {
+            return raced.mapper;
+        }
+        if (this.bounded != null && this.bounded.size() > this.maximumSize) {
+            this.evict(this.bounded);
+        }
+        return created;
+    }
+
+    private ConcurrentMap<Type, Entry> entries(final Type type) {
+        if (this.byClass != null) {
+            return this.byClass.get(type instanceof Class<?> ? (Class<?>) type : erase(type));
+        }
+        return this.bounded;
+    }
+
+    private void evict(final ConcurrentMap<Type, Entry> entries) {
+        while (entries.size() > this.maximumSize) {
+            Map.@Nullable Entry<Type, Entry> oldest = null;
+            for (Map.Entry<Type, Entry> candidate : entries.entrySet()) {
+                if (oldest == null || candidate.getValue().lastUsed < oldest.getValue().lastUsed) {
+                    oldest = candidate;
+                }
+            }
+            if (oldest == null) {
+                return;
+            }
+            if (entries.remove(oldest.getKey(), oldest.getValue())) {
+                this.evictions.increment();
+            }
+        }
+    }
+
+    ObjectMapper.Factory.CacheStatistics statistics() {
+        return new ObjectMapper.Factory.CacheStatistics(this.hits.sum(), this.misses.sum(), this.evictions.sum(),
+            Duration.ofNanos(this.buildNanos.sum()));
+    }
+
+    static final class Entry {
+
+        final ObjectMapper<?> mapper;
+        volatile long lastUsed;
+
+        Entry(final ObjectMapper<?> mapper, final long lastUsed) {
+            this.mapper = mapper;
+            this.lastUsed = lastUsed;
+        }
+
+    }
+
+}
@@ -25,30 +25,48 @@ import org.spongepowered.configurate.serialize.SerializationException;
 import org.spongepowered.configurate.util.CheckedFunction;
 import org.spongepowered.configurate.util.Types;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.AnnotatedType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Supplier;
 
-class ObjectFieldDiscoverer implements FieldDiscoverer<Map<Field, Object>> {
+/**
+ * A discoverer for the fields of ordinary classes.
+ *
+ * <p>Fields are accessed through method handles, adapted to a common type
+ * once when the mapper is created. Loaded values are staged in an array
+ * with one slot per field, followed by one slot per field for an implicit
+ * initializer, and copied into the instance in a single pass.</p>
+ */
+class ObjectFieldDiscoverer implements FieldDiscoverer<@Nullable Object[]> {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
 
     static final ObjectFieldDiscoverer EMPTY_CONSTRUCTOR_INSTANCE = new ObjectFieldDiscoverer(type -> {
         try {
             final Constructor<?> constructor;
             constructor = erase(type.getType()).getDeclaredConstructor();
             constructor.setAccessible(true);
+            final MethodHandle handle = LOOKUP.unreflectConstructor(constructor).asType(CONSTRUCTOR_TYPE);
             return () -> {
                 try {
-                    return constructor.newInstance();
-                } catch (final InstantiationException | IllegalAccessException | InvocationTargetException e) {
+                    return (Object) handle.invokeExact();
+                } catch (final RuntimeException | Error e) {
+                    throw e;
+                } catch (final Throwable e) {
                     throw new RuntimeException(e);
                 }
             };
-        } catch (final NoSuchMethodException e) {
+        } catch (final NoSuchMethodException | IllegalAccessException e) {
             return null;
         }
     });
@@ -60,8 +78,8 @@ class ObjectFieldDiscoverer implements FieldDiscoverer<Map<Field, Object>> {
     }
 
     @Override
-    public <V> @Nullable InstanceFactory<Map<Field, Object>> discover(final AnnotatedType target,
-            final FieldCollector<Map<Field, Object>, V> collector) throws SerializationException {
+    public <V> @Nullable InstanceFactory<@Nullable Object[]> discover(final AnnotatedType target,
+            final FieldCollector<@Nullable Object[], V> collector) throws SerializationException {
         final Class<?> clazz = erase(target.getType());
         if (clazz.isInterface()) {
             throw new SerializationException(target.getType(), "ObjectMapper can only work with concrete types");
@@ -69,10 +87,12 @@ class ObjectFieldDiscoverer implements FieldDiscoverer<Map<Field, Object>> {
 
         final @Nullable Supplier<Object> maker = this.instanceFactory.apply(target);
 
+        final List<MethodHandle> getters = new ArrayList<>();
+        final List<MethodHandle> setters = new ArrayList<>();
         AnnotatedType collectType = target;
         Class<?> collectClass = clazz;
         while (true) {
-            collectFields(collectType, collector);
+            collectFields(target, collectType, collector, getters, setters);
             collectClass = collectClass.getSuperclass();
             if (collectClass.equals(Object.class)) {
                 break;
@@ -80,77 +100,108 @@ class ObjectFieldDiscoverer implements FieldDiscoverer<Map<Field, Object>> {
             collectType = getExactSuperType(collectType, collectClass);
         }
 
-        return new MutableInstanceFactory<Map<Field, Object>>() {
-
-            @Override
-            public Map<Field, Object> begin() {
-                return new HashMap<>();
-            }
-
-            @Override
-            public void complete(final Object instance, final Map<Field, Object> intermediate) throws SerializationException {
-                for (Map.Entry<Field, Object> entry : intermediate.entrySet()) {
-                    try {
-                        // Handle implicit field initialization by detecting any existing information in the object
-                        if (entry.getValue() instanceof ImplicitProvider) {
-                            final @Nullable Object implicit = ((ImplicitProvider) entry.getValue()).provider.get();
-                            if (implicit != null) {
-                                if (entry.getKey().get(instance) == null) {
-                                    entry.getKey().set(instance, implicit);
-                                }
-                            }
-                        } else {
-                            entry.getKey().set(instance, entry.getValue());
-                        }
-                    } catch (final IllegalAccessException e) {
-                        throw new SerializationException(target.getType(), e);
-                    }
-                }
-            }
-
-            @Override
-            public Object complete(final Map<Field, Object> intermediate) throws SerializationException {
-                final Object instance = maker == null ? null : maker.get();
-                if (instance == null) {
-                    throw new SerializationException(target.getType(), "Unable to create instance with this populator");
-                }
-                complete(instance, intermediate);
-                return instance;
-            }
-
-            @Override
-            public boolean canCreateInstances() {
-                return maker != null;
-            }
-
-        };
+        return new FieldArrayInstanceFactory(target, maker, getters.toArray(new MethodHandle[0]), setters.toArray(new MethodHandle[0]));
     }
 
-    private void collectFields(final AnnotatedType clazz, final FieldCollector<Map<Field, Object>, ?> fieldMaker) {
+    private void collectFields(final AnnotatedType target, final AnnotatedType clazz, final FieldCollector<@Nullable Object[], ?> fieldMaker,
+            final List<MethodHandle> getters, final List<MethodHandle> setters) throws SerializationException {
         for (Field field : erase(clazz.getType()).getDeclaredFields()) {
             if ((field.getModifiers() & (Modifier.STATIC | Modifier.TRANSIENT)) != 0) {
                 continue;
             }
 
             field.setAccessible(true);
+            final MethodHandle getter;
+            final MethodHandle setter;
+            try {
+                getter = LOOKUP.unreflectGetter(field).asType(GETTER_TYPE);
+                setter = LOOKUP.unreflectSetter(field).asType(SETTER_TYPE);
+            } catch (final IllegalAccessException ex) {
+                throw new SerializationException(target.getType(), ex);
+            }
+
+            final int index = getters.size();
+            getters.add(getter);
+            setters.add(setter);
             final AnnotatedType fieldType = getFieldType(field, clazz);
             fieldMaker.accept(field.getName(), fieldType, Types.combinedAnnotations(fieldType, field),
                               (intermediate, val, implicitProvider) -> {
                     if (val != null) {
-                        intermediate.put(field, val);
+                        intermediate[index] = val;
                     } else {
-                        intermediate.put(field, new ImplicitProvider(implicitProvider));
+                        intermediate[index + (intermediate.length >> 1)] = implicitProvider;
                     }
-                }, field::get);
+                }, instance -> get(getter, instance));
         }
     }
 
-    static class ImplicitProvider {
+    static @Nullable Object get(final MethodHandle getter, final Object instance) throws Exception {
+        try {
+            return (Object) getter.invokeExact(instance);
+        } catch (final Exception | Error ex) {
+            throw ex;
+        } catch (final Throwable ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    static final class FieldArrayInstanceFactory implements MutableInstanceFactory<@Nullable Object[]> {
+
+        private final AnnotatedType target;
+        private final @Nullable Supplier<Object> maker;
+        private final MethodHandle[] getters;
+        private final MethodHandle[] setters;
+
+        FieldArrayInstanceFactory(final AnnotatedType target, final @Nullable Supplier<Object> maker, final MethodHandle[] getters,
+                final MethodHandle[] setters) {
+            this.target = target;
+            this.maker = maker;
+            this.getters = getters;
+            this.setters = setters;
+        }
+
+        @Override
+        public @Nullable Object[] begin() {
+            return new Object[this.setters.length * 2];
+        }
 
-        final Supplier<Object> provider;
+        @Override
+        @SuppressWarnings("unchecked")
+        public void complete(final Object instance, final @Nullable Object[] intermediate) throws SerializationException {
+            final int count = this.setters.length;
+            try {
+                for (int i = 0; i < count; ++i) {
+                    final @Nullable Object value = intermediate[i];
+                    if (value != null) {
+                        this.setters[i].invokeExact(instance, value);
+                    } else if (intermediate[count + i] != null) {
+                        // Handle implicit field initialization by detecting any existing information in the object
+                        final @Nullable Object implicit = ((Supplier<@Nullable Object>) intermediate[count + i]).get();
+                        if (implicit != null && (Object) this.getters[i].invokeExact(instance) == null) {
+                            this.setters[i].invokeExact(instance, implicit);
+                        }
+                    }
+                }
+            } catch (final SerializationException | Error ex) {
+                throw ex;
+            } catch (final Throwable ex) {
+                throw new SerializationException(this.target.getType(), ex);
+            }
+        }
+
+        @Override
+        public Object complete(final @Nullable Object[] intermediate) throws SerializationException {
+            final @Nullable Object instance = this.maker == null ? null : this.maker.get();
+            if (instance == null) {
+                throw new SerializationException(this.target.getType(), "Unable to create instance with this populator");
+            }
+            this.complete(instance, intermediate);
+            return instance;
+        }
 
-        ImplicitProvider(final Supplier<Object> provider) {
-            this.provider = provider;
+        @Override
+        public boolean canCreateInstances() {
+            return this.maker != null;
         }
 
     }
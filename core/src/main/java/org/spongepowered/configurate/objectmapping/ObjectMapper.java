@@ -28,7 +28,9 @@ import org.spongepowered.configurate.util.NamingScheme;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * A mapper that converts between configuration nodes and Java objects.
@@ -66,6 +68,8 @@ public interface ObjectMapper<V> {
      *     constraints</li>
      *     <li>processes {@link org.spongepowered.configurate.objectmapping.meta.Comment}
      *     annotations</li>
+     *     <li>caches every mapper it creates until the mapped class
+     *     is unloaded</li>
      * </ul>
      *
      * @return default factory
@@ -125,6 +129,37 @@ public interface ObjectMapper<V> {
      */
     void save(V value, ConfigurationNode target) throws SerializationException;
 
+    /**
+     * Check every field in {@code source} without creating an instance.
+     *
+     * <p>Unlike loading, validation does not stop at the first failure.
+     * Every field is deserialized and checked against its constraints, and
+     * all problems are returned together. Failures within nested objects
+     * are reported individually.</p>
+     *
+     * @param source the node to validate
+     * @return a report of all violations
+     * @since 4.0.0
+     */
+    default ValidationReport validate(final ConfigurationNode source) {
+        return this.validate(source, Runnable::run);
+    }
+
+    /**
+     * Check every field in {@code source} without creating an instance,
+     * validating groups of fields in parallel on {@code executor}.
+     *
+     * <p>The type serializers and constraints for each field must be
+     * thread-safe when a concurrent executor is used.</p>
+     *
+     * @param source the node to validate
+     * @param executor the executor to validate fields on
+     * @return a report of all violations
+     * @see #validate(ConfigurationNode)
+     * @since 4.0.0
+     */
+    ValidationReport validate(ConfigurationNode source, Executor executor);
+
     /**
      * Get the parameters that will be handled by this mapper.
      *
@@ -171,6 +206,62 @@ public interface ObjectMapper<V> {
          */
         void load(V value, ConfigurationNode node) throws SerializationException;
 
+        /**
+         * Create a loader that only deserializes fields whose nodes have
+         * changed since its previous load.
+         *
+         * <p>The loader keeps a copy of the node each field was read from.
+         * When loading again, every field's node is compared with its
+         * previous copy, and fields with an equal node are left untouched
+         * in the target object. This makes reloading large objects where
+         * only a few values have changed much cheaper.</p>
+         *
+         * <p>Each loader tracks a single instance. If a different instance
+         * is passed to {@link Incremental#load(Object, ConfigurationNode)},
+         * every field will be loaded again.</p>
+         *
+         * @return a new incremental loader
+         * @since 4.0.0
+         */
+        Incremental<V> incremental();
+
+        /**
+         * A loader that remembers the nodes it last loaded from.
+         *
+         * @param <V> value type
+         * @since 4.0.0
+         */
+        interface Incremental<V> {
+
+            /**
+             * Load data from {@code node} into an existing instance, skipping
+             * any fields whose node is unchanged since the previous load.
+             *
+             * <p>If loading fails, no fields will be modified, and the next
+             * load will compare against the last successful load.</p>
+             *
+             * @param value existing instance
+             * @param node node to load from
+             * @return the fields that were loaded, in declaration order
+             * @throws SerializationException if unable to deserialize data
+             * @since 4.0.0
+             */
+            List<? extends FieldData<?, V>> load(V value, ConfigurationNode node) throws SerializationException;
+
+            /**
+             * Forget the previously loaded nodes, so the next load will read
+             * every field.
+             *
+             * <p>This should be called if anything other than the node
+             * contents affects deserialization, such as a change to the
+             * node's type serializers.</p>
+             *
+             * @since 4.0.0
+             */
+            void reset();
+
+        }
+
     }
 
     /**
@@ -240,6 +331,14 @@ public interface ObjectMapper<V> {
          */
         TypeSerializer<Object> asTypeSerializer();
 
+        /**
+         * Get statistics for this factory's cache of created mappers.
+         *
+         * @return a snapshot of the current statistics
+         * @since 4.0.0
+         */
+        CacheStatistics cacheStatistics();
+
         /**
          * A builder for settings to be applied to an object mapper.
          *
@@ -283,6 +382,123 @@ public interface ObjectMapper<V> {
              */
             Builder addDiscoverer(FieldDiscoverer<?> discoverer);
 
+            /**
+             * Set whether discoverers generated at compile time will be used.
+             *
+             * <p>When enabled, a {@link GeneratedFieldDiscoverer} registered
+             * for a type will be tried before any other discoverers. This is
+             * enabled by default.</p>
+             *
+             * @param useGeneratedDiscoverers whether to use
+             *     generated discoverers
+             * @return this builder
+             * @since 4.0.0
+             */
+            Builder useGeneratedDiscoverers(boolean useGeneratedDiscoverers);
+
+            /**
+             * Set whether interfaces will be mapped to lazily loaded proxies.
+             *
+             * <p>When enabled, mapping an interface produces a proxy instance.
+             * Every abstract method of the interface must be a getter with
+             * no parameters, and each getter is a setting named after the
+             * method. Getters deserialize their node the first time they
+             * are called, so only the settings that are read have any
+             * loading cost. Each value is cached by its proxy until the node
+             * backing the setting is replaced or its value changes. A proxy
+             * always reads from the node it was loaded from.</p>
+             *
+             * <p>Interfaces will be proxied when no
+             * {@link #typeDiscriminator(String) type discriminator} is
+             * present to select an implementation. This is disabled
+             * by default.</p>
+             *
+             * @param lazyInterfaces whether to map interfaces lazily
+             * @return this builder
+             * @since 4.0.0
+             */
+            Builder lazyInterfaces(boolean lazyInterfaces);
+
+            /**
+             * Register an implementation that may be loaded for an
+             * interface or abstract class.
+             *
+             * <p>Once any subtype is registered for a base type, only
+             * registered subtypes will be accepted for it, named either by
+             * an alias or by their class name. When saving, the first
+             * alias registered for a subtype is written instead of its
+             * class name.</p>
+             *
+             * <p>Base types without registered subtypes accept the class
+             * name of any implementation.</p>
+             *
+             * @param baseType the interface or abstract class
+             * @param subtype an implementation of the base type
+             * @param alias the short name for the implementation
+             * @param <T> base type
+             * @return this builder
+             * @throws IllegalArgumentException if the alias is already used
+             *     by another subtype of the same base type
+             * @since 4.0.0
+             */
+            <T> Builder addSubtype(Class<T> baseType, Class<? extends T> subtype, String alias);
+
+            /**
+             * Set the class loader used to find implementations named by
+             * their class name.
+             *
+             * <p>By default, the class loader of the interface or abstract
+             * class is used, which may not be able to see implementations
+             * provided by other class loaders, such as plugins.</p>
+             *
+             * @param classLoader the class loader to find classes with
+             * @return this builder
+             * @since 4.0.0
+             */
+            Builder typeClassLoader(ClassLoader classLoader);
+
+            /**
+             * Set the key holding the name of the implementation for every
+             * interface or abstract class.
+             *
+             * <p>By default, {@code __class__} is used.</p>
+             *
+             * @param key the discriminator key
+             * @return this builder
+             * @since 4.0.0
+             */
+            Builder typeDiscriminator(String key);
+
+            /**
+             * Set the key holding the name of the implementation for one
+             * interface or abstract class.
+             *
+             * <p>This can be used to read an existing field, such as
+             * {@code type}, to select the implementation.</p>
+             *
+             * @param baseType the interface or abstract class
+             * @param key the discriminator key
+             * @return this builder
+             * @since 4.0.0
+             */
+            Builder typeDiscriminator(Class<?> baseType, String key);
+
+            /**
+             * Limit the number of mappers the factory will cache.
+             *
+             * <p>Once the limit is exceeded, the least recently used mappers
+             * are discarded, and will be created again if needed.</p>
+             *
+             * <p>By default, the cache is unbounded, and mappers are held
+             * only for as long as the class they map is loaded.</p>
+             *
+             * @param maximumCachedMappers the maximum number of mappers
+             * @return this builder
+             * @throws IllegalArgumentException if the maximum is not positive
+             * @since 4.0.0
+             */
+            Builder maximumCachedMappers(int maximumCachedMappers);
+
             /**
              * Register a {@link Processor} that will process fields after write.
              *
@@ -357,6 +573,74 @@ public interface ObjectMapper<V> {
 
         }
 
+        /**
+         * Statistics for the cache of mappers held by a factory.
+         *
+         * @since 4.0.0
+         */
+        final class CacheStatistics {
+
+            private final long hits;
+            private final long misses;
+            private final long evictions;
+            private final Duration buildTime;
+
+            CacheStatistics(final long hits, final long misses, final long evictions, final Duration buildTime) {
+                this.hits = hits;
+                this.misses = misses;
+                this.evictions = evictions;
+                this.buildTime = buildTime;
+            }
+
+            /**
+             * The number of requests answered by a cached mapper.
+             *
+             * @return hit count
+             * @since 4.0.0
+             */
+            public long hits() {
+                return this.hits;
+            }
+
+            /**
+             * The number of requests that had to create a new mapper.
+             *
+             * @return miss count
+             * @since 4.0.0
+             */
+            public long misses() {
+                return this.misses;
+            }
+
+            /**
+             * The number of mappers discarded to stay within the maximum size.
+             *
+             * @return eviction count
+             * @since 4.0.0
+             */
+            public long evictions() {
+                return this.evictions;
+            }
+
+            /**
+             * The total time spent creating mappers, including attempts
+             * that failed.
+             *
+             * @return total build time
+             * @since 4.0.0
+             */
+            public Duration buildTime() {
+                return this.buildTime;
+            }
+
+            @Override
+            public String toString() {
+                return "CacheStatistics{hits=" + this.hits + ", misses=" + this.misses + ", evictions=" + this.evictions
+                    + ", buildTime=" + this.buildTime + '}';
+            }
+
+        }
+
     }
 
 }
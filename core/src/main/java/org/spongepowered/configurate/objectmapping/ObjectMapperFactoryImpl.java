@@ -23,7 +23,6 @@ import static io.leangen.geantyref.GenericTypeReflector.isMissingTypeParameters;
 import static io.leangen.geantyref.GenericTypeReflector.isSuperType;
 import static java.util.Objects.requireNonNull;
 
-import io.leangen.geantyref.GenericTypeReflector;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.configurate.BasicConfigurationNode;
 import org.spongepowered.configurate.ConfigurationNode;
@@ -48,7 +47,6 @@ import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -57,16 +55,12 @@ import java.util.Map;
  */
 final class ObjectMapperFactoryImpl implements ObjectMapper.Factory, TypeSerializer<Object> {
 
-    private static final int MAXIMUM_MAPPERS_SIZE = 64;
-
-    private final Map<Type, ObjectMapper<?>> mappers = new LinkedHashMap<Type, ObjectMapper<?>>() {
-        @Override
-        protected boolean removeEldestEntry(final Map.Entry<Type, ObjectMapper<?>> eldest) {
-            return this.size() > MAXIMUM_MAPPERS_SIZE;
-        }
-    };
+    private final MapperCache mappers;
     private final List<NodeResolver.Factory> resolverFactories;
     private final List<FieldDiscoverer<?>> fieldDiscoverers;
+    private final boolean useGeneratedDiscoverers;
+    private final boolean lazyInterfaces;
+    private final PolymorphicTypes polymorphicTypes;
     private final Map<Class<? extends Annotation>, List<Definition<?, ?, ? extends Constraint.Factory<?, ?>>>> constraints;
     private final Map<Class<? extends Annotation>, List<Definition<?, ?, ? extends Processor.Factory<?, ?>>>> processors;
 
@@ -85,6 +79,10 @@ final class ObjectMapperFactoryImpl implements ObjectMapper.Factory, TypeSeriali
 
         this.fieldDiscoverers = new ArrayList<>(builder.discoverer);
         Collections.reverse(this.fieldDiscoverers);
+        this.useGeneratedDiscoverers = builder.useGeneratedDiscoverers;
+        this.lazyInterfaces = builder.lazyInterfaces;
+        this.polymorphicTypes = builder.polymorphicTypes.build();
+        this.mappers = new MapperCache(builder.maximumCachedMappers);
         this.constraints = new HashMap<>();
         for (Definition<?, ?, ? extends Constraint.Factory<?, ?>> def : builder.constraints) {
             this.constraints.computeIfAbsent(def.annotation(), k -> new ArrayList<>()).add(def);
@@ -105,9 +103,12 @@ final class ObjectMapperFactoryImpl implements ObjectMapper.Factory, TypeSeriali
             throw new SerializationException(type, "Raw types are not supported!");
         }
 
-        synchronized (this.mappers) {
-            return computeFromMap(this.mappers, type, this::computeMapper);
-        }
+        return this.mappers.get(type, this::computeMapper);
+    }
+
+    @Override
+    public CacheStatistics cacheStatistics() {
+        return this.mappers.statistics();
     }
 
     @Override
@@ -116,6 +117,20 @@ final class ObjectMapperFactoryImpl implements ObjectMapper.Factory, TypeSeriali
     }
 
     private ObjectMapper<?> computeMapper(final Type type) throws SerializationException {
+        if (this.lazyInterfaces && LazyInterfaceMapper.canMap(type)) {
+            return this.newLazyMapper(type);
+        }
+
+        if (this.useGeneratedDiscoverers && type instanceof Class<?>) {
+            final @Nullable GeneratedFieldDiscoverer generated = GeneratedFieldDiscoverer.forType((Class<?>) type);
+            if (generated != null) {
+                final @Nullable ObjectMapper<?> result = newMapper(type, generated);
+                if (result != null) {
+                    return result;
+                }
+            }
+        }
+
         for (FieldDiscoverer<?> discoverer : this.fieldDiscoverers) {
             final @Nullable ObjectMapper<?> result = newMapper(type, discoverer);
             if (result != null) {
@@ -142,6 +157,12 @@ final class ObjectMapperFactoryImpl implements ObjectMapper.Factory, TypeSeriali
         }
     }
 
+    private <V> ObjectMapper<V> newLazyMapper(final Type type) throws SerializationException {
+        final List<FieldData<Object, V>> fields = new ArrayList<>();
+        return LazyInterfaceMapper.create(type,
+            (name, fieldType, container, deserializer, serializer) -> makeData(fields, name, fieldType, container, deserializer, serializer), fields);
+    }
+
     /**
      * Build a field data object by calculating the appropriate metadata.
      *
@@ -200,50 +221,44 @@ final class ObjectMapperFactoryImpl implements ObjectMapper.Factory, TypeSeriali
 
     @Override
     public Object deserialize(final Type type, final ConfigurationNode node) throws SerializationException {
-        final Type clazz = instantiableType(node, type, node.node(CLASS_KEY).getString());
-        return get(clazz).load(node);
+        return get(instantiableType(node, type)).load(node);
     }
 
-    private Type instantiableType(final ConfigurationNode node, final Type type,
-            final @Nullable String configuredName) throws SerializationException {
-        final Type retClass;
+    private Type instantiableType(final ConfigurationNode node, final Type type) throws SerializationException {
         final Class<?> rawType = erase(type);
-        if (rawType.isInterface() || Modifier.isAbstract(rawType.getModifiers())) {
-            if (configuredName == null) {
-                throw new SerializationException(node, type, "No available configured type for instances of this type");
-            } else {
-                try {
-                    retClass = Class.forName(configuredName);
-                } catch (final ClassNotFoundException e) {
-                    throw new SerializationException(node, type, "Unknown class of object " + configuredName, e);
-                }
-                if (!GenericTypeReflector.isSuperType(type, retClass)) {
-                    throw new SerializationException(node, type, "Configured type " + configuredName + " does not extend "
-                            + rawType.getCanonicalName());
-                }
-            }
+        if (!rawType.isInterface() && !Modifier.isAbstract(rawType.getModifiers())) {
+            return type;
+        }
+
+        final @Nullable String configuredName = node.node(this.polymorphicTypes.discriminator(rawType)).getString();
+        if (configuredName != null) {
+            return this.polymorphicTypes.resolve(node, type, rawType, configuredName);
+        } else if (rawType.isInterface() && this.lazyInterfaces) {
+            return type;
         } else {
-            retClass = type;
+            throw new SerializationException(node, type, "No available configured type for instances of this type");
         }
-        return retClass;
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public void serialize(final Type type, final @Nullable Object obj, final ConfigurationNode node) throws SerializationException {
+        final Class<?> rawType = erase(type);
         if (obj == null) {
-            final ConfigurationNode clazz = node.node(CLASS_KEY);
+            final String discriminator = this.polymorphicTypes.discriminator(rawType);
+            final ConfigurationNode clazz = node.node(discriminator);
             node.set(null);
             if (!clazz.virtual()) {
-                node.node(CLASS_KEY).set(clazz);
+                node.node(discriminator).set(clazz);
             }
             return;
         }
-        final Class<?> rawType = erase(type);
         final ObjectMapper<?> mapper;
-        if (rawType.isInterface() || Modifier.isAbstract(rawType.getModifiers())) {
+        if (LazyInterfaceMapper.isProxy(obj)) {
+            mapper = get(type);
+        } else if (rawType.isInterface() || Modifier.isAbstract(rawType.getModifiers())) {
             // serialize obj's concrete type rather than the interface/abstract class
-            node.node(CLASS_KEY).set(obj.getClass().getName());
+            node.node(this.polymorphicTypes.discriminator(rawType)).set(this.polymorphicTypes.name(node, type, rawType, obj.getClass()));
             mapper = get(obj.getClass());
         } else {
             mapper = get(type);
@@ -261,46 +276,6 @@ final class ObjectMapperFactoryImpl implements ObjectMapper.Factory, TypeSeriali
         }
     }
 
-    // Helpers to get value from map
-
-    /**
-     * Lightweight wrapper exception that doesn't need to track its
-     * own stacktrace.
-     */
-    private static class StacklessWrapper extends RuntimeException {
-
-        private static final long serialVersionUID = 1759625646560465255L;
-
-        StacklessWrapper(final Throwable cause) {
-            super(cause);
-        }
-
-        @Override
-        public synchronized Throwable fillInStackTrace() {
-            // no-op
-            return this;
-        }
-    }
-
-    @SuppressWarnings("unchecked") // for E cast
-    private static <K, V, E extends Exception> V computeFromMap(final Map<K, V> map, final K key, final CheckedFunction<K, V, E> creator) throws E {
-        try {
-            return map.computeIfAbsent(key, k -> {
-                try {
-                    return creator.apply(k);
-                } catch (final Exception e) {
-                    if (e instanceof RuntimeException) {
-                        throw (RuntimeException) e;
-                    } else {
-                        throw new StacklessWrapper(e);
-                    }
-                }
-            });
-        } catch (final StacklessWrapper ex) {
-            throw (E) ex.getCause();
-        }
-    }
-
     static ObjectMapper.Factory.Builder defaultBuilder() {
         return new Builder()
                 .defaultNamingScheme(NamingSchemes.LOWER_CASE_DASHED)
@@ -327,6 +302,10 @@ final class ObjectMapperFactoryImpl implements ObjectMapper.Factory, TypeSeriali
         private @Nullable NamingScheme namingScheme;
         private final List<NodeResolver.Factory> resolvers = new ArrayList<>();
         private final List<FieldDiscoverer<?>> discoverer = new ArrayList<>();
+        private boolean useGeneratedDiscoverers = true;
+        private boolean lazyInterfaces;
+        private final PolymorphicTypes.Builder polymorphicTypes = new PolymorphicTypes.Builder();
+        private int maximumCachedMappers = MapperCache.UNBOUNDED;
         private final List<Definition<?, ?, ? extends Constraint.Factory<?, ?>>> constraints = new ArrayList<>();
         private final List<Definition<?, ?, ? extends Processor.Factory<?, ?>>> processors = new ArrayList<>();
 
@@ -348,6 +327,51 @@ final class ObjectMapperFactoryImpl implements ObjectMapper.Factory, TypeSeriali
             return this;
         }
 
+        @Override
+        public Builder useGeneratedDiscoverers(final boolean useGeneratedDiscoverers) {
+            this.useGeneratedDiscoverers = useGeneratedDiscoverers;
+            return this;
+        }
+
+        @Override
+        public Builder lazyInterfaces(final boolean lazyInterfaces) {
+            this.lazyInterfaces = lazyInterfaces;
+            return this;
+        }
+
+        @Override
+        public <T> Builder addSubtype(final Class<T> baseType, final Class<? extends T> subtype, final String alias) {
+            this.polymorphicTypes.subtype(baseType, subtype, alias);
+            return this;
+        }
+
+        @Override
+        public Builder typeClassLoader(final ClassLoader classLoader) {
+            this.polymorphicTypes.classLoader(classLoader);
+            return this;
+        }
+
+        @Override
+        public Builder typeDiscriminator(final String key) {
+            this.polymorphicTypes.defaultDiscriminator(key);
+            return this;
+        }
+
+        @Override
+        public Builder typeDiscriminator(final Class<?> baseType, final String key) {
+            this.polymorphicTypes.discriminator(baseType, key);
+            return this;
+        }
+
+        @Override
+        public Builder maximumCachedMappers(final int maximumCachedMappers) {
+            if (maximumCachedMappers <= 0) {
+                throw new IllegalArgumentException("Maximum cache size must be positive, but was " + maximumCachedMappers);
+            }
+            this.maximumCachedMappers = maximumCachedMappers;
+            return this;
+        }
+
         @Override
         public <A extends Annotation, T> Builder addProcessor(final Class<A> definition, final Class<T> valueType,
                 final Processor.Factory<A, T> factory) {
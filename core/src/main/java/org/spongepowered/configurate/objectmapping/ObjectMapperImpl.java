@@ -16,6 +16,8 @@
  */
 package org.spongepowered.configurate.objectmapping;
 
+import static java.util.Objects.requireNonNull;
+
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.configurate.ConfigurationNode;
@@ -24,14 +26,22 @@ import org.spongepowered.configurate.serialize.SerializationException;
 import org.spongepowered.configurate.serialize.TypeSerializer;
 import org.spongepowered.configurate.util.CheckedFunction;
 
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 class ObjectMapperImpl<I, V> implements ObjectMapper<V> {
 
+    private static final int VALIDATION_BATCH_SIZE = 32;
+
     private final Type type;
     private final List<FieldData<I, V>> fields;
     final FieldDiscoverer.InstanceFactory<I> instanceFactory;
@@ -49,16 +59,41 @@ class ObjectMapperImpl<I, V> implements ObjectMapper<V> {
     }
 
     final V load0(final ConfigurationNode source, final CheckedFunction<I, V, SerializationException> completer) throws SerializationException {
+        return this.load0(source, completer, null, null);
+    }
+
+    /**
+     * Load fields from a node.
+     *
+     * <p>When {@code previous} is provided, any field whose node is equal to
+     * the node at its index will be skipped. The indices of fields that were
+     * loaded are recorded in {@code loaded}.</p>
+     */
+    final V load0(
+        final ConfigurationNode source,
+        final CheckedFunction<I, V, SerializationException> completer,
+        final @Nullable ConfigurationNode @Nullable [] previous,
+        final @Nullable BitSet loaded
+    ) throws SerializationException {
         final I intermediate = this.instanceFactory.begin();
         @MonotonicNonNull List<FieldData<I, V>> unseenFields = null;
 
         @Nullable SerializationException failure = null;
-        for (FieldData<I, V> field : this.fields) {
+        for (int i = 0, size = this.fields.size(); i < size; ++i) {
+            final FieldData<I, V> field = this.fields.get(i);
             final @Nullable ConfigurationNode node = field.resolveNode(source);
             if (node == null) {
                 continue;
             }
 
+            if (previous != null && node.equals(previous[i])) {
+                continue;
+            }
+
+            if (loaded != null) {
+                loaded.set(i);
+            }
+
             try {
                 final TypeSerializer<?> serial = field.serializerFrom(node);
                 final @Nullable Object newVal = node.virtual() ? null : serial.deserialize(field.resolvedType().getType(), node);
@@ -152,6 +187,59 @@ class ObjectMapperImpl<I, V> implements ObjectMapper<V> {
         }
     }
 
+    @Override
+    public ValidationReport validate(final ConfigurationNode source, final Executor executor) {
+        requireNonNull(source, "source");
+        requireNonNull(executor, "executor");
+        final int count = this.fields.size();
+        final @Nullable SerializationException[] failures = new SerializationException[count];
+
+        final List<CompletableFuture<?>> batches = new ArrayList<>();
+        for (int start = 0; start < count; start += VALIDATION_BATCH_SIZE) {
+            final int from = start;
+            final int to = Math.min(count, start + VALIDATION_BATCH_SIZE);
+            batches.add(CompletableFuture.runAsync(() -> {
+                for (int i = from; i < to; ++i) {
+                    failures[i] = this.validateField(this.fields.get(i), source);
+                }
+            }, executor));
+        }
+
+        try {
+            CompletableFuture.allOf(batches.toArray(new CompletableFuture<?>[0])).join();
+        } catch (final CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw ex;
+        }
+
+        final List<ValidationReport.Violation> violations = new ArrayList<>();
+        for (@Nullable SerializationException failure : failures) {
+            if (failure != null) {
+                ValidationReport.collect(failure, violations);
+            }
+        }
+        return new ValidationReport(violations);
+    }
+
+    private @Nullable SerializationException validateField(final FieldData<I, V> field, final ConfigurationNode source) {
+        final @Nullable ConfigurationNode node = field.resolveNode(source);
+        if (node == null) {
+            return null;
+        }
+
+        try {
+            final TypeSerializer<?> serial = field.serializerFrom(node);
+            field.validate(node.virtual() ? null : serial.deserialize(field.resolvedType().getType(), node));
+            return null;
+        } catch (final SerializationException ex) {
+            ex.initPath(node::path);
+            ex.initType(field.resolvedType().getType());
+            return ex;
+        }
+    }
+
     @Override
     public List<FieldData<I, V>> fields() {
         return this.fields;
@@ -180,6 +268,56 @@ class ObjectMapperImpl<I, V> implements ObjectMapper<V> {
                 return value;
             });
         }
+
+        @Override
+        public ObjectMapper.Mutable.Incremental<V> incremental() {
+            return new ObjectMapperImpl.Incremental<>(this);
+        }
+
+    }
+
+    static final class Incremental<I, V> implements ObjectMapper.Mutable.Incremental<V> {
+
+        private final Mutable<I, V> mapper;
+        private final @Nullable ConfigurationNode[] previous;
+        private WeakReference<V> lastValue = new WeakReference<>(null);
+
+        Incremental(final Mutable<I, V> mapper) {
+            this.mapper = mapper;
+            this.previous = new ConfigurationNode[mapper.fields().size()];
+        }
+
+        @Override
+        public synchronized List<FieldData<I, V>> load(final V value, final ConfigurationNode node) throws SerializationException {
+            if (this.lastValue.get() != value) {
+                this.reset();
+            }
+
+            final BitSet loaded = new BitSet(this.previous.length);
+            this.mapper.load0(node, intermediate -> {
+                ((FieldDiscoverer.MutableInstanceFactory<I>) this.mapper.instanceFactory).complete(value, intermediate);
+                return value;
+            }, this.previous, loaded);
+
+            // Only remember nodes once the load has succeeded, and after any defaults have been copied
+            final List<FieldData<I, V>> fields = this.mapper.fields();
+            final List<FieldData<I, V>> changed = new ArrayList<>(loaded.cardinality());
+            for (int i = loaded.nextSetBit(0); i >= 0; i = loaded.nextSetBit(i + 1)) {
+                final FieldData<I, V> field = fields.get(i);
+                final @Nullable ConfigurationNode fieldNode = field.resolveNode(node);
+                this.previous[i] = fieldNode == null ? null : fieldNode.copy();
+                changed.add(field);
+            }
+            this.lastValue = new WeakReference<>(value);
+            return Collections.unmodifiableList(changed);
+        }
+
+        @Override
+        public synchronized void reset() {
+            Arrays.fill(this.previous, null);
+            this.lastValue = new WeakReference<>(null);
+        }
+
     }
 
 }
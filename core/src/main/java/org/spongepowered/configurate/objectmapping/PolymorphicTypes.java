@@ -0,0 +1,261 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.objectmapping;
+
+import static io.leangen.geantyref.GenericTypeReflector.isSuperType;
+import static java.util.Objects.requireNonNull;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.serialize.SerializationException;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Selects the implementation to load for interfaces and abstract classes.
+ *
+ * <p>The implementation is named by a discriminator key in the node, which
+ * is {@code __class__} unless configured otherwise. Base types with
+ * registered subtypes only accept those subtypes, named either by an alias
+ * or their class name. Any other base type accepts the name of any class
+ * extending it.</p>
+ *
+ * <p>Class names are resolved with the class loader configured on the
+ * builder, or otherwise the class loader of the base type. Resolved names
+ * are cached per class loader, and only weakly referenced, so caching does
+ * not prevent any class loader from being unloaded.</p>
+ */
+final class PolymorphicTypes {
+
+    static final String DEFAULT_DISCRIMINATOR = ObjectMapperFactoryImpl.CLASS_KEY;
+
+    // class loader -> class name -> class, shared between all factories
+    private static final Map<ClassLoader, ConcurrentMap<String, WeakReference<Class<?>>>> BY_LOADER = new WeakHashMap<>();
+
+    private final String defaultDiscriminator;
+    private final @Nullable ClassLoader classLoader;
+    private final Map<Class<?>, String> discriminators;
+    private final Map<Class<?>, Subtypes> subtypes;
+    // avoids locking BY_LOADER for every lookup
+    private final ClassValue<ConcurrentMap<String, WeakReference<Class<?>>>> resolvedNames =
+        new ClassValue<ConcurrentMap<String, WeakReference<Class<?>>>>() {
+            @Override
+            protected ConcurrentMap<String, WeakReference<Class<?>>> computeValue(final Class<?> baseType) {
+                final ClassLoader loader = PolymorphicTypes.this.classLoader(baseType);
+                synchronized (BY_LOADER) {
+                    return BY_LOADER.computeIfAbsent(loader, k -> new ConcurrentHashMap<>());
+                }
+            }
+        };
+
+    PolymorphicTypes(final Builder builder) {
+        this.defaultDiscriminator = builder.defaultDiscriminator;
+        this.classLoader = builder.classLoader;
+        this.discriminators = new HashMap<>(builder.discriminators);
+        this.subtypes = new HashMap<>();
+        for (Map.Entry<Class<?>, Subtypes.Builder> entry : builder.subtypes.entrySet()) {
+            this.subtypes.put(entry.getKey(), entry.getValue().build());
+        }
+    }
+
+    /**
+     * Get the key naming the implementation of a base type.
+     *
+     * @param baseType the base type
+     * @return the discriminator key
+     */
+    String discriminator(final Class<?> baseType) {
+        final @Nullable String discriminator = this.discriminators.get(baseType);
+        return discriminator == null ? this.defaultDiscriminator : discriminator;
+    }
+
+    /**
+     * Get the name to write for an implementation of a base type.
+     *
+     * @param node the node being saved
+     * @param type the base type
+     * @param baseType the erased base type
+     * @param subtype the implementation
+     * @return the alias of a registered subtype, or its class name
+     * @throws SerializationException if the base type has registered
+     *     subtypes, but {@code subtype} is not one of them
+     */
+    String name(final ConfigurationNode node, final Type type, final Class<?> baseType, final Class<?> subtype) throws SerializationException {
+        final @Nullable Subtypes registered = this.subtypes.get(baseType);
+        if (registered == null) {
+            return subtype.getName();
+        }
+        final @Nullable String alias = registered.names.get(subtype);
+        if (alias == null) {
+            // the name would be rejected when loading
+            throw new SerializationException(node, type, subtype.getCanonicalName() + " is not a registered subtype of "
+                + baseType.getCanonicalName());
+        }
+        return alias;
+    }
+
+    /**
+     * Find the implementation named by {@code name}.
+     *
+     * @param node the node being loaded
+     * @param type the base type
+     * @param baseType the erased base type
+     * @param name the configured name
+     * @return the implementation type
+     * @throws SerializationException if the name is unknown, or does not
+     *     refer to a permitted subtype
+     */
+    Type resolve(final ConfigurationNode node, final Type type, final Class<?> baseType, final String name) throws SerializationException {
+        final @Nullable Subtypes registered = this.subtypes.get(baseType);
+        final Class<?> resolved;
+        if (registered != null) {
+            final @Nullable Class<?> subtype = registered.byName.get(name);
+            if (subtype == null) {
+                throw new SerializationException(node, type, "Configured type " + name + " is not a registered subtype of "
+                    + baseType.getCanonicalName());
+            }
+            resolved = subtype;
+        } else {
+            final ConcurrentMap<String, WeakReference<Class<?>>> known = this.resolvedNames.get(baseType);
+            final @Nullable WeakReference<Class<?>> cachedRef = known.get(name);
+            final @Nullable Class<?> cached = cachedRef == null ? null : cachedRef.get();
+            if (cached != null) {
+                resolved = cached;
+            } else {
+                resolved = this.lookup(node, type, baseType, name);
+                known.put(name, new WeakReference<>(resolved));
+            }
+
+            if (!baseType.isAssignableFrom(resolved)) {
+                throw new SerializationException(node, type, "Configured type " + name + " does not extend " + baseType.getCanonicalName());
+            }
+        }
+
+        if (!(type instanceof Class<?>) && !isSuperType(type, resolved)) {
+            throw new SerializationException(node, type, "Configured type " + name + " does not extend " + baseType.getCanonicalName());
+        }
+        return resolved;
+    }
+
+    /**
+     * Get the class loader that names of implementations of a base type
+     * are resolved with.
+     *
+     * @param baseType the base type
+     * @return the configured class loader, or that of the base type
+     */
+    ClassLoader classLoader(final Class<?> baseType) {
+        if (this.classLoader != null) {
+            return this.classLoader;
+        }
+        final @Nullable ClassLoader loader = baseType.getClassLoader();
+        // JDK types can't see any implementations from the bootstrap loader
+        return loader == null ? ClassLoader.getSystemClassLoader() : loader;
+    }
+
+    private Class<?> lookup(final ConfigurationNode node, final Type type, final Class<?> baseType, final String name) throws SerializationException {
+        try {
+            // not initialized, since the class has not been checked against the base type yet
+            return Class.forName(name, false, this.classLoader(baseType));
+        } catch (final ClassNotFoundException e) {
+            throw new SerializationException(node, type, "Unknown class of object " + name, e);
+        }
+    }
+
+    /**
+     * The subtypes registered for one base type.
+     */
+    static final class Subtypes {
+
+        // aliases and class names
+        final Map<String, Class<?>> byName;
+        final Map<Class<?>, String> names;
+
+        Subtypes(final Map<String, Class<?>> byName, final Map<Class<?>, String> names) {
+            this.byName = byName;
+            this.names = names;
+        }
+
+        static final class Builder {
+
+            private final Map<String, Class<?>> aliases = new LinkedHashMap<>();
+
+            void add(final Class<?> baseType, final Class<?> subtype, final String alias) {
+                final @Nullable Class<?> existing = this.aliases.putIfAbsent(alias, subtype);
+                if (existing != null && existing != subtype) {
+                    throw new IllegalArgumentException("Alias " + alias + " for " + baseType.getCanonicalName()
+                        + " is already used by " + existing.getCanonicalName());
+                }
+            }
+
+            Subtypes build() {
+                final Map<String, Class<?>> byName = new HashMap<>(this.aliases);
+                final Map<Class<?>, String> names = new HashMap<>();
+                for (Map.Entry<String, Class<?>> alias : this.aliases.entrySet()) {
+                    names.putIfAbsent(alias.getValue(), alias.getKey()); // the first alias is written
+                    byName.putIfAbsent(alias.getValue().getName(), alias.getValue());
+                }
+                return new Subtypes(byName, names);
+            }
+
+        }
+
+    }
+
+    static final class Builder {
+
+        private String defaultDiscriminator = DEFAULT_DISCRIMINATOR;
+        private @Nullable ClassLoader classLoader;
+        private final Map<Class<?>, String> discriminators = new HashMap<>();
+        private final Map<Class<?>, Subtypes.Builder> subtypes = new HashMap<>();
+
+        void defaultDiscriminator(final String key) {
+            this.defaultDiscriminator = requireNonNull(key, "key");
+        }
+
+        void classLoader(final ClassLoader classLoader) {
+            this.classLoader = requireNonNull(classLoader, "classLoader");
+        }
+
+        void discriminator(final Class<?> baseType, final String key) {
+            this.discriminators.put(requireNonNull(baseType, "baseType"), requireNonNull(key, "key"));
+        }
+
+        void subtype(final Class<?> baseType, final Class<?> subtype, final String alias) {
+            requireNonNull(baseType, "baseType");
+            requireNonNull(subtype, "subtype");
+            requireNonNull(alias, "alias");
+            if (!baseType.isAssignableFrom(subtype)) {
+                throw new IllegalArgumentException(subtype + " does not extend " + baseType);
+            }
+            this.subtypes.computeIfAbsent(baseType, k -> new Subtypes.Builder()).add(baseType, subtype, alias);
+        }
+
+        PolymorphicTypes build() {
+            return new PolymorphicTypes(this);
+        }
+
+    }
+
+}
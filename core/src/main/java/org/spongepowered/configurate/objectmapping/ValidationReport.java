@@ -0,0 +1,142 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.objectmapping;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.serialize.SerializationException;
+import org.spongepowered.configurate.transformation.NodePath;
+import org.spongepowered.configurate.util.UnmodifiableCollections;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Every problem found when validating a node against an object mapper.
+ *
+ * @see ObjectMapper#validate(org.spongepowered.configurate.ConfigurationNode)
+ * @since 4.0.0
+ */
+public final class ValidationReport {
+
+    private final List<Violation> violations;
+
+    ValidationReport(final List<Violation> violations) {
+        this.violations = UnmodifiableCollections.copyOf(violations);
+    }
+
+    /**
+     * Collect the violations described by an exception and any exceptions
+     * suppressed by it.
+     *
+     * @param ex the exception
+     * @param violations list to add violations to
+     */
+    static void collect(final SerializationException ex, final List<Violation> violations) {
+        violations.add(new Violation(ex));
+        for (Throwable suppressed : ex.getSuppressed()) {
+            if (suppressed instanceof SerializationException) {
+                collect((SerializationException) suppressed, violations);
+            }
+        }
+    }
+
+    /**
+     * Get whether no violations were found.
+     *
+     * @return if the node is valid
+     * @since 4.0.0
+     */
+    public boolean valid() {
+        return this.violations.isEmpty();
+    }
+
+    /**
+     * Get every violation found, in field declaration order.
+     *
+     * @return the violations
+     * @since 4.0.0
+     */
+    public List<Violation> violations() {
+        return this.violations;
+    }
+
+    @Override
+    public String toString() {
+        return "ValidationReport{violations=" + this.violations + '}';
+    }
+
+    /**
+     * A single value that could not be loaded or failed a constraint.
+     *
+     * @since 4.0.0
+     */
+    public static final class Violation {
+
+        private final SerializationException cause;
+
+        Violation(final SerializationException cause) {
+            this.cause = cause;
+        }
+
+        /**
+         * The path of the node holding the invalid value.
+         *
+         * @return node path
+         * @since 4.0.0
+         */
+        public NodePath path() {
+            return this.cause.path();
+        }
+
+        /**
+         * The type the value was expected to have, if known.
+         *
+         * @return expected type
+         * @since 4.0.0
+         */
+        public @Nullable Type expectedType() {
+            return this.cause.expectedType();
+        }
+
+        /**
+         * A description of the problem, without path or type information.
+         *
+         * @return violation message
+         * @since 4.0.0
+         */
+        public @Nullable String message() {
+            return this.cause.rawMessage();
+        }
+
+        /**
+         * The exception describing this violation.
+         *
+         * @return exception
+         * @since 4.0.0
+         */
+        public SerializationException cause() {
+            return this.cause;
+        }
+
+        @Override
+        public String toString() {
+            return "Violation{path=" + this.path() + ", message=" + this.message() + '}';
+        }
+
+    }
+
+}
@@ -23,8 +23,6 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import java.text.MessageFormat;
 import java.util.ResourceBundle;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Perform a validation on data upon load.
@@ -88,18 +86,7 @@ public interface Constraint<V> {
      * @since 4.0.0
      */
     static Constraint.Factory<Matches, String> pattern() {
-        return (data, type) -> {
-            final Pattern test = Pattern.compile(data.value());
-            final MessageFormat format = new MessageFormat(data.failureMessage());
-            return value -> {
-                if (value != null) {
-                    final Matcher match = test.matcher(value);
-                    if (!match.matches()) {
-                        throw new SerializationException(format.format(new Object[]{value, data.value()}));
-                    }
-                }
-            };
-        };
+        return (data, type) -> new PatternConstraint(data.value(), new MessageFormat(data.failureMessage()));
     }
 
     /**
@@ -113,18 +100,8 @@ public interface Constraint<V> {
      * @since 4.0.0
      */
     static Constraint.Factory<Matches, String> localizedPattern(final ResourceBundle bundle) {
-        return (data, type) -> {
-            final Pattern test = Pattern.compile(data.value());
-            final MessageFormat format = new MessageFormat(Localization.key(bundle, data.failureMessage()), bundle.getLocale());
-            return value -> {
-                if (value != null) {
-                    final Matcher match = test.matcher(value);
-                    if (!match.matches()) {
-                        throw new SerializationException(format.format(new Object[]{value, data.value()}));
-                    }
-                }
-            };
-        };
+        return (data, type) -> new PatternConstraint(data.value(),
+            new MessageFormat(Localization.key(bundle, data.failureMessage()), bundle.getLocale()));
     }
 
 }
@@ -0,0 +1,88 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.objectmapping.meta;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.serialize.SerializationException;
+
+import java.text.MessageFormat;
+import java.util.regex.Pattern;
+
+/**
+ * A constraint requiring string values to match a regular expression.
+ *
+ * <p>Any literal text the expression must start with is extracted when the
+ * constraint is created, so most non-matching values can be rejected
+ * without running the matcher. The failure message is only formatted when
+ * a value does not match.</p>
+ */
+final class PatternConstraint implements Constraint<String> {
+
+    private static final String META_CHARACTERS = "\\[](){}.*+?^$|";
+    private static final String QUANTIFIERS = "?*+{";
+
+    private final Pattern pattern;
+    private final String prefix;
+    private final MessageFormat failureMessage;
+
+    PatternConstraint(final String expression, final MessageFormat failureMessage) {
+        this.pattern = Pattern.compile(expression);
+        this.prefix = literalPrefix(expression);
+        this.failureMessage = failureMessage;
+    }
+
+    /**
+     * Find the literal text that any string matching {@code expression}
+     * must start with.
+     *
+     * <p>This is conservative, and will stop at the first character that
+     * could have any meaning beyond itself.</p>
+     *
+     * @param expression regular expression
+     * @return the literal prefix, possibly empty
+     */
+    static String literalPrefix(final String expression) {
+        if (expression.indexOf('|') != -1) { // alternatives may not share a prefix
+            return "";
+        }
+
+        final int start = expression.startsWith("^") ? 1 : 0;
+        int end = start;
+        while (end < expression.length()) {
+            final char c = expression.charAt(end);
+            if (META_CHARACTERS.indexOf(c) != -1 || Character.isSurrogate(c)) {
+                break;
+            }
+            // a quantified character may not appear at all
+            if (end + 1 < expression.length() && QUANTIFIERS.indexOf(expression.charAt(end + 1)) != -1) {
+                break;
+            }
+            end++;
+        }
+        return expression.substring(start, end);
+    }
+
+    @Override
+    public void validate(final @Nullable String value) throws SerializationException {
+        if (value != null && (!value.startsWith(this.prefix) || !this.pattern.matcher(value).matches())) {
+            // MessageFormat instances are not thread-safe, so format with a copy
+            final MessageFormat format = (MessageFormat) this.failureMessage.clone();
+            throw new SerializationException(format.format(new Object[]{value, this.pattern.pattern()}));
+        }
+    }
+
+}
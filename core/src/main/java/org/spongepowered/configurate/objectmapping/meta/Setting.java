@@ -31,11 +31,15 @@ import java.lang.annotation.Target;
  * {@link NodeResolver#onlyWithSetting()} resolver filter has been applied to
  * the loading object mapper.</p>
  *
+ * <p>Getters of interfaces mapped with
+ * {@link org.spongepowered.configurate.objectmapping.ObjectMapper.Factory.Builder#lazyInterfaces(boolean)}
+ * can be annotated in the same way as fields.</p>
+ *
  * @since 4.0.0
  */
 @Documented
 @Retention(RetentionPolicy.RUNTIME)
-@Target(ElementType.FIELD)
+@Target({ElementType.FIELD, ElementType.METHOD})
 public @interface Setting {
 
     /**
@@ -19,6 +19,7 @@ package org.spongepowered.configurate.reactive;
 import org.spongepowered.configurate.util.CheckedSupplier;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -48,13 +49,19 @@ class ExecutePublisher<V> implements Publisher<V> {
         this.executor = exec;
     }
 
+    ExecutePublisher(final CompletableFuture<V> actor, final Executor exec) {
+        this.actor = actor;
+        this.executor = exec;
+    }
+
     @Override
     public Disposable subscribe(final Subscriber<? super V> subscriber) {
-        final AtomicBoolean subscribed = new AtomicBoolean();
+        final AtomicBoolean subscribed = new AtomicBoolean(true);
         this.actor.whenCompleteAsync((value, err) -> {
             if (subscribed.compareAndSet(true, false)) { // guard against multiple values
                 if (err != null) {
-                    subscriber.onError(err);
+                    // unwrap failures propagated from dependent stages
+                    subscriber.onError(err instanceof CompletionException && err.getCause() != null ? err.getCause() : err);
                 } else {
                     try {
                         subscriber.submit(value);
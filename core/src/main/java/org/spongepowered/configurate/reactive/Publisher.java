@@ -22,6 +22,7 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.configurate.util.CheckedFunction;
 import org.spongepowered.configurate.util.CheckedSupplier;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ForkJoinPool;
 
@@ -71,6 +72,23 @@ public interface Publisher<V> {
         return new ExecutePublisher<>(requireNonNull(action, "action"), requireNonNull(executor, "executor"));
     }
 
+    /**
+     * Create a publisher that will pass the result of a future to
+     * any subscribers.
+     *
+     * <p>Subscribers who only begin subscribing after the future has been
+     * completed will receive its result.
+     *
+     * @param future the future providing a value
+     * @param executor the executor to notify subscribers on
+     * @param <V> value type
+     * @return a publisher
+     * @since 4.0.0
+     */
+    static <V> Publisher<V> fromFuture(CompletableFuture<V> future, Executor executor) {
+        return new ExecutePublisher<>(requireNonNull(future, "future"), requireNonNull(executor, "executor"));
+    }
+
     /**
      * Subscribe to updates from this Publisher. If this is already closed, the
      * Subscriber will receive an error event with an IllegalStateException, and
@@ -28,6 +28,7 @@ import org.spongepowered.configurate.serialize.SerializationException;
 import org.spongepowered.configurate.transformation.NodePath;
 
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Map;
 import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
@@ -116,11 +117,38 @@ public interface ConfigurationReference<N extends ConfigurationNode> extends Aut
      * Save this configuration using the provided loader. Any errors will be
      * submitted to subscribers of the returned publisher.
      *
+     * <p>Asynchronous saves are coalesced: at most one save will be in
+     * progress at a time, and any requests made while a save is pending or
+     * in progress will be satisfied by a single later write. The returned
+     * publisher will complete once a save that started after this request
+     * was made has finished.</p>
+     *
      * @return publisher providing an event when the save is complete
+     * @see #coalesceAsyncSaves(Duration, Duration)
      * @since 4.0.0
      */
     Publisher<N> saveAsync();
 
+    /**
+     * Set how long asynchronous saves may be delayed to allow further
+     * changes to be written at the same time.
+     *
+     * <p>Each save request will postpone the next write until no further
+     * requests have been received for {@code debounce}, but a write will
+     * never be postponed for more than {@code maxDelay} after the earliest
+     * pending request.</p>
+     *
+     * <p>By default, both durations are zero, so saves will begin as soon as
+     * any in-progress save has completed. Closing a reference will start any
+     * pending save immediately.</p>
+     *
+     * @param debounce time to wait after the latest request
+     * @param maxDelay maximum time to wait after the earliest request
+     * @throws IllegalArgumentException if either duration is negative
+     * @since 4.0.0
+     */
+    void coalesceAsyncSaves(Duration debounce, Duration maxDelay);
+
     /**
      * Update this configuration using the provided function, returning a
      * {@link Publisher} which will complete with the result of the operation.
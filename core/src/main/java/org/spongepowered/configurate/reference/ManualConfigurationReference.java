@@ -30,6 +30,7 @@ import org.spongepowered.configurate.reactive.Publisher;
 import org.spongepowered.configurate.serialize.SerializationException;
 import org.spongepowered.configurate.transformation.NodePath;
 
+import java.time.Duration;
 import java.util.Map;
 import java.util.concurrent.Executor;
 import java.util.function.Function;
@@ -43,6 +44,7 @@ class ManualConfigurationReference<N extends ScopedConfigurationNode<N>> impleme
     private final ConfigurationLoader<? extends N> loader;
     protected final Processor.TransactionalIso<N> updateListener;
     protected final Processor.Iso<Map.Entry<ErrorPhase, Throwable>> errorListener;
+    final SaveScheduler<N> saveScheduler;
 
     ManualConfigurationReference(final ConfigurationLoader<? extends N> loader, final Executor taskExecutor) {
         this.loader = loader;
@@ -53,6 +55,10 @@ class ManualConfigurationReference<N extends ScopedConfigurationNode<N>> impleme
                 + "configuration reference: " + it.getValue());
             it.getValue().printStackTrace();
         });
+        this.saveScheduler = new SaveScheduler<>(() -> {
+            this.save();
+            return this.node();
+        }, taskExecutor);
     }
 
     @Override
@@ -89,10 +95,12 @@ class ManualConfigurationReference<N extends ScopedConfigurationNode<N>> impleme
 
     @Override
     public final Publisher<N> saveAsync() {
-        return Publisher.execute(() -> {
-            save();
-            return node();
-        }, this.updateListener.executor());
+        return Publisher.fromFuture(this.saveScheduler.request(), this.updateListener.executor());
+    }
+
+    @Override
+    public final void coalesceAsyncSaves(final Duration debounce, final Duration maxDelay) {
+        this.saveScheduler.delays(debounce, maxDelay);
     }
 
     @Override
@@ -147,6 +155,7 @@ class ManualConfigurationReference<N extends ScopedConfigurationNode<N>> impleme
 
     @Override
     public void close() {
+        this.saveScheduler.flush();
         this.updateListener.onClose();
     }
 
@@ -0,0 +1,237 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.reference;
+
+import static java.util.Objects.requireNonNull;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.util.CheckedSupplier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A write-behind scheduler that coalesces save requests.
+ *
+ * <p>Requests are collected until no new request has arrived for the debounce
+ * period, or until the oldest request has waited for the maximum delay,
+ * whichever comes first. All collected requests are then satisfied by a single
+ * save. At most one save is in progress at a time: requests made while a save
+ * is running are collected for the next save, since the running save may not
+ * include their changes.</p>
+ *
+ * @param <V> the type of value produced by a save
+ */
+final class SaveScheduler<V> {
+
+    private final CheckedSupplier<V, ConfigurateException> action;
+    private final Executor executor;
+    private final Object lock = new Object();
+
+    // all guarded by lock
+    private long debounceNanos;
+    private long maxDelayNanos;
+    private List<CompletableFuture<V>> pending = new ArrayList<>();
+    private long firstPendingAt;
+    private @Nullable ScheduledFuture<?> scheduled;
+    private boolean inFlight;
+
+    SaveScheduler(final CheckedSupplier<V, ConfigurateException> action, final Executor executor) {
+        this.action = action;
+        this.executor = executor;
+    }
+
+    /**
+     * Change the delays applied to future requests.
+     *
+     * @param debounce time to wait for further requests
+     * @param maxDelay maximum time any request will wait before its save
+     *                 is started
+     */
+    void delays(final Duration debounce, final Duration maxDelay) {
+        requireNonNull(debounce, "debounce");
+        requireNonNull(maxDelay, "maxDelay");
+        if (debounce.isNegative() || maxDelay.isNegative()) {
+            throw new IllegalArgumentException("Save delays must not be negative");
+        }
+
+        synchronized (this.lock) {
+            this.debounceNanos = debounce.toNanos();
+            this.maxDelayNanos = maxDelay.toNanos();
+        }
+    }
+
+    /**
+     * Request a save.
+     *
+     * @return a future completed once a save started after this request
+     *      has finished
+     */
+    CompletableFuture<V> request() {
+        final CompletableFuture<V> result = new CompletableFuture<>();
+        final @Nullable List<CompletableFuture<V>> batch;
+        synchronized (this.lock) {
+            final long now = System.nanoTime();
+            if (this.pending.isEmpty()) {
+                this.firstPendingAt = now;
+            }
+            this.pending.add(result);
+            batch = this.inFlight ? null : this.schedule(now);
+        }
+        this.submit(batch);
+        return result;
+    }
+
+    /**
+     * Start any pending save immediately, rather than waiting for the
+     * debounce period to expire.
+     */
+    void flush() {
+        final @Nullable List<CompletableFuture<V>> batch;
+        synchronized (this.lock) {
+            this.cancelScheduled();
+            batch = this.inFlight || this.pending.isEmpty() ? null : this.startSave();
+        }
+        this.submit(batch);
+    }
+
+    /**
+     * Schedule a save for the pending requests.
+     *
+     * <p>Must be called while holding the lock.</p>
+     *
+     * @param now the current time, in nanoseconds
+     * @return a batch to submit once the lock is released, if the save
+     *      is due immediately
+     */
+    private @Nullable List<CompletableFuture<V>> schedule(final long now) {
+        this.cancelScheduled();
+        final long deadline = Math.min(now + this.debounceNanos, this.firstPendingAt + this.maxDelayNanos);
+        final long delay = deadline - now;
+        if (delay <= 0) {
+            return this.startSave();
+        } else {
+            this.scheduled = Timer.INSTANCE.schedule(this::scheduledFlush, delay, TimeUnit.NANOSECONDS);
+            return null;
+        }
+    }
+
+    private void cancelScheduled() {
+        final @Nullable ScheduledFuture<?> scheduled = this.scheduled;
+        if (scheduled != null) {
+            scheduled.cancel(false);
+            this.scheduled = null;
+        }
+    }
+
+    private void scheduledFlush() {
+        final @Nullable List<CompletableFuture<V>> batch;
+        synchronized (this.lock) {
+            this.scheduled = null;
+            batch = this.inFlight || this.pending.isEmpty() ? null : this.startSave();
+        }
+        this.submit(batch);
+    }
+
+    /**
+     * Take the pending requests as the batch for the next save.
+     *
+     * <p>Must be called while holding the lock. The returned batch must be
+     * passed to {@link #submit(List)} after the lock is released, so the
+     * executor is never invoked while holding the lock.</p>
+     *
+     * @return the batch to save
+     */
+    private List<CompletableFuture<V>> startSave() {
+        final List<CompletableFuture<V>> batch = this.pending;
+        this.pending = new ArrayList<>();
+        this.inFlight = true;
+        return batch;
+    }
+
+    private void submit(final @Nullable List<CompletableFuture<V>> batch) {
+        if (batch == null) {
+            return;
+        }
+
+        try {
+            this.executor.execute(() -> this.save(batch));
+        } catch (final RejectedExecutionException ex) {
+            for (CompletableFuture<V> request : batch) {
+                request.completeExceptionally(ex);
+            }
+            this.saveFinished();
+        }
+    }
+
+    private void save(final List<CompletableFuture<V>> batch) {
+        try {
+            final V result = this.action.get();
+            for (CompletableFuture<V> request : batch) {
+                request.complete(result);
+            }
+        } catch (final Throwable ex) {
+            // errors too, so no request is left waiting on a save that will never finish
+            for (CompletableFuture<V> request : batch) {
+                request.completeExceptionally(ex);
+            }
+            if (ex instanceof Error) {
+                throw (Error) ex;
+            }
+        } finally {
+            this.saveFinished();
+        }
+    }
+
+    private void saveFinished() {
+        final @Nullable List<CompletableFuture<V>> next;
+        synchronized (this.lock) {
+            this.inFlight = false;
+            next = this.pending.isEmpty() ? null : this.schedule(System.nanoTime());
+        }
+        this.submit(next);
+    }
+
+    /**
+     * Holder for the timer used to trigger delayed saves.
+     *
+     * <p>The timer thread only starts saves. Saves themselves are performed
+     * on the owning reference's executor.</p>
+     */
+    static final class Timer {
+
+        static final ScheduledThreadPoolExecutor INSTANCE;
+
+        static {
+            INSTANCE = new ScheduledThreadPoolExecutor(1, new PrefixedNameThreadFactory("Configurate-SaveScheduler", true));
+            INSTANCE.setRemoveOnCancelPolicy(true);
+        }
+
+        private Timer() {
+        }
+
+    }
+
+}
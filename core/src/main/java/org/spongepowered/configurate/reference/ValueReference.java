@@ -77,6 +77,11 @@ public interface ValueReference<T, N extends ConfigurationNode> extends Publishe
      * <p>Any serialization errors will be submitted to subscribers of the
      * returned {@link Publisher}
      *
+     * <p>The save may be combined with other pending saves of the owning
+     * reference, as described in {@link ConfigurationReference#saveAsync()}.
+     * The returned publisher completes once a write including this change
+     * has finished.</p>
+     *
      * @param value the value
      * @return true if successful, false if serialization fails
      * @since 4.0.0
@@ -101,6 +106,8 @@ public interface ValueReference<T, N extends ConfigurationNode> extends Publishe
      * be passed along to any subscribers.
      *
      * <p>The updated value will only be exposed if the changes are successful.
+     * As with {@link #setAndSaveAsync(Object)}, the save may be combined with
+     * other pending saves of the owning reference.</p>
      *
      * @param action to transform this node's value
      * @return whether this update was successful
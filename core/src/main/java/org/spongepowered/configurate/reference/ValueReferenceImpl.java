@@ -28,8 +28,11 @@ import org.spongepowered.configurate.reference.ConfigurationReference.ErrorPhase
 import org.spongepowered.configurate.serialize.SerializationException;
 import org.spongepowered.configurate.serialize.TypeSerializer;
 import org.spongepowered.configurate.transformation.NodePath;
+import org.spongepowered.configurate.util.CheckedSupplier;
 import org.spongepowered.configurate.util.UnmodifiableCollections;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
 import java.util.function.Function;
 
@@ -112,12 +115,11 @@ class ValueReferenceImpl<@Nullable T, N extends ScopedConfigurationNode<N>> impl
 
     @Override
     public Publisher<Boolean> setAndSaveAsync(final @Nullable T value) {
-        return Publisher.execute(() -> {
+        return this.saveAfter(() -> {
             this.serializer.serialize(this.type.getType(), value, node());
             this.deserialized.submit(value);
-            this.root.save();
-            return true;
-        }, this.root.updates().executor());
+            return null;
+        });
     }
 
     @Override
@@ -132,14 +134,35 @@ class ValueReferenceImpl<@Nullable T, N extends ScopedConfigurationNode<N>> impl
 
     @Override
     public Publisher<Boolean> updateAsync(final Function<@Nullable T, ? extends T> action) {
-        return Publisher.execute(() -> {
+        return this.saveAfter(() -> {
             final @Nullable T orig = get();
             final T updated = action.apply(orig);
             this.serializer.serialize(this.type.getType(), updated, node());
             this.deserialized.submit(updated);
-            this.root.save();
-            return true;
-        }, this.root.updates().executor());
+            return null;
+        });
+    }
+
+    /**
+     * Perform an action on the reference's executor, then request a save
+     * from the reference's save scheduler.
+     *
+     * @param action the action modifying this reference's node
+     * @return a publisher completing once the save covering the action is
+     *      complete
+     */
+    private Publisher<Boolean> saveAfter(final CheckedSupplier<@Nullable Void, SerializationException> action) {
+        final Executor executor = this.root.updates().executor();
+        final CompletableFuture<Boolean> result = CompletableFuture.runAsync(() -> {
+            try {
+                action.get();
+            } catch (final SerializationException ex) {
+                throw new CompletionException(ex);
+            }
+        }, executor)
+            .thenCompose(ignored -> this.root.saveScheduler.request())
+            .thenApply(ignored -> true);
+        return Publisher.fromFuture(result, executor);
     }
 
     @Override
@@ -48,6 +48,14 @@ abstract class AbstractListChildSerializer<T> implements TypeSerializer<T> {
         if (node.isList()) {
             final List<? extends ConfigurationNode> values = node.childrenList();
             final T ret = createNew(values.size(), entryType);
+            if (ParallelElements.applies(node, values.size())) {
+                final @Nullable Object[] deserialized = ParallelElements.deserialize(values, child -> entrySerial.deserialize(entryType, child));
+                for (int i = 0; i < deserialized.length; ++i) {
+                    deserializeSingle(i, ret, deserialized[i]);
+                }
+                return ret;
+            }
+
             for (int i = 0; i < values.size(); ++i) {
                 try {
                     deserializeSingle(i, ret, entrySerial.deserialize(entryType, values.get(i)));
@@ -26,6 +26,8 @@ import org.spongepowered.configurate.ConfigurationOptions;
 
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -63,9 +65,23 @@ final class MapSerializer implements TypeSerializer<Map<?, ?>> {
                 throw new SerializationException(type, "No type serializer available for value type " + value);
             }
 
-            final BasicConfigurationNode keyNode = BasicConfigurationNode.root(node.options());
+            final Map<Object, ? extends ConfigurationNode> children = node.childrenMap();
+            if (ParallelElements.applies(node, children.size())) {
+                // each entry is deserialized with its own key node
+                final @Nullable Object[] entries = ParallelElements.deserialize(new ArrayList<>(children.values()), child -> {
+                    final BasicConfigurationNode keyNode = BasicConfigurationNode.root(node.options()).set(child.key());
+                    return new AbstractMap.SimpleImmutableEntry<>(requireNonNull(keySerial.deserialize(key, keyNode), "key"),
+                        requireNonNull(valueSerial.deserialize(value, child), "value"));
+                });
+                for (@Nullable Object entry : entries) {
+                    final Map.Entry<?, ?> deserialized = (Map.Entry<?, ?>) requireNonNull(entry, "entry");
+                    ret.put(deserialized.getKey(), deserialized.getValue());
+                }
+                return ret;
+            }
 
-            for (Map.Entry<Object, ? extends ConfigurationNode> ent : node.childrenMap().entrySet()) {
+            final BasicConfigurationNode keyNode = BasicConfigurationNode.root(node.options());
+            for (Map.Entry<Object, ? extends ConfigurationNode> ent : children.entrySet()) {
                 ret.put(requireNonNull(keySerial.deserialize(key, keyNode.set(ent.getKey())), "key"),
                     requireNonNull(valueSerial.deserialize(value, ent.getValue()), "value"));
             }
@@ -0,0 +1,142 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.serialize;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.ConfigurationOptions;
+import org.spongepowered.configurate.util.CheckedFunction;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Deserialize the elements of a large collection on a fork/join pool.
+ *
+ * @see ConfigurationOptions#parallelDeserializationThreshold()
+ */
+final class ParallelElements {
+
+    // smallest number of elements deserialized by one task
+    private static final int MINIMUM_BATCH = 16;
+
+    private ParallelElements() {
+    }
+
+    /**
+     * Get whether the children of a node should be deserialized in parallel.
+     *
+     * @param node the collection node
+     * @param size number of children
+     * @return whether to deserialize in parallel
+     */
+    static boolean applies(final ConfigurationNode node, final int size) {
+        final int threshold = node.options().parallelDeserializationThreshold();
+        return threshold > 0 && size >= threshold && size > MINIMUM_BATCH;
+    }
+
+    /**
+     * Deserialize every element, preserving order.
+     *
+     * <p>Every element is attempted. If any fail, the failure of the first
+     * is thrown, with the failures of later elements attached as
+     * suppressed exceptions.</p>
+     *
+     * @param elements element nodes
+     * @param deserializer function to deserialize one element
+     * @return deserialized values, in the order of {@code elements}
+     * @throws SerializationException if any element could not be deserialized
+     */
+    static @Nullable Object[] deserialize(final List<? extends ConfigurationNode> elements,
+            final CheckedFunction<ConfigurationNode, @Nullable Object, SerializationException> deserializer) throws SerializationException {
+        final ConfigurationNode[] nodes = elements.toArray(new ConfigurationNode[0]);
+        final @Nullable Object[] values = new Object[nodes.length];
+        final @Nullable SerializationException[] failures = new SerializationException[nodes.length];
+        final int batch = Math.max(MINIMUM_BATCH, nodes.length / (ForkJoinPool.getCommonPoolParallelism() * 4));
+
+        final Batch task = new Batch(nodes, values, failures, deserializer, 0, nodes.length, batch);
+        if (ForkJoinTask.inForkJoinPool()) {
+            task.invoke();
+        } else {
+            ForkJoinPool.commonPool().invoke(task);
+        }
+
+        @Nullable SerializationException failure = null;
+        for (int i = 0; i < failures.length; ++i) {
+            final @Nullable SerializationException ex = failures[i];
+            if (ex == null) {
+                continue;
+            }
+            ex.initPath(nodes[i]::path);
+            if (failure == null) {
+                failure = ex;
+            } else {
+                failure.addSuppressed(ex);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return values;
+    }
+
+    @SuppressWarnings("serial") // never serialized
+    static final class Batch extends RecursiveAction {
+
+        private final ConfigurationNode[] nodes;
+        private final @Nullable Object[] values;
+        private final @Nullable SerializationException[] failures;
+        private final CheckedFunction<ConfigurationNode, @Nullable Object, SerializationException> deserializer;
+        private final int start;
+        private final int end;
+        private final int batch;
+
+        Batch(final ConfigurationNode[] nodes, final @Nullable Object[] values, final @Nullable SerializationException[] failures,
+                final CheckedFunction<ConfigurationNode, @Nullable Object, SerializationException> deserializer,
+                final int start, final int end, final int batch) {
+            this.nodes = nodes;
+            this.values = values;
+            this.failures = failures;
+            this.deserializer = deserializer;
+            this.start = start;
+            this.end = end;
+            this.batch = batch;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.end - this.start > this.batch) {
+                final int middle = (this.start + this.end) >>> 1;
+                invokeAll(new Batch(this.nodes, this.values, this.failures, this.deserializer, this.start, middle, this.batch),
+                    new Batch(this.nodes, this.values, this.failures, this.deserializer, middle, this.end, this.batch));
+                return;
+            }
+
+            for (int i = this.start; i < this.end; ++i) {
+                try {
+                    this.values[i] = this.deserializer.apply(this.nodes[i]);
+                } catch (final SerializationException ex) {
+                    this.failures[i] = ex;
+                }
+            }
+        }
+
+    }
+
+}
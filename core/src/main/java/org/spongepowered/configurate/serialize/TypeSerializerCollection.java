@@ -31,10 +31,11 @@ import org.spongepowered.configurate.util.UnmodifiableCollections;
 import java.lang.reflect.Type;
 import java.lang.reflect.WildcardType;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
 /**
@@ -81,13 +82,43 @@ public final class TypeSerializerCollection {
                 .build();
     }
 
+    private static final Object NO_MATCH = new Object();
+
     private final @Nullable TypeSerializerCollection parent;
     private final List<RegisteredSerializer> serializers;
-    private final Map<Type, TypeSerializer<?>> typeMatches = new ConcurrentHashMap<>();
+    // Our serializers followed by those of every parent, in lookup order
+    private final RegisteredSerializer[] allSerializers;
+    // Resolved serializers for every type registered with an exact match
+    private final Map<Type, TypeSerializer<?>> exactMatches;
+    // Lookup results for classes, stored alongside each class so they do not prevent it from being unloaded
+    private final ClassValue<Object> classMatches = new ClassValue<Object>() {
+        @Override
+        protected Object computeValue(final Class<?> type) {
+            final @Nullable TypeSerializer<?> serial = TypeSerializerCollection.this.lookup(type);
+            return serial == null ? NO_MATCH : serial;
+        }
+    };
 
     private TypeSerializerCollection(final @Nullable TypeSerializerCollection parent, final List<RegisteredSerializer> serializers) {
         this.parent = parent;
         this.serializers = UnmodifiableCollections.copyOf(serializers);
+
+        final List<RegisteredSerializer> all = new ArrayList<>(this.serializers);
+        if (parent != null) {
+            all.addAll(Arrays.asList(parent.allSerializers));
+        }
+        this.allSerializers = all.toArray(new RegisteredSerializer[0]);
+
+        final Map<Type, TypeSerializer<?>> exactMatches = new HashMap<>();
+        for (RegisteredSerializer ent : this.allSerializers) {
+            if (ent.exactType != null && !exactMatches.containsKey(ent.exactType)) {
+                final @Nullable TypeSerializer<?> serial = this.resolve(ent.exactType);
+                if (serial != null) {
+                    exactMatches.put(ent.exactType, serial);
+                }
+            }
+        }
+        this.exactMatches = exactMatches;
     }
 
     /**
@@ -141,21 +172,35 @@ public final class TypeSerializerCollection {
      *          serializer is found
      * @since 4.0.0
      */
-    public @Nullable TypeSerializer<?> get(Type type) {
-        type = GenericTypeReflector.toCanonicalBoxed(annotate(requireNonNull(type, "type"))).getType();
-        @Nullable TypeSerializer<?> serial = this.typeMatches.computeIfAbsent(type, param -> {
-            for (RegisteredSerializer ent : this.serializers) {
-                if (ent.predicate.test(param)) {
-                    return ent.serializer;
-                }
-            }
-            return null;
-        });
+    public @Nullable TypeSerializer<?> get(final Type type) {
+        requireNonNull(type, "type");
+        if (type instanceof Class<?>) {
+            final Object serial = this.classMatches.get((Class<?>) type);
+            return serial == NO_MATCH ? null : (TypeSerializer<?>) serial;
+        }
+        return this.lookup(type);
+    }
+
+    private @Nullable TypeSerializer<?> lookup(final Type type) {
+        final Type canonical = GenericTypeReflector.toCanonicalBoxed(annotate(type)).getType();
+        final @Nullable TypeSerializer<?> serial = this.exactMatches.get(canonical);
+        return serial == null ? this.resolve(canonical) : serial;
+    }
 
-        if (serial == null && this.parent != null) {
-            serial = this.parent.get(type);
+    /**
+     * Query every serializer in this collection and its parents, in order,
+     * for one that accepts a canonical type.
+     *
+     * @param type canonical type
+     * @return the first matching serializer, if any
+     */
+    private @Nullable TypeSerializer<?> resolve(final Type type) {
+        for (RegisteredSerializer ent : this.allSerializers) {
+            if (ent.predicate.test(type)) {
+                return ent.serializer;
+            }
         }
-        return serial;
+        return null;
     }
 
     /**
@@ -372,7 +417,7 @@ public final class TypeSerializerCollection {
         private Builder registerExact0(final Type type, final TypeSerializer<?> serializer) {
             requireNonNull(type, "type");
             requireNonNull(serializer, "serializer");
-            this.serializers.add(new RegisteredSerializer(test -> test.equals(type), serializer));
+            this.serializers.add(new RegisteredSerializer(test -> test.equals(type), serializer, type));
             return this;
         }
 
@@ -430,10 +475,16 @@ public final class TypeSerializerCollection {
 
         private final Predicate<Type> predicate;
         private final TypeSerializer<?> serializer;
+        private final @Nullable Type exactType;
 
         private RegisteredSerializer(final Predicate<Type> predicate, final TypeSerializer<?> serializer) {
+            this(predicate, serializer, null);
+        }
+
+        private RegisteredSerializer(final Predicate<Type> predicate, final TypeSerializer<?> serializer, final @Nullable Type exactType) {
             this.predicate = predicate;
             this.serializer = serializer;
+            this.exactType = exactType;
         }
 
     }
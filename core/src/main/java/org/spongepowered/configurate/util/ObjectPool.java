@@ -0,0 +1,160 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.util;
+
+import static java.util.Objects.requireNonNull;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A bounded pool of reusable objects that are expensive to create, such as
+ * parsers and emitters.
+ *
+ * <p>Unlike a {@link ThreadLocal}, pooled objects are not tied to the thread
+ * that created them. A pool holds at most {@code capacity} idle objects no
+ * matter how many threads use it, so it is suitable for use from large
+ * numbers of short-lived threads, including virtual threads.</p>
+ *
+ * <p>Pooled objects must not be used by more than one thread at a time. An
+ * object should not be used after it is released.</p>
+ *
+ * @param <T> the pooled type
+ * @since 4.0.0
+ */
+public final class ObjectPool<T> {
+
+    private static final int DEFAULT_CAPACITY = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+    private final Supplier<? extends T> factory;
+    private final int capacity;
+    private final ConcurrentLinkedDeque<T> idle = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    /**
+     * Create a pool holding up to twice as many idle objects as there are
+     * available processors.
+     *
+     * @param factory the factory for new objects
+     * @param <T> the pooled type
+     * @return a new pool
+     * @since 4.0.0
+     */
+    public static <T> ObjectPool<T> create(final Supplier<? extends T> factory) {
+        return create(factory, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create a pool holding up to {@code capacity} idle objects.
+     *
+     * @param factory the factory for new objects
+     * @param capacity the maximum number of idle objects to retain
+     * @param <T> the pooled type
+     * @return a new pool
+     * @since 4.0.0
+     */
+    public static <T> ObjectPool<T> create(final Supplier<? extends T> factory, final int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative, but was " + capacity);
+        }
+        return new ObjectPool<>(requireNonNull(factory, "factory"), capacity);
+    }
+
+    private ObjectPool(final Supplier<? extends T> factory, final int capacity) {
+        this.factory = factory;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Take an idle object from the pool, or create a new one if none
+     * are available.
+     *
+     * @return an object for the exclusive use of the caller
+     * @since 4.0.0
+     */
+    public T acquire() {
+        final @Nullable T pooled = this.idle.pollFirst();
+        if (pooled != null) {
+            this.idleCount.decrementAndGet();
+            return pooled;
+        }
+        return this.factory.get();
+    }
+
+    /**
+     * Return an object to the pool.
+     *
+     * <p>If the pool is already full, the object is discarded.</p>
+     *
+     * @param value an object previously returned by {@link #acquire()}
+     * @since 4.0.0
+     */
+    public void release(final T value) {
+        requireNonNull(value, "value");
+        if (this.idleCount.incrementAndGet() > this.capacity) {
+            this.idleCount.decrementAndGet();
+            return;
+        }
+        // most recently used first, as it is most likely to be warm
+        this.idle.offerFirst(value);
+    }
+
+    /**
+     * Perform an action with a pooled object, returning it to the
+     * pool afterwards.
+     *
+     * <p>If the action throws, the object is discarded rather than returned,
+     * since it may have been left in an inconsistent state.</p>
+     *
+     * @param action the action to perform
+     * @param <R> the result type
+     * @param <E> the exception type thrown by the action
+     * @return the result of the action
+     * @throws E if thrown by the action
+     * @since 4.0.0
+     */
+    public <R, E extends Exception> R use(final CheckedFunction<? super T, R, E> action) throws E {
+        final T value = this.acquire();
+        final R result = action.apply(value);
+        this.release(value);
+        return result;
+    }
+
+    /**
+     * Get the number of idle objects currently held by this pool.
+     *
+     * @return the idle count
+     * @since 4.0.0
+     */
+    public int idle() {
+        return this.idleCount.get();
+    }
+
+    /**
+     * Get the maximum number of idle objects this pool will hold.
+     *
+     * @return the capacity
+     * @since 4.0.0
+     */
+    public int capacity() {
+        return this.capacity;
+    }
+
+}
@@ -19,6 +19,7 @@ package org.spongepowered.configurate;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
@@ -317,6 +318,38 @@ public class AbstractConfigurationNodeTest {
         });
     }
 
+    @Test
+    void testAppendedListNodesHaveSequentialKeys() {
+        final BasicConfigurationNode node = BasicConfigurationNode.root(n -> {
+            for (int i = 0; i < 1000; ++i) {
+                n.appendListNode().raw("same");
+            }
+        });
+
+        final List<BasicConfigurationNode> children = node.childrenList();
+        assertEquals(1000, children.size());
+        for (int i = 0; i < children.size(); ++i) {
+            assertEquals(i, children.get(i).key());
+            assertSame(children.get(i), node.node(i));
+            assertSame(children.get(i), node.node(String.valueOf(i)));
+        }
+    }
+
+    @Test
+    void testRemovingListChildUpdatesKeys() {
+        final BasicConfigurationNode node = BasicConfigurationNode.root(n -> {
+            n.appendListNode().raw("zero");
+            n.appendListNode().raw("one");
+            n.appendListNode().raw("two");
+        });
+
+        assertTrue(node.removeChild(0));
+        assertEquals(Arrays.asList("one", "two"), node.raw());
+        assertEquals(0, node.node(0).key());
+        assertEquals(1, node.node(1).key());
+        assertEquals(NodePath.path(1), node.node(1).path());
+    }
+
     /**
      * A test representation hint which indicates to a serializer that the node
      * should be represented evilly.
@@ -467,4 +500,41 @@ public class AbstractConfigurationNodeTest {
         assertEquals(Collections.singletonList("I'm a list now!"), node.getList(String.class));
     }
 
+    @Test
+    void testModificationStamps() throws SerializationException {
+        final BasicConfigurationNode node = BasicConfigurationNode.root(n -> {
+            n.node("a", "value").set("first");
+            n.node("b", "value").set("other");
+        });
+        final long root = node.modificationStamp();
+        final long a = node.node("a").modificationStamp();
+        final long b = node.node("b").modificationStamp();
+
+        // changes are seen by the changed node and its parents
+        node.node("a", "value").set("second");
+        assertNotEquals(root, node.modificationStamp());
+        assertNotEquals(a, node.node("a").modificationStamp());
+        assertEquals(b, node.node("b").modificationStamp());
+
+        // as are additions, removals, and changes made through children
+        final long[] stamps = {node.node("a").modificationStamp()};
+        node.node("a", "list").appendListNode().set(1);
+        assertNotEquals(stamps[0], stamps[0] = node.node("a").modificationStamp());
+        node.node("a").removeChild("list");
+        assertNotEquals(stamps[0], stamps[0] = node.node("a").modificationStamp());
+        node.node("a").from(BasicConfigurationNode.root(n -> n.node("value").raw("copied")));
+        assertNotEquals(stamps[0], stamps[0] = node.node("a").modificationStamp());
+        node.node("a").mergeFrom(BasicConfigurationNode.root(n -> n.node("merged").raw(true)));
+        assertNotEquals(stamps[0], stamps[0] = node.node("a").modificationStamp());
+        node.node("a").set(null);
+        assertNotEquals(stamps[0], node.node("a").modificationStamp());
+
+        // reading never changes a stamp
+        final long current = node.modificationStamp();
+        node.node("b", "missing").getString();
+        node.node("b").childrenMap();
+        assertEquals(current, node.modificationStamp());
+        assertEquals(b, node.node("b").modificationStamp());
+    }
+
 }
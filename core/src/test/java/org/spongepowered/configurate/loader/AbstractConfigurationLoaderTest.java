@@ -16,14 +16,18 @@
  */
 package org.spongepowered.configurate.loader;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledOnOs;
 import org.junit.jupiter.api.condition.OS;
 import org.junit.jupiter.api.io.TempDir;
+import org.spongepowered.configurate.BasicConfigurationNode;
 import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationOptions;
 
 import java.io.BufferedWriter;
 import java.io.File;
@@ -32,6 +36,10 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public class AbstractConfigurationLoaderTest {
 
@@ -73,4 +81,115 @@ public class AbstractConfigurationLoaderTest {
         assertEquals("I should follow symlinks!", String.join("\n", Files.readAllLines(layerTwo, StandardCharsets.UTF_8)));
     }
 
+    @Test
+    @DisabledOnOs(value = OS.WINDOWS, disabledReason = "POSIX permissions are not available on windows")
+    void testSavePreservesPermissions(final @TempDir Path tempDir) throws IOException {
+        final Path target = tempDir.resolve("permissions.txt");
+        Files.write(target, "original contents, which should not be copied".getBytes(StandardCharsets.UTF_8));
+        final Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-r-----");
+        Files.setPosixFilePermissions(target, permissions);
+
+        final AtomicFiles.WriteOptions options = AtomicFiles.WriteOptions.defaults().bufferSize(16).sync(true);
+        try (BufferedWriter writer = AtomicFiles.atomicBufferedWriter(target, StandardCharsets.UTF_8, options)) {
+            writer.write("new contents\n");
+        }
+
+        assertEquals(permissions, Files.getPosixFilePermissions(target));
+        assertEquals("new contents", String.join("\n", Files.readAllLines(target, StandardCharsets.UTF_8)));
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(1, files.count()); // no temporary files left behind
+        }
+    }
+
+    @Test
+    void testWriteOptionsValidation() {
+        assertThrows(IllegalArgumentException.class, () -> AtomicFiles.WriteOptions.defaults().bufferSize(0));
+        assertEquals(AtomicFiles.WriteOptions.defaults(), AtomicFiles.WriteOptions.defaults().sync(true).sync(false));
+    }
+
+    @Test
+    void testFailedSaveKeepsOriginal(final @TempDir Path tempDir) throws IOException {
+        final Path target = tempDir.resolve("failed.txt");
+        Files.write(target, "original".getBytes(StandardCharsets.UTF_8));
+        final TestConfigurationLoader loader = TestConfigurationLoader.builder().path(target).build();
+        loader.failSaves = true;
+
+        // the header is written before the failure
+        assertThrows(ConfigurateException.class, () -> loader.save(BasicConfigurationNode.root(ConfigurationOptions.defaults().header("partial"))));
+        assertEquals("original", new String(Files.readAllBytes(target), StandardCharsets.UTF_8));
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(1, files.count()); // temporary file was removed
+        }
+    }
+
+    @Test
+    void testSkipUnchangedSaves(final @TempDir Path tempDir) throws IOException {
+        final Path target = tempDir.resolve("skip.txt");
+        final TestConfigurationLoader loader = TestConfigurationLoader.builder()
+            .path(target)
+            .skipUnchangedSaves(true)
+            .build();
+        final BasicConfigurationNode node = BasicConfigurationNode.root(ConfigurationOptions.defaults().header("first"));
+        loader.node(BasicConfigurationNode.root());
+
+        loader.save(node);
+        assertEquals(0, loader.skippedSaves());
+
+        loader.save(node);
+        assertEquals(1, loader.skippedSaves());
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(1, files.count()); // discarded temporary file was removed
+        }
+
+        // a changed document is written
+        loader.save(BasicConfigurationNode.root(ConfigurationOptions.defaults().header("second")));
+        assertEquals(1, loader.skippedSaves());
+        assertTrue(new String(Files.readAllBytes(target), StandardCharsets.UTF_8).contains("second"));
+
+        // as is an unchanged document, when the file has been changed by someone else
+        Files.write(target, "modified externally".getBytes(StandardCharsets.UTF_8));
+        loader.save(BasicConfigurationNode.root(ConfigurationOptions.defaults().header("second")));
+        assertEquals(1, loader.skippedSaves());
+        assertTrue(new String(Files.readAllBytes(target), StandardCharsets.UTF_8).contains("second"));
+    }
+
+    @Test
+    void testFailedTrackedSaveKeepsOriginal(final @TempDir Path tempDir) throws IOException {
+        final Path target = tempDir.resolve("failed.txt");
+        final TestConfigurationLoader loader = TestConfigurationLoader.builder()
+            .path(target)
+            .skipUnchangedSaves(true)
+            .build();
+        loader.node(BasicConfigurationNode.root());
+        loader.save(BasicConfigurationNode.root(ConfigurationOptions.defaults().header("original")));
+        final byte[] original = Files.readAllBytes(target);
+
+        loader.failSaves = true;
+        assertThrows(ConfigurateException.class, () -> loader.save(BasicConfigurationNode.root(ConfigurationOptions.defaults().header("partial"))));
+        assertArrayEquals(original, Files.readAllBytes(target));
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(1, files.count()); // temporary file was removed
+        }
+
+        // the failed save did not change what is known about the file
+        loader.failSaves = false;
+        loader.save(BasicConfigurationNode.root(ConfigurationOptions.defaults().header("original")));
+        assertEquals(1, loader.skippedSaves());
+    }
+
+    @Test
+    void testSkipUnchangedSavesAfterLoad(final @TempDir Path tempDir) throws IOException {
+        final Path target = tempDir.resolve("load.txt");
+        final TestConfigurationLoader loader = TestConfigurationLoader.builder()
+            .path(target)
+            .skipUnchangedSaves(true)
+            .build();
+        loader.node(BasicConfigurationNode.root());
+
+        loader.save(BasicConfigurationNode.root(ConfigurationOptions.defaults().header("header")));
+        final BasicConfigurationNode loaded = loader.load();
+        loader.save(loaded);
+        assertEquals(1, loader.skippedSaves());
+    }
+
 }
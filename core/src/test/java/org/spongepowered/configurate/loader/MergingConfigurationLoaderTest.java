@@ -0,0 +1,124 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.loader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.serialize.SerializationException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+public class MergingConfigurationLoaderTest {
+
+    private static TestConfigurationLoader fixed(final BasicConfigurationNode node) {
+        final TestConfigurationLoader loader = TestConfigurationLoader.builder()
+            .source(() -> new BufferedReader(new StringReader("")))
+            .build();
+        loader.node(node);
+        return loader;
+    }
+
+    @Test
+    void testEarlierSourcesTakePrecedence() throws ConfigurateException {
+        final BasicConfigurationNode first = BasicConfigurationNode.root(n -> {
+            n.node("shared").set("first");
+            n.node("section", "a").set(1);
+        });
+        final BasicConfigurationNode second = BasicConfigurationNode.root(n -> {
+            n.node("shared").set("second");
+            n.node("section", "a").set(2);
+            n.node("section", "b").set(2);
+        });
+        final BasicConfigurationNode third = BasicConfigurationNode.root(n -> {
+            n.node("shared").set("third");
+            n.node("section", "c").set(3);
+            n.node("only-third").set(true);
+        });
+
+        final MergingConfigurationLoader<BasicConfigurationNode> loader = MergingConfigurationLoader.<BasicConfigurationNode>builder()
+            .source(fixed(first))
+            .source(fixed(second))
+            .source(fixed(third))
+            .build();
+
+        final BasicConfigurationNode result = loader.load();
+        assertEquals("first", result.node("shared").getString());
+        assertEquals(1, result.node("section", "a").getInt());
+        assertEquals(2, result.node("section", "b").getInt());
+        assertEquals(3, result.node("section", "c").getInt());
+        assertTrue(result.node("only-third").getBoolean());
+        assertFalse(loader.canSave());
+    }
+
+    @Test
+    void testMatchesSequentialMerge() throws SerializationException, ConfigurateException {
+        final List<TestConfigurationLoader> sources = new ArrayList<>();
+        final BasicConfigurationNode expected = BasicConfigurationNode.root();
+        for (int i = 0; i < 37; ++i) {
+            final BasicConfigurationNode node = BasicConfigurationNode.root();
+            node.node("value-" + (i % 5)).set(i);
+            node.node("fragments", "fragment-" + i).set(i);
+            sources.add(fixed(node));
+            expected.mergeFrom(node);
+        }
+
+        final MergingConfigurationLoader.Result<BasicConfigurationNode> result = MergingConfigurationLoader.<BasicConfigurationNode>builder()
+            .sources(sources)
+            .build()
+            .loadWithTimings();
+
+        assertEquals(expected, result.node());
+        assertEquals(sources.size(), result.timings().size());
+        for (int i = 0; i < sources.size(); ++i) {
+            assertEquals(i, result.timings().get(i).index());
+            assertEquals(sources.get(i), result.timings().get(i).source());
+        }
+    }
+
+    @Test
+    void testFailuresArePropagated() {
+        final TestConfigurationLoader failing = TestConfigurationLoader.builder()
+            .source(() -> {
+                throw new IOException("oops");
+            })
+            .build();
+
+        final MergingConfigurationLoader<BasicConfigurationNode> loader = MergingConfigurationLoader.<BasicConfigurationNode>builder()
+            .source(fixed(BasicConfigurationNode.root()))
+            .source(failing)
+            .build();
+
+        final ConfigurateException ex = assertThrows(ConfigurateException.class, loader::load);
+        assertTrue(ex.getCause() instanceof IOException);
+    }
+
+    @Test
+    void testRequiresSource() {
+        assertThrows(IllegalStateException.class, () -> MergingConfigurationLoader.<BasicConfigurationNode>builder().build());
+    }
+
+}
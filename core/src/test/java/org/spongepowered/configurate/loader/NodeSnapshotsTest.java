@@ -0,0 +1,219 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.loader;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.spongepowered.configurate.AttributedConfigurationNode;
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.CommentedConfigurationNode;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.ConfigurationNodeFactory;
+import org.spongepowered.configurate.ConfigurationOptions;
+import org.spongepowered.configurate.RepresentationHint;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+public class NodeSnapshotsTest {
+
+    private static final RepresentationHint<Style> STYLE = RepresentationHint.of("style", Style.class);
+    private static final RepresentationHint<String> QUOTE = RepresentationHint.<String>builder()
+        .identifier("quote")
+        .valueType(String.class)
+        .defaultValue("\"")
+        .inheritable(false)
+        .build();
+
+    enum Style {
+        BLOCK,
+        FLOW
+    }
+
+    private static <N extends ConfigurationNode> N roundtrip(final ConfigurationNode node, final ConfigurationNodeFactory<N> factory)
+            throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        NodeSnapshots.write(node, out);
+        return NodeSnapshots.read(new ByteArrayInputStream(out.toByteArray()), factory, ConfigurationOptions.defaults());
+    }
+
+    @Test
+    void testScalarTypesArePreserved() throws IOException {
+        final BasicConfigurationNode node = BasicConfigurationNode.root(n -> {
+            n.node("string").raw("hello ☃");
+            n.node("true").raw(true);
+            n.node("false").raw(false);
+            n.node("int").raw(-42);
+            n.node("long").raw(Long.MIN_VALUE);
+            n.node("float").raw(0.25f);
+            n.node("double").raw(Math.PI);
+            n.node("short").raw((short) 12);
+            n.node("byte").raw((byte) -3);
+            n.node("char").raw('x');
+            n.node("big-integer").raw(new BigInteger("-123456789012345678901234567890"));
+            n.node("big-decimal").raw(new BigDecimal("3.14159265358979323846264338327950288"));
+            n.node(7).raw("non-string key");
+        });
+
+        final BasicConfigurationNode read = roundtrip(node, BasicConfigurationNode.factory());
+        assertEquals(node, read);
+        for (ConfigurationNode child : node.childrenMap().values()) {
+            assertEquals(child.rawScalar().getClass(), read.node(child.key()).rawScalar().getClass());
+        }
+    }
+
+    @Test
+    void testBytes() throws IOException {
+        final byte[] data = {0, 1, 2, -1, -128, 127};
+        final BasicConfigurationNode node = BasicConfigurationNode.root(n -> n.node("data").raw(data));
+
+        assertArrayEquals(data, (byte[]) roundtrip(node, BasicConfigurationNode.factory()).node("data").raw());
+    }
+
+    @Test
+    void testStructureIsPreserved() throws IOException {
+        final BasicConfigurationNode node = BasicConfigurationNode.root(n -> {
+            n.node("list").appendListNode().raw("a");
+            n.node("list").appendListNode().node("nested").raw("b");
+            n.node("list").appendListNode().appendListNode().raw(3);
+            n.node("empty-list").raw(Collections.emptyList());
+            n.node("empty-map").raw(Collections.emptyMap());
+            n.node("map", "deep", "value").raw("c");
+        });
+
+        final BasicConfigurationNode read = roundtrip(node, BasicConfigurationNode.factory());
+        assertEquals(node, read);
+        assertTrue(read.node("empty-list").isList());
+        assertTrue(read.node("empty-map").isMap());
+    }
+
+    @Test
+    void testCommentsAndHeader() throws IOException {
+        final CommentedConfigurationNode node = CommentedConfigurationNode.root(ConfigurationOptions.defaults().header("A header"), n -> {
+            n.comment("root comment");
+            n.node("a").raw(1).comment("first");
+            n.node("b").appendListNode().raw("x").comment("in a list");
+        });
+
+        final CommentedConfigurationNode read = roundtrip(node, CommentedConfigurationNode.factory());
+        assertEquals(node, read);
+        assertEquals("A header", read.options().header());
+        assertEquals("root comment", read.comment());
+        assertEquals("first", read.node("a").comment());
+        assertEquals("in a list", read.node("b", 0).comment());
+    }
+
+    @Test
+    void testTagsAndAttributes() throws IOException {
+        final AttributedConfigurationNode node = AttributedConfigurationNode.root("server", n -> {
+            n.addAttribute("version", "2");
+            n.node("port").raw(25565).tagName("listen-port").addAttribute("protocol", "tcp");
+        });
+
+        final AttributedConfigurationNode read = roundtrip(node, AttributedConfigurationNode.factory());
+        assertEquals(node, read);
+        assertEquals("server", read.tagName());
+        assertEquals("2", read.attribute("version"));
+        assertEquals("listen-port", read.node("port").tagName());
+        assertEquals("tcp", read.node("port").attribute("protocol"));
+    }
+
+    @Test
+    void testHints() throws IOException {
+        final BasicConfigurationNode node = BasicConfigurationNode.root(n -> {
+            n.hint(STYLE, Style.FLOW);
+            n.node("quoted").raw("value").hint(QUOTE, "'");
+        });
+
+        final BasicConfigurationNode read = roundtrip(node, BasicConfigurationNode.factory());
+        assertEquals(Style.FLOW, read.ownHint(STYLE));
+        assertEquals(Style.FLOW, read.node("quoted").hint(STYLE));
+        assertEquals("'", read.node("quoted").ownHint(QUOTE));
+    }
+
+    @Test
+    void testUnsupportedValuesAreRejected() {
+        final BasicConfigurationNode node = BasicConfigurationNode.root(n -> n.node("id").raw(UUID.randomUUID()));
+
+        assertThrows(ConfigurateException.class, () -> NodeSnapshots.write(node, new ByteArrayOutputStream()));
+    }
+
+    @Test
+    void testTypesAreResolvedWithClassLoader() throws IOException {
+        final BasicConfigurationNode node = BasicConfigurationNode.root(n -> {
+            n.hint(STYLE, Style.BLOCK);
+            n.node("style").raw(Style.FLOW);
+        });
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        NodeSnapshots.write(node, out);
+
+        final Set<String> requested = new HashSet<>();
+        final ClassLoader recording = new ClassLoader(NodeSnapshotsTest.class.getClassLoader()) {
+            @Override
+            protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+                requested.add(name);
+                return super.loadClass(name, resolve);
+            }
+        };
+        final BasicConfigurationNode read = NodeSnapshots.read(new ByteArrayInputStream(out.toByteArray()),
+            BasicConfigurationNode.factory(), ConfigurationOptions.defaults(), recording);
+
+        assertEquals(node, read);
+        assertEquals(Style.BLOCK, read.ownHint(STYLE));
+        assertEquals(Collections.singleton(Style.class.getName()), requested);
+    }
+
+    @Test
+    void testInvisibleTypesAreRejected() {
+        final ClassLoader bootstrapOnly = new ClassLoader(null) {};
+        final BasicConfigurationNode value = BasicConfigurationNode.root(n -> n.node("style").raw(Style.FLOW));
+        final BasicConfigurationNode hint = BasicConfigurationNode.root(n -> n.hint(STYLE, Style.FLOW));
+
+        assertThrows(ConfigurateException.class, () -> NodeSnapshots.write(value, new ByteArrayOutputStream(), bootstrapOnly));
+        assertThrows(ConfigurateException.class, () -> NodeSnapshots.write(hint, new ByteArrayOutputStream(), bootstrapOnly));
+    }
+
+    @Test
+    void testInvalidDataIsRejected() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        NodeSnapshots.write(BasicConfigurationNode.root(n -> n.node("a", "b").raw("c")), out);
+        final byte[] data = out.toByteArray();
+
+        final byte[] otherVersion = data.clone();
+        otherVersion[4] = 99;
+        assertThrows(ConfigurateException.class, () -> NodeSnapshots.read(new ByteArrayInputStream(otherVersion),
+            BasicConfigurationNode.factory(), ConfigurationOptions.defaults()));
+
+        final byte[] truncated = Arrays.copyOf(data, data.length - 1);
+        assertThrows(IOException.class, () -> NodeSnapshots.read(new ByteArrayInputStream(truncated),
+            BasicConfigurationNode.factory(), ConfigurationOptions.defaults()));
+    }
+
+}
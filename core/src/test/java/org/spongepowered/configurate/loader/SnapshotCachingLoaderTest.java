@@ -0,0 +1,239 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.loader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.spongepowered.configurate.CommentedConfigurationNode;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.ConfigurationOptions;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+
+public class SnapshotCachingLoaderTest {
+
+    enum Mode {
+        FAST,
+        SLOW
+    }
+
+    /**
+     * A loader for {@code key=value} lines, where lines starting with
+     * {@code #} are comments on the following value.
+     */
+    static final class LineLoader extends AbstractConfigurationLoader<CommentedConfigurationNode> {
+
+        int parses;
+        boolean enumValues;
+
+        static final class Builder extends AbstractConfigurationLoader.Builder<Builder, LineLoader> {
+
+            @Override
+            public LineLoader build() {
+                return new LineLoader(this);
+            }
+
+        }
+
+        LineLoader(final Builder builder) {
+            super(builder, new CommentHandler[] {CommentHandlers.HASH});
+        }
+
+        @Override
+        protected void loadInternal(final CommentedConfigurationNode node, final BufferedReader reader) throws ParsingException {
+            this.parses++;
+            try {
+                @Nullable String comment = null;
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.startsWith("#")) {
+                        comment = line.substring(1).trim();
+                    } else if (!line.isEmpty()) {
+                        final String[] parts = line.split("=", 2);
+                        final Object value = this.enumValues ? Mode.valueOf(parts[1]) : parts[1];
+                        node.node(parts[0]).raw(value).comment(comment);
+                        comment = null;
+                    }
+                }
+            } catch (final IOException ex) {
+                throw ParsingException.wrap(node, ex);
+            }
+        }
+
+        @Override
+        protected void saveInternal(final ConfigurationNode node, final Writer writer) throws ConfigurateException {
+            try {
+                for (ConfigurationNode child : node.childrenMap().values()) {
+                    writer.write(child.key() + "=" + child.getString() + "\n");
+                }
+            } catch (final IOException ex) {
+                throw ConfigurateException.wrap(node, ex);
+            }
+        }
+
+        @Override
+        public CommentedConfigurationNode createNode(final ConfigurationOptions options) {
+            return CommentedConfigurationNode.root(options);
+        }
+
+    }
+
+    private static SnapshotCachingLoader<CommentedConfigurationNode> caching(final LineLoader loader, final Path source) {
+        return SnapshotCachingLoader.<CommentedConfigurationNode>builder()
+            .loader(loader)
+            .source(source)
+            .build();
+    }
+
+    @Test
+    void testUnchangedSourceIsLoadedFromSnapshot(final @TempDir Path tempDir) throws IOException {
+        final Path source = tempDir.resolve("test.conf");
+        Files.write(source, "# The name\nname=example\nmode=fast\n".getBytes(StandardCharsets.UTF_8));
+        final LineLoader delegate = new LineLoader.Builder().path(source).build();
+        final SnapshotCachingLoader<CommentedConfigurationNode> loader = caching(delegate, source);
+
+        final CommentedConfigurationNode first = loader.load();
+        assertEquals(1, delegate.parses);
+        assertTrue(Files.exists(loader.snapshot()));
+
+        final CommentedConfigurationNode second = loader.load();
+        assertEquals(1, delegate.parses);
+        assertEquals(1, loader.snapshotLoads());
+        assertEquals(first, second);
+        assertEquals("The name", second.node("name").comment());
+
+        // a new loader instance reads the same snapshot
+        final LineLoader otherDelegate = new LineLoader.Builder().path(source).build();
+        assertEquals(first, caching(otherDelegate, source).load());
+        assertEquals(0, otherDelegate.parses);
+    }
+
+    @Test
+    void testChangedSourceIsParsed(final @TempDir Path tempDir) throws IOException {
+        final Path source = tempDir.resolve("test.conf");
+        Files.write(source, "name=example\n".getBytes(StandardCharsets.UTF_8));
+        final LineLoader delegate = new LineLoader.Builder().path(source).build();
+        final SnapshotCachingLoader<CommentedConfigurationNode> loader = caching(delegate, source);
+        loader.load();
+
+        Files.write(source, "name=changed\n".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(source, FileTime.fromMillis(Files.getLastModifiedTime(source).toMillis() + 5000));
+        assertEquals("changed", loader.load().node("name").getString());
+        assertEquals(2, delegate.parses);
+        assertEquals(0, loader.snapshotLoads());
+
+        // and the new snapshot is used afterwards
+        assertEquals("changed", loader.load().node("name").getString());
+        assertEquals(2, delegate.parses);
+    }
+
+    @Test
+    void testTouchedSourceUsesSnapshot(final @TempDir Path tempDir) throws IOException {
+        final Path source = tempDir.resolve("test.conf");
+        Files.write(source, "name=example\n".getBytes(StandardCharsets.UTF_8));
+        final LineLoader delegate = new LineLoader.Builder().path(source).build();
+        final SnapshotCachingLoader<CommentedConfigurationNode> loader = caching(delegate, source);
+        loader.load();
+
+        Files.setLastModifiedTime(source, FileTime.fromMillis(Files.getLastModifiedTime(source).toMillis() + 5000));
+        assertEquals("example", loader.load().node("name").getString());
+        assertEquals(1, delegate.parses);
+        assertEquals(1, loader.snapshotLoads());
+    }
+
+    @Test
+    void testCorruptSnapshotIsIgnored(final @TempDir Path tempDir) throws IOException {
+        final Path source = tempDir.resolve("test.conf");
+        Files.write(source, "name=example\n".getBytes(StandardCharsets.UTF_8));
+        final LineLoader delegate = new LineLoader.Builder().path(source).build();
+        final SnapshotCachingLoader<CommentedConfigurationNode> loader = caching(delegate, source);
+        loader.load();
+
+        final byte[] snapshot = Files.readAllBytes(loader.snapshot());
+        Files.write(loader.snapshot(), Arrays.copyOf(snapshot, snapshot.length - 3));
+        assertEquals("example", loader.load().node("name").getString());
+        assertEquals(2, delegate.parses);
+
+        // rewritten
+        loader.load();
+        assertEquals(2, delegate.parses);
+        assertEquals(1, loader.snapshotLoads());
+    }
+
+    @Test
+    void testEnumValuesAreLoadedFromSnapshot(final @TempDir Path tempDir) throws IOException {
+        final Path source = tempDir.resolve("test.conf");
+        Files.write(source, "mode=FAST\n".getBytes(StandardCharsets.UTF_8));
+        final LineLoader delegate = new LineLoader.Builder().path(source).build();
+        delegate.enumValues = true;
+        final SnapshotCachingLoader<CommentedConfigurationNode> loader = caching(delegate, source);
+
+        loader.load();
+        final FileTime written = Files.getLastModifiedTime(loader.snapshot());
+        assertEquals(Mode.FAST, loader.load().node("mode").raw());
+        assertEquals(1, delegate.parses);
+        assertEquals(1, loader.snapshotLoads());
+        assertEquals(written, Files.getLastModifiedTime(loader.snapshot()));
+    }
+
+    @Test
+    void testInvisibleTypesAreNotCached(final @TempDir Path tempDir) throws IOException {
+        final Path source = tempDir.resolve("test.conf");
+        Files.write(source, "mode=FAST\n".getBytes(StandardCharsets.UTF_8));
+        final LineLoader delegate = new LineLoader.Builder().path(source).build();
+        delegate.enumValues = true;
+        final SnapshotCachingLoader<CommentedConfigurationNode> loader = SnapshotCachingLoader.<CommentedConfigurationNode>builder()
+            .loader(delegate)
+            .source(source)
+            .classLoader(new ClassLoader(null) {})
+            .build();
+
+        assertEquals(Mode.FAST, loader.load().node("mode").raw());
+        assertFalse(Files.exists(loader.snapshot()));
+        assertEquals(Mode.FAST, loader.load().node("mode").raw());
+        assertEquals(2, delegate.parses);
+        assertEquals(0, loader.snapshotLoads());
+    }
+
+    @Test
+    void testSaveRemovesSnapshot(final @TempDir Path tempDir) throws IOException {
+        final Path source = tempDir.resolve("test.conf");
+        Files.write(source, "name=example\n".getBytes(StandardCharsets.UTF_8));
+        final LineLoader delegate = new LineLoader.Builder().path(source).build();
+        final SnapshotCachingLoader<CommentedConfigurationNode> loader = caching(delegate, source);
+
+        final CommentedConfigurationNode node = loader.load();
+        node.node("name").raw("saved");
+        loader.save(node);
+        assertFalse(Files.exists(loader.snapshot()));
+        assertEquals("saved", loader.load().node("name").getString());
+    }
+
+}
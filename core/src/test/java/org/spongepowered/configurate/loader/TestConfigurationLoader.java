@@ -18,6 +18,7 @@ package org.spongepowered.configurate.loader;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.ConfigurateException;
 import org.spongepowered.configurate.ConfigurationNode;
 import org.spongepowered.configurate.ConfigurationOptions;
 
@@ -32,6 +33,7 @@ import java.io.Writer;
 public class TestConfigurationLoader extends AbstractConfigurationLoader<BasicConfigurationNode> {
 
     private ConfigurationNode result;
+    boolean failSaves;
 
     public static final class Builder extends AbstractConfigurationLoader.Builder<Builder, TestConfigurationLoader> {
 
@@ -56,7 +58,10 @@ public class TestConfigurationLoader extends AbstractConfigurationLoader<BasicCo
     }
 
     @Override
-    protected void saveInternal(final ConfigurationNode node, final Writer writer) {
+    protected void saveInternal(final ConfigurationNode node, final Writer writer) throws ConfigurateException {
+        if (this.failSaves) {
+            throw new ConfigurateException(node, "Save failed");
+        }
         this.result.from(node);
     }
 
@@ -17,9 +17,12 @@
 package org.spongepowered.configurate.objectmapping;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.junit.jupiter.api.Assertions;
@@ -29,10 +32,14 @@ import org.spongepowered.configurate.objectmapping.meta.Constraint;
 import org.spongepowered.configurate.objectmapping.meta.Matches;
 import org.spongepowered.configurate.objectmapping.meta.Required;
 import org.spongepowered.configurate.serialize.SerializationException;
+import org.spongepowered.configurate.transformation.NodePath;
 
+import java.util.Arrays;
 import java.util.Locale;
 import java.util.ResourceBundle;
 import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 
 @SuppressWarnings("NotNullFieldNotInitialized") // object mapper does initialization
 public class ConstraintTest {
@@ -110,6 +117,29 @@ public class ConstraintTest {
 
     }
 
+    static class TestPatternPrefixes {
+        @Matches("^v[0-9]+") String version;
+        @Matches("ab?c") String optional;
+        @Matches("one|two") String alternatives;
+    }
+
+    @Test
+    void testPatternPrefixes() throws SerializationException {
+        final ObjectMapper<TestPatternPrefixes> mapper = ObjectMapper.factory().get(TestPatternPrefixes.class);
+
+        final TestPatternPrefixes result = mapper.load(BasicConfigurationNode.root(n -> {
+            n.node("version").raw("v12");
+            n.node("optional").raw("ac");
+            n.node("alternatives").raw("two");
+        }));
+        assertEquals("v12", result.version);
+        assertEquals("ac", result.optional);
+        assertEquals("two", result.alternatives);
+
+        assertThrows(SerializationException.class, () -> mapper.load(BasicConfigurationNode.root(n -> n.node("version").raw("x12"))));
+        assertThrows(SerializationException.class, () -> mapper.load(BasicConfigurationNode.root(n -> n.node("version").raw("v"))));
+    }
+
     // localized pattern //
 
     static class TestLocalizedPattern {
@@ -165,4 +195,48 @@ public class ConstraintTest {
         );
     }
 
+    // validation //
+
+    static class TestValidated {
+        @Required UUID id;
+        @Matches("[a-z]+") String name;
+        @Matches(value = "[0-9]+", failureMessage = "{0} is not a number") String count;
+        @Nullable TestChild child;
+    }
+
+    @ConfigSerializable
+    static class TestChild {
+        @Matches("[a-z]+") String test;
+    }
+
+    @Test
+    void testValidationReport() {
+        final BasicConfigurationNode node = BasicConfigurationNode.root(n -> {
+            n.node("name").raw("LOUD");
+            n.node("count").raw("many");
+            n.node("child", "test").raw("ALSO LOUD");
+        });
+
+        final ObjectMapper<TestValidated> mapper = assertDoesNotThrow(() -> ObjectMapper.factory().get(TestValidated.class));
+        final ValidationReport report = mapper.validate(node);
+        assertFalse(report.valid());
+        assertEquals(Arrays.asList(
+            NodePath.path("id"),
+            NodePath.path("name"),
+            NodePath.path("count"),
+            NodePath.path("child", "test")
+        ), report.violations().stream().map(ValidationReport.Violation::path).collect(Collectors.toList()));
+        assertEquals("many is not a number", report.violations().get(2).message());
+
+        // validating fields in parallel finds the same problems
+        final ValidationReport parallel = mapper.validate(node, ForkJoinPool.commonPool());
+        assertEquals(
+            report.violations().stream().map(ValidationReport.Violation::path).collect(Collectors.toList()),
+            parallel.violations().stream().map(ValidationReport.Violation::path).collect(Collectors.toList())
+        );
+
+        // and nothing is reported for a valid node
+        assertTrue(mapper.validate(BasicConfigurationNode.root(n -> n.node("id").raw(UUID.randomUUID().toString()))).valid());
+    }
+
 }
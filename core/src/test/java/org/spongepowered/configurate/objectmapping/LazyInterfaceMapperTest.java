@@ -0,0 +1,222 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.objectmapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.leangen.geantyref.TypeToken;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.CommentedConfigurationNode;
+import org.spongepowered.configurate.ConfigurationOptions;
+import org.spongepowered.configurate.RepresentationHint;
+import org.spongepowered.configurate.objectmapping.meta.Comment;
+import org.spongepowered.configurate.objectmapping.meta.Matches;
+import org.spongepowered.configurate.objectmapping.meta.Required;
+import org.spongepowered.configurate.objectmapping.meta.Setting;
+import org.spongepowered.configurate.serialize.SerializationException;
+
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Arrays;
+import java.util.List;
+
+public class LazyInterfaceMapperTest {
+
+    private static final ObjectMapper.Factory FACTORY = ObjectMapper.factoryBuilder()
+        .lazyInterfaces(true)
+        .build();
+
+    interface ServerSettings {
+        String host();
+
+        @Setting("listen-port")
+        Integer port() throws SerializationException;
+
+        int maxPlayers();
+
+        @Nullable List<String> operators();
+
+        default String address() throws SerializationException {
+            return this.host() + ":" + this.port();
+        }
+    }
+
+    @Test
+    void testValuesLoadedOnAccess() throws SerializationException {
+        final ObjectMapper<ServerSettings> mapper = FACTORY.get(ServerSettings.class);
+        final BasicConfigurationNode node = BasicConfigurationNode.root(n -> {
+            n.node("host").raw("localhost");
+            n.node("listen-port").raw("not a port");
+        });
+
+        // loading never fails, since nothing is deserialized yet
+        final ServerSettings settings = mapper.load(node);
+        assertEquals("localhost", settings.host());
+        assertEquals(0, settings.maxPlayers());
+        assertNull(settings.operators());
+
+        final SerializationException ex = assertThrows(SerializationException.class, settings::port);
+        assertEquals(node.node("listen-port").path(), ex.path());
+
+        node.node("listen-port").raw(25565);
+        assertEquals(25565, settings.port());
+        assertEquals("localhost:25565", settings.address());
+    }
+
+    @Test
+    void testUndeclaredFailuresWrapped() throws SerializationException {
+        final ServerSettings settings = FACTORY.get(ServerSettings.class).load(BasicConfigurationNode.root(n -> {
+            n.node("max-players").raw("lots");
+        }));
+
+        final UndeclaredThrowableException ex = assertThrows(UndeclaredThrowableException.class, settings::maxPlayers);
+        assertTrue(ex.getCause() instanceof SerializationException);
+    }
+
+    @Test
+    void testValuesCachedUntilNodeChanges() throws SerializationException {
+        final TypeToken<List<String>> listType = new TypeToken<List<String>>() {};
+        final BasicConfigurationNode node = BasicConfigurationNode.root();
+        node.node("host").raw("localhost");
+        node.node("operators").set(listType, Arrays.asList("alice", "bob"));
+        final ServerSettings settings = FACTORY.get(ServerSettings.class).load(node);
+
+        final @Nullable List<String> operators = settings.operators();
+        assertEquals(Arrays.asList("alice", "bob"), operators);
+        assertSame(operators, settings.operators());
+
+        // changes elsewhere leave the value cached
+        node.node("host").raw("example.com");
+        assertSame(operators, settings.operators());
+        assertEquals("example.com", settings.host());
+
+        // as do changes to hints
+        node.node("operators").hint(RepresentationHint.of("style", String.class), "flow");
+        assertSame(operators, settings.operators());
+
+        // changes within the node
+        node.node("operators").appendListNode().set("carol");
+        final @Nullable List<String> appended = settings.operators();
+        assertEquals(Arrays.asList("alice", "bob", "carol"), appended);
+        assertSame(appended, settings.operators());
+
+        // setting a new value in place
+        node.node("operators").set(listType, Arrays.asList("dave"));
+        assertEquals(Arrays.asList("dave"), settings.operators());
+
+        // replacing the node
+        node.removeChild("operators");
+        node.node("operators").set(listType, Arrays.asList("erin"));
+        assertEquals(Arrays.asList("erin"), settings.operators());
+    }
+
+    @ConfigSerializable
+    interface Section {
+        String name();
+    }
+
+    @ConfigSerializable
+    interface Root {
+        Section section();
+    }
+
+    @Test
+    void testNestedInterfaces() throws SerializationException {
+        final BasicConfigurationNode node = BasicConfigurationNode.root(ConfigurationOptions.defaults()
+            .serializers(s -> s.registerAnnotatedObjects(FACTORY)), n -> {
+                n.node("section", "name").raw("first");
+            });
+        final Root root = FACTORY.get(Root.class).load(node);
+        final Section section = root.section();
+
+        assertSame(section, root.section());
+
+        // the nested proxy reads from the same node, once its getter is called
+        node.node("section", "name").raw("second");
+        assertEquals("second", section.name());
+        assertEquals("second", root.section().name());
+
+        node.removeChild("section");
+        node.node("section", "name").raw("third");
+        assertNotSame(section, root.section());
+        assertEquals("third", root.section().name());
+    }
+
+    @Test
+    void testSaveProxy() throws SerializationException {
+        final ObjectMapper<ServerSettings> mapper = FACTORY.get(ServerSettings.class);
+        final BasicConfigurationNode source = BasicConfigurationNode.root(n -> {
+            n.node("host").raw("localhost");
+            n.node("listen-port").raw(25565);
+            n.node("max-players").raw(20);
+        });
+
+        final BasicConfigurationNode target = BasicConfigurationNode.root();
+        assertTrue(mapper.canCreateInstances());
+        mapper.save(mapper.load(source), target);
+        assertEquals("localhost", target.node("host").getString());
+        assertEquals(25565, target.node("listen-port").getInt());
+        assertEquals(20, target.node("max-players").getInt());
+    }
+
+    interface AnnotatedGetters {
+        @Comment("The name of the world")
+        @Required
+        @Matches("[a-z_]+")
+        String world();
+
+        @Setting("spawn-radius")
+        @Comment("Blocks around spawn to protect")
+        Integer spawnRadius();
+    }
+
+    @Test
+    void testAnnotatedGetters() throws SerializationException {
+        final ObjectMapper<AnnotatedGetters> mapper = FACTORY.get(AnnotatedGetters.class);
+        final CommentedConfigurationNode source = CommentedConfigurationNode.root(n -> {
+            n.node("world").raw("overworld");
+            n.node("spawn-radius").raw(16);
+        });
+
+        final CommentedConfigurationNode target = CommentedConfigurationNode.root();
+        mapper.save(mapper.load(source), target);
+        assertEquals("The name of the world", target.node("world").comment());
+        assertEquals("Blocks around spawn to protect", target.node("spawn-radius").comment());
+
+        final AnnotatedGetters missing = mapper.load(CommentedConfigurationNode.root());
+        assertThrows(UndeclaredThrowableException.class, missing::world);
+
+        final AnnotatedGetters invalid = mapper.load(CommentedConfigurationNode.root(n -> n.node("world").raw("The End")));
+        assertThrows(UndeclaredThrowableException.class, invalid::world);
+    }
+
+    interface NotGetters {
+        void update(String value);
+    }
+
+    @Test
+    void testOnlyGettersAllowed() {
+        assertThrows(SerializationException.class, () -> FACTORY.get(NotGetters.class));
+    }
+
+}
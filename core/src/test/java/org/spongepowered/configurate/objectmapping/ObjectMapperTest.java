@@ -18,25 +18,32 @@ package org.spongepowered.configurate.objectmapping;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.leangen.geantyref.TypeToken;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.spongepowered.configurate.BasicConfigurationNode;
 import org.spongepowered.configurate.CommentedConfigurationNode;
+import org.spongepowered.configurate.ConfigurationNode;
 import org.spongepowered.configurate.ConfigurationOptions;
 import org.spongepowered.configurate.objectmapping.meta.Comment;
 import org.spongepowered.configurate.objectmapping.meta.Setting;
 import org.spongepowered.configurate.serialize.SerializationException;
+import org.spongepowered.configurate.serialize.TypeSerializer;
 
+import java.lang.reflect.Type;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 
 @SuppressWarnings("UnusedVariable") // test object mapper objects are not always read
 public class ObjectMapperTest {
@@ -76,6 +83,32 @@ public class ObjectMapperTest {
         assertEquals("boom", instance.stringVal);
     }
 
+    @Test
+    void testSerializerResolvedForEachCollection() throws SerializationException {
+        final ObjectMapper<TestObject> mapper = ObjectMapper.factory().get(TestObject.class);
+        final BasicConfigurationNode source = BasicConfigurationNode.root(n -> n.node("test-key").set("quiet"));
+        assertEquals("quiet", mapper.load(source).stringVal);
+
+        final BasicConfigurationNode shouting = BasicConfigurationNode.root(ConfigurationOptions.defaults()
+            .serializers(b -> b.register(String.class, new ShoutingSerializer())), n -> n.node("test-key").raw("quiet"));
+        assertEquals("QUIET", mapper.load(shouting).stringVal);
+        assertEquals("quiet", mapper.load(source).stringVal);
+    }
+
+    static final class ShoutingSerializer implements TypeSerializer<String> {
+
+        @Override
+        public String deserialize(final Type type, final ConfigurationNode node) {
+            return String.valueOf(node.raw()).toUpperCase(Locale.ROOT);
+        }
+
+        @Override
+        public void serialize(final Type type, final @Nullable String obj, final ConfigurationNode node) throws SerializationException {
+            node.raw(obj);
+        }
+
+    }
+
     @Test
     void testDefaultsNotAppiledUnlessCopyDefaults() throws SerializationException {
         final ObjectMapper<TestObject> mapper = ObjectMapper.factory().get(TestObject.class);
@@ -121,6 +154,41 @@ public class ObjectMapperTest {
         assertNull(node.node("no-comment").comment());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void testIncrementalLoadSkipsUnchangedFields() throws SerializationException {
+        final ObjectMapper<CommentedObject> mapper = ObjectMapper.factory().get(CommentedObject.class);
+        final ObjectMapper.Mutable.Incremental<CommentedObject> loader = ((ObjectMapper.Mutable<CommentedObject>) mapper).incremental();
+        final CommentedObject obj = new CommentedObject();
+        final BasicConfigurationNode first = BasicConfigurationNode.root(n -> {
+            n.node("commented-key").set("blue");
+            n.node("no-comment").set("someone");
+        });
+
+        assertEquals(2, loader.load(obj, first).size());
+        assertEquals("blue", obj.color);
+
+        // a reloaded tree with one changed value
+        final BasicConfigurationNode second = first.copy();
+        second.node("no-comment").set("someone else");
+        obj.color = "modified in memory";
+
+        final List<? extends FieldData<?, CommentedObject>> changed = loader.load(obj, second);
+        assertEquals(1, changed.size());
+        assertEquals("politician", changed.get(0).name());
+        assertEquals("someone else", obj.politician);
+        assertEquals("modified in memory", obj.color);
+
+        // a different instance is always fully loaded
+        final CommentedObject other = new CommentedObject();
+        assertEquals(2, loader.load(other, second).size());
+        assertEquals("blue", other.color);
+
+        loader.reset();
+        assertEquals(2, loader.load(other, second).size());
+        assertEquals(0, loader.load(other, second.copy()).size());
+    }
+
     @ConfigSerializable
     private static class NonZeroArgConstructorObject {
         @Setting private long key;
@@ -308,4 +376,34 @@ public class ObjectMapperTest {
         assertThrows(SerializationException.class, () -> ObjectMapper.factory().get(ParentInterface.class));
     }
 
+    @ConfigSerializable
+    static class OtherTestObject {
+        String value;
+    }
+
+    @Test
+    void testMappersCached() throws SerializationException {
+        final ObjectMapper.Factory factory = ObjectMapper.factoryBuilder().build();
+        final ObjectMapper<TestObject> mapper = factory.get(TestObject.class);
+        assertSame(mapper, factory.get(TestObject.class));
+        assertSame(mapper, factory.get(TestObject.class));
+
+        final ObjectMapper.Factory.CacheStatistics stats = factory.cacheStatistics();
+        assertEquals(2, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(0, stats.evictions());
+    }
+
+    @Test
+    void testBoundedCacheEvictsLeastRecentlyUsed() throws SerializationException {
+        final ObjectMapper.Factory factory = ObjectMapper.factoryBuilder().maximumCachedMappers(1).build();
+        final ObjectMapper<TestObject> first = factory.get(TestObject.class);
+        factory.get(OtherTestObject.class);
+        assertEquals(1, factory.cacheStatistics().evictions());
+
+        assertNotSame(first, factory.get(TestObject.class));
+        assertEquals(3, factory.cacheStatistics().misses());
+        assertThrows(IllegalArgumentException.class, () -> ObjectMapper.factoryBuilder().maximumCachedMappers(0));
+    }
+
 }
@@ -0,0 +1,168 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.objectmapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.serialize.SerializationException;
+import org.spongepowered.configurate.serialize.TypeSerializer;
+
+public class PolymorphicTypesTest {
+
+    interface Shape {
+    }
+
+    static class Circle implements Shape {
+        Integer radius;
+    }
+
+    static class Square implements Shape {
+        Integer side;
+    }
+
+    static class Triangle implements Shape {
+        Integer base;
+    }
+
+    static boolean initialized;
+
+    static class NotAShape {
+        static {
+            initialized = true;
+        }
+    }
+
+    private static final ObjectMapper.Factory FACTORY = ObjectMapper.factoryBuilder()
+        .addSubtype(Shape.class, Circle.class, "circle")
+        .addSubtype(Shape.class, Square.class, "square")
+        .addSubtype(Shape.class, Square.class, "box")
+        .build();
+
+    @Test
+    void testRegisteredAliases() throws SerializationException {
+        final TypeSerializer<Object> serializer = FACTORY.asTypeSerializer();
+
+        final Object circle = serializer.deserialize(Shape.class, BasicConfigurationNode.root(n -> {
+            n.node("__class__").raw("circle");
+            n.node("radius").raw(3);
+        }));
+        assertTrue(circle instanceof Circle);
+        assertEquals(3, ((Circle) circle).radius);
+
+        // any alias, or the class name, selects a registered subtype
+        assertTrue(serializer.deserialize(Shape.class, BasicConfigurationNode.root(n -> n.node("__class__").raw("box"))) instanceof Square);
+        assertTrue(serializer.deserialize(Shape.class, BasicConfigurationNode.root(n -> {
+            n.node("__class__").raw(Square.class.getName());
+        })) instanceof Square);
+
+        // but unregistered subtypes are rejected
+        assertThrows(SerializationException.class, () -> serializer.deserialize(Shape.class, BasicConfigurationNode.root(n -> {
+            n.node("__class__").raw(Triangle.class.getName());
+        })));
+
+        // and the first alias is written
+        final BasicConfigurationNode target = BasicConfigurationNode.root();
+        serializer.serialize(Shape.class, new Square(), target);
+        assertEquals("square", target.node("__class__").getString());
+
+        // unregistered subtypes could never be loaded again, so they are not saved
+        final BasicConfigurationNode unregistered = BasicConfigurationNode.root();
+        assertThrows(SerializationException.class, () -> serializer.serialize(Shape.class, new Triangle(), unregistered));
+        assertTrue(unregistered.virtual() || unregistered.empty());
+    }
+
+    @Test
+    void testTypeDiscriminator() throws SerializationException {
+        final TypeSerializer<Object> serializer = ObjectMapper.factoryBuilder()
+            .addSubtype(Shape.class, Circle.class, "circle")
+            .typeDiscriminator(Shape.class, "kind")
+            .build()
+            .asTypeSerializer();
+
+        final BasicConfigurationNode node = BasicConfigurationNode.root(n -> {
+            n.node("kind").raw("circle");
+            n.node("radius").raw(5);
+        });
+        assertEquals(5, ((Circle) serializer.deserialize(Shape.class, node)).radius);
+
+        final BasicConfigurationNode target = BasicConfigurationNode.root();
+        serializer.serialize(Shape.class, new Circle(), target);
+        assertEquals("circle", target.node("kind").getString());
+        assertTrue(target.node("__class__").virtual());
+    }
+
+    @Test
+    void testUnregisteredBaseAcceptsClassNames() throws SerializationException {
+        final TypeSerializer<Object> serializer = ObjectMapper.factory().asTypeSerializer();
+        for (int i = 0; i < 2; ++i) { // the second lookup is cached
+            assertTrue(serializer.deserialize(Shape.class, BasicConfigurationNode.root(n -> {
+                n.node("__class__").raw(Triangle.class.getName());
+            })) instanceof Triangle);
+        }
+
+        assertThrows(SerializationException.class, () -> serializer.deserialize(Shape.class, BasicConfigurationNode.root(n -> {
+            n.node("__class__").raw(String.class.getName());
+        })));
+        assertThrows(SerializationException.class, () -> serializer.deserialize(Shape.class, BasicConfigurationNode.root(n -> {
+            n.node("__class__").raw("com.example.DoesNotExist");
+        })));
+    }
+
+    @Test
+    void testRejectedClassesNotInitialized() {
+        final TypeSerializer<Object> serializer = ObjectMapper.factory().asTypeSerializer();
+        assertThrows(SerializationException.class, () -> serializer.deserialize(Shape.class, BasicConfigurationNode.root(n -> {
+            n.node("__class__").raw(NotAShape.class.getName());
+        })));
+        assertFalse(initialized);
+    }
+
+    @Test
+    void testConfiguredClassLoader() throws SerializationException {
+        final ClassLoader visible = new ClassLoader(PolymorphicTypesTest.class.getClassLoader()) {};
+        final TypeSerializer<Object> withTestClasses = ObjectMapper.factoryBuilder()
+            .typeClassLoader(visible)
+            .build()
+            .asTypeSerializer();
+        assertTrue(withTestClasses.deserialize(Shape.class, BasicConfigurationNode.root(n -> {
+            n.node("__class__").raw(Triangle.class.getName());
+        })) instanceof Triangle);
+
+        // only the configured loader is searched, even though the base type's loader could find the class
+        final ClassLoader isolated = new ClassLoader(null) {};
+        final TypeSerializer<Object> withoutTestClasses = ObjectMapper.factoryBuilder()
+            .typeClassLoader(isolated)
+            .build()
+            .asTypeSerializer();
+        assertThrows(SerializationException.class, () -> withoutTestClasses.deserialize(Shape.class, BasicConfigurationNode.root(n -> {
+            n.node("__class__").raw(Triangle.class.getName());
+        })));
+    }
+
+    @Test
+    void testDuplicateAliasesRejected() {
+        assertThrows(IllegalArgumentException.class, () -> ObjectMapper.factoryBuilder()
+            .addSubtype(Shape.class, Circle.class, "shape")
+            .addSubtype(Shape.class, Square.class, "shape"));
+    }
+
+}
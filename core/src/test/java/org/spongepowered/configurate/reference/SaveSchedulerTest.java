@@ -0,0 +1,163 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.reference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.spongepowered.configurate.ConfigurateException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SaveSchedulerTest {
+
+    @Test
+    void testRequestsDuringSaveAreCoalesced() throws InterruptedException, ExecutionException, TimeoutException {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final AtomicInteger saves = new AtomicInteger();
+            final CountDownLatch started = new CountDownLatch(1);
+            final CountDownLatch release = new CountDownLatch(1);
+            final SaveScheduler<Integer> scheduler = new SaveScheduler<>(() -> {
+                final int save = saves.incrementAndGet();
+                if (save == 1) {
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (final InterruptedException ex) {
+                        throw new ConfigurateException(ex);
+                    }
+                }
+                return save;
+            }, executor);
+
+            final CompletableFuture<Integer> first = scheduler.request();
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+
+            // these arrive while the first save is running, so must wait for another write
+            final CompletableFuture<Integer> second = scheduler.request();
+            final CompletableFuture<Integer> third = scheduler.request();
+            assertFalse(second.isDone());
+            release.countDown();
+
+            assertEquals(1, first.get(10, TimeUnit.SECONDS));
+            assertEquals(2, second.get(10, TimeUnit.SECONDS));
+            assertEquals(2, third.get(10, TimeUnit.SECONDS));
+            assertEquals(2, saves.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testDebounce() throws InterruptedException, ExecutionException, TimeoutException {
+        final AtomicInteger saves = new AtomicInteger();
+        final SaveScheduler<Integer> scheduler = new SaveScheduler<>(saves::incrementAndGet, Runnable::run);
+        scheduler.delays(Duration.ofMinutes(1), Duration.ofMinutes(5));
+
+        final CompletableFuture<Integer> first = scheduler.request();
+        final CompletableFuture<Integer> second = scheduler.request();
+        assertFalse(first.isDone());
+        assertEquals(0, saves.get());
+
+        scheduler.flush();
+        assertEquals(1, first.get(10, TimeUnit.SECONDS));
+        assertEquals(1, second.get(10, TimeUnit.SECONDS));
+        assertEquals(1, saves.get());
+    }
+
+    @Test
+    void testMaxDelay() throws InterruptedException, ExecutionException, TimeoutException {
+        final AtomicInteger saves = new AtomicInteger();
+        final SaveScheduler<Integer> scheduler = new SaveScheduler<>(saves::incrementAndGet, Runnable::run);
+        scheduler.delays(Duration.ofMinutes(1), Duration.ofMillis(50));
+
+        assertEquals(1, scheduler.request().get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testFailuresCompleteEveryRequest() {
+        final SaveScheduler<Integer> scheduler = new SaveScheduler<>(() -> {
+            throw new ConfigurateException("oops");
+        }, Runnable::run);
+        scheduler.delays(Duration.ofMinutes(1), Duration.ofMinutes(1));
+
+        final CompletableFuture<Integer> first = scheduler.request();
+        final CompletableFuture<Integer> second = scheduler.request();
+        scheduler.flush();
+
+        assertTrue(first.isCompletedExceptionally());
+        final ExecutionException ex = assertThrows(ExecutionException.class, second::get);
+        assertTrue(ex.getCause() instanceof ConfigurateException);
+    }
+
+    @Test
+    void testErrorsCompleteEveryRequest() {
+        final SaveScheduler<Integer> scheduler = new SaveScheduler<>(() -> {
+            throw new Error("oops");
+        }, Runnable::run);
+        scheduler.delays(Duration.ofMinutes(1), Duration.ofMinutes(1));
+
+        final CompletableFuture<Integer> first = scheduler.request();
+        final CompletableFuture<Integer> second = scheduler.request();
+        assertThrows(Error.class, scheduler::flush);
+
+        assertTrue(first.isCompletedExceptionally());
+        final ExecutionException ex = assertThrows(ExecutionException.class, second::get);
+        assertEquals("oops", ex.getCause().getMessage());
+    }
+
+    @Test
+    void testExecutorNotCalledWhileLocked() throws InterruptedException, ExecutionException, TimeoutException {
+        final AtomicBoolean workerFinished = new AtomicBoolean();
+        // waits for the save to finish, which needs the scheduler's lock
+        final SaveScheduler<Integer> scheduler = new SaveScheduler<>(() -> 1, task -> {
+            final Thread worker = new Thread(task);
+            worker.start();
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (final InterruptedException ex) {
+                throw new RejectedExecutionException(ex);
+            }
+            workerFinished.set(!worker.isAlive());
+        });
+        scheduler.delays(Duration.ZERO, Duration.ZERO);
+
+        assertEquals(1, scheduler.request().get(10, TimeUnit.SECONDS));
+        assertTrue(workerFinished.get());
+    }
+
+    @Test
+    void testRejectsNegativeDelays() {
+        final SaveScheduler<Integer> scheduler = new SaveScheduler<>(() -> 0, Runnable::run);
+        assertThrows(IllegalArgumentException.class, () -> scheduler.delays(Duration.ofSeconds(-1), Duration.ZERO));
+    }
+
+}
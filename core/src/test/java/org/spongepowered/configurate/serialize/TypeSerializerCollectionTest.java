@@ -17,6 +17,9 @@
 package org.spongepowered.configurate.serialize;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import io.leangen.geantyref.TypeToken;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -25,6 +28,10 @@ import org.spongepowered.configurate.BasicConfigurationNode;
 import org.spongepowered.configurate.ConfigurationNode;
 import org.spongepowered.configurate.ConfigurationOptions;
 
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.Arrays;
 import java.util.List;
 
@@ -42,4 +49,61 @@ public class TypeSerializerCollectionTest {
         assertEquals(Arrays.asList("a string", 14), value);
     }
 
+    @Test
+    void testLookupOrderPreserved() {
+        final PassthroughSerializer passthrough = new PassthroughSerializer();
+        final TypeSerializerCollection child = TypeSerializerCollection.defaults().childBuilder()
+            .register(Number.class, passthrough)
+            .build();
+
+        // earlier registrations take precedence over exact matches, in this collection or a parent
+        assertSame(passthrough, child.get(Integer.class));
+        assertSame(passthrough, child.get(int.class));
+        assertSame(Scalars.STRING, child.get(String.class));
+
+        final PassthroughSerializer numbers = new PassthroughSerializer();
+        final TypeSerializerCollection exact = TypeSerializerCollection.builder()
+            .registerExact(Integer.class, passthrough)
+            .register(Number.class, numbers)
+            .build();
+        assertSame(passthrough, exact.get(int.class));
+        assertSame(passthrough, exact.get(Integer.class));
+        assertSame(numbers, exact.get(Long.class));
+    }
+
+    @Test
+    void testMissingSerializer() {
+        final TypeSerializerCollection collection = TypeSerializerCollection.builder()
+            .registerExact(Scalars.STRING)
+            .build();
+
+        assertNull(collection.get(Integer.class));
+        assertNull(collection.get(Integer.class));
+        assertSame(Scalars.STRING, collection.get(String.class));
+    }
+
+    @Test
+    void testLookupDoesNotRetainClass() throws IOException, ClassNotFoundException, InterruptedException {
+        final WeakReference<Class<?>> type = this.lookUpDisposableClass(TypeSerializerCollection.defaults());
+        for (int i = 0; i < 20 && type.get() != null; ++i) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        assertNull(type.get());
+    }
+
+    private WeakReference<Class<?>> lookUpDisposableClass(final TypeSerializerCollection collection)
+            throws IOException, ClassNotFoundException {
+        final URL classes = Disposable.class.getProtectionDomain().getCodeSource().getLocation();
+        try (URLClassLoader loader = new URLClassLoader(new URL[] {classes}, null)) {
+            final Class<?> type = Class.forName(Disposable.class.getName(), false, loader);
+            assertNotSame(Disposable.class, type);
+            assertSame(collection.get(type), collection.get(type));
+            return new WeakReference<>(type);
+        }
+    }
+
+    static class Disposable {
+    }
+
 }
@@ -21,6 +21,7 @@ import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.google.common.collect.ImmutableMap;
@@ -44,8 +45,10 @@ import java.net.URL;
 import java.nio.file.FileSystems;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -566,4 +569,46 @@ public class TypeSerializersTest {
         assertEquals(new File("hello/world.png"), fileSerializer.deserialize(File.class, source));
     }
 
+    @Test
+    void testParallelListDeserialization() throws SerializationException {
+        final TypeToken<List<Integer>> type = new TypeToken<List<Integer>>() {};
+        final BasicConfigurationNode value = BasicConfigurationNode.root(ConfigurationOptions.defaults().parallelDeserializationThreshold(100));
+        final List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; ++i) {
+            value.appendListNode().raw(String.valueOf(i));
+            expected.add(i);
+        }
+
+        assertEquals(expected, serializer(type).deserialize(type.getType(), value));
+    }
+
+    @Test
+    void testParallelMapDeserialization() throws SerializationException {
+        final TypeToken<Map<Integer, String>> type = new TypeToken<Map<Integer, String>>() {};
+        final BasicConfigurationNode value = BasicConfigurationNode.root(ConfigurationOptions.defaults().parallelDeserializationThreshold(100));
+        final Map<Integer, String> expected = new LinkedHashMap<>();
+        for (int i = 1000; i > 0; --i) {
+            value.node(String.valueOf(i)).raw("value " + i);
+            expected.put(i, "value " + i);
+        }
+
+        final Map<Integer, String> deserialized = serializer(type).deserialize(type.getType(), value);
+        assertEquals(expected, deserialized);
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(deserialized.keySet()));
+    }
+
+    @Test
+    void testParallelFailuresAggregated() {
+        final TypeToken<List<Integer>> type = new TypeToken<List<Integer>>() {};
+        final BasicConfigurationNode value = BasicConfigurationNode.root(ConfigurationOptions.defaults().parallelDeserializationThreshold(100));
+        for (int i = 0; i < 500; ++i) {
+            value.appendListNode().raw(i % 100 == 7 ? "not a number" : String.valueOf(i));
+        }
+
+        final SerializationException ex = assertThrows(SerializationException.class, () -> serializer(type).deserialize(type.getType(), value));
+        assertEquals(value.node(7).path(), ex.path());
+        assertEquals(4, ex.getSuppressed().length);
+        assertEquals(value.node(107).path(), ((SerializationException) ex.getSuppressed()[0]).path());
+    }
+
 }
@@ -0,0 +1,70 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ObjectPoolTest {
+
+    @Test
+    void testReleasedObjectsAreReused() {
+        final ObjectPool<Object> pool = ObjectPool.create(Object::new, 2);
+        final Object first = pool.acquire();
+        final Object second = pool.acquire();
+        assertNotSame(first, second);
+
+        pool.release(first);
+        assertEquals(1, pool.idle());
+        assertSame(first, pool.acquire());
+        assertEquals(0, pool.idle());
+    }
+
+    @Test
+    void testCapacityIsBounded() {
+        final AtomicInteger created = new AtomicInteger();
+        final ObjectPool<Object> pool = ObjectPool.create(() -> {
+            created.incrementAndGet();
+            return new Object();
+        }, 1);
+
+        pool.release(pool.acquire());
+        pool.release(new Object());
+        assertEquals(1, pool.idle());
+        assertEquals(1, created.get());
+    }
+
+    @Test
+    void testFailedUseDiscardsObject() {
+        final ObjectPool<Object> pool = ObjectPool.create(Object::new);
+        final Object result = pool.use(value -> value);
+        assertEquals(1, pool.idle());
+
+        assertThrows(IllegalStateException.class, () -> pool.use(value -> {
+            throw new IllegalStateException("broken");
+        }));
+        assertEquals(0, pool.idle());
+        assertNotSame(result, pool.acquire());
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.cbor;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactoryBuilder;
+import org.spongepowered.configurate.jackson.BinaryJacksonConfigurationLoader;
+
+/**
+ * A loader for configurations in the binary
+ * <a href="https://tools.ietf.org/html/rfc7049">CBOR</a> format, using
+ * Jackson for parsing and generation.
+ *
+ * <p>CBOR has the same data model as JSON, but values are stored in a
+ * compact binary form which is much cheaper to parse than text. This makes
+ * it well suited to configurations that are exchanged between programs
+ * rather than edited by hand.</p>
+ *
+ * @since 4.0.0
+ */
+public final class CborConfigurationLoader extends BinaryJacksonConfigurationLoader {
+
+    /**
+     * Creates a new {@link CborConfigurationLoader} builder.
+     *
+     * @return a new builder
+     * @since 4.0.0
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private CborConfigurationLoader(final Builder builder) {
+        super(builder, builder.factoryBuilder().build());
+    }
+
+    /**
+     * Builds a {@link CborConfigurationLoader}.
+     *
+     * @since 4.0.0
+     */
+    public static final class Builder extends BinaryJacksonConfigurationLoader.Builder<Builder, CborConfigurationLoader> {
+        private final CBORFactoryBuilder factory = CBORFactory.builder();
+
+        Builder() {
+        }
+
+        /**
+         * Gets the builder for the {@link CBORFactory} used to configure
+         * the implementation.
+         *
+         * @return the factory builder
+         * @since 4.0.0
+         */
+        public CBORFactoryBuilder factoryBuilder() {
+            return this.factory;
+        }
+
+        @Override
+        public CborConfigurationLoader build() {
+            return new CborConfigurationLoader(this);
+        }
+    }
+
+}
@@ -30,14 +30,20 @@ import org.spongepowered.configurate.ConfigurationOptions;
 import org.spongepowered.configurate.loader.AbstractConfigurationLoader;
 import org.spongepowered.configurate.loader.CommentHandler;
 import org.spongepowered.configurate.loader.CommentHandlers;
+import org.spongepowered.configurate.loader.ParallelArrays;
 import org.spongepowered.configurate.loader.ParsingException;
+import org.spongepowered.configurate.loader.SourceSpans;
 import org.spongepowered.configurate.util.Strings;
 import org.spongepowered.configurate.util.UnmodifiableCollections;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
 import java.io.Writer;
+import java.math.BigInteger;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -49,7 +55,7 @@ import java.util.Set;
 public final class GsonConfigurationLoader extends AbstractConfigurationLoader<BasicConfigurationNode> {
 
     private static final Set<Class<?>> NATIVE_TYPES = UnmodifiableCollections.toSet(
-            Double.class, Float.class, Long.class, Integer.class, Boolean.class, String.class);
+            Double.class, Float.class, Long.class, Integer.class, BigInteger.class, Boolean.class, String.class);
 
     /**
      * Creates a new {@link GsonConfigurationLoader} builder.
@@ -70,6 +76,7 @@ public final class GsonConfigurationLoader extends AbstractConfigurationLoader<B
     public static final class Builder extends AbstractConfigurationLoader.Builder<Builder, GsonConfigurationLoader> {
         private boolean lenient = true;
         private int indent = 2;
+        private @Nullable ParallelArrays parallelArrays;
 
         Builder() { }
 
@@ -120,6 +127,33 @@ public final class GsonConfigurationLoader extends AbstractConfigurationLoader<B
             return this.lenient;
         }
 
+        /**
+         * Sets whether, and where, large arrays should be parsed in parallel.
+         *
+         * <p>Parallel parsing is only used for plain loads. Loads that record
+         * source positions for incremental saves are always sequential.</p>
+         *
+         * @param parallelArrays the parallel parsing settings, or null to
+         *     always parse sequentially
+         * @return this builder (for chaining)
+         * @since 4.0.0
+         */
+        @NonNull
+        public Builder parallelArrays(final @Nullable ParallelArrays parallelArrays) {
+            this.parallelArrays = parallelArrays;
+            return this;
+        }
+
+        /**
+         * Gets the settings for parsing large arrays in parallel.
+         *
+         * @return the parallel parsing settings, if any
+         * @since 4.0.0
+         */
+        public @Nullable ParallelArrays parallelArrays() {
+            return this.parallelArrays;
+        }
+
         @Override
         public @NonNull GsonConfigurationLoader build() {
             this.defaultOptions(o -> o.nativeTypes(NATIVE_TYPES));
@@ -129,15 +163,30 @@ public final class GsonConfigurationLoader extends AbstractConfigurationLoader<B
 
     private final boolean lenient;
     private final String indent;
+    private final @Nullable ParallelArrays parallelArrays;
 
     private GsonConfigurationLoader(final Builder builder) {
         super(builder, new CommentHandler[] {CommentHandlers.DOUBLE_SLASH, CommentHandlers.SLASH_BLOCK, CommentHandlers.HASH});
         this.lenient = builder.lenient();
         this.indent = Strings.repeat(" ", builder.indent());
+        this.parallelArrays = builder.parallelArrays();
     }
 
     @Override
     protected void loadInternal(final BasicConfigurationNode node, final BufferedReader reader) throws ParsingException {
+        if (this.parallelArrays != null) {
+            this.parallelArrays.load(node, reader, (document, target) -> this.load(target, new BufferedReader(document), null), this::parseChunk);
+        } else {
+            this.load(node, reader, null);
+        }
+    }
+
+    @Override
+    protected void loadInternal(final BasicConfigurationNode node, final BufferedReader reader, final SourceSpans spans) throws ParsingException {
+        this.load(node, reader, spans);
+    }
+
+    private void load(final BasicConfigurationNode node, final BufferedReader reader, final @Nullable SourceSpans spans) throws ParsingException {
         try {
             reader.mark(1);
             if (reader.read() == -1) {
@@ -148,15 +197,32 @@ public final class GsonConfigurationLoader extends AbstractConfigurationLoader<B
             throw new ParsingException(node, 0, 0, null, "peeking file size", ex);
         }
 
-        try (JsonReader parser = new JsonReader(reader)) {
+        final @Nullable JsonSpanRecorder recorder = spans == null ? null : JsonSpanRecorder.create(reader, spans);
+        try (JsonReader parser = new JsonReader(recorder == null ? reader : recorder)) {
             parser.setLenient(this.lenient);
-            parseValue(parser, node);
+            parseValue(parser, node, recorder);
         } catch (final IOException ex) {
             throw ParsingException.wrap(node, ex);
         }
     }
 
-    private void parseValue(final JsonReader parser, final BasicConfigurationNode node) throws ParsingException {
+    private void parseChunk(final Reader chunk, final List<@Nullable BasicConfigurationNode> elements) throws IOException {
+        try (JsonReader parser = new JsonReader(chunk)) {
+            parser.setLenient(this.lenient);
+            parser.beginArray();
+            for (@Nullable BasicConfigurationNode element : elements) {
+                if (element == null) {
+                    parser.skipValue();
+                } else {
+                    parseValue(parser, element, null);
+                }
+            }
+            parser.endArray();
+        }
+    }
+
+    private void parseValue(final JsonReader parser, final BasicConfigurationNode node, final @Nullable JsonSpanRecorder spans)
+            throws ParsingException {
         final JsonToken token;
         try {
             token = parser.peek();
@@ -165,13 +231,14 @@ public final class GsonConfigurationLoader extends AbstractConfigurationLoader<B
         }
 
         try {
+            final long start = spans == null ? 0 : spans.valueStart(parser, token);
             switch (token) {
                 case BEGIN_OBJECT:
-                    parseObject(parser, node);
-                    break;
+                    parseObject(parser, node, spans);
+                    return;
                 case BEGIN_ARRAY:
-                    parseArray(parser, node);
-                    break;
+                    parseArray(parser, node, spans);
+                    return;
                 case NUMBER:
                     node.raw(readNumber(parser));
                     break;
@@ -184,12 +251,16 @@ public final class GsonConfigurationLoader extends AbstractConfigurationLoader<B
                 case NULL: // Ignored values
                     parser.nextNull();
                     node.raw(null);
-                    break;
+                    return;
                 case NAME:
-                    break;
+                    return;
                 default:
                     throw newException(parser, node, "Unsupported token type: " + token, null);
             }
+
+            if (spans != null) {
+                spans.scalar(parser, node, token, start);
+            }
         } catch (final JsonParseException | MalformedJsonException ex) {
             throw newException(parser, node, ex.getMessage(), ex.getCause());
         } catch (final ParsingException ex) {
@@ -206,19 +277,18 @@ public final class GsonConfigurationLoader extends AbstractConfigurationLoader<B
     }
 
     private Number readNumber(final JsonReader reader) throws IOException {
-        final String number = reader.nextString();
-        if (number.contains(".")) {
-            return Double.parseDouble(number);
-        }
-        final long nextLong = Long.parseLong(number);
-        final int nextInt = (int) nextLong;
-        if (nextInt == nextLong) {
-            return nextInt;
+        // use the reader's own classification of the number where possible, to avoid creating a string
+        switch (JsonReaderAccess.numberShape(reader)) {
+            case JsonReaderAccess.NUMBER_LONG:
+                return Numbers.narrow(reader.nextLong());
+            case JsonReaderAccess.NUMBER_DECIMAL:
+                return reader.nextDouble();
+            default:
+                return Numbers.parse(reader.nextString());
         }
-        return nextLong;
     }
 
-    private void parseArray(final JsonReader parser, final BasicConfigurationNode node) throws IOException {
+    private void parseArray(final JsonReader parser, final BasicConfigurationNode node, final @Nullable JsonSpanRecorder spans) throws IOException {
         parser.beginArray();
 
         boolean written = false;
@@ -229,17 +299,21 @@ public final class GsonConfigurationLoader extends AbstractConfigurationLoader<B
                 // ensure the type is preserved
                 if (!written) {
                     node.raw(Collections.emptyList());
+                    if (spans != null) {
+                        spans.fixed(node);
+                    }
                 }
                 return;
             } else {
-                parseValue(parser, node.appendListNode());
+                parseValue(parser, node.appendListNode(), spans);
                 written = true;
             }
         }
         throw newException(parser, node, "Reached end of stream with unclosed array!", null);
     }
 
-    private void parseObject(final JsonReader parser, final BasicConfigurationNode node) throws ParsingException, IOException {
+    private void parseObject(final JsonReader parser, final BasicConfigurationNode node, final @Nullable JsonSpanRecorder spans)
+            throws ParsingException, IOException {
         parser.beginObject();
 
         boolean written = false;
@@ -252,10 +326,13 @@ public final class GsonConfigurationLoader extends AbstractConfigurationLoader<B
                     // ensure the type is preserved
                     if (!written) {
                         node.raw(Collections.emptyMap());
+                        if (spans != null) {
+                            spans.fixed(node);
+                        }
                     }
                     return;
                 case NAME:
-                    parseValue(parser, node.node(parser.nextName()));
+                    parseValue(parser, node.node(parser.nextName()), spans);
                     written = true;
                     break;
                 default:
@@ -274,7 +351,7 @@ public final class GsonConfigurationLoader extends AbstractConfigurationLoader<B
             try (JsonWriter generator = new JsonWriter(writer)) {
                 generator.setIndent(this.indent);
                 generator.setLenient(this.lenient);
-                node.visit(GsonVisitor.INSTANCE.get(), generator);
+                GsonVisitor.POOL.use(visitor -> node.visit(visitor, generator));
                 writer.write(SYSTEM_LINE_SEPARATOR); // Jackson doesn't add a newline at the end of files by default
             }
         } catch (final IOException ex) {
@@ -282,6 +359,18 @@ public final class GsonConfigurationLoader extends AbstractConfigurationLoader<B
         }
     }
 
+    @Override
+    protected @Nullable String renderScalar(final ConfigurationNode node) {
+        final StringWriter writer = new StringWriter();
+        try (JsonWriter generator = new JsonWriter(writer)) {
+            generator.setLenient(this.lenient);
+            GsonVisitor.POOL.use(visitor -> node.visit(visitor, generator));
+        } catch (final IOException ex) {
+            return null;
+        }
+        return writer.toString();
+    }
+
     @Override
     public BasicConfigurationNode createNode(final ConfigurationOptions options) {
         return BasicConfigurationNode.root(options.nativeTypes(NATIVE_TYPES));
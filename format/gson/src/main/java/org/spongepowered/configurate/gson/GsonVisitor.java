@@ -24,12 +24,14 @@ import org.spongepowered.configurate.ConfigurateException;
 import org.spongepowered.configurate.ConfigurationNode;
 import org.spongepowered.configurate.ConfigurationVisitor;
 import org.spongepowered.configurate.transformation.NodePath;
+import org.spongepowered.configurate.util.ObjectPool;
 
 import java.io.IOException;
+import java.math.BigInteger;
 
 final class GsonVisitor implements ConfigurationVisitor<JsonWriter, Void, ConfigurateException> {
 
-    static final ThreadLocal<GsonVisitor> INSTANCE = ThreadLocal.withInitial(GsonVisitor::new);
+    static final ObjectPool<GsonVisitor> POOL = ObjectPool.create(GsonVisitor::new);
 
     private @Nullable ConfigurationNode start;
 
@@ -91,14 +93,18 @@ final class GsonVisitor implements ConfigurationVisitor<JsonWriter, Void, Config
         try {
             if (value == null) {
                 writer.nullValue();
-            } else if (value instanceof Double) {
-                writer.value((Double) value);
-            } else if (value instanceof Float) {
-                writer.value((Float) value);
-            } else if (value instanceof Long) {
-                writer.value((Long) value);
-            } else if (value instanceof Integer) {
-                writer.value((Integer) value);
+            } else if (value instanceof Integer || value instanceof Long) {
+                final long number = ((Number) value).longValue();
+                final @Nullable String rendered = Numbers.rendered(number);
+                if (rendered != null) {
+                    writer.jsonValue(rendered);
+                } else {
+                    writer.value(number);
+                }
+            } else if (value instanceof Double || value instanceof Float || value instanceof BigInteger) {
+                // value(double) rejects NaN and infinities on older gson versions even when lenient,
+                // and widening a float to double would add digits
+                writer.value((Number) value);
             } else if (value instanceof Boolean) {
                 writer.value((Boolean) value);
             } else {
@@ -26,19 +26,60 @@ import java.lang.reflect.Field;
 final class JsonReaderAccess {
 
     static final int VALUE_UNKNOWN = -1;
+
+    /**
+     * The shape of the next number could not be determined.
+     */
+    static final int NUMBER_UNKNOWN = 0;
+
+    /**
+     * The next number is an integer that fits in a {@code long}, and has
+     * already been parsed by the reader.
+     */
+    static final int NUMBER_LONG = 1;
+
+    /**
+     * The next number has a fraction or exponent.
+     */
+    static final int NUMBER_DECIMAL = 2;
+
+    /**
+     * The next number is an integer that the reader did not parse itself,
+     * such as one too large for a {@code long}, or negative zero.
+     */
+    static final int NUMBER_INTEGER = 3;
+
     private static final @Nullable MethodHandle JSON_READER_POS;
     private static final @Nullable MethodHandle JSON_READER_LINE_NUMBER;
     private static final @Nullable MethodHandle JSON_READER_LINE_START;
+    private static final @Nullable MethodHandle JSON_READER_LIMIT;
+    private static final @Nullable MethodHandle JSON_READER_BUFFER;
+    private static final @Nullable MethodHandle JSON_READER_PEEKED;
+    private static final @Nullable MethodHandle JSON_READER_PEEKED_NUMBER_LENGTH;
+    private static final int PEEKED_LONG;
+    private static final int PEEKED_NUMBER;
 
     static {
         final MethodHandles.Lookup lookup = MethodHandles.lookup();
         @Nullable MethodHandle pos = null;
         @Nullable MethodHandle lineNumber = null;
         @Nullable MethodHandle lineStart = null;
+        @Nullable MethodHandle limit = null;
+        @Nullable MethodHandle buffer = null;
+        @Nullable MethodHandle peeked = null;
+        @Nullable MethodHandle peekedNumberLength = null;
+        int peekedLong = VALUE_UNKNOWN;
+        int peekedNumber = VALUE_UNKNOWN;
         try {
             pos = getter(lookup, JsonReader.class, "pos", int.class);
             lineNumber = getter(lookup, JsonReader.class, "lineNumber", int.class);
             lineStart = getter(lookup, JsonReader.class, "lineStart", int.class);
+            limit = getter(lookup, JsonReader.class, "limit", int.class);
+            buffer = getter(lookup, JsonReader.class, "buffer", char[].class);
+            peeked = getter(lookup, JsonReader.class, "peeked", int.class);
+            peekedNumberLength = getter(lookup, JsonReader.class, "peekedNumberLength", int.class);
+            peekedLong = constant(JsonReader.class, "PEEKED_LONG");
+            peekedNumber = constant(JsonReader.class, "PEEKED_NUMBER");
         } catch (NoSuchFieldException | IllegalAccessException ignore) {
             // ignore, we won't have this info available
             // wouldn't it be nice if gson added actual api?
@@ -47,6 +88,12 @@ final class JsonReaderAccess {
         JSON_READER_POS = pos;
         JSON_READER_LINE_NUMBER = lineNumber;
         JSON_READER_LINE_START = lineStart;
+        JSON_READER_LIMIT = limit;
+        JSON_READER_BUFFER = buffer;
+        JSON_READER_PEEKED = peeked;
+        JSON_READER_PEEKED_NUMBER_LENGTH = peekedNumberLength;
+        PEEKED_LONG = peekedLong;
+        PEEKED_NUMBER = peekedNumber;
     }
 
     private static @Nullable MethodHandle getter(final MethodHandles.Lookup lookup, final Class<?> clazz, final String name, final Class<?> type)
@@ -59,9 +106,25 @@ final class JsonReaderAccess {
         return lookup.unreflectGetter(field);
     }
 
+    private static int constant(final Class<?> clazz, final String name) throws IllegalAccessException, NoSuchFieldException {
+        final Field field = clazz.getDeclaredField(name);
+        field.setAccessible(true);
+        return field.getInt(null);
+    }
+
     private JsonReaderAccess() {
     }
 
+    /**
+     * Get whether the reader's position within its source can be determined.
+     *
+     * @return whether {@link #offset(JsonReader, long)} and
+     *      {@link #previousChar(JsonReader)} are available
+     */
+    static boolean offsetsAvailable() {
+        return JSON_READER_POS != null && JSON_READER_LIMIT != null && JSON_READER_BUFFER != null;
+    }
+
     static int lineNumber(final JsonReader reader) {
         if (JSON_READER_LINE_NUMBER == null) {
             return VALUE_UNKNOWN;
@@ -92,4 +155,92 @@ final class JsonReaderAccess {
         }
     }
 
+    /**
+     * Get the offset of the reader's current position in its source.
+     *
+     * @param reader the json reader
+     * @param charsRead the number of characters the reader has read from
+     *      its source
+     * @return the offset, or {@link #VALUE_UNKNOWN}
+     */
+    static long offset(final JsonReader reader, final long charsRead) {
+        if (JSON_READER_POS == null || JSON_READER_LIMIT == null) {
+            return VALUE_UNKNOWN;
+        }
+
+        try {
+            final int pos = (int) JSON_READER_POS.invoke(reader);
+            final int limit = (int) JSON_READER_LIMIT.invoke(reader);
+            return charsRead - limit + pos;
+        } catch (final Error err) {
+            throw err;
+        } catch (final Throwable thr) {
+            return VALUE_UNKNOWN;
+        }
+    }
+
+    /**
+     * Get the character immediately before the reader's current position.
+     *
+     * @param reader the json reader
+     * @return the previous character, or {@link #VALUE_UNKNOWN} if it is no
+     *      longer buffered
+     */
+    static int previousChar(final JsonReader reader) {
+        if (JSON_READER_POS == null || JSON_READER_BUFFER == null) {
+            return VALUE_UNKNOWN;
+        }
+
+        try {
+            final int pos = (int) JSON_READER_POS.invoke(reader);
+            final char[] buffer = (char[]) JSON_READER_BUFFER.invoke(reader);
+            return pos > 0 ? buffer[pos - 1] : VALUE_UNKNOWN;
+        } catch (final Error err) {
+            throw err;
+        } catch (final Throwable thr) {
+            return VALUE_UNKNOWN;
+        }
+    }
+
+    /**
+     * Determine the shape of the number the reader has just peeked, from
+     * the reader's own classification and buffered text.
+     *
+     * <p>This lets numbers be read with {@link JsonReader#nextLong()} or
+     * {@link JsonReader#nextDouble()} rather than going through
+     * a string.</p>
+     *
+     * @param reader the json reader, which must have peeked a number
+     * @return the number shape, or {@link #NUMBER_UNKNOWN}
+     */
+    static int numberShape(final JsonReader reader) {
+        if (JSON_READER_PEEKED == null || JSON_READER_PEEKED_NUMBER_LENGTH == null || JSON_READER_POS == null || JSON_READER_BUFFER == null) {
+            return NUMBER_UNKNOWN;
+        }
+
+        try {
+            final int peeked = (int) JSON_READER_PEEKED.invoke(reader);
+            if (peeked == PEEKED_LONG) {
+                return NUMBER_LONG;
+            } else if (peeked != PEEKED_NUMBER) {
+                return NUMBER_UNKNOWN;
+            }
+
+            final int pos = (int) JSON_READER_POS.invoke(reader);
+            final int length = (int) JSON_READER_PEEKED_NUMBER_LENGTH.invoke(reader);
+            final char[] buffer = (char[]) JSON_READER_BUFFER.invoke(reader);
+            for (int i = pos; i < pos + length; ++i) {
+                final char c = buffer[i];
+                if (c == '.' || c == 'e' || c == 'E') {
+                    return NUMBER_DECIMAL;
+                }
+            }
+            return NUMBER_INTEGER;
+        } catch (final Error err) {
+            throw err;
+        } catch (final Throwable thr) {
+            return NUMBER_UNKNOWN;
+        }
+    }
+
 }
@@ -0,0 +1,156 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.gson;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.loader.SourceSpans;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Records the locations of values read by a {@link JsonReader}.
+ *
+ * <p>The reader must read from this recorder, so the number of characters it
+ * has buffered is known.</p>
+ */
+final class JsonSpanRecorder extends FilterReader {
+
+    private final SourceSpans spans;
+    private long read;
+
+    /**
+     * Create a recorder if the positions of a reader can be determined.
+     *
+     * @param source the source to read from
+     * @param spans the span collector
+     * @return a new recorder, or null if spans can't be recorded
+     */
+    static @Nullable JsonSpanRecorder create(final Reader source, final SourceSpans spans) {
+        if (!JsonReaderAccess.offsetsAvailable()) {
+            spans.invalidate();
+            return null;
+        }
+        return new JsonSpanRecorder(source, spans);
+    }
+
+    private JsonSpanRecorder(final Reader in, final SourceSpans spans) {
+        super(in);
+        this.spans = spans;
+    }
+
+    @Override
+    public int read() throws IOException {
+        final int result = this.in.read();
+        if (result != -1) {
+            this.read++;
+        }
+        return result;
+    }
+
+    @Override
+    public int read(final char[] cbuf, final int off, final int len) throws IOException {
+        final int count = this.in.read(cbuf, off, len);
+        if (count > 0) {
+            this.read += count;
+        }
+        return count;
+    }
+
+    @Override
+    public long skip(final long n) throws IOException {
+        final long skipped = this.in.skip(n);
+        this.read += skipped;
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void mark(final int readAheadLimit) throws IOException {
+        throw new IOException("mark() not supported");
+    }
+
+    @Override
+    public void reset() throws IOException {
+        throw new IOException("reset() not supported");
+    }
+
+    /**
+     * Determine the start of the value that has just been peeked.
+     *
+     * <p>Depending on the type of token, the reader may have already
+     * consumed part or all of the value's text. Any ambiguity is resolved
+     * in {@link #scalar(JsonReader, ConfigurationNode, JsonToken, long)}
+     * once the value has been read.</p>
+     *
+     * @param reader the json reader
+     * @param token the peeked token
+     * @return the start offset of the value
+     */
+    long valueStart(final JsonReader reader, final JsonToken token) {
+        final long offset = JsonReaderAccess.offset(reader, this.read);
+        if (token == JsonToken.STRING) {
+            // quoted strings have had their opening quote consumed
+            final int previous = JsonReaderAccess.previousChar(reader);
+            if (previous == '"' || previous == '\'') {
+                return offset - 1;
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * Record the span of a scalar value that has just been read.
+     *
+     * @param reader the json reader
+     * @param node the node the value was read into
+     * @param token the value's token type
+     * @param start the start from {@link #valueStart(JsonReader, JsonToken)}
+     */
+    void scalar(final JsonReader reader, final ConfigurationNode node, final JsonToken token, final long start) {
+        final long end = JsonReaderAccess.offset(reader, this.read);
+        final @Nullable Object value = node.rawScalar();
+        if (token == JsonToken.NUMBER && end == start && value != null) {
+            // integers are fully consumed while peeking, and have
+            // no alternate representations
+            this.spans.scalar(node, end - value.toString().length(), end);
+        } else if (token == JsonToken.BOOLEAN && value != null) {
+            // keywords are fully consumed while peeking
+            this.spans.scalar(node, end - value.toString().length(), end);
+        } else {
+            this.spans.scalar(node, start, end);
+        }
+    }
+
+    /**
+     * Record a value whose text cannot be replaced.
+     *
+     * @param node the node holding the value
+     */
+    void fixed(final ConfigurationNode node) {
+        this.spans.fixed(node);
+    }
+
+}
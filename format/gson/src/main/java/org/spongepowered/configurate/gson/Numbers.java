@@ -0,0 +1,98 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.gson;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.math.BigInteger;
+
+/**
+ * Conversions between JSON number text and boxed numbers.
+ *
+ * <p>Small integers are very common in configurations, so both their boxed
+ * values and their string forms are cached.</p>
+ */
+final class Numbers {
+
+    private static final int CACHE_LOW = -128;
+    private static final int CACHE_HIGH = 1024;
+    private static final Integer[] BOXED = new Integer[CACHE_HIGH - CACHE_LOW];
+    private static final String[] RENDERED = new String[CACHE_HIGH - CACHE_LOW];
+
+    static {
+        for (int i = CACHE_LOW; i < CACHE_HIGH; ++i) {
+            BOXED[i - CACHE_LOW] = i;
+            RENDERED[i - CACHE_LOW] = Integer.toString(i);
+        }
+    }
+
+    private Numbers() {
+    }
+
+    /**
+     * Box an integer value in the narrowest type that can hold it.
+     *
+     * @param value the value
+     * @return an {@link Integer} or {@link Long}
+     */
+    static Number narrow(final long value) {
+        if (value >= CACHE_LOW && value < CACHE_HIGH) {
+            return BOXED[(int) value - CACHE_LOW];
+        }
+        final int intValue = (int) value;
+        if (intValue == value) {
+            return intValue;
+        }
+        return value;
+    }
+
+    /**
+     * Parse the text of a JSON number.
+     *
+     * <p>Numbers with a fraction or exponent become {@link Double Doubles}.
+     * Integers are narrowed, and become {@link BigInteger BigIntegers} if
+     * they do not fit in a {@code long}.</p>
+     *
+     * @param number the number text
+     * @return the parsed number
+     * @throws NumberFormatException if the text is not a number
+     */
+    static Number parse(final String number) {
+        if (number.indexOf('.') != -1 || number.indexOf('e') != -1 || number.indexOf('E') != -1) {
+            return Double.parseDouble(number);
+        }
+        try {
+            return narrow(Long.parseLong(number));
+        } catch (final NumberFormatException ex) {
+            return new BigInteger(number);
+        }
+    }
+
+    /**
+     * Get the cached string form of a small integer.
+     *
+     * @param value the value
+     * @return the string form, or null if the value is not cached
+     */
+    static @Nullable String rendered(final long value) {
+        if (value >= CACHE_LOW && value < CACHE_HIGH) {
+            return RENDERED[(int) value - CACHE_LOW];
+        }
+        return null;
+    }
+
+}
@@ -30,6 +30,7 @@ import org.spongepowered.configurate.ConfigurationNode;
 import org.spongepowered.configurate.loader.AtomicFiles;
 import org.spongepowered.configurate.loader.ConfigurationLoader;
 import org.spongepowered.configurate.loader.HeaderMode;
+import org.spongepowered.configurate.loader.ParallelArrays;
 import org.spongepowered.configurate.loader.ParsingException;
 import org.spongepowered.configurate.transformation.NodePath;
 import org.spongepowered.configurate.util.MapFactories;
@@ -41,6 +42,7 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.math.BigInteger;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -120,6 +122,22 @@ public class GsonConfigurationLoaderTest {
         assertEquals(TEST_LONG_VAL, ret.node("long-num").raw());
     }
 
+    @Test
+    void testRoundtrippingNonFiniteDoubles(final @TempDir Path tempDir) throws ConfigurateException {
+        final Path tempFile = tempDir.resolve("non-finite.json");
+        final GsonConfigurationLoader loader = GsonConfigurationLoader.builder().path(tempFile).build();
+        final BasicConfigurationNode start = loader.createNode();
+        start.node("nan").raw(Double.NaN);
+        start.node("positive").raw(Double.POSITIVE_INFINITY);
+        start.node("negative").raw(Double.NEGATIVE_INFINITY);
+        loader.save(start);
+
+        final BasicConfigurationNode ret = loader.load();
+        assertTrue(Double.isNaN(ret.node("nan").getDouble()));
+        assertEquals(Double.POSITIVE_INFINITY, ret.node("positive").getDouble());
+        assertEquals(Double.NEGATIVE_INFINITY, ret.node("negative").getDouble());
+    }
+
     @Test
     void testPrimitiveTypes(final @TempDir Path tempDir) throws ConfigurateException {
         final Path tempFile = tempDir.resolve("text6.txt");
@@ -151,6 +169,62 @@ public class GsonConfigurationLoaderTest {
         assertEquals(stval, ret.node("string").raw());
     }
 
+    @Test
+    void testIncrementalSavePatchesChangedValues(final @TempDir Path tempDir) throws IOException, ConfigurateException {
+        final Path tempFile = tempDir.resolve("incremental.json");
+        final String original = "{\n"
+            + "  \"name\":   \"first\",\n"
+            + "  \"limits\": {\"max\": 25, \"ratio\": 0.5, \"strict\": false},\n"
+            + "  \"tags\": [ \"a\", \"b\" ],\n"
+            + "  \"empty\": {}\n"
+            + "}\n";
+        Files.write(tempFile, original.getBytes(StandardCharsets.UTF_8));
+
+        final ConfigurationLoader<BasicConfigurationNode> loader = GsonConfigurationLoader.builder()
+                .path(tempFile)
+                .incrementalSaves(true)
+                .build();
+
+        final BasicConfigurationNode node = loader.load();
+        node.node("name").set("second \"value\"");
+        node.node("limits", "max").set(1000);
+        node.node("limits", "strict").set(true);
+        node.node("tags", 1).set("c");
+        loader.save(node);
+
+        final String expected = "{\n"
+            + "  \"name\":   \"second \\\"value\\\"\",\n"
+            + "  \"limits\": {\"max\": 1000, \"ratio\": 0.5, \"strict\": true},\n"
+            + "  \"tags\": [ \"a\", \"c\" ],\n"
+            + "  \"empty\": {}\n"
+            + "}\n";
+        assertEquals(expected, new String(Files.readAllBytes(tempFile), StandardCharsets.UTF_8));
+
+        // spans are updated by the patched save
+        node.node("limits", "ratio").set(0.75);
+        loader.save(node);
+        assertEquals(expected.replace("0.5", "0.75"), new String(Files.readAllBytes(tempFile), StandardCharsets.UTF_8));
+        assertEquals(node, loader.load());
+    }
+
+    @Test
+    void testIncrementalSaveRendersStructuralChanges(final @TempDir Path tempDir) throws IOException, ConfigurateException {
+        final Path tempFile = tempDir.resolve("incremental-structure.json");
+        Files.write(tempFile, "{\"a\":  1}".getBytes(StandardCharsets.UTF_8));
+
+        final ConfigurationLoader<BasicConfigurationNode> loader = GsonConfigurationLoader.builder()
+                .path(tempFile)
+                .incrementalSaves(true)
+                .build();
+
+        final BasicConfigurationNode node = loader.load();
+        node.node("b").set(2);
+        loader.save(node);
+
+        assertEquals(node, loader.load());
+        assertTrue(new String(Files.readAllBytes(tempFile), StandardCharsets.UTF_8).contains("\"b\": 2"));
+    }
+
     @Test
     void testWriteNonRootNode() throws ConfigurateException {
         // https://github.com/SpongePowered/Configurate/issues/163
@@ -187,4 +261,60 @@ public class GsonConfigurationLoaderTest {
         assertTrue(ex.rawMessage().contains("Unterminated string"));
     }
 
+    @Test
+    void testParallelArrayMatchesSequential() throws ConfigurateException {
+        final StringBuilder document = new StringBuilder("# header\n\n{\"before\": 1, \"entries\": [\n");
+        for (int i = 0; i < 3000; ++i) {
+            if (i > 0) {
+                document.append(",\n");
+            }
+            if (i % 100 == 50) {
+                document.append("  null,\n");
+            }
+            document.append("  {\"id\": ").append(i).append(", \"name\": \"entry [").append(i).append("\", \"tags\": [1, 2.5, true]}");
+        }
+        document.append("\n], \"after\": {\"done\": true}}\n");
+
+        final BasicConfigurationNode expected = GsonConfigurationLoader.builder()
+                .source(() -> new BufferedReader(new StringReader(document.toString())))
+                .build()
+                .load();
+        final BasicConfigurationNode actual = GsonConfigurationLoader.builder()
+                .source(() -> new BufferedReader(new StringReader(document.toString())))
+                .parallelArrays(ParallelArrays.at(NodePath.path("entries")).threshold(0))
+                .build()
+                .load();
+
+        assertEquals(3000, actual.node("entries").childrenList().size());
+        assertEquals("entry [2999", actual.node("entries", 2999, "name").getString());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void testNumberShapes() throws ConfigurateException {
+        final StringWriter output = new StringWriter();
+        final GsonConfigurationLoader loader = GsonConfigurationLoader.builder()
+                .source(() -> new BufferedReader(new StringReader(
+                    "{\"small\": 12, \"int\": 123456, \"long\": 3000000000, \"big\": 12345678901234567890,"
+                    + " \"negative-zero\": -0, \"decimal\": 1.5, \"exponent\": 1e3, \"whole-decimal\": 2.0}")))
+                .sink(() -> new BufferedWriter(output))
+                .indent(0)
+                .build();
+        final BasicConfigurationNode node = loader.load();
+
+        assertEquals(12, node.node("small").raw());
+        assertEquals(123456, node.node("int").raw());
+        assertEquals(3000000000L, node.node("long").raw());
+        assertEquals(new BigInteger("12345678901234567890"), node.node("big").raw());
+        assertEquals(0, node.node("negative-zero").raw());
+        assertEquals(1.5d, node.node("decimal").raw());
+        assertEquals(1000d, node.node("exponent").raw());
+        assertEquals(2d, node.node("whole-decimal").raw());
+
+        node.node("float").raw(0.1f);
+        loader.save(node);
+        assertEquals("{\"small\":12,\"int\":123456,\"long\":3000000000,\"big\":12345678901234567890,\"negative-zero\":0,"
+                + "\"decimal\":1.5,\"exponent\":1000.0,\"whole-decimal\":2.0,\"float\":0.1}", output.toString().trim());
+    }
+
 }
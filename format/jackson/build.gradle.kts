@@ -2,6 +2,7 @@ import org.spongepowered.configurate.build.core
 
 plugins {
     id("org.spongepowered.configurate.build.component")
+    `java-test-fixtures`
 }
 
 description = "JSON format loader for Configurate, implemented using Jackson"
@@ -16,6 +17,10 @@ dependencies {
         }
     }
     testImplementation("com.google.guava:guava:latest.release")
+
+    // shared by the binary format modules
+    val junitVersion: String by project
+    testFixturesApi("org.junit.jupiter:junit-jupiter-api:$junitVersion")
 }
 
 indra {
@@ -0,0 +1,363 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.jackson;
+
+import static java.util.Objects.requireNonNull;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.ConfigurationOptions;
+import org.spongepowered.configurate.loader.AtomicFiles;
+import org.spongepowered.configurate.loader.ConfigurationLoader;
+import org.spongepowered.configurate.loader.ParsingException;
+import org.spongepowered.configurate.reference.ConfigurationReference;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+import java.util.function.UnaryOperator;
+
+/**
+ * A loader for binary formats supported by one of Jackson's
+ * {@link JsonFactory} implementations.
+ *
+ * <p>Binary formats share the data model of JSON, so documents are read and
+ * written the same way as by the {@link JacksonConfigurationLoader}, with
+ * the addition that {@code byte[]} values are stored directly rather than
+ * as base64-encoded strings. Data is read from {@link InputStream}s and
+ * written to {@link OutputStream}s, without any character decoding.</p>
+ *
+ * <p>Binary formats have no concept of comments, so no header will be read
+ * or written.</p>
+ *
+ * @since 4.0.0
+ */
+public abstract class BinaryJacksonConfigurationLoader implements ConfigurationLoader<BasicConfigurationNode> {
+
+    private final JsonFactory factory;
+    private final @Nullable Callable<InputStream> source;
+    private final @Nullable Callable<OutputStream> sink;
+    private final ConfigurationOptions defaultOptions;
+
+    /**
+     * Create a loader instance from a builder.
+     *
+     * @param builder the user-configured builder
+     * @param factory the factory for the binary format
+     * @since 4.0.0
+     */
+    protected BinaryJacksonConfigurationLoader(final Builder<?, ?> builder, final JsonFactory factory) {
+        this.factory = factory;
+        this.factory.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+        this.factory.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.source = builder.source();
+        this.sink = builder.sink();
+        this.defaultOptions = builder.defaultOptions().nativeTypes(JacksonConfigurationLoader.NATIVE_TYPES);
+    }
+
+    @Override
+    public BasicConfigurationNode load(final ConfigurationOptions options) throws ParsingException {
+        if (this.source == null) {
+            throw new ParsingException(ParsingException.UNKNOWN_POS, ParsingException.UNKNOWN_POS, "", "No source present to read from!", null);
+        }
+        final BasicConfigurationNode node = this.createNode(options);
+        try (InputStream stream = this.source.call();
+             JsonParser parser = this.factory.createParser(stream)) {
+            if (parser.nextToken() != null) { // an empty stream is an empty document
+                JacksonConfigurationLoader.parseValue(parser, node, null);
+            }
+            return node;
+        } catch (final ParsingException ex) {
+            throw ex;
+        } catch (final StreamReadException ex) {
+            throw JacksonConfigurationLoader.newException(node, ex.getLocation(), null, ex.getMessage(), ex.getCause());
+        } catch (final FileNotFoundException | NoSuchFileException ex) {
+            // Squash -- there's nothing to read
+            return node;
+        } catch (final IOException ex) {
+            throw ParsingException.wrap(node, ex);
+        } catch (final Exception ex) {
+            throw new ParsingException(node, ParsingException.UNKNOWN_POS, ParsingException.UNKNOWN_POS, null,
+                "Unknown error occurred while loading", ex);
+        }
+    }
+
+    @Override
+    public void save(final ConfigurationNode node) throws ConfigurateException {
+        if (this.sink == null) {
+            throw new ConfigurateException(node, "No sink present to write to!");
+        }
+        try {
+            final OutputStream stream = this.sink.call();
+            try {
+                try (JsonGenerator generator = this.factory.createGenerator(stream)) {
+                    // the stream is closed here instead, so it can be discarded if writing fails
+                    generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                    JacksonVisitor.POOL.use(visitor -> node.visit(visitor, generator));
+                }
+            } catch (final Exception ex) {
+                // a partially written file must never replace the original
+                try {
+                    AtomicFiles.discard(stream);
+                } catch (final IOException closeEx) {
+                    ex.addSuppressed(closeEx);
+                }
+                throw ex;
+            }
+            stream.close();
+        } catch (final ConfigurateException ex) {
+            throw ex;
+        } catch (final IOException ex) {
+            throw ConfigurateException.wrap(node, ex);
+        } catch (final Exception ex) {
+            throw new ConfigurateException(node, ex);
+        }
+    }
+
+    @Override
+    public BasicConfigurationNode createNode(final ConfigurationOptions options) {
+        return BasicConfigurationNode.root(options.nativeTypes(JacksonConfigurationLoader.NATIVE_TYPES));
+    }
+
+    @Override
+    public ConfigurationReference<BasicConfigurationNode> loadToReference() throws ConfigurateException {
+        return ConfigurationReference.fixed(this);
+    }
+
+    @Override
+    public ConfigurationOptions defaultOptions() {
+        return this.defaultOptions;
+    }
+
+    @Override
+    public final boolean canLoad() {
+        return this.source != null;
+    }
+
+    @Override
+    public final boolean canSave() {
+        return this.sink != null;
+    }
+
+    /**
+     * A builder for loaders of binary formats.
+     *
+     * @param <T> the builder's own type (for chaining using generic types)
+     * @param <L> the type of loader produced
+     * @since 4.0.0
+     */
+    public abstract static class Builder<T extends Builder<T, L>, L extends BinaryJacksonConfigurationLoader> {
+        private @Nullable Callable<InputStream> source;
+        private @Nullable Callable<OutputStream> sink;
+        private @Nullable Path atomicPath;
+        private ConfigurationOptions defaultOptions = ConfigurationOptions.defaults();
+        private AtomicFiles.WriteOptions atomicWriteOptions = AtomicFiles.WriteOptions.defaults();
+
+        /**
+         * Create a new builder.
+         *
+         * @since 4.0.0
+         */
+        protected Builder() {}
+
+        @SuppressWarnings("unchecked")
+        private T self() {
+            return (T) this;
+        }
+
+        /**
+         * Sets the sink and source of the resultant loader to the given file.
+         *
+         * @param file the configuration file
+         * @return this builder (for chaining)
+         * @see #path(Path)
+         * @since 4.0.0
+         */
+        public T file(final File file) {
+            return this.path(requireNonNull(file, "file").toPath());
+        }
+
+        /**
+         * Sets the sink and source of the resultant loader to the given path.
+         *
+         * <p>The {@link #sink() sink} is defined using {@link AtomicFiles},
+         * with the {@link #atomicWriteOptions() atomic write options} of
+         * this builder.</p>
+         *
+         * @param path the path of the configuration file
+         * @return this builder (for chaining)
+         * @since 4.0.0
+         */
+        public T path(final Path path) {
+            final Path absPath = requireNonNull(path, "path").toAbsolutePath();
+            this.source = () -> new BufferedInputStream(Files.newInputStream(absPath));
+            this.sink = AtomicFiles.atomicOutputStreamFactory(absPath, this.atomicWriteOptions);
+            this.atomicPath = absPath;
+            return this.self();
+        }
+
+        /**
+         * Sets the source of the resultant loader to the given URL.
+         *
+         * @param url the URL of the source
+         * @return this builder (for chaining)
+         * @since 4.0.0
+         */
+        public T url(final URL url) {
+            requireNonNull(url, "url");
+            this.source = () -> new BufferedInputStream(url.openConnection().getInputStream());
+            return this.self();
+        }
+
+        /**
+         * Sets the source of the resultant loader.
+         *
+         * <p>The loader does not buffer its input, so sources which are slow
+         * to read from should provide a buffered stream.</p>
+         *
+         * @param source the source
+         * @return this builder (for chaining)
+         * @since 4.0.0
+         */
+        public T source(final @Nullable Callable<InputStream> source) {
+            this.source = source;
+            return this.self();
+        }
+
+        /**
+         * Gets the source to be used by the resultant loader.
+         *
+         * @return the source
+         * @since 4.0.0
+         */
+        public @Nullable Callable<InputStream> source() {
+            return this.source;
+        }
+
+        /**
+         * Sets the sink of the resultant loader.
+         *
+         * @param sink the sink
+         * @return this builder (for chaining)
+         * @since 4.0.0
+         */
+        public T sink(final @Nullable Callable<OutputStream> sink) {
+            this.sink = sink;
+            this.atomicPath = null;
+            return this.self();
+        }
+
+        /**
+         * Gets the sink to be used by the resultant loader.
+         *
+         * @return the sink
+         * @since 4.0.0
+         */
+        public @Nullable Callable<OutputStream> sink() {
+            return this.sink;
+        }
+
+        /**
+         * Sets the options used when saving to a file set with
+         * {@link #path(Path)} or {@link #file(File)}.
+         *
+         * @param options the options to use
+         * @return this builder (for chaining)
+         * @since 4.0.0
+         */
+        public T atomicWriteOptions(final AtomicFiles.WriteOptions options) {
+            this.atomicWriteOptions = requireNonNull(options, "options");
+            final @Nullable Path atomicPath = this.atomicPath;
+            if (atomicPath != null) {
+                this.sink = AtomicFiles.atomicOutputStreamFactory(atomicPath, options);
+            }
+            return this.self();
+        }
+
+        /**
+         * Get options that will apply to files written by this loader.
+         *
+         * @return the atomic write options
+         * @since 4.0.0
+         */
+        public AtomicFiles.WriteOptions atomicWriteOptions() {
+            return this.atomicWriteOptions;
+        }
+
+        /**
+         * Sets the default configuration options to be used by the
+         * resultant loader.
+         *
+         * @param defaultOptions the options
+         * @return this builder (for chaining)
+         * @since 4.0.0
+         */
+        public T defaultOptions(final ConfigurationOptions defaultOptions) {
+            this.defaultOptions = requireNonNull(defaultOptions, "defaultOptions");
+            return this.self();
+        }
+
+        /**
+         * Sets the default configuration options to be used by the resultant
+         * loader by providing a function which takes the current default
+         * options and applies any desired changes.
+         *
+         * @param defaultOptions to transform the existing default options
+         * @return this builder (for chaining)
+         * @since 4.0.0
+         */
+        public T defaultOptions(final UnaryOperator<ConfigurationOptions> defaultOptions) {
+            this.defaultOptions = requireNonNull(defaultOptions.apply(this.defaultOptions), "defaultOptions (updated)");
+            return this.self();
+        }
+
+        /**
+         * Gets the default configuration options to be used by the
+         * resultant loader.
+         *
+         * @return the options
+         * @since 4.0.0
+         */
+        public ConfigurationOptions defaultOptions() {
+            return this.defaultOptions;
+        }
+
+        /**
+         * Builds the loader.
+         *
+         * @return a new loader
+         * @since 4.0.0
+         */
+        public abstract L build();
+
+    }
+
+}
@@ -33,12 +33,17 @@ import org.spongepowered.configurate.ConfigurationOptions;
 import org.spongepowered.configurate.loader.AbstractConfigurationLoader;
 import org.spongepowered.configurate.loader.CommentHandler;
 import org.spongepowered.configurate.loader.CommentHandlers;
+import org.spongepowered.configurate.loader.ParallelArrays;
 import org.spongepowered.configurate.loader.ParsingException;
+import org.spongepowered.configurate.loader.SourceSpans;
 import org.spongepowered.configurate.util.UnmodifiableCollections;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
 import java.io.Writer;
+import java.math.BigInteger;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -52,8 +57,8 @@ import java.util.Set;
  */
 public final class JacksonConfigurationLoader extends AbstractConfigurationLoader<BasicConfigurationNode> {
 
-    private static final Set<Class<?>> NATIVE_TYPES = UnmodifiableCollections.toSet(Map.class, List.class, Double.class, Float.class,
-            Long.class, Integer.class, Boolean.class, String.class, byte[].class);
+    static final Set<Class<?>> NATIVE_TYPES = UnmodifiableCollections.toSet(Map.class, List.class, Double.class, Float.class,
+            Long.class, Integer.class, BigInteger.class, Boolean.class, String.class, byte[].class);
 
     /**
      * Creates a new {@link JacksonConfigurationLoader} builder.
@@ -74,6 +79,7 @@ public final class JacksonConfigurationLoader extends AbstractConfigurationLoade
         private final JsonFactoryBuilder factory = new JsonFactoryBuilder();
         private int indent = 2;
         private FieldValueSeparatorStyle fieldValueSeparatorStyle = FieldValueSeparatorStyle.SPACE_AFTER;
+        private @Nullable ParallelArrays parallelArrays;
 
         Builder() {
             this.factory.enable(JsonReadFeature.ALLOW_JAVA_COMMENTS)
@@ -139,6 +145,32 @@ public final class JacksonConfigurationLoader extends AbstractConfigurationLoade
             return this.fieldValueSeparatorStyle;
         }
 
+        /**
+         * Sets whether, and where, large arrays should be parsed in parallel.
+         *
+         * <p>Parallel parsing is only used for plain loads. Loads that record
+         * source positions for incremental saves are always sequential.</p>
+         *
+         * @param parallelArrays the parallel parsing settings, or null to
+         *     always parse sequentially
+         * @return this builder (for chaining)
+         * @since 4.0.0
+         */
+        public Builder parallelArrays(final @Nullable ParallelArrays parallelArrays) {
+            this.parallelArrays = parallelArrays;
+            return this;
+        }
+
+        /**
+         * Gets the settings for parsing large arrays in parallel.
+         *
+         * @return the parallel parsing settings, if any
+         * @since 4.0.0
+         */
+        public @Nullable ParallelArrays parallelArrays() {
+            return this.parallelArrays;
+        }
+
         @Override
         public JacksonConfigurationLoader build() {
             defaultOptions(o -> o.nativeTypes(NATIVE_TYPES));
@@ -149,6 +181,7 @@ public final class JacksonConfigurationLoader extends AbstractConfigurationLoade
     private final JsonFactory factory;
     private final int indent;
     private final FieldValueSeparatorStyle fieldValueSeparatorStyle;
+    private final @Nullable ParallelArrays parallelArrays;
 
     private JacksonConfigurationLoader(final Builder builder) {
         super(builder, new CommentHandler[]{CommentHandlers.DOUBLE_SLASH, CommentHandlers.SLASH_BLOCK, CommentHandlers.HASH});
@@ -156,15 +189,29 @@ public final class JacksonConfigurationLoader extends AbstractConfigurationLoade
         this.factory.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
         this.indent = builder.indent();
         this.fieldValueSeparatorStyle = builder.fieldValueSeparatorStyle();
+        this.parallelArrays = builder.parallelArrays();
     }
 
     private static final int MAX_CTX_LENGTH = 80;
 
     @Override
     protected void loadInternal(final BasicConfigurationNode node, final BufferedReader reader) throws ParsingException {
+        if (this.parallelArrays != null) {
+            this.parallelArrays.load(node, reader, (document, target) -> this.load(target, document, null), this::parseChunk);
+        } else {
+            this.load(node, reader, null);
+        }
+    }
+
+    @Override
+    protected void loadInternal(final BasicConfigurationNode node, final BufferedReader reader, final SourceSpans spans) throws ParsingException {
+        this.load(node, reader, spans);
+    }
+
+    private void load(final BasicConfigurationNode node, final Reader reader, final @Nullable SourceSpans spans) throws ParsingException {
         try (JsonParser parser = this.factory.createParser(reader)) {
             parser.nextToken();
-            parseValue(parser, node);
+            parseValue(parser, node, spans);
         } catch (final StreamReadException ex) {
             throw newException(node, ex.getLocation(), ex.getRequestPayloadAsString(), ex.getMessage(), ex.getCause());
         } catch (final IOException ex) {
@@ -172,30 +219,51 @@ public final class JacksonConfigurationLoader extends AbstractConfigurationLoade
         }
     }
 
-    private static void parseValue(final JsonParser parser, final ConfigurationNode node) throws IOException {
+    private void parseChunk(final Reader chunk, final List<@Nullable BasicConfigurationNode> elements) throws IOException {
+        try (JsonParser parser = this.factory.createParser(chunk)) {
+            parser.nextToken(); // [
+            for (@Nullable BasicConfigurationNode element : elements) {
+                parser.nextToken();
+                if (element != null) {
+                    parseValue(parser, element, null);
+                }
+            }
+            parser.nextToken(); // ]
+        } catch (final StreamReadException ex) {
+            throw new ParsingException(ex.getLocation().getLineNr(), ex.getLocation().getColumnNr(), null, ex.getOriginalMessage(), ex.getCause());
+        }
+    }
+
+    static void parseValue(final JsonParser parser, final ConfigurationNode node, final @Nullable SourceSpans spans) throws IOException {
         try {
             final JsonToken token = parser.getCurrentToken();
             switch (token) {
                 case START_OBJECT:
-                    parseObject(parser, node);
-                    break;
+                    parseObject(parser, node, spans);
+                    return;
                 case START_ARRAY:
-                    parseArray(parser, node);
-                    break;
+                    parseArray(parser, node, spans);
+                    return;
                 case VALUE_NUMBER_FLOAT:
                     final double doubleVal = parser.getDoubleValue();
                     if ((float) doubleVal != doubleVal) {
-                        node.raw(parser.getDoubleValue());
+                        node.raw(doubleVal);
                     } else {
-                        node.raw(parser.getFloatValue());
+                        node.raw((float) doubleVal);
                     }
                     break;
                 case VALUE_NUMBER_INT:
-                    final long longVal = parser.getLongValue();
-                    if ((int) longVal != longVal) {
-                        node.raw(parser.getLongValue());
-                    } else {
-                        node.raw(parser.getIntValue());
+                    // the parser has already picked the smallest type that holds the value
+                    switch (parser.getNumberType()) {
+                        case INT:
+                            node.raw(parser.getIntValue());
+                            break;
+                        case LONG:
+                            node.raw(parser.getLongValue());
+                            break;
+                        default:
+                            node.raw(parser.getBigIntegerValue());
+                            break;
                     }
                     break;
                 case VALUE_STRING:
@@ -205,48 +273,64 @@ public final class JacksonConfigurationLoader extends AbstractConfigurationLoade
                 case VALUE_FALSE:
                     node.raw(parser.getBooleanValue());
                     break;
+                case VALUE_EMBEDDED_OBJECT: // binary data, from formats that can store it directly
+                    node.raw(parser.getBinaryValue());
+                    break;
                 case VALUE_NULL: // Ignored values
                 case FIELD_NAME:
-                    break;
+                    return;
                 default:
                     final JsonLocation loc = parser.getTokenLocation();
                     throw new ParsingException(node, loc.getLineNr(), loc.getColumnNr(), parser.getText(), "Unsupported token type: " + token, null);
             }
+
+            if (spans != null) {
+                // the value has been read, so the current location is the end of the token
+                spans.scalar(node, parser.getTokenLocation().getCharOffset(), parser.getCurrentLocation().getCharOffset());
+            }
         } catch (final StreamReadException ex) {
             throw newException(node, ex.getLocation(), ex.getRequestPayloadAsString(), ex.getMessage(), ex.getCause());
         }
     }
 
-    private static void parseArray(final JsonParser parser, final ConfigurationNode node) throws IOException {
+    private static void parseArray(final JsonParser parser, final ConfigurationNode node, final @Nullable SourceSpans spans) throws IOException {
         boolean written = false;
         JsonToken token;
         while ((token = parser.nextToken()) != null) {
             if (token == JsonToken.END_ARRAY) { // ensure the type is preserved
                 if (!written) {
                     node.raw(Collections.emptyList());
+                    if (spans != null) {
+                        spans.fixed(node);
+                    }
                 }
                 return;
             } else {
-                parseValue(parser, node.appendListNode());
+                parseValue(parser, node.appendListNode(), spans);
                 written = true;
             }
         }
         throw newException(node, parser.getCurrentLocation(), null, "Reached end of stream with unclosed array!", null);
     }
 
-    private static void parseObject(final JsonParser parser, final ConfigurationNode node) throws IOException {
+    private static void parseObject(final JsonParser parser, final ConfigurationNode node, final @Nullable SourceSpans spans) throws IOException {
         boolean written = false;
-        JsonToken token;
-        while ((token = parser.nextToken()) != null) {
-            if (token == JsonToken.END_OBJECT) { // ensure the type is preserved
-                if (!written) {
-                    node.raw(Collections.emptyMap());
+        // field names come from the parser's symbol table, so repeated keys share one instance
+        @Nullable String name;
+        while ((name = parser.nextFieldName()) != null) {
+            parser.nextToken();
+            parseValue(parser, node.node(name), spans);
+            written = true;
+        }
+
+        if (parser.currentToken() == JsonToken.END_OBJECT) {
+            if (!written) { // ensure the type is preserved
+                node.raw(Collections.emptyMap());
+                if (spans != null) {
+                    spans.fixed(node);
                 }
-                return;
-            } else {
-                parseValue(parser, node.node(parser.getCurrentName()));
-                written = true;
             }
+            return;
         }
         throw newException(node, parser.getCurrentLocation(), null, "Reached end of stream with unclosed object!", null);
     }
@@ -255,19 +339,30 @@ public final class JacksonConfigurationLoader extends AbstractConfigurationLoade
     public void saveInternal(final ConfigurationNode node, final Writer writer) throws ConfigurateException {
         try (JsonGenerator generator = this.factory.createGenerator(writer)) {
             generator.setPrettyPrinter(new ConfiguratePrettyPrinter(this.indent, this.fieldValueSeparatorStyle));
-            node.visit(JacksonVisitor.INSTANCE.get(), generator);
+            JacksonVisitor.POOL.use(visitor -> node.visit(visitor, generator));
             writer.write(SYSTEM_LINE_SEPARATOR); // Jackson doesn't add a newline at the end of files by default
         } catch (final IOException ex) {
             throw ConfigurateException.wrap(node, ex);
         }
     }
 
+    @Override
+    protected @Nullable String renderScalar(final ConfigurationNode node) {
+        final StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = this.factory.createGenerator(writer)) {
+            JacksonVisitor.POOL.use(visitor -> node.visit(visitor, generator));
+        } catch (final IOException ex) {
+            return null;
+        }
+        return writer.toString();
+    }
+
     @Override
     public BasicConfigurationNode createNode(final @NonNull ConfigurationOptions options) {
         return BasicConfigurationNode.root(options.nativeTypes(NATIVE_TYPES));
     }
 
-    private static ParsingException newException(final ConfigurationNode node,
+    static ParsingException newException(final ConfigurationNode node,
             final JsonLocation position,
             final @Nullable String content,
             final @Nullable String message,
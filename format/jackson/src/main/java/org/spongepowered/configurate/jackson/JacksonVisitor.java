@@ -21,12 +21,14 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.configurate.ConfigurateException;
 import org.spongepowered.configurate.ConfigurationNode;
 import org.spongepowered.configurate.ConfigurationVisitor;
+import org.spongepowered.configurate.util.ObjectPool;
 
 import java.io.IOException;
+import java.math.BigInteger;
 
 final class JacksonVisitor implements ConfigurationVisitor<JsonGenerator, Void, ConfigurateException> {
 
-    static final ThreadLocal<JacksonVisitor> INSTANCE = ThreadLocal.withInitial(JacksonVisitor::new);
+    static final ObjectPool<JacksonVisitor> POOL = ObjectPool.create(JacksonVisitor::new);
 
     private @Nullable ConfigurationNode start;
 
@@ -115,6 +117,8 @@ final class JacksonVisitor implements ConfigurationVisitor<JsonGenerator, Void,
                 generator.writeNumber((Long) value);
             } else if (value instanceof Integer) {
                 generator.writeNumber((Integer) value);
+            } else if (value instanceof BigInteger) {
+                generator.writeNumber((BigInteger) value);
             } else if (value instanceof Boolean) {
                 generator.writeBoolean((Boolean) value);
             } else if (value instanceof byte[]) {
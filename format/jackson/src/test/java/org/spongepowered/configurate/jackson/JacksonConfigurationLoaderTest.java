@@ -30,6 +30,7 @@ import org.spongepowered.configurate.ConfigurationOptions;
 import org.spongepowered.configurate.loader.AtomicFiles;
 import org.spongepowered.configurate.loader.ConfigurationLoader;
 import org.spongepowered.configurate.loader.HeaderMode;
+import org.spongepowered.configurate.loader.ParallelArrays;
 import org.spongepowered.configurate.loader.ParsingException;
 import org.spongepowered.configurate.transformation.NodePath;
 import org.spongepowered.configurate.util.MapFactories;
@@ -40,6 +41,7 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.math.BigInteger;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -92,6 +94,54 @@ public class JacksonConfigurationLoaderTest {
         testRoundtripValue(tempDir, TEST_DOUBLE_VAL);
     }
 
+    @Test
+    void testRoundtripBigInteger(final @TempDir Path tempDir) throws ConfigurateException {
+        testRoundtripValue(tempDir, new BigInteger("123456789012345678901234567890"));
+    }
+
+    @Test
+    void testNumbersUseSmallestType() throws ConfigurateException {
+        final ConfigurationLoader<BasicConfigurationNode> loader = JacksonConfigurationLoader.builder()
+                .source(() -> new BufferedReader(new StringReader("{\"int\": 5, \"long\": 5000000000, \"float\": 0.5, \"double\": 0.1}")))
+                .build();
+
+        final BasicConfigurationNode node = loader.load();
+        assertEquals(5, node.node("int").raw());
+        assertEquals(5000000000L, node.node("long").raw());
+        assertEquals(0.5f, node.node("float").raw());
+        assertEquals(0.1d, node.node("double").raw());
+    }
+
+    @Test
+    void testIncrementalSavePatchesChangedValues(final @TempDir Path tempDir) throws IOException, ConfigurateException {
+        final Path tempFile = tempDir.resolve("incremental.json");
+        final String original = "{\n"
+            + "  \"name\" : \"first\",\n"
+            + "  \"limits\" : {\"max\": 25, \"ratio\": 0.5},\n"
+            + "  \"tags\" : [\"a\", \"b\"]\n"
+            + "}\n";
+        Files.write(tempFile, original.getBytes(StandardCharsets.UTF_8));
+
+        final ConfigurationLoader<BasicConfigurationNode> loader = JacksonConfigurationLoader.builder()
+                .path(tempFile)
+                .incrementalSaves(true)
+                .build();
+
+        final BasicConfigurationNode node = loader.load();
+        node.node("name").set("second");
+        node.node("limits", "ratio").set(0.25);
+        node.node("tags", 0).set("z");
+        loader.save(node);
+
+        final String expected = "{\n"
+            + "  \"name\" : \"second\",\n"
+            + "  \"limits\" : {\"max\": 25, \"ratio\": 0.25},\n"
+            + "  \"tags\" : [\"z\", \"b\"]\n"
+            + "}\n";
+        assertEquals(expected, new String(Files.readAllBytes(tempFile), StandardCharsets.UTF_8));
+        assertEquals(0.25, loader.load().node("limits", "ratio").getDouble());
+    }
+
     @Test
     void testWriteNonRootNode() throws ConfigurateException {
         // https://github.com/SpongePowered/Configurate/issues/163
@@ -129,4 +179,58 @@ public class JacksonConfigurationLoaderTest {
         assertTrue(ex.rawMessage().contains("Unexpected end-of-input"));
     }
 
+    private static String largeArray(final int count, final int malformed) {
+        final StringBuilder builder = new StringBuilder("[\n");
+        for (int i = 0; i < count; ++i) {
+            if (i > 0) {
+                builder.append(",\n");
+            }
+            if (i % 100 == 50) {
+                builder.append("  null, // a comment with a ] bracket\n");
+            }
+            builder.append("  {\"id\": ").append(i)
+                .append(", \"name\": \"entry ]} \\\"").append(i).append("\\\"\"")
+                .append(", \"tags\": [\"a\", 'b']");
+            if (i == malformed) {
+                builder.append(", \"broken\": }");
+            } else {
+                builder.append(", \"nested\": {\"x\": ").append(i / 2d).append("}}");
+            }
+        }
+        return builder.append("\n]\n").toString();
+    }
+
+    private static JacksonConfigurationLoader.Builder loader(final String contents) {
+        return JacksonConfigurationLoader.builder()
+                .source(() -> new BufferedReader(new StringReader(contents)));
+    }
+
+    @Test
+    void testParallelArrayMatchesSequential() throws ConfigurateException {
+        final String document = "{\"meta\": {\"version\": 2}, \"entries\": " + largeArray(3000, -1) + ", \"after\": true}";
+        final BasicConfigurationNode expected = loader(document).build().load();
+        final BasicConfigurationNode actual = loader(document)
+                .parallelArrays(ParallelArrays.at(NodePath.path("entries")).threshold(0))
+                .build()
+                .load();
+
+        assertEquals(3000, actual.node("entries").childrenList().size());
+        assertEquals("entry ]} \"2999\"", actual.node("entries", 2999, "name").getString());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void testParallelArrayErrorPosition() {
+        final String document = largeArray(3000, 2500);
+        final ParsingException expected = assertThrows(ParsingException.class, () -> loader(document).build().load());
+        final ParsingException actual = assertThrows(ParsingException.class, () -> loader(document)
+                .parallelArrays(ParallelArrays.root().threshold(0))
+                .build()
+                .load());
+
+        assertEquals(expected.line(), actual.line());
+        assertEquals(expected.column(), actual.column());
+        assertEquals(expected.path(), actual.path());
+    }
+
 }
@@ -0,0 +1,198 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.loader.AtomicFiles;
+import org.spongepowered.configurate.loader.ParsingException;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.stream.Stream;
+
+/**
+ * Round-trip checks shared by every binary Jackson format.
+ *
+ * @param <B> builder type
+ * @param <L> loader type
+ */
+public abstract class BinaryJacksonConfigurationLoaderTest<B extends BinaryJacksonConfigurationLoader.Builder<B, L>,
+        L extends BinaryJacksonConfigurationLoader> {
+
+    private static final String JSON = "{\"name\": \"example\", \"enabled\": true, \"ratio\": 0.5, \"count\": 3,"
+        + " \"big\": 584895858588588888, \"huge\": 18446744073709551616, \"precise\": 5.95859682984429e53,"
+        + " \"tags\": [\"a\", \"b\", \"a\"], \"empty-list\": [], \"empty-map\": {},"
+        + " \"servers\": [{\"host\": \"one\", \"port\": 25565}, {\"host\": \"two\", \"port\": 25566}]}";
+
+    /**
+     * Create a new builder for the format being tested.
+     *
+     * @return a new builder
+     */
+    protected abstract B builder();
+
+    /**
+     * Get the file extension used by the format.
+     *
+     * @return the file extension, without a leading dot
+     */
+    protected abstract String extension();
+
+    private byte[] write(final BasicConfigurationNode node) throws ConfigurateException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        this.builder()
+            .sink(() -> out)
+            .build()
+            .save(node);
+        return out.toByteArray();
+    }
+
+    private BasicConfigurationNode read(final byte[] data) throws ConfigurateException {
+        return this.builder()
+            .source(() -> new ByteArrayInputStream(data))
+            .build()
+            .load();
+    }
+
+    @Test
+    void testRoundtripMatchesJson() throws ConfigurateException {
+        final BasicConfigurationNode json = JacksonConfigurationLoader.builder()
+            .source(() -> new BufferedReader(new StringReader(JSON)))
+            .build()
+            .load();
+
+        final byte[] binary = this.write(json);
+        final BasicConfigurationNode loaded = this.read(binary);
+
+        assertEquals(json, loaded);
+        assertEquals(584895858588588888L, loaded.node("big").raw());
+        assertEquals(new BigInteger("18446744073709551616"), loaded.node("huge").raw());
+        assertEquals(5.95859682984429e53d, loaded.node("precise").raw());
+        assertTrue(loaded.node("empty-list").isList());
+        assertTrue(loaded.node("empty-map").isMap());
+        assertTrue(binary.length < JSON.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    void testBinaryValuesAreStoredDirectly() throws ConfigurateException {
+        final byte[] value = new byte[256];
+        for (int i = 0; i < value.length; ++i) {
+            value[i] = (byte) i;
+        }
+        final BasicConfigurationNode node = BasicConfigurationNode.root(n -> n.node("data").raw(value));
+
+        final byte[] binary = this.write(node);
+        assertArrayEquals(value, (byte[]) this.read(binary).node("data").raw());
+        // no base64 encoding
+        assertTrue(binary.length < value.length + 16);
+    }
+
+    @Test
+    void testPathRoundtrip(final @TempDir Path tempDir) throws ConfigurateException {
+        final L loader = this.builder()
+            .path(tempDir.resolve("config." + this.extension()))
+            .build();
+
+        final BasicConfigurationNode missing = loader.load();
+        assertTrue(missing.empty());
+
+        final BasicConfigurationNode node = loader.createNode();
+        node.node("test", "value").raw("hello");
+        node.node("test", "number").raw(42);
+        loader.save(node);
+
+        assertEquals(node, loader.load());
+    }
+
+    @Test
+    void testAtomicWriteOptionsAfterPath(final @TempDir Path tempDir) throws ConfigurateException {
+        final B builder = this.builder().path(tempDir.resolve("options." + this.extension()));
+        final Callable<OutputStream> defaultSink = builder.sink();
+        builder.atomicWriteOptions(AtomicFiles.WriteOptions.defaults().sync(true));
+        assertNotSame(defaultSink, builder.sink());
+
+        final L loader = builder.build();
+        final BasicConfigurationNode node = loader.createNode();
+        node.node("synced").raw(true);
+        loader.save(node);
+        assertEquals(node, loader.load());
+
+        // an explicit sink is left alone
+        final Callable<OutputStream> explicit = ByteArrayOutputStream::new;
+        builder.sink(explicit).atomicWriteOptions(AtomicFiles.WriteOptions.defaults());
+        assertSame(explicit, builder.sink());
+    }
+
+    @Test
+    void testFailedSaveKeepsOriginal(final @TempDir Path tempDir) throws IOException {
+        final L loader = this.builder()
+            .path(tempDir.resolve("failed." + this.extension()))
+            .build();
+        final BasicConfigurationNode original = BasicConfigurationNode.root(n -> n.node("original").raw(true));
+        loader.save(original);
+
+        final char[] padding = new char[64 * 1024];
+        Arrays.fill(padding, 'a');
+        final BasicConfigurationNode failing = BasicConfigurationNode.root(n -> {
+            n.node("padding").raw(new String(padding)); // enough to be flushed before the failure
+            n.node("broken").raw(new Object() {
+                @Override
+                public String toString() {
+                    throw new IllegalStateException("unwritable");
+                }
+            });
+        });
+
+        assertThrows(ConfigurateException.class, () -> loader.save(failing));
+        assertEquals(original, loader.load());
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(1, files.count()); // temporary file was removed
+        }
+    }
+
+    @Test
+    void testTruncatedInputFails() throws ConfigurateException {
+        final BasicConfigurationNode node = BasicConfigurationNode.root(n -> {
+            n.node("first").raw("value");
+            n.node("second").appendListNode().raw(1);
+        });
+        final byte[] binary = this.write(node);
+
+        assertThrows(ParsingException.class, () -> this.read(Arrays.copyOf(binary, binary.length - 2)));
+    }
+
+}
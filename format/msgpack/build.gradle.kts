@@ -0,0 +1,12 @@
+import org.spongepowered.configurate.build.core
+
+plugins {
+    id("org.spongepowered.configurate.build.component")
+}
+
+description = "MessagePack format loader for Configurate"
+
+dependencies {
+    api(core())
+    api("org.msgpack:msgpack-core:0.8.21")
+}
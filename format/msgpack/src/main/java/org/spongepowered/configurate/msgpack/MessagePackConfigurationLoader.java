@@ -0,0 +1,588 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.msgpack;
+
+import static java.util.Objects.requireNonNull;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.msgpack.core.MessageBufferPacker;
+import org.msgpack.core.MessageFormat;
+import org.msgpack.core.MessagePack;
+import org.msgpack.core.MessagePackException;
+import org.msgpack.core.MessagePacker;
+import org.msgpack.core.MessageUnpacker;
+import org.msgpack.core.buffer.ByteBufferInput;
+import org.msgpack.core.buffer.ChannelBufferInput;
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.ConfigurationOptions;
+import org.spongepowered.configurate.loader.AtomicFiles;
+import org.spongepowered.configurate.loader.ConfigurationLoader;
+import org.spongepowered.configurate.loader.ParsingException;
+import org.spongepowered.configurate.reference.ConfigurationReference;
+import org.spongepowered.configurate.util.UnmodifiableCollections;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.function.UnaryOperator;
+
+/**
+ * A loader for configurations in the binary
+ * <a href="https://msgpack.org/">MessagePack</a> format.
+ *
+ * <p>Values are read directly into nodes as they are unpacked, and written
+ * directly from nodes, without building any intermediate objects. Integers,
+ * floating-point numbers, and binary data are stored using their native
+ * MessagePack types, so {@code float}s and {@code double}s, and
+ * {@code byte[]} values, survive a round trip unchanged. Integers are read
+ * as the smallest of {@code int}, {@code long}, and {@link BigInteger}
+ * that can hold their value.</p>
+ *
+ * <p>Data is read from and written to byte channels, or may be loaded from a
+ * {@link ByteBuffer} with {@link #load(ByteBuffer, ConfigurationOptions)}.
+ * MessagePack has no concept of comments, so no header will be read
+ * or written.</p>
+ *
+ * @since 4.0.0
+ */
+public final class MessagePackConfigurationLoader implements ConfigurationLoader<BasicConfigurationNode> {
+
+    private static final Set<Class<?>> NATIVE_TYPES = UnmodifiableCollections.toSet(Map.class, List.class, Double.class, Float.class,
+            Long.class, Integer.class, BigInteger.class, Boolean.class, String.class, byte[].class);
+    private static final BigInteger LONG_MIN = BigInteger.valueOf(Long.MIN_VALUE);
+    private static final BigInteger LONG_MAX = BigInteger.valueOf(Long.MAX_VALUE);
+
+    private final @Nullable Callable<ReadableByteChannel> source;
+    private final @Nullable Callable<WritableByteChannel> sink;
+    private final int bufferSize;
+    private final ConfigurationOptions defaultOptions;
+
+    /**
+     * Creates a new {@link MessagePackConfigurationLoader} builder.
+     *
+     * @return a new builder
+     * @since 4.0.0
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private MessagePackConfigurationLoader(final Builder builder) {
+        this.source = builder.source();
+        this.sink = builder.sink();
+        this.bufferSize = builder.bufferSize();
+        this.defaultOptions = builder.defaultOptions().nativeTypes(NATIVE_TYPES);
+    }
+
+    @Override
+    public BasicConfigurationNode load(final ConfigurationOptions options) throws ParsingException {
+        if (this.source == null) {
+            throw new ParsingException(ParsingException.UNKNOWN_POS, ParsingException.UNKNOWN_POS, "", "No source present to read from!", null);
+        }
+        final BasicConfigurationNode node = this.createNode(options);
+        try (ReadableByteChannel channel = this.source.call();
+             MessageUnpacker unpacker = MessagePack.newDefaultUnpacker(new ChannelBufferInput(channel, this.bufferSize))) {
+            this.load(node, unpacker);
+            return node;
+        } catch (final ParsingException ex) {
+            throw ex;
+        } catch (final FileNotFoundException | NoSuchFileException ex) {
+            // Squash -- there's nothing to read
+            return node;
+        } catch (final IOException ex) {
+            throw ParsingException.wrap(node, ex);
+        } catch (final Exception ex) {
+            throw new ParsingException(node, ParsingException.UNKNOWN_POS, ParsingException.UNKNOWN_POS, null,
+                "Unknown error occurred while loading", ex);
+        }
+    }
+
+    /**
+     * Load a configuration from the remaining contents of a buffer, with
+     * the {@link #defaultOptions() default options}.
+     *
+     * @param buffer the buffer to read
+     * @return the loaded node
+     * @throws ParsingException if the buffer does not contain a valid
+     *      configuration
+     * @see #load(ByteBuffer, ConfigurationOptions)
+     * @since 4.0.0
+     */
+    public BasicConfigurationNode load(final ByteBuffer buffer) throws ParsingException {
+        return this.load(buffer, this.defaultOptions);
+    }
+
+    /**
+     * Load a configuration from the remaining contents of a buffer.
+     *
+     * <p>The buffer is read in place, without being copied, and its
+     * position is not changed. This loader does not need to have a
+     * source.</p>
+     *
+     * @param buffer the buffer to read
+     * @param options the options to load with
+     * @return the loaded node
+     * @throws ParsingException if the buffer does not contain a valid
+     *      configuration
+     * @since 4.0.0
+     */
+    public BasicConfigurationNode load(final ByteBuffer buffer, final ConfigurationOptions options) throws ParsingException {
+        final BasicConfigurationNode node = this.createNode(options);
+        try (MessageUnpacker unpacker = MessagePack.newDefaultUnpacker(new ByteBufferInput(buffer.duplicate()))) {
+            this.load(node, unpacker);
+            return node;
+        } catch (final IOException ex) {
+            throw ParsingException.wrap(node, ex);
+        }
+    }
+
+    private void load(final BasicConfigurationNode node, final MessageUnpacker unpacker) throws IOException {
+        try {
+            if (unpacker.hasNext()) { // an empty source is an empty document
+                readValue(unpacker, node);
+            }
+            if (unpacker.hasNext()) {
+                throw newException(node, unpacker, "Unexpected data after the end of the document", null);
+            }
+        } catch (final MessagePackException ex) {
+            throw newException(node, unpacker, ex.getMessage(), ex);
+        }
+    }
+
+    private static void readValue(final MessageUnpacker unpacker, final ConfigurationNode node) throws IOException {
+        final MessageFormat format = unpacker.getNextFormat();
+        switch (format.getValueType()) {
+            case NIL:
+                unpacker.unpackNil();
+                break;
+            case BOOLEAN:
+                node.raw(unpacker.unpackBoolean());
+                break;
+            case INTEGER:
+                node.raw(readInteger(unpacker, format));
+                break;
+            case FLOAT:
+                if (format == MessageFormat.FLOAT32) {
+                    node.raw(unpacker.unpackFloat());
+                } else {
+                    node.raw(unpacker.unpackDouble());
+                }
+                break;
+            case STRING:
+                node.raw(unpacker.unpackString());
+                break;
+            case BINARY:
+                node.raw(unpacker.readPayload(unpacker.unpackBinaryHeader()));
+                break;
+            case ARRAY:
+                final int size = unpacker.unpackArrayHeader();
+                if (size == 0) { // ensure the type is preserved
+                    node.raw(Collections.emptyList());
+                }
+                for (int i = 0; i < size; ++i) {
+                    readValue(unpacker, node.appendListNode());
+                }
+                break;
+            case MAP:
+                final int entries = unpacker.unpackMapHeader();
+                if (entries == 0) { // ensure the type is preserved
+                    node.raw(Collections.emptyMap());
+                }
+                for (int i = 0; i < entries; ++i) {
+                    readValue(unpacker, node.node(readKey(unpacker, node)));
+                }
+                break;
+            default:
+                throw newException(node, unpacker, "Unsupported value type " + format.getValueType(), null);
+        }
+    }
+
+    private static Object readKey(final MessageUnpacker unpacker, final ConfigurationNode parent) throws IOException {
+        final MessageFormat format = unpacker.getNextFormat();
+        switch (format.getValueType()) {
+            case STRING:
+                return unpacker.unpackString();
+            case INTEGER:
+                return readInteger(unpacker, format);
+            case BOOLEAN:
+                return unpacker.unpackBoolean();
+            default:
+                throw newException(parent, unpacker, "Unsupported map key type " + format.getValueType(), null);
+        }
+    }
+
+    private static Number readInteger(final MessageUnpacker unpacker, final MessageFormat format) throws IOException {
+        switch (format) {
+            case UINT64:
+                final BigInteger big = unpacker.unpackBigInteger();
+                if (big.compareTo(LONG_MIN) < 0 || big.compareTo(LONG_MAX) > 0) {
+                    return big;
+                }
+                return narrow(big.longValue());
+            case INT64:
+            case UINT32:
+                return narrow(unpacker.unpackLong());
+            default:
+                return unpacker.unpackInt();
+        }
+    }
+
+    private static Number narrow(final long value) {
+        if ((int) value == value) {
+            return (int) value;
+        }
+        return value;
+    }
+
+    private static ParsingException newException(final ConfigurationNode node, final MessageUnpacker unpacker,
+            final @Nullable String message, final @Nullable Throwable cause) {
+        return new ParsingException(node, ParsingException.UNKNOWN_POS, ParsingException.UNKNOWN_POS, null,
+            message + " (at byte " + unpacker.getTotalReadBytes() + ")", cause);
+    }
+
+    @Override
+    public void save(final ConfigurationNode node) throws ConfigurateException {
+        if (this.sink == null) {
+            throw new ConfigurateException(node, "No sink present to write to!");
+        }
+        try {
+            final WritableByteChannel channel = this.sink.call();
+            final MessagePacker packer = MessagePack.newDefaultPacker(channel);
+            try {
+                MessagePackVisitor.POOL.use(visitor -> node.visit(visitor, packer));
+                packer.flush();
+            } catch (final Exception ex) {
+                // a partially written file must never replace the original
+                try {
+                    discard(channel);
+                } catch (final IOException closeEx) {
+                    ex.addSuppressed(closeEx);
+                }
+                throw ex;
+            }
+            packer.close();
+        } catch (final ConfigurateException ex) {
+            throw ex;
+        } catch (final IOException ex) {
+            throw ConfigurateException.wrap(node, ex);
+        } catch (final Exception ex) {
+            throw new ConfigurateException(node, ex);
+        }
+    }
+
+    private static void discard(final WritableByteChannel channel) throws IOException {
+        if (channel instanceof AtomicChannel) {
+            AtomicFiles.discard(((AtomicChannel) channel).stream);
+        } else {
+            channel.close();
+        }
+    }
+
+    /**
+     * Write a node to a new buffer.
+     *
+     * <p>This loader does not need to have a sink.</p>
+     *
+     * @param node the node to write
+     * @return a buffer containing the packed node, ready to be read
+     * @throws ConfigurateException if the node contains values that cannot
+     *      be written
+     * @since 4.0.0
+     */
+    public ByteBuffer saveToBuffer(final ConfigurationNode node) throws ConfigurateException {
+        try (MessageBufferPacker packer = MessagePack.newDefaultBufferPacker()) {
+            MessagePackVisitor.POOL.use(visitor -> node.visit(visitor, packer));
+            return ByteBuffer.wrap(packer.toByteArray());
+        } catch (final IOException ex) {
+            throw ConfigurateException.wrap(node, ex);
+        }
+    }
+
+    @Override
+    public BasicConfigurationNode createNode(final ConfigurationOptions options) {
+        return BasicConfigurationNode.root(options.nativeTypes(NATIVE_TYPES));
+    }
+
+    @Override
+    public ConfigurationReference<BasicConfigurationNode> loadToReference() throws ConfigurateException {
+        return ConfigurationReference.fixed(this);
+    }
+
+    @Override
+    public ConfigurationOptions defaultOptions() {
+        return this.defaultOptions;
+    }
+
+    @Override
+    public boolean canLoad() {
+        return this.source != null;
+    }
+
+    @Override
+    public boolean canSave() {
+        return this.sink != null;
+    }
+
+    /**
+     * A channel over an atomic file, which can be discarded instead of
+     * replacing the file if writing fails.
+     */
+    private static final class AtomicChannel implements WritableByteChannel {
+
+        final OutputStream stream;
+        private final WritableByteChannel channel;
+
+        AtomicChannel(final OutputStream stream) {
+            this.stream = stream;
+            this.channel = Channels.newChannel(stream);
+        }
+
+        @Override
+        public int write(final ByteBuffer src) throws IOException {
+            return this.channel.write(src);
+        }
+
+        @Override
+        public boolean isOpen() {
+            return this.channel.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.channel.close();
+        }
+
+    }
+
+    /**
+     * Builds a {@link MessagePackConfigurationLoader}.
+     *
+     * @since 4.0.0
+     */
+    public static final class Builder {
+        private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+        private @Nullable Callable<ReadableByteChannel> source;
+        private @Nullable Callable<WritableByteChannel> sink;
+        private @Nullable Path atomicPath;
+        private int bufferSize = DEFAULT_BUFFER_SIZE;
+        private ConfigurationOptions defaultOptions = ConfigurationOptions.defaults();
+        private AtomicFiles.WriteOptions atomicWriteOptions = AtomicFiles.WriteOptions.defaults();
+
+        Builder() {
+        }
+
+        /**
+         * Sets the sink and source of the resultant loader to the given file.
+         *
+         * @param file the configuration file
+         * @return this builder (for chaining)
+         * @see #path(Path)
+         * @since 4.0.0
+         */
+        public Builder file(final File file) {
+            return this.path(requireNonNull(file, "file").toPath());
+        }
+
+        /**
+         * Sets the sink and source of the resultant loader to the given path.
+         *
+         * <p>The {@link #sink() sink} is defined using {@link AtomicFiles},
+         * with the {@link #atomicWriteOptions() atomic write options} of
+         * this builder.</p>
+         *
+         * @param path the path of the configuration file
+         * @return this builder (for chaining)
+         * @since 4.0.0
+         */
+        public Builder path(final Path path) {
+            final Path absPath = requireNonNull(path, "path").toAbsolutePath();
+            this.source = () -> FileChannel.open(absPath, StandardOpenOption.READ);
+            this.sink = atomicSink(absPath, this.atomicWriteOptions);
+            this.atomicPath = absPath;
+            return this;
+        }
+
+        private static Callable<WritableByteChannel> atomicSink(final Path path, final AtomicFiles.WriteOptions options) {
+            return () -> new AtomicChannel(AtomicFiles.atomicBufferedOutputStream(path, options));
+        }
+
+        /**
+         * Sets the source of the resultant loader.
+         *
+         * @param source the source
+         * @return this builder (for chaining)
+         * @since 4.0.0
+         */
+        public Builder source(final @Nullable Callable<ReadableByteChannel> source) {
+            this.source = source;
+            return this;
+        }
+
+        /**
+         * Gets the source to be used by the resultant loader.
+         *
+         * @return the source
+         * @since 4.0.0
+         */
+        public @Nullable Callable<ReadableByteChannel> source() {
+            return this.source;
+        }
+
+        /**
+         * Sets the sink of the resultant loader.
+         *
+         * @param sink the sink
+         * @return this builder (for chaining)
+         * @since 4.0.0
+         */
+        public Builder sink(final @Nullable Callable<WritableByteChannel> sink) {
+            this.sink = sink;
+            this.atomicPath = null;
+            return this;
+        }
+
+        /**
+         * Gets the sink to be used by the resultant loader.
+         *
+         * @return the sink
+         * @since 4.0.0
+         */
+        public @Nullable Callable<WritableByteChannel> sink() {
+            return this.sink;
+        }
+
+        /**
+         * Sets the size of the buffer used when reading from the source.
+         *
+         * @param bufferSize the buffer size, in bytes
+         * @return this builder (for chaining)
+         * @since 4.0.0
+         */
+        public Builder bufferSize(final int bufferSize) {
+            if (bufferSize <= 0) {
+                throw new IllegalArgumentException("Buffer size must be positive, but was " + bufferSize);
+            }
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        /**
+         * Gets the size of the buffer used when reading from the source.
+         *
+         * @return the buffer size, in bytes
+         * @since 4.0.0
+         */
+        public int bufferSize() {
+            return this.bufferSize;
+        }
+
+        /**
+         * Sets the options used when saving to a file set with
+         * {@link #path(Path)} or {@link #file(File)}.
+         *
+         * @param options the options to use
+         * @return this builder (for chaining)
+         * @since 4.0.0
+         */
+        public Builder atomicWriteOptions(final AtomicFiles.WriteOptions options) {
+            this.atomicWriteOptions = requireNonNull(options, "options");
+            final @Nullable Path atomicPath = this.atomicPath;
+            if (atomicPath != null) {
+                this.sink = atomicSink(atomicPath, options);
+            }
+            return this;
+        }
+
+        /**
+         * Get options that will apply to files written by this loader.
+         *
+         * @return the atomic write options
+         * @since 4.0.0
+         */
+        public AtomicFiles.WriteOptions atomicWriteOptions() {
+            return this.atomicWriteOptions;
+        }
+
+        /**
+         * Sets the default configuration options to be used by the
+         * resultant loader.
+         *
+         * @param defaultOptions the options
+         * @return this builder (for chaining)
+         * @since 4.0.0
+         */
+        public Builder defaultOptions(final ConfigurationOptions defaultOptions) {
+            this.defaultOptions = requireNonNull(defaultOptions, "defaultOptions");
+            return this;
+        }
+
+        /**
+         * Sets the default configuration options to be used by the resultant
+         * loader by providing a function which takes the current default
+         * options and applies any desired changes.
+         *
+         * @param defaultOptions to transform the existing default options
+         * @return this builder (for chaining)
+         * @since 4.0.0
+         */
+        public Builder defaultOptions(final UnaryOperator<ConfigurationOptions> defaultOptions) {
+            this.defaultOptions = requireNonNull(defaultOptions.apply(this.defaultOptions), "defaultOptions (updated)");
+            return this;
+        }
+
+        /**
+         * Gets the default configuration options to be used by the
+         * resultant loader.
+         *
+         * @return the options
+         * @since 4.0.0
+         */
+        public ConfigurationOptions defaultOptions() {
+            return this.defaultOptions;
+        }
+
+        /**
+         * Builds the loader.
+         *
+         * @return a new loader
+         * @since 4.0.0
+         */
+        public MessagePackConfigurationLoader build() {
+            return new MessagePackConfigurationLoader(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.msgpack;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.msgpack.core.MessagePacker;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.ConfigurationVisitor;
+import org.spongepowered.configurate.util.ObjectPool;
+
+import java.io.IOException;
+import java.math.BigInteger;
+
+final class MessagePackVisitor implements ConfigurationVisitor<MessagePacker, Void, ConfigurateException> {
+
+    static final ObjectPool<MessagePackVisitor> POOL = ObjectPool.create(MessagePackVisitor::new);
+
+    private @Nullable ConfigurationNode start;
+
+    private MessagePackVisitor() {
+    }
+
+    @Override
+    public MessagePacker newState() {
+        throw new UnsupportedOperationException("Packer must be provided");
+    }
+
+    @Override
+    public void beginVisit(final ConfigurationNode node, final MessagePacker state) {
+        this.start = node;
+    }
+
+    @Override
+    public void enterNode(final ConfigurationNode node, final MessagePacker state) throws ConfigurateException {
+        final @Nullable ConfigurationNode parent = node.parent();
+        if (node != this.start && parent != null && parent.isMap()) {
+            final @Nullable Object key = node.key();
+            if (key == null) {
+                throw new ConfigurateException(node, "Node must have key to be a value in a mapping");
+            }
+            // map keys may be any value, so integer keys stay integers
+            writeValue(node, key, state);
+        }
+    }
+
+    @Override
+    public void enterMappingNode(final ConfigurationNode node, final MessagePacker state) throws ConfigurateException {
+        try {
+            state.packMapHeader(node.childrenMap().size());
+        } catch (final IOException ex) {
+            throw new ConfigurateException(node, ex);
+        }
+    }
+
+    @Override
+    public void enterListNode(final ConfigurationNode node, final MessagePacker state) throws ConfigurateException {
+        try {
+            state.packArrayHeader(node.childrenList().size());
+        } catch (final IOException ex) {
+            throw new ConfigurateException(node, ex);
+        }
+    }
+
+    @Override
+    public void enterScalarNode(final ConfigurationNode node, final MessagePacker state) throws ConfigurateException {
+        writeValue(node, node.rawScalar(), state);
+    }
+
+    static void writeValue(final ConfigurationNode node, final @Nullable Object value, final MessagePacker packer) throws ConfigurateException {
+        try {
+            if (value instanceof String) {
+                packer.packString((String) value);
+            } else if (value instanceof Integer) {
+                packer.packInt((Integer) value);
+            } else if (value instanceof Long) {
+                packer.packLong((Long) value);
+            } else if (value instanceof Double) {
+                packer.packDouble((Double) value);
+            } else if (value instanceof Float) {
+                packer.packFloat((Float) value);
+            } else if (value instanceof Boolean) {
+                packer.packBoolean((Boolean) value);
+            } else if (value instanceof BigInteger) {
+                packer.packBigInteger((BigInteger) value);
+            } else if (value instanceof byte[]) {
+                final byte[] bytes = (byte[]) value;
+                packer.packBinaryHeader(bytes.length);
+                packer.writePayload(bytes);
+            } else if (value == null) {
+                packer.packNil();
+            } else {
+                packer.packString(value.toString());
+            }
+        } catch (final IOException | IllegalArgumentException ex) {
+            // BigIntegers outside of the 64-bit range are rejected by the packer
+            throw new ConfigurateException(node, ex);
+        }
+    }
+
+    @Override
+    public void exitMappingNode(final ConfigurationNode node, final MessagePacker state) {
+    }
+
+    @Override
+    public void exitListNode(final ConfigurationNode node, final MessagePacker state) {
+    }
+
+    @Override
+    public Void endVisit(final MessagePacker state) throws ConfigurateException {
+        final @Nullable ConfigurationNode start = this.start;
+        this.start = null;
+        try {
+            state.flush();
+        } catch (final IOException ex) {
+            throw new ConfigurateException(start, ex);
+        }
+        return null;
+    }
+
+}
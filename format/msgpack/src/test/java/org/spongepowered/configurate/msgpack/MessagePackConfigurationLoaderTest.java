@@ -0,0 +1,178 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.msgpack;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.loader.AtomicFiles;
+import org.spongepowered.configurate.loader.ParsingException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.stream.Stream;
+
+/**
+ * Basic sanity checks for the loader.
+ */
+public class MessagePackConfigurationLoaderTest {
+
+    private static BasicConfigurationNode example() {
+        return BasicConfigurationNode.root(n -> {
+            n.node("name").raw("example");
+            n.node("enabled").raw(true);
+            n.node("int").raw(-12);
+            n.node("long").raw(584895858588588888L);
+            n.node("big").raw(new BigInteger("18446744073709551615"));
+            n.node("float").raw(0.25f);
+            n.node("double").raw(5.95859682984429e53d);
+            n.node("tags").appendListNode().raw("a");
+            n.node("tags").appendListNode().raw("b");
+            n.node("servers").appendListNode().node("host").raw("one");
+            n.node("empty-list").raw(Collections.emptyList());
+            n.node("empty-map").raw(Collections.emptyMap());
+            n.node(42).raw("integer key");
+        });
+    }
+
+    @Test
+    void testChannelRoundtrip() throws ConfigurateException {
+        final BasicConfigurationNode node = example();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MessagePackConfigurationLoader.builder()
+            .sink(() -> Channels.newChannel(out))
+            .build()
+            .save(node);
+
+        final BasicConfigurationNode loaded = MessagePackConfigurationLoader.builder()
+            .source(() -> Channels.newChannel(new ByteArrayInputStream(out.toByteArray())))
+            .build()
+            .load();
+
+        assertEquals(node, loaded);
+        assertEquals(-12, loaded.node("int").raw());
+        assertEquals(584895858588588888L, loaded.node("long").raw());
+        assertEquals(new BigInteger("18446744073709551615"), loaded.node("big").raw());
+        assertEquals(0.25f, loaded.node("float").raw());
+        assertEquals(5.95859682984429e53d, loaded.node("double").raw());
+        assertEquals("integer key", loaded.node(42).raw());
+        assertTrue(loaded.node("empty-list").isList());
+        assertTrue(loaded.node("empty-map").isMap());
+    }
+
+    @Test
+    void testBufferRoundtrip() throws ConfigurateException {
+        final MessagePackConfigurationLoader loader = MessagePackConfigurationLoader.builder().build();
+        final BasicConfigurationNode node = example();
+
+        final ByteBuffer buffer = loader.saveToBuffer(node);
+        final int position = buffer.position();
+        assertEquals(node, loader.load(buffer));
+        assertEquals(position, buffer.position());
+    }
+
+    @Test
+    void testBinaryValues() throws ConfigurateException {
+        final MessagePackConfigurationLoader loader = MessagePackConfigurationLoader.builder().build();
+        final byte[] data = new byte[300];
+        for (int i = 0; i < data.length; ++i) {
+            data[i] = (byte) i;
+        }
+
+        final ByteBuffer buffer = loader.saveToBuffer(BasicConfigurationNode.root(n -> n.node("data").raw(data)));
+        assertArrayEquals(data, (byte[]) loader.load(buffer).node("data").raw());
+    }
+
+    @Test
+    void testPathRoundtrip(final @TempDir Path tempDir) throws ConfigurateException {
+        final MessagePackConfigurationLoader loader = MessagePackConfigurationLoader.builder()
+            .path(tempDir.resolve("config.msgpack"))
+            .build();
+
+        assertTrue(loader.load().empty());
+
+        final BasicConfigurationNode node = example();
+        loader.save(node);
+        assertEquals(node, loader.load());
+    }
+
+    @Test
+    void testAtomicWriteOptionsAfterPath(final @TempDir Path tempDir) throws ConfigurateException {
+        final MessagePackConfigurationLoader.Builder builder = MessagePackConfigurationLoader.builder()
+            .path(tempDir.resolve("options.msgpack"));
+        final Callable<WritableByteChannel> defaultSink = builder.sink();
+        builder.atomicWriteOptions(AtomicFiles.WriteOptions.defaults().sync(true));
+        assertNotSame(defaultSink, builder.sink());
+
+        final MessagePackConfigurationLoader loader = builder.build();
+        final BasicConfigurationNode node = example();
+        loader.save(node);
+        assertEquals(node, loader.load());
+
+        // an explicit sink is left alone
+        final Callable<WritableByteChannel> explicit = () -> Channels.newChannel(new ByteArrayOutputStream());
+        builder.sink(explicit).atomicWriteOptions(AtomicFiles.WriteOptions.defaults());
+        assertSame(explicit, builder.sink());
+    }
+
+    @Test
+    void testFailedSaveKeepsOriginal(final @TempDir Path tempDir) throws IOException {
+        final MessagePackConfigurationLoader loader = MessagePackConfigurationLoader.builder()
+            .path(tempDir.resolve("failed.msgpack"))
+            .build();
+        final BasicConfigurationNode original = example();
+        loader.save(original);
+
+        final BasicConfigurationNode failing = BasicConfigurationNode.root(n -> {
+            n.node("padding").raw(new byte[64 * 1024]); // enough to be flushed before the failure
+            n.node("too-big").raw(BigInteger.ONE.shiftLeft(64));
+        });
+
+        assertThrows(ConfigurateException.class, () -> loader.save(failing));
+        assertEquals(original, loader.load());
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(1, files.count()); // temporary file was removed
+        }
+    }
+
+    @Test
+    void testTruncatedInputFails() throws ConfigurateException {
+        final MessagePackConfigurationLoader loader = MessagePackConfigurationLoader.builder().build();
+        final ByteBuffer buffer = loader.saveToBuffer(example());
+        buffer.limit(buffer.limit() - 3);
+
+        assertThrows(ParsingException.class, () -> loader.load(buffer));
+    }
+
+}
@@ -0,0 +1,11 @@
+import org.spongepowered.configurate.build.core
+
+plugins {
+    id("org.spongepowered.configurate.build.component")
+}
+
+description = "Flat-key loader for Configurate, reading Java properties files and environment maps"
+
+dependencies {
+    api(core())
+}
@@ -0,0 +1,95 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.properties;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.serialize.SerializationException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A prefix trie of flat keys, split into segments.
+ *
+ * <p>Entries sharing a prefix share the trie nodes for that prefix, so the
+ * configuration tree can be built in a single pass once every key has
+ * been inserted.</p>
+ */
+final class KeyTrie {
+
+    private @Nullable String value;
+    private @Nullable Map<String, KeyTrie> children;
+
+    /**
+     * Get or create the child for a single key segment.
+     *
+     * @param segment the segment
+     * @return child trie node
+     */
+    KeyTrie child(final String segment) {
+        @Nullable Map<String, KeyTrie> children = this.children;
+        if (children == null) {
+            children = this.children = new LinkedHashMap<>();
+        }
+        @Nullable KeyTrie child = children.get(segment);
+        if (child == null) {
+            child = new KeyTrie();
+            children.put(segment, child);
+        }
+        return child;
+    }
+
+    void value(final String value) {
+        this.value = value;
+    }
+
+    /**
+     * Copy the contents of this trie into a node.
+     *
+     * <p>If a trie node has both a value and children, the children take
+     * precedence. A trie node whose children are exactly the indices
+     * {@code 0} to {@code n - 1} becomes a list.</p>
+     *
+     * @param node the target node
+     * @throws SerializationException if the node could not accept a value
+     */
+    void populate(final ConfigurationNode node) throws SerializationException {
+        final @Nullable Map<String, KeyTrie> children = this.children;
+        if (children == null) {
+            node.raw(this.value);
+        } else if (isList(children)) {
+            for (int i = 0; i < children.size(); ++i) {
+                children.get(Integer.toString(i)).populate(node.appendListNode());
+            }
+        } else {
+            for (Map.Entry<String, KeyTrie> entry : children.entrySet()) {
+                entry.getValue().populate(node.node(entry.getKey()));
+            }
+        }
+    }
+
+    private static boolean isList(final Map<String, KeyTrie> children) {
+        for (int i = 0; i < children.size(); ++i) {
+            if (!children.containsKey(Integer.toString(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,429 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.properties;
+
+import static java.util.Objects.requireNonNull;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.CommentedConfigurationNode;
+import org.spongepowered.configurate.CommentedConfigurationNodeIntermediary;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.ConfigurationOptions;
+import org.spongepowered.configurate.loader.AbstractConfigurationLoader;
+import org.spongepowered.configurate.loader.CommentHandler;
+import org.spongepowered.configurate.loader.CommentHandlers;
+import org.spongepowered.configurate.loader.ParsingException;
+import org.spongepowered.configurate.serialize.SerializationException;
+import org.spongepowered.configurate.util.NamingScheme;
+import org.spongepowered.configurate.util.NamingSchemes;
+import org.spongepowered.configurate.util.UnmodifiableCollections;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * A loader for flat-key configurations, such as Java {@code .properties}
+ * files and environment variables.
+ *
+ * <p>Each key is split into path segments on a configurable separator, so
+ * {@code server.port=25565} becomes the node at {@code [server, port]}.
+ * Keys are grouped into a prefix trie as they are read, so the node tree is
+ * built in a single pass. If a key has both a value and children (for
+ * example, both {@code a=1} and {@code a.b=2} are present), the children
+ * take precedence. A key whose children are exactly the indices {@code 0}
+ * to {@code n - 1} is read as a list.</p>
+ *
+ * <p>Environment maps, such as the one returned by {@link System#getenv()},
+ * can be read with {@link #load(Map)}. A typical setup for environment
+ * variables uses a prefix such as {@code APP_}, a separator of {@code _},
+ * and {@link Builder#lowerCaseKeys(boolean) lower-case keys}.</p>
+ *
+ * <p>When saving, the node tree is flattened back out into keys joined by
+ * the separator. Key conversion is one-way, so saved keys are the node keys
+ * as they are, not as they were originally written. All values are stored
+ * as strings.</p>
+ *
+ * @since 4.0.0
+ */
+public final class PropertiesConfigurationLoader extends AbstractConfigurationLoader<CommentedConfigurationNode> {
+
+    private static final Set<Class<?>> NATIVE_TYPES = UnmodifiableCollections.toSet(String.class);
+
+    /**
+     * Creates a new {@link PropertiesConfigurationLoader} builder.
+     *
+     * @return a new builder
+     * @since 4.0.0
+     */
+    public static @NonNull Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builds a {@link PropertiesConfigurationLoader}.
+     *
+     * @since 4.0.0
+     */
+    public static final class Builder extends AbstractConfigurationLoader.Builder<Builder, PropertiesConfigurationLoader> {
+        private String separator = ".";
+        private String prefix = "";
+        private boolean lowerCaseKeys;
+        private NamingScheme namingScheme = NamingSchemes.PASSTHROUGH;
+
+        Builder() { }
+
+        /**
+         * Sets the separator between path segments in a key.
+         *
+         * <p>By default, this is {@code .}.</p>
+         *
+         * @param separator the separator
+         * @return this builder (for chaining)
+         * @since 4.0.0
+         */
+        public @NonNull Builder separator(final String separator) {
+            if (requireNonNull(separator, "separator").isEmpty()) {
+                throw new IllegalArgumentException("Separator must not be empty");
+            }
+            this.separator = separator;
+            return this;
+        }
+
+        /**
+         * Gets the separator between path segments in a key.
+         *
+         * @return the separator
+         * @since 4.0.0
+         */
+        public String separator() {
+            return this.separator;
+        }
+
+        /**
+         * Sets a prefix that keys must start with.
+         *
+         * <p>When loading, keys without this prefix are ignored, and the prefix
+         * is removed from all other keys. When saving, the prefix is added to
+         * every key. By default, there is no prefix.</p>
+         *
+         * @param prefix the key prefix
+         * @return this builder (for chaining)
+         * @since 4.0.0
+         */
+        public @NonNull Builder prefix(final String prefix) {
+            this.prefix = requireNonNull(prefix, "prefix");
+            return this;
+        }
+
+        /**
+         * Gets the prefix that keys must start with.
+         *
+         * @return the key prefix
+         * @since 4.0.0
+         */
+        public String prefix() {
+            return this.prefix;
+        }
+
+        /**
+         * Sets whether key segments should be converted to lower case before
+         * the naming scheme is applied.
+         *
+         * <p>This is useful for environment variables, which are
+         * conventionally upper case.</p>
+         *
+         * @param lowerCaseKeys whether to lower-case keys
+         * @return this builder (for chaining)
+         * @since 4.0.0
+         */
+        public @NonNull Builder lowerCaseKeys(final boolean lowerCaseKeys) {
+            this.lowerCaseKeys = lowerCaseKeys;
+            return this;
+        }
+
+        /**
+         * Gets whether key segments will be converted to lower case.
+         *
+         * @return whether to lower-case keys
+         * @since 4.0.0
+         */
+        public boolean lowerCaseKeys() {
+            return this.lowerCaseKeys;
+        }
+
+        /**
+         * Sets the naming scheme applied to each key segment when loading.
+         *
+         * <p>By default, segments are used as-is.</p>
+         *
+         * @param namingScheme the naming scheme
+         * @return this builder (for chaining)
+         * @see NamingSchemes for common schemes
+         * @since 4.0.0
+         */
+        public @NonNull Builder namingScheme(final NamingScheme namingScheme) {
+            this.namingScheme = requireNonNull(namingScheme, "namingScheme");
+            return this;
+        }
+
+        /**
+         * Gets the naming scheme applied to each key segment.
+         *
+         * @return the naming scheme
+         * @since 4.0.0
+         */
+        public NamingScheme namingScheme() {
+            return this.namingScheme;
+        }
+
+        @Override
+        public @NonNull PropertiesConfigurationLoader build() {
+            this.defaultOptions(o -> o.nativeTypes(NATIVE_TYPES));
+            return new PropertiesConfigurationLoader(this);
+        }
+    }
+
+    private final String separator;
+    private final String prefix;
+    private final boolean lowerCaseKeys;
+    private final NamingScheme namingScheme;
+
+    private PropertiesConfigurationLoader(final Builder builder) {
+        super(builder, new CommentHandler[] {CommentHandlers.HASH});
+        this.separator = builder.separator();
+        this.prefix = builder.prefix();
+        this.lowerCaseKeys = builder.lowerCaseKeys();
+        this.namingScheme = builder.namingScheme();
+    }
+
+    /**
+     * Load a node from a map of flat keys, using the
+     * {@link #defaultOptions()}.
+     *
+     * @param entries the entries to read, such as {@link System#getenv()}
+     * @return the loaded node
+     * @throws ConfigurateException if the entries could not be loaded
+     * @since 4.0.0
+     */
+    public CommentedConfigurationNode load(final Map<String, String> entries) throws ConfigurateException {
+        return this.load(entries, this.defaultOptions());
+    }
+
+    /**
+     * Load a node from a map of flat keys.
+     *
+     * @param entries the entries to read, such as {@link System#getenv()}
+     * @param options the options to load with
+     * @return the loaded node
+     * @throws ConfigurateException if the entries could not be loaded
+     * @since 4.0.0
+     */
+    public CommentedConfigurationNode load(final Map<String, String> entries, final ConfigurationOptions options) throws ConfigurateException {
+        final CommentedConfigurationNode node = this.createNode(options);
+        final KeyTrie root = new KeyTrie();
+        final Map<String, String> segments = new HashMap<>();
+        for (Map.Entry<String, String> entry : entries.entrySet()) {
+            this.insert(root, entry.getKey(), entry.getValue(), segments);
+        }
+        root.populate(node);
+        return node;
+    }
+
+    @Override
+    protected void loadInternal(final CommentedConfigurationNode node, final BufferedReader reader) throws ParsingException {
+        final TrieProperties properties = new TrieProperties(this);
+        try {
+            properties.load(reader);
+        } catch (final IOException | IllegalArgumentException ex) { // IAE is thrown for malformed unicode escapes
+            throw new ParsingException(node, ParsingException.UNKNOWN_POS, ParsingException.UNKNOWN_POS, null, ex.getMessage(), ex);
+        }
+        try {
+            properties.root.populate(node);
+        } catch (final SerializationException ex) {
+            throw ParsingException.wrap(node, ex);
+        }
+    }
+
+    void insert(final KeyTrie root, final String key, final String value, final Map<String, String> segments) {
+        if (!key.startsWith(this.prefix)) {
+            return;
+        }
+
+        KeyTrie current = root;
+        int start = this.prefix.length();
+        int end;
+        while ((end = key.indexOf(this.separator, start)) != -1) {
+            if (end > start) { // skip empty segments
+                current = current.child(this.segment(key.substring(start, end), segments));
+            }
+            start = end + this.separator.length();
+        }
+        if (start < key.length()) {
+            current = current.child(this.segment(key.substring(start), segments));
+        }
+
+        if (current != root) {
+            current.value(value);
+        }
+    }
+
+    private String segment(final String raw, final Map<String, String> segments) {
+        // the same segments appear in many keys, so only convert each once per load
+        @Nullable String converted = segments.get(raw);
+        if (converted == null) {
+            converted = this.namingScheme.coerce(this.lowerCaseKeys ? raw.toLowerCase(Locale.ROOT) : raw);
+            segments.put(raw, converted);
+        }
+        return converted;
+    }
+
+    @Override
+    protected void saveInternal(final ConfigurationNode node, final Writer writer) throws ConfigurateException {
+        if (!node.isMap() && !node.isList() && node.rawScalar() != null) {
+            throw new ConfigurateException(node, "Flat-key configurations must have a map or list at the root");
+        }
+        try {
+            this.writeNode(node, new StringBuilder(this.prefix), writer);
+        } catch (final IOException ex) {
+            throw ConfigurateException.wrap(node, ex);
+        }
+    }
+
+    private void writeNode(final ConfigurationNode node, final StringBuilder key, final Writer writer) throws IOException {
+        if (key.length() > this.prefix.length() && node instanceof CommentedConfigurationNodeIntermediary<?>) {
+            final @Nullable String comment = ((CommentedConfigurationNodeIntermediary<?>) node).comment();
+            if (comment != null) {
+                final Iterator<String> lines = CommentHandlers.HASH.toComment(CONFIGURATE_LINE_PATTERN.splitAsStream(comment)).iterator();
+                while (lines.hasNext()) {
+                    writer.write(lines.next());
+                    writer.write(SYSTEM_LINE_SEPARATOR);
+                }
+            }
+        }
+
+        final int length = key.length();
+        if (node.isMap()) {
+            for (Map.Entry<Object, ? extends ConfigurationNode> child : node.childrenMap().entrySet()) {
+                this.appendSegment(key, String.valueOf(child.getKey()));
+                this.writeNode(child.getValue(), key, writer);
+                key.setLength(length);
+            }
+        } else if (node.isList()) {
+            final List<? extends ConfigurationNode> children = node.childrenList();
+            for (int i = 0; i < children.size(); ++i) {
+                this.appendSegment(key, Integer.toString(i));
+                this.writeNode(children.get(i), key, writer);
+                key.setLength(length);
+            }
+        } else {
+            final @Nullable Object value = node.rawScalar();
+            if (value != null) {
+                writeEscaped(writer, key, true);
+                writer.write('=');
+                writeEscaped(writer, String.valueOf(value), false);
+                writer.write(SYSTEM_LINE_SEPARATOR);
+            }
+        }
+    }
+
+    private void appendSegment(final StringBuilder key, final String segment) {
+        if (key.length() > this.prefix.length()) {
+            key.append(this.separator);
+        }
+        key.append(segment);
+    }
+
+    // Escape text in the same way as Properties.store(Writer, String)
+    private static void writeEscaped(final Writer writer, final CharSequence text, final boolean key) throws IOException {
+        for (int i = 0, length = text.length(); i < length; ++i) {
+            final char c = text.charAt(i);
+            switch (c) {
+                case ' ':
+                    if (key || i == 0) {
+                        writer.write('\\');
+                    }
+                    writer.write(c);
+                    break;
+                case '\t':
+                    writer.write("\\t");
+                    break;
+                case '\n':
+                    writer.write("\\n");
+                    break;
+                case '\r':
+                    writer.write("\\r");
+                    break;
+                case '\f':
+                    writer.write("\\f");
+                    break;
+                case '\\':
+                case '=':
+                case ':':
+                case '#':
+                case '!':
+                    writer.write('\\');
+                    writer.write(c);
+                    break;
+                default:
+                    if (c < 0x20 || c == 0x7f) {
+                        writer.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        writer.write(c);
+                    }
+            }
+        }
+    }
+
+    @Override
+    public CommentedConfigurationNode createNode(final ConfigurationOptions options) {
+        return CommentedConfigurationNode.root(options.nativeTypes(NATIVE_TYPES));
+    }
+
+    /**
+     * A properties instance that inserts every entry directly into a trie
+     * as it is parsed, rather than storing it.
+     */
+    @SuppressWarnings("serial")
+    private static final class TrieProperties extends Properties {
+
+        final transient KeyTrie root = new KeyTrie();
+        private final transient PropertiesConfigurationLoader loader;
+        private final transient Map<String, String> segments = new HashMap<>();
+
+        TrieProperties(final PropertiesConfigurationLoader loader) {
+            this.loader = loader;
+        }
+
+        @Override
+        public synchronized @Nullable Object put(final Object key, final Object value) {
+            this.loader.insert(this.root, (String) key, (String) value, this.segments);
+            return null;
+        }
+
+    }
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.spongepowered.configurate.CommentedConfigurationNode;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.loader.ParsingException;
+import org.spongepowered.configurate.util.NamingSchemes;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class PropertiesConfigurationLoaderTest {
+
+    private static PropertiesConfigurationLoader.Builder reading(final String contents) {
+        return PropertiesConfigurationLoader.builder()
+            .source(() -> new BufferedReader(new StringReader(contents)));
+    }
+
+    @Test
+    void testLoadNestedKeys() throws ConfigurateException {
+        final CommentedConfigurationNode node = reading(
+            "# A header\n"
+            + "\n"
+            + "server.host=localhost\n"
+            + "server.port = 25565\n"
+            + "server.motd=Hello\\u0020world\n"
+            + "flag\n"
+            + "plugins.0=first\n"
+            + "plugins.1=second\n"
+        ).build().load();
+
+        assertEquals("A header", node.options().header());
+        assertEquals("localhost", node.node("server", "host").getString());
+        assertEquals(25565, node.node("server", "port").getInt());
+        assertEquals("Hello world", node.node("server", "motd").getString());
+        assertEquals("", node.node("flag").getString());
+        assertTrue(node.node("plugins").isList());
+        assertEquals(Arrays.asList("first", "second"), node.node("plugins").childrenList().stream()
+            .map(CommentedConfigurationNode::getString)
+            .collect(Collectors.toList()));
+    }
+
+    @Test
+    void testChildrenTakePrecedence() throws ConfigurateException {
+        final CommentedConfigurationNode node = reading("a=1\na.b=2\n").build().load();
+        assertTrue(node.node("a").isMap());
+        assertEquals("2", node.node("a", "b").getString());
+    }
+
+    @Test
+    void testSparseIndicesAreMap() throws ConfigurateException {
+        final CommentedConfigurationNode node = reading("list.0=a\nlist.2=c\n").build().load();
+        assertTrue(node.node("list").isMap());
+        assertEquals("c", node.node("list", "2").getString());
+    }
+
+    @Test
+    void testEnvironmentMap() throws ConfigurateException {
+        final Map<String, String> env = new LinkedHashMap<>();
+        env.put("PATH", "/usr/bin");
+        env.put("APP_DATABASE_URL", "jdbc:h2:mem");
+        env.put("APP_DATABASE_POOL_SIZE", "8");
+        env.put("APP_DEBUG", "true");
+
+        final CommentedConfigurationNode node = PropertiesConfigurationLoader.builder()
+            .prefix("APP_")
+            .separator("_")
+            .lowerCaseKeys(true)
+            .build()
+            .load(env);
+
+        assertEquals(2, node.childrenMap().size());
+        assertEquals("jdbc:h2:mem", node.node("database", "url").getString());
+        assertEquals(8, node.node("database", "pool", "size").getInt());
+        assertTrue(node.node("debug").getBoolean());
+    }
+
+    @Test
+    void testNamingScheme() throws ConfigurateException {
+        final CommentedConfigurationNode node = reading("maxPlayers=20\nworld.spawnRadius=16\n")
+            .namingScheme(NamingSchemes.LOWER_CASE_DASHED)
+            .build()
+            .load();
+
+        assertEquals(20, node.node("max-players").getInt());
+        assertEquals(16, node.node("world", "spawn-radius").getInt());
+    }
+
+    @Test
+    void testRoundtrip() throws ConfigurateException {
+        final StringWriter out = new StringWriter();
+        final PropertiesConfigurationLoader loader = PropertiesConfigurationLoader.builder()
+            .prefix("app.")
+            .sink(() -> new BufferedWriter(out))
+            .build();
+        final CommentedConfigurationNode node = loader.createNode(n -> {
+            n.node("server", "host").set("local host").comment("Bind address");
+            n.node("server", "port").set(25565);
+            n.node("odd=key").set(" leading space\nand=line");
+            n.node("plugins").appendListNode().set("first");
+            n.node("plugins").appendListNode().set("second");
+        });
+        loader.save(node);
+
+        final String saved = out.toString();
+        assertTrue(saved.contains("# Bind address"));
+        assertTrue(saved.contains("app.server.host=local host"));
+        assertTrue(saved.contains("app.odd\\=key=\\ leading space\\nand\\=line"));
+
+        final CommentedConfigurationNode loaded = reading(saved).prefix("app.").build().load();
+        assertEquals("local host", loaded.node("server", "host").getString());
+        assertEquals("25565", loaded.node("server", "port").getString());
+        assertEquals(" leading space\nand=line", loaded.node("odd=key").getString());
+        assertEquals("second", loaded.node("plugins", 1).getString());
+    }
+
+    @Test
+    void testScalarRootCannotBeSaved() {
+        final PropertiesConfigurationLoader loader = PropertiesConfigurationLoader.builder()
+            .sink(() -> new BufferedWriter(new StringWriter()))
+            .build();
+        assertThrows(ConfigurateException.class, () -> loader.save(loader.createNode().raw("scalar")));
+    }
+
+    @Test
+    void testMalformedEscape() {
+        assertThrows(ParsingException.class, () -> reading("bad=\\uzzzz\n").build().load());
+    }
+
+}
@@ -0,0 +1,26 @@
+import org.spongepowered.configurate.build.format
+
+plugins {
+    id("org.spongepowered.configurate.build.component")
+}
+
+description = "Smile format loader for Configurate, implemented using Jackson"
+
+dependencies {
+    api(format("jackson"))
+    api("com.fasterxml.jackson.dataformat:jackson-dataformat-smile:2.+") {
+        attributes {
+            // Require that we're an actual release...
+            // Too bad Gradle doesn't properly expose this attribute
+            attribute(Attribute.of("org.gradle.status", String::class.java), "release")
+        }
+    }
+    testImplementation(testFixtures(format("jackson")))
+}
+
+indra {
+    configurePublications {
+        // We only publish resolved versions, so the warning about using attributes is irrelevant.
+        suppressAllPomMetadataWarnings()
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.smile;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactoryBuilder;
+import org.spongepowered.configurate.jackson.BinaryJacksonConfigurationLoader;
+
+/**
+ * A loader for configurations in the binary
+ * <a href="https://github.com/FasterXML/smile-format-specification">Smile</a>
+ * format, using Jackson for parsing and generation.
+ *
+ * <p>Smile is a binary encoding of JSON. Field names and short string
+ * values that repeat within a document are written only once, and later
+ * occurrences refer back to the first, so documents with many similar
+ * entries are especially compact.</p>
+ *
+ * @since 4.0.0
+ */
+public final class SmileConfigurationLoader extends BinaryJacksonConfigurationLoader {
+
+    /**
+     * Creates a new {@link SmileConfigurationLoader} builder.
+     *
+     * @return a new builder
+     * @since 4.0.0
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private SmileConfigurationLoader(final Builder builder) {
+        super(builder, builder.factoryBuilder().build());
+    }
+
+    /**
+     * Builds a {@link SmileConfigurationLoader}.
+     *
+     * @since 4.0.0
+     */
+    public static final class Builder extends BinaryJacksonConfigurationLoader.Builder<Builder, SmileConfigurationLoader> {
+        private final SmileFactoryBuilder factory = SmileFactory.builder();
+
+        Builder() {
+        }
+
+        /**
+         * Gets the builder for the {@link SmileFactory} used to configure
+         * the implementation.
+         *
+         * @return the factory builder
+         * @since 4.0.0
+         */
+        public SmileFactoryBuilder factoryBuilder() {
+            return this.factory;
+        }
+
+        @Override
+        public SmileConfigurationLoader build() {
+            return new SmileConfigurationLoader(this);
+        }
+    }
+
+}
@@ -27,14 +27,11 @@ import org.spongepowered.configurate.loader.AbstractConfigurationLoader;
 import org.spongepowered.configurate.loader.CommentHandler;
 import org.spongepowered.configurate.loader.CommentHandlers;
 import org.spongepowered.configurate.loader.ParsingException;
+import org.spongepowered.configurate.util.ObjectPool;
 import org.spongepowered.configurate.util.UnmodifiableCollections;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.NamedNodeMap;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
+import org.xml.sax.SAXNotRecognizedException;
+import org.xml.sax.SAXNotSupportedException;
 import org.xml.sax.SAXParseException;
 
 import java.io.BufferedReader;
@@ -43,25 +40,26 @@ import java.io.IOException;
 import java.io.Writer;
 import java.nio.file.NoSuchFileException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 import javax.xml.XMLConstants;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerConfigurationException;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
+import javax.xml.validation.Validator;
 
 /**
  * A loader for XML (Extensible Markup Language), using the native javax library
@@ -81,22 +79,6 @@ public final class XmlConfigurationLoader extends AbstractConfigurationLoader<At
 
     private static final String ATTRIBUTE_TYPE = "configurate-type";
 
-    /**
-     * The user data used to store comments on nodes.
-     */
-    private static final String USER_DATA_COMMENT = "configurate-comment";
-
-    /**
-     * The property used to mark how many spaces should be used to indent.
-     */
-    private static final String INDENT_PROPERTY = "{http://xml.apache.org/xslt}indent-amount";
-
-    private static final String FEATURE_EXTERNAL_GENERAL_ENTITIES = "http://xml.org/sax/features/external-general-entities";
-
-    private static final String FEATURE_EXTERNAL_PARAMETER_ENTITIES = "http://xml.org/sax/features/external-parameter-entities";
-
-    private static final String FEATURE_LOAD_EXTERNAL_DTD = "http://apache.org/xml/features/nonvalidating/load-external-dtd";
-
 
     /**
      * Creates a new {@link XmlConfigurationLoader} builder.
@@ -151,6 +133,10 @@ public final class XmlConfigurationLoader extends AbstractConfigurationLoader<At
         /**
          * Sets the {@link Schema} the resultant loader should use.
          *
+         * <p>When a schema is set, the document is validated in a separate
+         * pass before it is loaded, so any source must be able to provide
+         * the document more than once.</p>
+         *
          * @param schema the schema
          * @return this builder (for chaining)
          * @since 4.0.0
@@ -295,6 +281,8 @@ public final class XmlConfigurationLoader extends AbstractConfigurationLoader<At
     private final boolean writeExplicitType;
     private final boolean includeXmlDeclaration;
     private final boolean resolvesExternalContent;
+    private final ObjectPool<XMLInputFactory> inputFactory;
+    private final ObjectPool<XMLOutputFactory> outputFactory;
 
     private XmlConfigurationLoader(final Builder builder) {
         super(builder, new CommentHandler[] {CommentHandlers.XML_STYLE});
@@ -304,52 +292,48 @@ public final class XmlConfigurationLoader extends AbstractConfigurationLoader<At
         this.writeExplicitType = builder.writesExplicitType();
         this.includeXmlDeclaration = builder.includesXmlDeclaration();
         this.resolvesExternalContent = builder.resolvesExternalContent();
+        // factories are not guaranteed to be thread-safe
+        this.inputFactory = ObjectPool.create(this::newInputFactory);
+        this.outputFactory = ObjectPool.create(XMLOutputFactory::newInstance);
     }
 
-    private DocumentBuilder newDocumentBuilder() throws ConfigurateException {
-        final DocumentBuilderFactory builderFactory = DocumentBuilderFactory.newInstance();
-        if (this.schema != null) {
-            builderFactory.setSchema(this.schema);
-        }
+    private XMLInputFactory newInputFactory() {
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        // report prefixed names as written, and namespace declarations as attributes
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
         if (!this.resolvesExternalContent) {
             // Settings based on https://cheatsheetseries.owasp.org/cheatsheets/XML_External_Entity_Prevention_Cheat_Sheet.html
+            // without a DTD, entities can be neither declared nor expanded
+            factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+            factory.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, false);
             try {
-                builderFactory.setFeature(FEATURE_EXTERNAL_GENERAL_ENTITIES, false);
-                builderFactory.setFeature(FEATURE_EXTERNAL_PARAMETER_ENTITIES, false);
-                builderFactory.setFeature(FEATURE_LOAD_EXTERNAL_DTD, false);
-            } catch (final ParserConfigurationException e) {
-                throw new ConfigurateException(e);
+                factory.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+            } catch (final IllegalArgumentException ignore) {
+                // not supported by this implementation
             }
-            builderFactory.setXIncludeAware(false);
-            builderFactory.setExpandEntityReferences(false);
-        }
-
-        try {
-            return builderFactory.newDocumentBuilder();
-        } catch (final ParserConfigurationException e) {
-            throw new ConfigurateException(e);
         }
+        return factory;
     }
 
-    private Transformer newTransformer() throws ConfigurateException {
-        final TransformerFactory transformerFactory = TransformerFactory.newInstance();
+    private void validate(final BufferedReader reader, final Schema schema) throws IOException, ParsingException {
+        final Validator validator = schema.newValidator();
         if (!this.resolvesExternalContent) {
-            transformerFactory.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
-            transformerFactory.setAttribute(XMLConstants.ACCESS_EXTERNAL_STYLESHEET, "");
+            try {
+                validator.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+                validator.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+            } catch (final SAXNotRecognizedException | SAXNotSupportedException ignore) {
+                // not supported by this implementation
+            }
         }
-        try {
-            final Transformer transformer = transformerFactory.newTransformer();
-
-            // we write the header ourselves.
-            transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
 
-            if (this.indent > 0) {
-                transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-                transformer.setOutputProperty(INDENT_PROPERTY, Integer.toString(this.indent));
-            }
-            return transformer;
-        } catch (final TransformerConfigurationException e) {
-            throw new ConfigurateException(e);
+        try {
+            validator.validate(new StreamSource(reader));
+        } catch (final SAXParseException ex) {
+            throw new ParsingException(ex.getLineNumber(), ex.getColumnNumber(), "", ex.getMessage(), ex.getCause());
+        } catch (final SAXException ex) {
+            throw new ParsingException(-1, -1, null, null, ex);
         }
     }
 
@@ -358,27 +342,33 @@ public final class XmlConfigurationLoader extends AbstractConfigurationLoader<At
         if (source == null) {
             throw new ParsingException(-1, -1, "", "No source present to read from!", null);
         }
-        try (BufferedReader reader = source.call()) {
-            final DocumentBuilder documentBuilder = newDocumentBuilder();
-
-            final Document document;
-            try {
-                document = documentBuilder.parse(new InputSource(reader));
-            } catch (final SAXParseException ex) {
-                throw new ParsingException(ex.getLineNumber(), ex.getColumnNumber(), "", ex.getMessage(), ex.getCause());
-            } catch (final SAXException e) {
-                throw new ParsingException(-1, -1, null, null, e);
+        try {
+            final @Nullable Schema schema = this.schema;
+            if (schema != null) {
+                try (BufferedReader reader = source.call()) {
+                    validate(reader, schema);
+                }
             }
 
-            final NodeList children = document.getChildNodes();
-            for (int i = 0; i < children.getLength(); ++i) {
-                final Node child = children.item(i);
-                if (child.getNodeType() == Node.COMMENT_NODE) {
-                    options = options.header(unwrapHeader(child.getTextContent().trim()));
-                } else if (child.getNodeType() == Node.ELEMENT_NODE) {
-                    final AttributedConfigurationNode node = createNode(options);
-                    readElement(child, node);
-                    return node;
+            try (BufferedReader reader = source.call()) {
+                final XMLStreamReader parser = this.inputFactory.use(factory -> factory.createXMLStreamReader(reader));
+                try {
+                    while (parser.hasNext()) {
+                        final int event = parser.next();
+                        if (event == XMLStreamConstants.COMMENT) {
+                            options = options.header(unwrapHeader(parser.getText().trim()));
+                        } else if (event == XMLStreamConstants.START_ELEMENT) {
+                            final AttributedConfigurationNode node = createNode(options);
+                            readElement(parser, node, null);
+                            return node;
+                        }
+                    }
+                } catch (final XMLStreamException ex) {
+                    final @Nullable Location location = ex.getLocation();
+                    throw new ParsingException(location == null ? -1 : location.getLineNumber(),
+                        location == null ? -1 : location.getColumnNumber(), "", ex.getMessage(), ex.getNestedException());
+                } finally {
+                    parser.close();
                 }
             }
             // empty document, fall through
@@ -427,100 +417,133 @@ public final class XmlConfigurationLoader extends AbstractConfigurationLoader<At
         MAP, LIST
     }
 
-    private void readElement(final Node from, final AttributedConfigurationNode to) {
+    private static String name(final @Nullable String prefix, final String localName) {
+        return prefix == null || prefix.isEmpty() ? localName : prefix + ':' + localName;
+    }
+
+    /**
+     * Read the element the parser is positioned at into a node, leaving the
+     * parser positioned at the element's end tag.
+     *
+     * @param parser the parser
+     * @param to the node to read into
+     * @param comment comments preceding the element
+     * @throws XMLStreamException if the document could not be read
+     */
+    private void readElement(final XMLStreamReader parser, final AttributedConfigurationNode to, final @Nullable String comment)
+            throws XMLStreamException {
         @Nullable NodeType type = null;
 
         // copy the name of the tag
-        to.tagName(from.getNodeName());
+        to.tagName(name(parser.getPrefix(), parser.getLocalName()));
 
-        final String potentialComment = (String) from.getUserData(USER_DATA_COMMENT);
-        if (potentialComment != null) {
-            to.comment(potentialComment);
+        if (comment != null) {
+            to.comment(comment);
         }
 
         // copy attributes
-        if (from.hasAttributes()) {
-            final NamedNodeMap attributes = from.getAttributes();
-            for (int i = 0; i < attributes.getLength(); i++) {
-                final Node attribute = attributes.item(i);
-                final String key = attribute.getNodeName();
-                final String value = attribute.getNodeValue();
-
-                // read the type of the node
-                if (key.equals(ATTRIBUTE_TYPE)) {
-                    if (value.equals("map")) {
-                        type = NodeType.MAP;
-                    } else if (value.equals("list")) {
-                        type = NodeType.LIST;
-                    }
-
-                    // don't add internal configurate attributes to the node
-                    continue;
+        for (int i = 0; i < parser.getAttributeCount(); i++) {
+            final String key = name(parser.getAttributePrefix(i), parser.getAttributeLocalName(i));
+            final String value = parser.getAttributeValue(i);
+
+            // read the type of the node
+            if (key.equals(ATTRIBUTE_TYPE)) {
+                if (value.equals("map")) {
+                    type = NodeType.MAP;
+                } else if (value.equals("list")) {
+                    type = NodeType.LIST;
                 }
 
-                to.addAttribute(key, value);
+                // don't add internal configurate attributes to the node
+                continue;
             }
-        }
 
-        // read out the child nodes into a multimap
-        final Map<String, Collection<Node>> children = new LinkedHashMap<>();
-        if (from.hasChildNodes()) {
-            final StringBuilder comment = new StringBuilder();
-            final NodeList childNodes = from.getChildNodes();
-            for (int i = 0; i < childNodes.getLength(); i++) {
-                final Node child = childNodes.item(i);
-                if (child.getNodeType() == Node.ELEMENT_NODE) {
-                    children.computeIfAbsent(child.getNodeName(), $ -> new ArrayList<>()).add(child);
-                    if (comment.length() > 0) {
-                        child.setUserData(USER_DATA_COMMENT, comment.toString(), null);
-                        comment.setLength(0);
+            to.addAttribute(key, value);
+        }
+
+        // if the type isn't explicit, the element is a map unless a tag name is repeated
+        final boolean inferType = type == null;
+        boolean hasChildren = false;
+        final StringBuilder text = new StringBuilder();
+        final StringBuilder childComment = new StringBuilder();
+        while (true) {
+            switch (parser.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    hasChildren = true;
+                    final @Nullable String pendingComment = childComment.length() > 0 ? childComment.toString() : null;
+                    childComment.setLength(0);
+                    final AttributedConfigurationNode child;
+                    if (type == NodeType.LIST) {
+                        child = to.appendListNode();
+                    } else {
+                        final AttributedConfigurationNode existing = to.node(name(parser.getPrefix(), parser.getLocalName()));
+                        if (existing.virtual()) {
+                            child = existing;
+                        } else if (inferType) {
+                            // a repeated tag, so this is a list after all
+                            type = NodeType.LIST;
+                            convertToList(to);
+                            child = to.appendListNode();
+                        } else {
+                            // an explicit map only takes the first element with each name
+                            skipElement(parser);
+                            continue;
+                        }
                     }
-                } else if (child.getNodeType() == Node.COMMENT_NODE) {
-                    if (comment.length() > 0) {
-                        comment.append('\n');
+                    readElement(parser, child, pendingComment);
+                    break;
+                case XMLStreamConstants.COMMENT:
+                    if (childComment.length() > 0) {
+                        childComment.append('\n');
                     }
-
-                    comment.append(child.getTextContent().trim());
-                }
-            }
-        }
-
-        // if there are no child nodes present, assume it's a scalar value
-        if (children.isEmpty()) {
-            to.raw(parseValue(from.getTextContent()));
-            return;
-        }
-
-        // if type is null, we need to infer what type the element is
-        if (type == null) {
-            // if there are no duplicate keys, we can infer that it is a map
-            // otherwise, assume it's a list
-            type = NodeType.MAP;
-            for (Collection<Node> child : children.values()) {
-                if (child.size() > 1) {
-                    type = NodeType.LIST;
+                    childComment.append(parser.getText().trim());
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                case XMLStreamConstants.ENTITY_REFERENCE:
+                    if (!hasChildren) {
+                        text.append(parser.getText());
+                    }
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    // if there are no child elements present, assume it's a scalar value
+                    if (!hasChildren) {
+                        to.raw(parseValue(text.toString()));
+                    }
+                    return;
+                default:
+                    // processing instructions and the like have no representation
                     break;
-                }
             }
         }
+    }
 
-        if (type == NodeType.MAP) {
-            to.raw(Collections.emptyMap());
-        } else {
-            to.raw(Collections.emptyList());
+    /**
+     * Move the children of a node that has been read as a map into a list.
+     *
+     * @param node the node to convert
+     */
+    private static void convertToList(final AttributedConfigurationNode node) {
+        final Collection<AttributedConfigurationNode> existing = node.childrenMap().values();
+        final List<AttributedConfigurationNode> elements = new ArrayList<>(existing.size());
+        for (final AttributedConfigurationNode element : existing) {
+            elements.add(element.copy());
         }
+        node.raw(Collections.emptyList());
+        for (final AttributedConfigurationNode element : elements) {
+            node.appendListNode().from(element);
+        }
+    }
 
-        // read out the elements
-        for (Map.Entry<String, Collection<Node>> entry : children.entrySet()) {
-            AttributedConfigurationNode child;
-            if (type == NodeType.MAP) {
-                child = to.node(entry.getKey());
-                readElement(entry.getValue().iterator().next(), child);
-            } else {
-                for (Node element : entry.getValue()) {
-                    child = to.appendListNode();
-                    readElement(element, child);
-                }
+    private static void skipElement(final XMLStreamReader parser) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            final int event = parser.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
             }
         }
     }
@@ -535,75 +558,158 @@ public final class XmlConfigurationLoader extends AbstractConfigurationLoader<At
 
     @Override
     protected void saveInternal(final ConfigurationNode node, final Writer writer) throws ConfigurateException {
-        final DocumentBuilder documentBuilder = newDocumentBuilder();
-        final Document document = documentBuilder.newDocument();
-
-        final @Nullable Node comment = createCommentNode(document, node);
-        if (comment != null) {
-            document.appendChild(comment);
-        }
-
-        document.appendChild(writeNode(document, node, null));
-
-        final Transformer transformer = newTransformer();
-        final DOMSource source = new DOMSource(document);
         try {
-            transformer.transform(source, new StreamResult(writer));
-        } catch (final TransformerException e) {
+            final XMLStreamWriter generator = this.outputFactory.use(factory -> factory.createXMLStreamWriter(writer));
+            try {
+                writeComment(generator, node);
+                writeNode(generator, node, null, 0);
+                if (this.indent > 0) {
+                    generator.writeCharacters(SYSTEM_LINE_SEPARATOR);
+                }
+                generator.flush();
+            } finally {
+                generator.close();
+            }
+        } catch (final XMLStreamException e) {
             throw new ConfigurateException(node, e);
         }
     }
 
-    private void appendCommentIfNecessary(final Element parent, final ConfigurationNode node) {
-        final @Nullable Node possibleComment = createCommentNode(parent.getOwnerDocument(), node);
-        if (possibleComment != null) {
-            parent.appendChild(possibleComment);
+    private static @Nullable String comment(final ConfigurationNode node) {
+        if (node instanceof CommentedConfigurationNodeIntermediary<?>) {
+            return ((CommentedConfigurationNodeIntermediary<?>) node).comment();
         }
+        return null;
     }
 
-    private @Nullable Node createCommentNode(final Document doc, final ConfigurationNode node) {
-        if (node instanceof CommentedConfigurationNodeIntermediary<?>) {
-            final @Nullable String comment = ((CommentedConfigurationNodeIntermediary<?>) node).comment();
-            if (comment != null) {
-                return doc.createComment(" " + comment.trim() + " ");
-            }
+    private void writeComment(final XMLStreamWriter generator, final ConfigurationNode node) throws XMLStreamException {
+        final @Nullable String comment = comment(node);
+        if (comment != null) {
+            generator.writeComment(" " + comment.trim() + " ");
+        }
+    }
+
+    private void newLine(final XMLStreamWriter generator, final int depth) throws XMLStreamException {
+        if (this.indent > 0) {
+            final char[] indent = new char[depth * this.indent];
+            Arrays.fill(indent, ' ');
+            generator.writeCharacters(SYSTEM_LINE_SEPARATOR);
+            generator.writeCharacters(indent, 0, indent.length);
         }
-        return null;
     }
 
-    private Element writeNode(final Document document, final ConfigurationNode node, final @Nullable String forcedTag) {
+    private void writeNode(final XMLStreamWriter generator, final ConfigurationNode node, final @Nullable String forcedTag, final int depth)
+            throws XMLStreamException, ConfigurateException {
         String tag = this.defaultTagName;
-        Map<String, String> attributes = Collections.emptyMap();
+        // attributes are written in name order, as they always have been
+        final Map<String, String> attributes = new TreeMap<>();
 
         if (node instanceof AttributedConfigurationNode) {
             final AttributedConfigurationNode attributedNode = (AttributedConfigurationNode) node;
             tag = attributedNode.tagName();
-            attributes = attributedNode.attributes();
-        }
-
-        final Element element = document.createElement(forcedTag == null ? tag : forcedTag);
-        for (final Map.Entry<String, String> attribute : attributes.entrySet()) {
-            element.setAttribute(attribute.getKey(), attribute.getValue());
+            attributes.putAll(attributedNode.attributes());
         }
 
+        final @Nullable Collection<? extends ConfigurationNode> children;
+        final @Nullable Map<Object, ? extends ConfigurationNode> mapChildren;
+        final @Nullable String text;
         if (node.isMap()) {
-            for (final Map.Entry<Object, ? extends ConfigurationNode> child : node.childrenMap().entrySet()) {
-                appendCommentIfNecessary(element, child.getValue());
-                element.appendChild(writeNode(document, child.getValue(), child.getKey().toString()));
-            }
+            mapChildren = node.childrenMap();
+            children = mapChildren.values();
+            text = null;
         } else if (node.isList()) {
             if (this.writeExplicitType) {
-                element.setAttribute(ATTRIBUTE_TYPE, "list");
-            }
-            for (final ConfigurationNode child : node.childrenList()) {
-                appendCommentIfNecessary(element, child);
-                element.appendChild(writeNode(document, child, null));
+                attributes.put(ATTRIBUTE_TYPE, "list");
             }
+            mapChildren = null;
+            children = node.childrenList();
+            text = null;
         } else {
-            element.appendChild(document.createTextNode(Objects.toString(node.rawScalar())));
+            mapChildren = null;
+            children = Collections.emptyList();
+            text = Objects.toString(node.rawScalar());
         }
 
-        return element;
+        // the stream writer does not check names, so a bad key would produce a malformed document
+        final String name = requireValidName(node, forcedTag == null ? tag : forcedTag);
+        if (children.isEmpty() && (text == null || text.isEmpty())) {
+            generator.writeEmptyElement(name);
+        } else {
+            generator.writeStartElement(name);
+        }
+        for (final Map.Entry<String, String> attribute : attributes.entrySet()) {
+            generator.writeAttribute(requireValidName(node, attribute.getKey()), attribute.getValue());
+        }
+
+        if (!children.isEmpty()) {
+            if (mapChildren != null) {
+                for (final Map.Entry<Object, ? extends ConfigurationNode> child : mapChildren.entrySet()) {
+                    writeChild(generator, child.getValue(), child.getKey().toString(), depth + 1);
+                }
+            } else {
+                for (final ConfigurationNode child : children) {
+                    writeChild(generator, child, null, depth + 1);
+                }
+            }
+            newLine(generator, depth);
+            generator.writeEndElement();
+        } else if (text != null && !text.isEmpty()) {
+            generator.writeCharacters(text);
+            generator.writeEndElement();
+        }
+    }
+
+    private void writeChild(final XMLStreamWriter generator, final ConfigurationNode child, final @Nullable String forcedTag, final int depth)
+            throws XMLStreamException, ConfigurateException {
+        if (comment(child) != null) {
+            newLine(generator, depth);
+            writeComment(generator, child);
+        }
+        newLine(generator, depth);
+        writeNode(generator, child, forcedTag, depth);
+    }
+
+    private static String requireValidName(final ConfigurationNode node, final String name) throws ConfigurateException {
+        if (!isValidName(name)) {
+            throw new ConfigurateException(node, "'" + name + "' is not a valid XML name");
+        }
+        return name;
+    }
+
+    /**
+     * Check whether a string matches the {@code Name} production of
+     * the XML 1.0 specification.
+     *
+     * @param name the name to check
+     * @return whether the name is valid
+     */
+    static boolean isValidName(final String name) {
+        if (name.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < name.length();) {
+            final int cp = name.codePointAt(i);
+            if (i == 0 ? !isNameStartChar(cp) : !isNameChar(cp)) {
+                return false;
+            }
+            i += Character.charCount(cp);
+        }
+        return true;
+    }
+
+    private static boolean isNameStartChar(final int cp) {
+        return cp == ':' || cp == '_'
+            || (cp >= 'A' && cp <= 'Z') || (cp >= 'a' && cp <= 'z')
+            || (cp >= 0xC0 && cp <= 0xD6) || (cp >= 0xD8 && cp <= 0xF6) || (cp >= 0xF8 && cp <= 0x2FF)
+            || (cp >= 0x370 && cp <= 0x37D) || (cp >= 0x37F && cp <= 0x1FFF) || (cp >= 0x200C && cp <= 0x200D)
+            || (cp >= 0x2070 && cp <= 0x218F) || (cp >= 0x2C00 && cp <= 0x2FEF) || (cp >= 0x3001 && cp <= 0xD7FF)
+            || (cp >= 0xF900 && cp <= 0xFDCF) || (cp >= 0xFDF0 && cp <= 0xFFFD) || (cp >= 0x10000 && cp <= 0xEFFFF);
+    }
+
+    private static boolean isNameChar(final int cp) {
+        return isNameStartChar(cp) || cp == '-' || cp == '.'
+            || (cp >= '0' && cp <= '9') || cp == 0xB7
+            || (cp >= 0x300 && cp <= 0x36F) || (cp >= 0x203F && cp <= 0x2040);
     }
 
     @Override
@@ -19,6 +19,7 @@ package org.spongepowered.configuate.xml;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.google.common.io.Resources;
@@ -27,16 +28,25 @@ import org.junit.jupiter.api.io.TempDir;
 import org.spongepowered.configurate.AttributedConfigurationNode;
 import org.spongepowered.configurate.ConfigurateException;
 import org.spongepowered.configurate.loader.AtomicFiles;
+import org.spongepowered.configurate.loader.ParsingException;
 import org.spongepowered.configurate.xml.XmlConfigurationLoader;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import javax.xml.XMLConstants;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
 
 /**
  * Basic sanity checks for the loader.
@@ -91,6 +101,70 @@ public class XmlConfigurationLoaderTest {
         assertEquals(Resources.readLines(url, UTF_8), Files.readAllLines(saveTest));
     }
 
+    @Test
+    void testRepeatedTagsBecomeList() throws ConfigurateException {
+        final String document = "<items><!-- the first --><a>1</a><b>2</b><a>3</a></items>";
+        final XmlConfigurationLoader loader = XmlConfigurationLoader.builder()
+                .source(() -> new BufferedReader(new StringReader(document)))
+                .build();
+
+        final AttributedConfigurationNode node = loader.load();
+        assertTrue(node.isList());
+        assertEquals(Arrays.asList(1, 2, 3), node.raw());
+        assertEquals("a", node.node(0).tagName());
+        assertEquals("the first", node.node(0).comment());
+        assertEquals("b", node.node(1).tagName());
+    }
+
+    @Test
+    void testSchemaValidation() throws Exception {
+        final String xsd = "<xs:schema xmlns:xs=\"http://www.w3.org/2001/XMLSchema\">"
+            + "<xs:element name=\"config\"><xs:complexType><xs:sequence>"
+            + "<xs:element name=\"port\" type=\"xs:int\"/>"
+            + "</xs:sequence></xs:complexType></xs:element>"
+            + "</xs:schema>";
+        final Schema schema = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI)
+            .newSchema(new StreamSource(new StringReader(xsd)));
+
+        final XmlConfigurationLoader valid = XmlConfigurationLoader.builder()
+                .schema(schema)
+                .source(() -> new BufferedReader(new StringReader("<config><port>25565</port></config>")))
+                .build();
+        assertEquals(25565, valid.load().node("port").getInt());
+
+        final XmlConfigurationLoader invalid = XmlConfigurationLoader.builder()
+                .schema(schema)
+                .source(() -> new BufferedReader(new StringReader("<config><port>many</port></config>")))
+                .build();
+        assertThrows(ParsingException.class, invalid::load);
+    }
+
+    @Test
+    void testEntitiesRejected() {
+        final String document = "<!DOCTYPE lolz [<!ENTITY lol \"lol\"><!ENTITY lol2 \"&lol;&lol;&lol;&lol;\">]>"
+            + "<lolz>&lol2;</lolz>";
+        final XmlConfigurationLoader loader = XmlConfigurationLoader.builder()
+                .source(() -> new BufferedReader(new StringReader(document)))
+                .build();
+
+        assertThrows(ParsingException.class, loader::load);
+    }
+
+    @Test
+    void testInvalidNamesRejected() {
+        final XmlConfigurationLoader loader = XmlConfigurationLoader.builder()
+                .sink(() -> new BufferedWriter(new StringWriter()))
+                .build();
+
+        final AttributedConfigurationNode badKey = loader.createNode();
+        badKey.node("has space").raw("value");
+        assertThrows(ConfigurateException.class, () -> loader.save(badKey));
+
+        final AttributedConfigurationNode badAttribute = loader.createNode();
+        badAttribute.addAttribute("1st", "value");
+        assertThrows(ConfigurateException.class, () -> loader.save(badAttribute));
+    }
+
     @Test
     void testExplicitTypes(final @TempDir Path tempDir) throws IOException, ConfigurateException {
         final URL url = getClass().getResource("/example2.xml");
@@ -16,13 +16,16 @@
  */
 package org.spongepowered.configurate.yaml;
 
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.Yaml;
 import org.yaml.snakeyaml.composer.Composer;
+import org.yaml.snakeyaml.nodes.Node;
 import org.yaml.snakeyaml.parser.ParserImpl;
 import org.yaml.snakeyaml.reader.StreamReader;
 
 import java.io.Reader;
+import java.util.function.Consumer;
 
 final class ConfigurateYaml extends Yaml {
 
@@ -31,12 +34,39 @@ final class ConfigurateYaml extends Yaml {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public <T> T load(final Reader yaml) {
+        return this.load(yaml, null);
+    }
+
+    /**
+     * Load a document, optionally exposing the node graph it was
+     * constructed from.
+     *
+     * @param yaml the document source
+     * @param composed a callback to receive the document's root node, if any
+     * @param <T> the expected value type
+     * @return the constructed value
+     */
+    @SuppressWarnings("unchecked")
+    <T> T load(final Reader yaml, final @Nullable Consumer<Node> composed) {
         // Match the superclass implementation, except we substitute our own scanner implementation
         final StreamReader reader = new StreamReader(yaml);
         final ParserImpl parser = new ParserImpl(new ConfigurateScanner(reader));
-        final Composer compose = new Composer(parser, this.resolver, this.loadingConfig);
+        final Composer compose;
+        if (composed == null) {
+            compose = new Composer(parser, this.resolver, this.loadingConfig);
+        } else {
+            compose = new Composer(parser, this.resolver, this.loadingConfig) {
+                @Override
+                public @Nullable Node getSingleNode() {
+                    final @Nullable Node node = super.getSingleNode();
+                    if (node != null) {
+                        composed.accept(node);
+                    }
+                    return node;
+                }
+            };
+        }
         this.constructor.setComposer(compose);
         return (T) this.constructor.getSingleData(Object.class);
     }
@@ -23,9 +23,11 @@ import org.spongepowered.configurate.ConfigurationOptions;
 import org.spongepowered.configurate.loader.AbstractConfigurationLoader;
 import org.spongepowered.configurate.loader.CommentHandler;
 import org.spongepowered.configurate.loader.CommentHandlers;
+import org.spongepowered.configurate.loader.SourceSpans;
+import org.spongepowered.configurate.util.ObjectPool;
 import org.spongepowered.configurate.util.UnmodifiableCollections;
 import org.yaml.snakeyaml.DumperOptions;
-import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.nodes.Node;
 
 import java.io.BufferedReader;
 import java.io.Writer;
@@ -145,23 +147,38 @@ public final class YamlConfigurationLoader extends AbstractConfigurationLoader<C
         }
     }
 
-    private final ThreadLocal<Yaml> yaml;
+    private final ObjectPool<ConfigurateYaml> yaml;
 
     private YamlConfigurationLoader(final Builder builder) {
         super(builder, new CommentHandler[] {CommentHandlers.HASH});
         final DumperOptions opts = builder.options;
         opts.setDefaultFlowStyle(NodeStyle.asSnakeYaml(builder.style));
-        this.yaml = ThreadLocal.withInitial(() -> new ConfigurateYaml(opts));
+        this.yaml = ObjectPool.create(() -> new ConfigurateYaml(opts));
     }
 
     @Override
     protected void loadInternal(final CommentedConfigurationNode node, final BufferedReader reader) {
-        node.raw(this.yaml.get().load(reader));
+        node.raw(this.yaml.use(yaml -> yaml.load(reader)));
+    }
+
+    @Override
+    protected void loadInternal(final CommentedConfigurationNode node, final BufferedReader reader, final SourceSpans spans) {
+        final Node[] document = new Node[1];
+        node.raw(this.yaml.use(yaml -> yaml.load(reader, composed -> document[0] = composed)));
+        YamlSpanRecorder.record(document[0], node, spans);
+    }
+
+    @Override
+    protected @Nullable String renderScalar(final ConfigurationNode node) {
+        return YamlSpanRecorder.render(node.rawScalar());
     }
 
     @Override
     protected void saveInternal(final ConfigurationNode node, final Writer writer) {
-        this.yaml.get().dump(node.raw(), writer);
+        this.yaml.use(yaml -> {
+            yaml.dump(node.raw(), writer);
+            return null;
+        });
     }
 
     @Override
@@ -0,0 +1,206 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.yaml;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.loader.SourceSpans;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.NodeTuple;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.SequenceNode;
+import org.yaml.snakeyaml.nodes.Tag;
+
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Records the locations of values in a YAML document, by walking the
+ * composed node graph alongside the configuration node it was loaded into.
+ *
+ * <p>Any document feature that means values are not in a one-to-one
+ * correspondence with text (aliases, merge keys, duplicate keys) will
+ * invalidate the recorded spans.</p>
+ */
+final class YamlSpanRecorder {
+
+    private final SourceSpans spans;
+    private final Set<Node> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private YamlSpanRecorder(final SourceSpans spans) {
+        this.spans = spans;
+    }
+
+    /**
+     * Record spans for a loaded document.
+     *
+     * @param document the composed document, or null if the document
+     *      was empty
+     * @param node the node the document was loaded into
+     * @param spans the span collector
+     */
+    static void record(final @Nullable Node document, final ConfigurationNode node, final SourceSpans spans) {
+        // snakeyaml marks count code points
+        spans.offsetsInCodePoints();
+        if (document != null && !new YamlSpanRecorder(spans).visit(document, node)) {
+            spans.invalidate();
+        }
+    }
+
+    private boolean visit(final Node source, final ConfigurationNode node) {
+        if (!this.visited.add(source)) { // an alias
+            return false;
+        }
+
+        if (source instanceof ScalarNode) {
+            final ScalarNode scalar = (ScalarNode) source;
+            if (scalar.getScalarStyle() == DumperOptions.ScalarStyle.LITERAL
+                || scalar.getScalarStyle() == DumperOptions.ScalarStyle.FOLDED) {
+                // the replacement would need to match the block indentation
+                this.spans.fixed(node);
+            } else {
+                this.spans.scalar(node, scalar.getStartMark().getIndex(), scalar.getEndMark().getIndex());
+            }
+            return true;
+        } else if (source instanceof SequenceNode) {
+            final List<Node> elements = ((SequenceNode) source).getValue();
+            final List<? extends ConfigurationNode> children = node.childrenList();
+            if (elements.size() != children.size()) {
+                return false;
+            }
+            if (elements.isEmpty()) {
+                this.spans.fixed(node);
+            }
+            for (int i = 0; i < elements.size(); ++i) {
+                final Node element = elements.get(i);
+                if (isNull(element) || !this.visit(element, children.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (source instanceof MappingNode) {
+            final MappingNode mapping = (MappingNode) source;
+            if (mapping.isMerged()) {
+                return false;
+            }
+            final Map<Object, ? extends ConfigurationNode> children = node.childrenMap();
+            final Iterator<? extends ConfigurationNode> it = children.values().iterator();
+            int present = 0;
+            for (NodeTuple tuple : mapping.getValue()) {
+                if (isNull(tuple.getValueNode())) { // not represented as a node
+                    continue;
+                }
+                if (!(tuple.getKeyNode() instanceof ScalarNode) || !it.hasNext()) {
+                    return false;
+                }
+                final ConfigurationNode child = it.next();
+                if (!((ScalarNode) tuple.getKeyNode()).getValue().equals(String.valueOf(child.key()))
+                    || !this.visit(tuple.getValueNode(), child)) {
+                    return false;
+                }
+                present++;
+            }
+            if (present != children.size()) { // duplicate keys
+                return false;
+            }
+            if (present == 0) {
+                this.spans.fixed(node);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isNull(final Node node) {
+        return node.getTag().equals(Tag.NULL);
+    }
+
+    /**
+     * Render a scalar in a form that can be substituted for any flow scalar,
+     * or {@code null} if the value is not of a supported type.
+     *
+     * @param value the value to render
+     * @return the rendered value
+     */
+    static @Nullable String render(final @Nullable Object value) {
+        if (value instanceof String) {
+            return quote((String) value);
+        } else if (value instanceof Boolean
+            || value instanceof Integer
+            || value instanceof Long
+            || value instanceof Short
+            || value instanceof Byte
+            || value instanceof BigInteger) {
+            return value.toString();
+        } else if (value instanceof Double || value instanceof Float) {
+            final double number = ((Number) value).doubleValue();
+            if (Double.isNaN(number)) {
+                return ".nan";
+            } else if (Double.isInfinite(number)) {
+                return number > 0 ? ".inf" : "-.inf";
+            }
+            final String text = value.toString();
+            final int exponent = text.indexOf('E');
+            if (exponent != -1 && text.charAt(exponent + 1) != '-') {
+                // YAML 1.1 requires a signed exponent
+                return text.substring(0, exponent + 1) + '+' + text.substring(exponent + 1);
+            }
+            return text;
+        }
+        return null;
+    }
+
+    private static String quote(final String value) {
+        final StringBuilder builder = new StringBuilder(value.length() + 2);
+        builder.append('"');
+        for (int i = 0; i < value.length(); ++i) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20 || (c >= 0x7f && c < 0xa0) || c == 0x2028 || c == 0x2029 || c == 0xfeff || c >= 0xfffe) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+            }
+        }
+        return builder.append('"').toString();
+    }
+
+}
@@ -105,6 +105,46 @@ public class YamlConfigurationLoaderTest {
         assertEquals(readLines(getClass().getResource("write-expected.yml")), Files.readAllLines(target, StandardCharsets.UTF_8));
     }
 
+    @Test
+    void testIncrementalSavePatchesChangedValues(final @TempDir Path tempDir) throws ConfigurateException, IOException {
+        final Path target = tempDir.resolve("incremental.yml");
+        final String original = "# the server\n"
+            + "server:\n"
+            + "  port: 8080   # the port\n"
+            + "  name: 'main'\n"
+            + "  motd: |\n"
+            + "    hello\n"
+            + "limits: [1, 2.5, yes]\n";
+        Files.write(target, original.getBytes(StandardCharsets.UTF_8));
+
+        final YamlConfigurationLoader loader = YamlConfigurationLoader.builder()
+                .path(target)
+                .incrementalSaves(true)
+                .build();
+
+        final CommentedConfigurationNode node = loader.load();
+        node.node("server", "port").set(9090);
+        node.node("server", "name").set("caf\u00e9 \"one\"");
+        node.node("limits", 1).set(1e20);
+        node.node("limits", 2).set(false);
+        loader.save(node);
+
+        final String expected = "# the server\n"
+            + "server:\n"
+            + "  port: 9090   # the port\n"
+            + "  name: \"caf\u00e9 \\\"one\\\"\"\n"
+            + "  motd: |\n"
+            + "    hello\n"
+            + "limits: [1, 1.0E+20, false]\n";
+        assertEquals(expected, new String(Files.readAllBytes(target), StandardCharsets.UTF_8));
+        assertEquals(node, loader.load());
+
+        // block scalars can't be patched, so the document is rendered again
+        node.node("server", "motd").set("goodbye");
+        loader.save(node);
+        assertEquals(node, loader.load());
+    }
+
     private static List<String> readLines(final URL source) throws IOException {
         try (BufferedReader reader = new BufferedReader(new InputStreamReader(source.openStream(), StandardCharsets.UTF_8))) {
             return reader.lines().collect(Collectors.toList());
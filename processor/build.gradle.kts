@@ -0,0 +1,12 @@
+import org.spongepowered.configurate.build.core
+
+plugins {
+    id("org.spongepowered.configurate.build.component")
+}
+
+description = "Annotation processor that generates object mapper field discoverers at compile time"
+
+dependencies {
+    compileOnly("org.checkerframework:checker-qual:3.+")
+    testImplementation(core())
+}
@@ -0,0 +1,145 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.processor;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Generates a field discoverer for each {@code ConfigSerializable} type.
+ *
+ * <p>Discoverers are written next to the type they handle, and listed in
+ * {@code META-INF/services} so object mapper factories can find them at
+ * runtime. Node keys, comments, constraints, and naming schemes are still
+ * applied by the object mapper factory, from annotation instances written
+ * into the generated source.</p>
+ *
+ * <p>A type is only generated when everything the object mapper would
+ * access can be reached from its package without reflection. Types with
+ * private or final fields, type parameters, or runtime-visible annotations
+ * unknown to Configurate are reported with a note, and will continue to be
+ * discovered reflectively.</p>
+ *
+ * @since 4.0.0
+ */
+public final class ConfigSerializableProcessor extends AbstractProcessor {
+
+    static final String CONFIG_SERIALIZABLE = "org.spongepowered.configurate.objectmapping.ConfigSerializable";
+    static final String GENERATED_DISCOVERER = "org.spongepowered.configurate.objectmapping.GeneratedFieldDiscoverer";
+    private static final String[] GENERATED_ANNOTATIONS = {"javax.annotation.processing.Generated", "javax.annotation.Generated"};
+
+    private final Set<String> generated = new TreeSet<>();
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(CONFIG_SERIALIZABLE);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            this.writeServices();
+            return false;
+        }
+
+        final @Nullable TypeElement configSerializable = this.processingEnv.getElementUtils().getTypeElement(CONFIG_SERIALIZABLE);
+        if (configSerializable == null || annotations.isEmpty()) {
+            return false;
+        }
+        if (this.processingEnv.getElementUtils().getTypeElement(GENERATED_DISCOVERER) == null) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                "This version of Configurate does not support generated discoverers, no discoverers will be generated");
+            return false;
+        }
+
+        final @Nullable String generatedAnnotation = this.generatedAnnotation();
+        for (Element element : roundEnv.getElementsAnnotatedWith(configSerializable)) {
+            if (!(element instanceof TypeElement)) {
+                continue;
+            }
+
+            final DiscovererWriter writer;
+            try {
+                writer = new DiscovererWriter(this.processingEnv, (TypeElement) element);
+            } catch (final UnsupportedTypeException ex) {
+                this.processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                    "No discoverer was generated, " + element + " will be discovered reflectively: " + ex.getMessage(), element);
+                continue;
+            }
+
+            try (Writer out = this.processingEnv.getFiler().createSourceFile(writer.qualifiedName(), element).openWriter()) {
+                writer.write(out, generatedAnnotation);
+                this.generated.add(writer.qualifiedName());
+            } catch (final IOException ex) {
+                this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Failed to write discoverer for " + element + ": " + ex.getMessage(), element);
+            }
+        }
+
+        return false;
+    }
+
+    private @Nullable String generatedAnnotation() {
+        for (String candidate : GENERATED_ANNOTATIONS) {
+            if (this.processingEnv.getElementUtils().getTypeElement(candidate) != null) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private void writeServices() {
+        if (this.generated.isEmpty()) {
+            return;
+        }
+
+        try {
+            final FileObject services = this.processingEnv.getFiler()
+                .createResource(StandardLocation.CLASS_OUTPUT, "", "META-INF/services/" + GENERATED_DISCOVERER);
+            try (Writer out = new OutputStreamWriter(services.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (String discoverer : this.generated) {
+                    out.write(discoverer);
+                    out.write('\n');
+                }
+            }
+        } catch (final IOException ex) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to register generated discoverers: " + ex.getMessage());
+        }
+    }
+
+}
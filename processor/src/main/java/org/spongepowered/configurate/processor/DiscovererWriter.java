@@ -0,0 +1,518 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.processor;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+
+/**
+ * Source generation for the discoverer of a single type.
+ *
+ * <p>Every check that could prevent the generated source from compiling, or
+ * make it behave differently to reflective discovery, is made when the
+ * writer is created.</p>
+ */
+final class DiscovererWriter {
+
+    static final String SUFFIX = "_FieldDiscoverer";
+
+    private static final String META = "org.spongepowered.configurate.objectmapping.meta.";
+    private static final String SETTING = META + "Setting";
+    private static final String COMMENT = META + "Comment";
+    private static final String REQUIRED = META + "Required";
+    private static final String MATCHES = META + "Matches";
+    private static final String NODE_KEY = META + "NodeKey";
+    private static final String INDENT = "    ";
+
+    private final Elements elements;
+    private final Types types;
+    private final TypeElement type;
+    private final String packageName;
+    private final String simpleName;
+    private final boolean record;
+    private final List<Field> fields = new ArrayList<>();
+
+    DiscovererWriter(final ProcessingEnvironment env, final TypeElement type) throws UnsupportedTypeException {
+        this.elements = env.getElementUtils();
+        this.types = env.getTypeUtils();
+        this.type = type;
+        this.packageName = this.elements.getPackageOf(type).getQualifiedName().toString();
+        this.record = isRecord(type);
+
+        // nested types are flattened, so Outer.Inner is generated as Outer_Inner_FieldDiscoverer
+        final StringBuilder name = new StringBuilder(SUFFIX);
+        for (Element element = type; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            name.insert(0, element == type ? element.getSimpleName() : element.getSimpleName() + "_");
+        }
+        this.simpleName = name.toString();
+
+        this.checkType();
+        if (this.record) {
+            this.collectComponents();
+        } else {
+            this.collectFields();
+        }
+    }
+
+    static boolean isRecord(final Element element) {
+        // ElementKind.RECORD is only available on Java 16+
+        return element.getKind().name().equals("RECORD");
+    }
+
+    /**
+     * The qualified name of the generated discoverer.
+     *
+     * @return generated class name
+     */
+    String qualifiedName() {
+        return this.packageName.isEmpty() ? this.simpleName : this.packageName + '.' + this.simpleName;
+    }
+
+    TypeElement type() {
+        return this.type;
+    }
+
+    private void checkType() throws UnsupportedTypeException {
+        if (this.type.getKind() != ElementKind.CLASS && !this.record) {
+            throw new UnsupportedTypeException("only classes and records can be generated");
+        }
+        if (this.type.getNestingKind() == NestingKind.LOCAL || this.type.getNestingKind() == NestingKind.ANONYMOUS) {
+            throw new UnsupportedTypeException("local classes cannot be referenced from generated code");
+        }
+        if (!this.type.getTypeParameters().isEmpty()) {
+            throw new UnsupportedTypeException("type parameters can only be resolved at runtime");
+        }
+        if (this.type.getModifiers().contains(Modifier.ABSTRACT)) {
+            throw new UnsupportedTypeException("abstract classes cannot be instantiated");
+        }
+
+        for (Element element = this.type; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            if (element.getModifiers().contains(Modifier.PRIVATE)) {
+                throw new UnsupportedTypeException(element + " is private");
+            }
+            if (element.getKind() == ElementKind.CLASS && element.getEnclosingElement() instanceof TypeElement
+                    && !element.getModifiers().contains(Modifier.STATIC)) {
+                throw new UnsupportedTypeException(element + " is an inner class, and needs an enclosing instance");
+            }
+        }
+
+        if (!this.record) {
+            final List<ExecutableElement> constructors = ElementFilter.constructorsIn(this.type.getEnclosedElements());
+            boolean found = false;
+            for (ExecutableElement constructor : constructors) {
+                if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                throw new UnsupportedTypeException("there is no accessible empty constructor");
+            }
+        }
+    }
+
+    private void collectFields() throws UnsupportedTypeException {
+        final DeclaredType target = (DeclaredType) this.type.asType();
+        @Nullable TypeElement owner = this.type;
+        while (owner != null && !owner.getQualifiedName().contentEquals(Object.class.getName())) {
+            for (VariableElement field : ElementFilter.fieldsIn(owner.getEnclosedElements())) {
+                final Set<Modifier> modifiers = field.getModifiers();
+                if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) {
+                    continue;
+                }
+
+                final String description = "field " + owner.getSimpleName() + "." + field.getSimpleName();
+                if (modifiers.contains(Modifier.PRIVATE)) {
+                    throw new UnsupportedTypeException(description + " is private");
+                }
+                if (modifiers.contains(Modifier.FINAL)) {
+                    throw new UnsupportedTypeException(description + " is final");
+                }
+                if (!this.elements.getPackageOf(owner).equals(this.elements.getPackageOf(this.type))
+                        && !(modifiers.contains(Modifier.PUBLIC) && isPubliclyAccessible(owner))) {
+                    throw new UnsupportedTypeException(description + " is not accessible from " + this.packageName);
+                }
+
+                final String access = "((" + owner.getQualifiedName() + ") instance)." + field.getSimpleName();
+                this.fields.add(this.field(field, this.types.asMemberOf(target, field), description, access));
+            }
+
+            final TypeMirror superclass = owner.getSuperclass();
+            owner = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+        }
+    }
+
+    private void collectComponents() throws UnsupportedTypeException {
+        // annotations applicable to fields are propagated from each component to its backing field
+        for (VariableElement field : ElementFilter.fieldsIn(this.type.getEnclosedElements())) {
+            if (field.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+
+            final String description = "component " + this.type.getSimpleName() + "." + field.getSimpleName();
+            final String access = "((" + this.type.getQualifiedName() + ") instance)." + field.getSimpleName() + "()";
+            this.fields.add(this.field(field, field.asType(), description, access));
+        }
+    }
+
+    private Field field(final VariableElement field, final TypeMirror type, final String description,
+            final String access) throws UnsupportedTypeException {
+        final List<String> annotations = new ArrayList<>();
+        for (AnnotationMirror annotation : field.getAnnotationMirrors()) {
+            final TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+            final Map<? extends ExecutableElement, ? extends AnnotationValue> values = this.elements.getElementValuesWithDefaults(annotation);
+            switch (annotationType.getQualifiedName().toString()) {
+                case SETTING:
+                    annotations.add("setting(" + literal(value(values, "value")) + ", " + value(values, "nodeFromParent") + ")");
+                    break;
+                case COMMENT:
+                    annotations.add("comment(" + literal(value(values, "value")) + ", " + value(values, "override") + ")");
+                    break;
+                case REQUIRED:
+                    annotations.add("required()");
+                    break;
+                case MATCHES:
+                    annotations.add("matches(" + literal(value(values, "value")) + ", " + literal(value(values, "failureMessage")) + ")");
+                    break;
+                case NODE_KEY:
+                    annotations.add("nodeKey()");
+                    break;
+                default:
+                    if (isRuntimeVisible(annotation)) {
+                        throw new UnsupportedTypeException("@" + annotationType.getSimpleName() + " on " + description
+                            + " can only be read reflectively");
+                    }
+            }
+        }
+
+        return new Field(field.getSimpleName().toString(), this.typeToken(type, description), this.castTarget(type),
+            access, annotations);
+    }
+
+    private static Object value(final Map<? extends ExecutableElement, ? extends AnnotationValue> values, final String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+        throw new IllegalArgumentException("Unknown annotation member " + name);
+    }
+
+    private static boolean isRuntimeVisible(final AnnotationMirror annotation) {
+        final @Nullable Retention retention = annotation.getAnnotationType().asElement().getAnnotation(Retention.class);
+        return retention != null && retention.value() == RetentionPolicy.RUNTIME;
+    }
+
+    private static boolean isPubliclyAccessible(final TypeElement type) {
+        for (Element element = type; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            if (!element.getModifiers().contains(Modifier.PUBLIC)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Type names
+
+    private String typeToken(final TypeMirror type, final String description) throws UnsupportedTypeException {
+        if (type.getKind().isPrimitive()) {
+            return "io.leangen.geantyref.GenericTypeReflector.annotate(" + type.getKind().name().toLowerCase(Locale.ROOT) + ".class)";
+        }
+        final StringBuilder builder = new StringBuilder("new io.leangen.geantyref.TypeToken<");
+        this.appendType(builder, type, description);
+        return builder.append(">() {}.getAnnotatedType()").toString();
+    }
+
+    /**
+     * Append the source form of a type, including any annotations that are
+     * visible at runtime.
+     */
+    private void appendType(final StringBuilder builder, final TypeMirror type, final String description) throws UnsupportedTypeException {
+        switch (type.getKind()) {
+            case BOOLEAN:
+            case BYTE:
+            case SHORT:
+            case CHAR:
+            case INT:
+            case LONG:
+            case FLOAT:
+            case DOUBLE:
+                appendAnnotations(builder, type);
+                builder.append(type.getKind().name().toLowerCase(Locale.ROOT));
+                break;
+            case ARRAY:
+                this.appendType(builder, ((ArrayType) type).getComponentType(), description);
+                if (!type.getAnnotationMirrors().isEmpty()) {
+                    builder.append(' ');
+                    appendAnnotations(builder, type);
+                }
+                builder.append("[]");
+                break;
+            case DECLARED:
+                final DeclaredType declared = (DeclaredType) type;
+                final TypeElement element = (TypeElement) declared.asElement();
+                final TypeMirror enclosing = declared.getEnclosingType();
+                if (enclosing.getKind() == TypeKind.DECLARED) {
+                    this.appendType(builder, enclosing, description);
+                    builder.append('.');
+                } else {
+                    final Element parent = element.getEnclosingElement();
+                    if (parent instanceof TypeElement) {
+                        builder.append(((TypeElement) parent).getQualifiedName()).append('.');
+                    } else if (parent instanceof PackageElement && !((PackageElement) parent).isUnnamed()) {
+                        builder.append(((PackageElement) parent).getQualifiedName()).append('.');
+                    }
+                }
+                appendAnnotations(builder, type);
+                builder.append(element.getSimpleName());
+
+                if (!declared.getTypeArguments().isEmpty()) {
+                    builder.append('<');
+                    boolean first = true;
+                    for (TypeMirror argument : declared.getTypeArguments()) {
+                        if (!first) {
+                            builder.append(", ");
+                        }
+                        first = false;
+                        this.appendType(builder, argument, description);
+                    }
+                    builder.append('>');
+                }
+                break;
+            case WILDCARD:
+                final WildcardType wildcard = (WildcardType) type;
+                appendAnnotations(builder, type);
+                builder.append('?');
+                if (wildcard.getExtendsBound() != null) {
+                    builder.append(" extends ");
+                    this.appendType(builder, wildcard.getExtendsBound(), description);
+                } else if (wildcard.getSuperBound() != null) {
+                    builder.append(" super ");
+                    this.appendType(builder, wildcard.getSuperBound(), description);
+                }
+                break;
+            default:
+                throw new UnsupportedTypeException("the type " + type + " of " + description + " cannot be named");
+        }
+    }
+
+    private static void appendAnnotations(final StringBuilder builder, final TypeMirror type) {
+        for (AnnotationMirror annotation : type.getAnnotationMirrors()) {
+            if (isRuntimeVisible(annotation)) {
+                builder.append(annotation).append(' ');
+            }
+        }
+    }
+
+    /**
+     * The erased type a field value has to be cast to before assignment.
+     */
+    private String castTarget(final TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return this.types.boxedClass((PrimitiveType) type).getQualifiedName().toString();
+        }
+        final TypeMirror erased = this.types.erasure(type);
+        if (erased.getKind() == TypeKind.ARRAY) {
+            final TypeMirror component = ((ArrayType) erased).getComponentType();
+            return (component.getKind().isPrimitive() ? component.getKind().name().toLowerCase(Locale.ROOT) : this.castTarget(component)) + "[]";
+        }
+        return ((TypeElement) ((DeclaredType) erased).asElement()).getQualifiedName().toString();
+    }
+
+    private static String literal(final Object value) {
+        final String text = value.toString();
+        final StringBuilder builder = new StringBuilder(text.length() + 2).append('"');
+        for (int i = 0; i < text.length(); ++i) {
+            final char c = text.charAt(i);
+            switch (c) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                default:
+                    if (c < ' ' || c > '~') {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+            }
+        }
+        return builder.append('"').toString();
+    }
+
+    // Output
+
+    /**
+     * Write the discoverer's source.
+     *
+     * @param out destination
+     * @param generated the name of the {@code Generated} annotation available
+     *     to the compiled code, if any
+     * @throws IOException if unable to write
+     */
+    void write(final Writer out, final @Nullable String generated) throws IOException {
+        final String mapped = this.type.getQualifiedName().toString();
+        final StringBuilder source = new StringBuilder();
+        if (!this.packageName.isEmpty()) {
+            source.append("package ").append(this.packageName).append(";\n\n");
+        }
+        if (generated != null) {
+            source.append('@').append(generated).append("(\"").append(ConfigSerializableProcessor.class.getName()).append("\")\n");
+        }
+        source.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+            .append("public final class ").append(this.simpleName)
+            .append(" extends org.spongepowered.configurate.objectmapping.GeneratedFieldDiscoverer {\n\n")
+            .append(INDENT).append("public ").append(this.simpleName).append("() {\n")
+            .append(INDENT).append(INDENT).append("super(").append(mapped).append(".class);\n")
+            .append(INDENT).append("}\n\n")
+            .append(INDENT).append("@Override\n")
+            .append(INDENT).append("protected <V> InstanceFactory<Object[]> collect(final FieldCollector<Object[], V> collector) {\n");
+
+        final String body = INDENT + INDENT;
+        for (int i = 0; i < this.fields.size(); ++i) {
+            final Field field = this.fields.get(i);
+            source.append(body).append("final java.lang.reflect.AnnotatedType type").append(i).append(" = ").append(field.typeToken).append(";\n")
+                .append(body).append("collector.accept(").append(literal(field.name)).append(", type").append(i)
+                .append(", annotations(type").append(i);
+            for (String annotation : field.annotations) {
+                source.append(", ").append(annotation);
+            }
+            source.append("),\n")
+                .append(body).append(INDENT).append(this.record ? "component(" : "field(").append(i).append("), instance -> ")
+                .append(field.access).append(");\n");
+        }
+
+        if (this.record) {
+            this.writeRecordFactory(source, mapped, body);
+        } else {
+            this.writeObjectFactory(source, mapped, body);
+        }
+
+        source.append(INDENT).append("}\n\n}\n");
+        out.write(source.toString());
+    }
+
+    private void writeRecordFactory(final StringBuilder source, final String mapped, final String indent) {
+        source.append(indent).append("return new RecordFactory(").append(mapped).append(".class, ").append(this.fields.size()).append(") {\n")
+            .append(indent).append(INDENT).append("@Override\n")
+            .append(indent).append(INDENT).append("protected Object create(final Object[] components) {\n")
+            .append(indent).append(INDENT).append(INDENT).append("return new ").append(mapped).append('(');
+        for (int i = 0; i < this.fields.size(); ++i) {
+            if (i > 0) {
+                source.append(", ");
+            }
+            source.append('(').append(this.fields.get(i).castTarget).append(") components[").append(i).append(']');
+        }
+        source.append(");\n")
+            .append(indent).append(INDENT).append("}\n")
+            .append(indent).append("};\n");
+    }
+
+    private void writeObjectFactory(final StringBuilder source, final String mapped, final String indent) {
+        final String member = indent + INDENT;
+        final String body = member + INDENT;
+        source.append(indent).append("return new ObjectFactory(").append(mapped).append(".class, ").append(this.fields.size()).append(") {\n")
+            .append(member).append("@Override\n")
+            .append(member).append("protected Object create() {\n")
+            .append(body).append("return new ").append(mapped).append("();\n")
+            .append(member).append("}\n\n")
+            .append(member).append("@Override\n")
+            .append(member).append("protected Object get(final Object instance, final int index) {\n")
+            .append(body).append("switch (index) {\n");
+        for (int i = 0; i < this.fields.size(); ++i) {
+            source.append(body).append(INDENT).append("case ").append(i).append(": return ").append(this.fields.get(i).access).append(";\n");
+        }
+        source.append(body).append(INDENT).append("default: throw new IndexOutOfBoundsException(String.valueOf(index));\n")
+            .append(body).append("}\n")
+            .append(member).append("}\n\n")
+            .append(member).append("@Override\n")
+            .append(member).append("protected void set(final Object instance, final int index, final Object value) {\n")
+            .append(body).append("switch (index) {\n");
+        for (int i = 0; i < this.fields.size(); ++i) {
+            final Field field = this.fields.get(i);
+            source.append(body).append(INDENT).append("case ").append(i).append(": ").append(field.access)
+                .append(" = (").append(field.castTarget).append(") value; break;\n");
+        }
+        source.append(body).append(INDENT).append("default: throw new IndexOutOfBoundsException(String.valueOf(index));\n")
+            .append(body).append("}\n")
+            .append(member).append("}\n")
+            .append(indent).append("};\n");
+    }
+
+    /**
+     * A field or record component to be generated.
+     */
+    static final class Field {
+
+        final String name;
+        final String typeToken;
+        final String castTarget;
+        final String access;
+        final List<String> annotations;
+
+        Field(final String name, final String typeToken, final String castTarget, final String access, final List<String> annotations) {
+            this.name = name;
+            this.typeToken = typeToken;
+            this.castTarget = castTarget;
+            this.access = access;
+            this.annotations = annotations;
+        }
+
+    }
+
+}
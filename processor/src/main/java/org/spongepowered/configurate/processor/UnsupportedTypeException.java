@@ -0,0 +1,31 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.processor;
+
+/**
+ * Thrown when a type cannot be handled by a generated discoverer, and must
+ * be discovered reflectively instead.
+ */
+final class UnsupportedTypeException extends Exception {
+
+    private static final long serialVersionUID = -3510284474587702148L;
+
+    UnsupportedTypeException(final String message) {
+        super(message);
+    }
+
+}
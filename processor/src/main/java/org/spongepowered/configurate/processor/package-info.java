@@ -0,0 +1,30 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ * An annotation processor that generates object mapper field discoverers
+ * at compile time.
+ *
+ * <p>Add this module to the annotation processor path to generate a
+ * discoverer for every accessible
+ * {@code org.spongepowered.configurate.objectmapping.ConfigSerializable} type,
+ * so that object mappers for those types can be created without reflection.</p>
+ */
+@DefaultQualifier(NonNull.class)
+package org.spongepowered.configurate.processor;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.framework.qual.DefaultQualifier;
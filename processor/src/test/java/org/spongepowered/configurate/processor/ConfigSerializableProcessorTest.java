@@ -0,0 +1,199 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.CommentedConfigurationNode;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.objectmapping.FieldData;
+import org.spongepowered.configurate.objectmapping.GeneratedFieldDiscoverer;
+import org.spongepowered.configurate.objectmapping.ObjectMapper;
+import org.spongepowered.configurate.serialize.SerializationException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+public class ConfigSerializableProcessorTest {
+
+    private static final String SETTINGS = "package test;\n"
+        + "import java.util.List;\n"
+        + "import org.spongepowered.configurate.objectmapping.ConfigSerializable;\n"
+        + "import org.spongepowered.configurate.objectmapping.meta.Comment;\n"
+        + "import org.spongepowered.configurate.objectmapping.meta.Matches;\n"
+        + "import org.spongepowered.configurate.objectmapping.meta.Setting;\n"
+        + "@ConfigSerializable\n"
+        + "public class Settings extends Base<String> {\n"
+        + "    @Setting(\"server-name\") @Comment(\"The \\\"name\\\"\\nof the server\") public String name = \"default\";\n"
+        + "    @Matches(value = \"[a-z]+\", failureMessage = \"lower case only\") String word;\n"
+        + "    Integer port = 25565;\n"
+        + "    List<String> operators;\n"
+        + "    transient String ignored;\n"
+        + "    @ConfigSerializable\n"
+        + "    public static class Nested {\n"
+        + "        public String value;\n"
+        + "    }\n"
+        + "}\n";
+
+    private static final String BASE = "package test;\n"
+        + "class Base<T> {\n"
+        + "    T inherited;\n"
+        + "}\n";
+
+    private static final String HIDDEN = "package test;\n"
+        + "@org.spongepowered.configurate.objectmapping.ConfigSerializable\n"
+        + "public class Hidden {\n"
+        + "    private String value = \"hidden\";\n"
+        + "}\n";
+
+    @Test
+    void testGeneratesDiscoverer(final @TempDir Path tempDir) throws Exception {
+        final Compiled compiled = compile(tempDir, source("test.Settings", SETTINGS), source("test.Base", BASE));
+
+        assertTrue(Files.isRegularFile(tempDir.resolve("generated/test/Settings_FieldDiscoverer.java")));
+        assertTrue(Files.isRegularFile(tempDir.resolve("generated/test/Settings_Nested_FieldDiscoverer.java")));
+        assertEquals(Arrays.asList("test.Settings_FieldDiscoverer", "test.Settings_Nested_FieldDiscoverer"),
+            Files.readAllLines(tempDir.resolve("classes/META-INF/services/" + ConfigSerializableProcessor.GENERATED_DISCOVERER)));
+
+        try (URLClassLoader loader = compiled.loader()) {
+            final Class<?> settings = loader.loadClass("test.Settings");
+            assertTrue(loader.loadClass("test.Settings_FieldDiscoverer").getConstructor().newInstance() instanceof GeneratedFieldDiscoverer);
+
+            final ObjectMapper<?> generated = ObjectMapper.factory().get(settings);
+            final ObjectMapper<?> reflective = ObjectMapper.factoryBuilder().useGeneratedDiscoverers(false).build().get(settings);
+            assertEquals(names(reflective), names(generated));
+            assertEquals(Arrays.asList("name", "word", "port", "operators", "inherited"), names(generated));
+
+            final CommentedConfigurationNode source = CommentedConfigurationNode.root(n -> {
+                n.node("word").raw("abc");
+                n.node("port").raw(80);
+                n.node("inherited").raw("from base");
+            });
+            final Object loaded = generated.load(source);
+            final CommentedConfigurationNode saved = CommentedConfigurationNode.root();
+            save(generated, loaded, saved);
+
+            assertEquals("default", saved.node("server-name").getString());
+            assertEquals("The \"name\"\nof the server", saved.node("server-name").comment());
+            assertEquals("abc", saved.node("word").getString());
+            assertEquals(80, saved.node("port").getInt());
+            assertEquals("from base", saved.node("inherited").getString());
+
+            final CommentedConfigurationNode expected = CommentedConfigurationNode.root();
+            save(reflective, reflective.load(source), expected);
+            assertEquals(expected, saved);
+
+            source.node("word").raw("ABC");
+            final SerializationException ex = assertThrows(SerializationException.class, () -> generated.load(source));
+            assertTrue(ex.getMessage().contains("lower case only"));
+        }
+    }
+
+    @Test
+    void testInaccessibleTypesAreDiscoveredReflectively(final @TempDir Path tempDir) throws Exception {
+        final Compiled compiled = compile(tempDir, source("test.Hidden", HIDDEN));
+
+        assertFalse(Files.exists(tempDir.resolve("generated/test/Hidden_FieldDiscoverer.java")));
+        assertTrue(compiled.notes.stream().anyMatch(note -> note.contains("Hidden.value is private")), () -> compiled.notes.toString());
+
+        try (URLClassLoader loader = compiled.loader()) {
+            final ObjectMapper<?> mapper = ObjectMapper.factory().get(loader.loadClass("test.Hidden"));
+            final BasicConfigurationNode node = BasicConfigurationNode.root();
+            save(mapper, mapper.load(node), node);
+            assertEquals("hidden", node.node("value").getString());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void save(final ObjectMapper<?> mapper, final Object value,
+            final ConfigurationNode target) throws SerializationException {
+        ((ObjectMapper<Object>) mapper).save(value, target);
+    }
+
+    private static List<String> names(final ObjectMapper<?> mapper) {
+        return mapper.fields().stream().map(FieldData::name).collect(Collectors.toList());
+    }
+
+    private static JavaFileObject source(final String name, final String contents) {
+        return new SimpleJavaFileObject(URI.create("string:///" + name.replace('.', '/') + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+                return contents;
+            }
+        };
+    }
+
+    private static Compiled compile(final Path tempDir, final JavaFileObject... sources) throws IOException {
+        final Path classes = Files.createDirectories(tempDir.resolve("classes"));
+        final Path generated = Files.createDirectories(tempDir.resolve("generated"));
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        final JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics,
+            Arrays.asList("-classpath", System.getProperty("java.class.path"), "-d", classes.toString(), "-s", generated.toString()),
+            null, Arrays.asList(sources));
+        task.setProcessors(Collections.singleton(new ConfigSerializableProcessor()));
+
+        final boolean success = task.call();
+        final List<String> notes = new ArrayList<>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.NOTE) {
+                notes.add(diagnostic.getMessage(null));
+            }
+        }
+        assertTrue(success, () -> diagnostics.getDiagnostics().toString());
+        return new Compiled(classes, notes);
+    }
+
+    static final class Compiled {
+
+        final Path classes;
+        final List<String> notes;
+
+        Compiled(final Path classes, final List<String> notes) {
+            this.classes = classes;
+            this.notes = notes;
+        }
+
+        URLClassLoader loader() throws IOException {
+            return new URLClassLoader(new URL[] {this.classes.toUri().toURL()}, ConfigSerializableProcessorTest.class.getClassLoader());
+        }
+
+    }
+
+}
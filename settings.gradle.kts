@@ -5,13 +5,13 @@ rootProject.name = "$prefix-parent"
 enableFeaturePreview("ONE_LOCKFILE_PER_PROJECT")
 
 // core
-listOf("core", "tool", "bom", "examples").forEach {
+listOf("core", "processor", "tool", "bom", "examples", "benchmark").forEach {
     include(":$it")
     // findProject(":$it")?.name = "$prefix-$it"
 }
 
 // formats
-listOf("gson", "hocon", "jackson", "xml", "yaml").forEach {
+listOf("cbor", "gson", "hocon", "jackson", "msgpack", "properties", "smile", "xml", "yaml").forEach {
     include(":format:$it")
     // findProject(":format:$it")?.name = "$prefix-$it"
 }